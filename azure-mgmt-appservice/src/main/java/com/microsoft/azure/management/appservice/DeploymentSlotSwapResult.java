@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice;
+
+import com.microsoft.azure.management.apigeneration.Fluent;
+import org.joda.time.DateTime;
+
+/**
+ * The outcome of swapping one of many deployment slots.
+ */
+@Fluent
+public interface DeploymentSlotSwapResult {
+    /**
+     * @return the resource ID of the web app the deployment slot belongs to
+     */
+    String webAppId();
+
+    /**
+     * @return the name of the deployment slot
+     */
+    String slotName();
+
+    /**
+     * @return the name of the slot the deployment slot was swapped with
+     */
+    String targetSlotName();
+
+    /**
+     * @return true if the swap was part of the canary wave
+     */
+    boolean isCanary();
+
+    /**
+     * @return true if the swap completed successfully, false otherwise
+     */
+    boolean isSucceeded();
+
+    /**
+     * @return the reason the swap failed or was not attempted, null if it succeeded
+     */
+    Throwable error();
+
+    /**
+     * @return the time the swap was started, null if it was not attempted
+     */
+    DateTime startTime();
+
+    /**
+     * @return the time the swap completed or failed
+     */
+    DateTime endTime();
+}
@@ -242,6 +242,16 @@ public interface WebAppBase<T extends WebAppBase<T>> extends
      */
     Map<String, ConnectionString> getConnectionStrings();
 
+    /**
+     * @return an observable emitting the app settings defined on the web app
+     */
+    Observable<Map<String, AppSetting>> getAppSettingsAsync();
+
+    /**
+     * @return an observable emitting the connection strings defined on the web app
+     */
+    Observable<Map<String, ConnectionString>> getConnectionStringsAsync();
+
     /**
      * @return the FTP and Git publishing credentials
      */
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice;
+
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+/**
+ * The outcome of applying app settings and connection strings to one of many web apps or deployment slots.
+ */
+@Fluent
+public interface WebAppSettingsUpdateResult {
+    /**
+     * @return the resource ID of the web app or deployment slot
+     */
+    String webAppId();
+
+    /**
+     * @return true if the settings were written, false if the web app already had them or the update failed
+     */
+    boolean isChanged();
+
+    /**
+     * @return true if the web app has the settings, false otherwise
+     */
+    boolean isSucceeded();
+
+    /**
+     * @return the reason the update failed, null if it succeeded
+     */
+    Throwable error();
+}
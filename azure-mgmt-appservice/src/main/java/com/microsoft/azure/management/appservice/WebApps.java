@@ -12,6 +12,11 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsListingByGroup;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
+import rx.Observable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Entry point for web app management API.
@@ -23,4 +28,49 @@ public interface WebApps extends
         SupportsGettingByGroup<WebApp>,
         SupportsGettingById<WebApp>,
         SupportsDeletingByGroup {
-}
\ No newline at end of file
+    /**
+     * Lists the web apps in the specified resource group as a stream.
+     * <p>
+     * The pages after the first one are decoded as the web apps are consumed, rather than
+     * loaded into memory as a whole, and no more web apps are read than their configuration
+     * requests in flight can take.
+     *
+     * @param resourceGroupName the name of the resource group
+     * @return an observable emitting the web apps
+     */
+    Observable<WebApp> listByGroupAsync(String resourceGroupName);
+
+    /**
+     * Adds or replaces app settings and connection strings on many web apps or deployment slots.
+     * <p>
+     * A web app is only written to if its current settings differ from the requested ones, and the
+     * settings of the web apps are updated without updating the web apps themselves.
+     *
+     * @param webApps the web apps or deployment slots to update
+     * @param appSettings the app settings to add or replace
+     * @param connectionStrings the connection strings to add or replace
+     * @param maxConcurrency the maximum number of web apps being updated at the same time
+     * @return an observable emitting the outcome for each web app as it completes
+     */
+    Observable<WebAppSettingsUpdateResult> applySettingsAsync(Collection<? extends WebAppBase<?>> webApps,
+                                                              Map<String, String> appSettings,
+                                                              Map<String, ConnStringValueTypePair> connectionStrings,
+                                                              int maxConcurrency);
+
+    /**
+     * Swaps many deployment slots, each with the given slot of its web app.
+     * <p>
+     * The first slots are swapped as a canary wave; the remaining slots are only swapped if all
+     * the canary swaps succeeded, and are reported as failed otherwise.
+     *
+     * @param slots the deployment slots to swap
+     * @param targetSlotName the slot to swap each deployment slot with, 'production' for the web apps themselves
+     * @param canaryCount the number of deployment slots to swap before the others
+     * @param maxConcurrency the maximum number of swaps in flight at any time
+     * @return an observable emitting the outcome for each deployment slot as it completes
+     */
+    Observable<DeploymentSlotSwapResult> swapSlotsAsync(List<DeploymentSlot> slots,
+                                                        String targetSlotName,
+                                                        int canaryCount,
+                                                        int maxConcurrency);
+}
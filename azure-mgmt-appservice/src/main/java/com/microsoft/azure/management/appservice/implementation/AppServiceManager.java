@@ -13,6 +13,8 @@ import com.microsoft.azure.management.keyvault.implementation.KeyVaultManager;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
+import com.microsoft.azure.management.resources.fluentcore.utils.Lazy;
+import com.microsoft.azure.management.resources.fluentcore.utils.LongRunningOperationPoller;
 import com.microsoft.azure.management.appservice.AppServiceCertificates;
 import com.microsoft.azure.management.appservice.AppServiceDomains;
 import com.microsoft.azure.management.appservice.AppServicePlans;
@@ -23,8 +25,9 @@ import com.microsoft.azure.management.appservice.WebApps;
  * Entry point to Azure storage resource management.
  */
 public final class AppServiceManager extends Manager<AppServiceManager, WebSiteManagementClientImpl> {
-    // Managers
-    private KeyVaultManager keyVaultManager;
+    // Managers, created when first needed
+    private final Lazy<KeyVaultManager> keyVaultManager;
+    private final LongRunningOperationPoller longRunningOperationPoller;
     // Collections
     private WebApps webApps;
     private AppServicePlans appServicePlans;
@@ -50,7 +53,7 @@ public final class AppServiceManager extends Manager<AppServiceManager, WebSiteM
      * @return the StorageManager
      */
     public static AppServiceManager authenticate(AzureTokenCredentials credentials, String subscriptionId) {
-        return new AppServiceManager(AzureEnvironment.AZURE.newRestClientBuilder()
+        return AppServiceManager.authenticate(AzureEnvironment.AZURE.newRestClientBuilder()
                 .withCredentials(credentials)
                 .build(), credentials.getDomain(), subscriptionId);
     }
@@ -63,8 +66,30 @@ public final class AppServiceManager extends Manager<AppServiceManager, WebSiteM
      * @param subscriptionId the subscription UUID
      * @return the StorageManager
      */
-    public static AppServiceManager authenticate(RestClient restClient, String tenantId, String subscriptionId) {
-        return new AppServiceManager(restClient, tenantId, subscriptionId);
+    public static AppServiceManager authenticate(final RestClient restClient, final String tenantId, final String subscriptionId) {
+        return new AppServiceManager(restClient, subscriptionId, new Lazy<KeyVaultManager>() {
+            @Override
+            protected KeyVaultManager create() {
+                return KeyVaultManager.authenticate(restClient, tenantId, subscriptionId);
+            }
+        });
+    }
+
+    /**
+     * Creates an instance of AppServiceManager that exposes app service resource management API entry points,
+     * sharing the key vault manager of the caller.
+     *
+     * @param restClient the RestClient to be used for API calls.
+     * @param tenantId the tenant UUID
+     * @param subscriptionId the subscription UUID
+     * @param keyVaultManager the key vault manager the certificates are stored with, created when first needed
+     * @return the AppServiceManager
+     */
+    public static AppServiceManager authenticate(RestClient restClient,
+                                                 String tenantId,
+                                                 String subscriptionId,
+                                                 Lazy<KeyVaultManager> keyVaultManager) {
+        return new AppServiceManager(restClient, subscriptionId, keyVaultManager);
     }
 
     /**
@@ -90,20 +115,30 @@ public final class AppServiceManager extends Manager<AppServiceManager, WebSiteM
         }
     }
 
-    private AppServiceManager(RestClient restClient, String tenantId, String subscriptionId) {
+    private AppServiceManager(RestClient restClient, String subscriptionId, Lazy<KeyVaultManager> keyVaultManager) {
         super(
                 restClient,
                 subscriptionId,
                 new WebSiteManagementClientImpl(restClient).withSubscriptionId(subscriptionId));
-        keyVaultManager = KeyVaultManager.authenticate(restClient, tenantId, subscriptionId);
         this.restClient = restClient;
+        this.keyVaultManager = keyVaultManager;
+        this.longRunningOperationPoller = new LongRunningOperationPoller(super.innerManagementClient.retrofit(),
+                super.innerManagementClient.mapperAdapter(),
+                super.innerManagementClient.getAzureClient());
+    }
+
+    /**
+     * @return the poller waiting for the long running operations started by the bulk operations of this manager
+     */
+    public LongRunningOperationPoller longRunningOperationPoller() {
+        return longRunningOperationPoller;
     }
 
     /**
      * @return the key vault manager instance.
      */
     KeyVaultManager keyVaultManager() {
-        return keyVaultManager;
+        return keyVaultManager.get();
     }
 
     RestClient restClient() {
@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.microsoft.azure.management.appservice.DeploymentSlot;
+import com.microsoft.azure.management.appservice.DeploymentSlotSwapResult;
+import com.microsoft.azure.management.resources.fluentcore.utils.LongRunningOperationPoller;
+import com.microsoft.rest.ServiceResponse;
+import org.joda.time.DateTime;
+import rx.Observable;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Swaps many deployment slots in two waves, a canary wave and then the rest, with bounded
+ * concurrency. The swaps in flight are waited for through the shared
+ * {@link LongRunningOperationPoller} instead of holding a thread per swap.
+ */
+final class DeploymentSlotSwapsImpl {
+    private final WebAppsInner innerCollection;
+    private final LongRunningOperationPoller poller;
+
+    DeploymentSlotSwapsImpl(WebAppsInner innerCollection, LongRunningOperationPoller poller) {
+        this.innerCollection = innerCollection;
+        this.poller = poller;
+    }
+
+    /**
+     * Swaps deployment slots.
+     *
+     * @param slots the deployment slots to swap
+     * @param targetSlotName the slot to swap each deployment slot with
+     * @param canaryCount the number of deployment slots to swap before the others
+     * @param maxConcurrency the maximum number of swaps in flight at any time
+     * @return an observable emitting the outcome for each deployment slot as it completes
+     */
+    Observable<DeploymentSlotSwapResult> swapAsync(List<DeploymentSlot> slots,
+                                                   final String targetSlotName,
+                                                   int canaryCount,
+                                                   final int maxConcurrency) {
+        if (canaryCount < 0) {
+            throw new IllegalArgumentException("canaryCount must not be negative.");
+        }
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive.");
+        }
+        final List<DeploymentSlot> canaries = slots.subList(0, Math.min(canaryCount, slots.size()));
+        final List<DeploymentSlot> others = slots.subList(canaries.size(), slots.size());
+        final AtomicBoolean canaryFailed = new AtomicBoolean();
+        Observable<DeploymentSlotSwapResult> canaryWave = waveAsync(canaries, targetSlotName, true, maxConcurrency)
+                .doOnNext(new Action1<DeploymentSlotSwapResult>() {
+                    @Override
+                    public void call(DeploymentSlotSwapResult result) {
+                        if (!result.isSucceeded()) {
+                            canaryFailed.set(true);
+                        }
+                    }
+                });
+        // The second wave is only started once the canary wave has completed
+        Observable<DeploymentSlotSwapResult> otherWave = Observable.defer(new Func0<Observable<DeploymentSlotSwapResult>>() {
+            @Override
+            public Observable<DeploymentSlotSwapResult> call() {
+                if (!canaryFailed.get()) {
+                    return waveAsync(others, targetSlotName, false, maxConcurrency);
+                }
+                return Observable.from(others).map(new Func1<DeploymentSlot, DeploymentSlotSwapResult>() {
+                    @Override
+                    public DeploymentSlotSwapResult call(DeploymentSlot slot) {
+                        return new ResultImpl(slot, targetSlotName, false, null,
+                                new CancellationException("Not swapped as a canary swap failed"));
+                    }
+                });
+            }
+        });
+        return Observable.concat(canaryWave, otherWave);
+    }
+
+    private Observable<DeploymentSlotSwapResult> waveAsync(List<DeploymentSlot> slots,
+                                                           final String targetSlotName,
+                                                           final boolean isCanary,
+                                                           int maxConcurrency) {
+        return Observable.from(slots).flatMap(new Func1<DeploymentSlot, Observable<DeploymentSlotSwapResult>>() {
+            @Override
+            public Observable<DeploymentSlotSwapResult> call(final DeploymentSlot slot) {
+                final DateTime startTime = DateTime.now();
+                return innerCollection.beginSwapSlotSlotWithServiceResponseAsync(slot.resourceGroupName(),
+                        slot.parent().name(),
+                        slot.name(),
+                        new CsmSlotEntityInner().withTargetSlot(targetSlotName))
+                        .subscribeOn(Schedulers.io())
+                        .flatMap(new Func1<ServiceResponse<Void>, Observable<Void>>() {
+                            @Override
+                            public Observable<Void> call(ServiceResponse<Void> response) {
+                                return poller.waitAsync(response.getResponse());
+                            }
+                        })
+                        .map(new Func1<Void, DeploymentSlotSwapResult>() {
+                            @Override
+                            public DeploymentSlotSwapResult call(Void aVoid) {
+                                return new ResultImpl(slot, targetSlotName, isCanary, startTime, null);
+                            }
+                        })
+                        .onErrorReturn(new Func1<Throwable, DeploymentSlotSwapResult>() {
+                            @Override
+                            public DeploymentSlotSwapResult call(Throwable throwable) {
+                                return new ResultImpl(slot, targetSlotName, isCanary, startTime, throwable);
+                            }
+                        });
+            }
+        }, maxConcurrency);
+    }
+
+    /**
+     * The implementation of {@link DeploymentSlotSwapResult}.
+     */
+    private static final class ResultImpl implements DeploymentSlotSwapResult {
+        private final String webAppId;
+        private final String slotName;
+        private final String targetSlotName;
+        private final boolean isCanary;
+        private final DateTime startTime;
+        private final DateTime endTime;
+        private final Throwable error;
+
+        ResultImpl(DeploymentSlot slot, String targetSlotName, boolean isCanary, DateTime startTime, Throwable error) {
+            this.webAppId = slot.parent().id();
+            this.slotName = slot.name();
+            this.targetSlotName = targetSlotName;
+            this.isCanary = isCanary;
+            this.startTime = startTime;
+            this.endTime = DateTime.now();
+            this.error = error;
+        }
+
+        @Override
+        public String webAppId() {
+            return this.webAppId;
+        }
+
+        @Override
+        public String slotName() {
+            return this.slotName;
+        }
+
+        @Override
+        public String targetSlotName() {
+            return this.targetSlotName;
+        }
+
+        @Override
+        public boolean isCanary() {
+            return this.isCanary;
+        }
+
+        @Override
+        public boolean isSucceeded() {
+            return this.error == null;
+        }
+
+        @Override
+        public Throwable error() {
+            return this.error;
+        }
+
+        @Override
+        public DateTime startTime() {
+            return this.startTime;
+        }
+
+        @Override
+        public DateTime endTime() {
+            return this.endTime;
+        }
+    }
+}
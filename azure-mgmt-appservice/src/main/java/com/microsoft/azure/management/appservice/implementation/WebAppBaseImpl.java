@@ -6,7 +6,9 @@
 
 package com.microsoft.azure.management.appservice.implementation;
 
+import com.google.common.base.Equivalence;
 import com.google.common.base.Function;
+import com.google.common.base.Objects;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.GroupableResourceImpl;
@@ -39,7 +41,10 @@ import com.microsoft.azure.management.appservice.WebContainer;
 import org.joda.time.DateTime;
 import rx.Observable;
 import rx.functions.Func1;
+import rx.functions.Func2;
+import rx.functions.Func3;
 import rx.functions.FuncN;
+import rx.schedulers.Schedulers;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -67,6 +72,19 @@ abstract class WebAppBaseImpl<
             WebAppBase.Definition<FluentT>,
             WebAppBase.Update<FluentT> {
 
+    // The generated ConnStringValueTypePair does not implement equals()
+    private static final Equivalence<ConnStringValueTypePair> CONNECTION_STRING_EQUIVALENCE = new Equivalence<ConnStringValueTypePair>() {
+        @Override
+        protected boolean doEquivalent(ConnStringValueTypePair a, ConnStringValueTypePair b) {
+            return Objects.equal(a.type(), b.type()) && Objects.equal(a.value(), b.value());
+        }
+
+        @Override
+        protected int doHash(ConnStringValueTypePair pair) {
+            return Objects.hashCode(pair.type(), pair.value());
+        }
+    };
+
     final WebAppsInner client;
     final WebSiteManagementClientImpl serviceClient;
 
@@ -371,33 +389,58 @@ abstract class WebAppBaseImpl<
 
     @Override
     public Map<String, AppSetting> getAppSettings() {
-        final StringDictionaryInner inner = listAppSettings().toBlocking().single();
-        final SlotConfigNamesResourceInner slotConfigs = listSlotConfigurations().toBlocking().single();
-        if (inner == null || inner.properties() == null) {
-            return null;
-        }
-        return Maps.asMap(inner.properties().keySet(), new Function<String, AppSetting>() {
-            @Override
-            public AppSetting apply(String input) {
-                return new AppSettingImpl(input, inner.properties().get(input),
-                        slotConfigs.appSettingNames() != null && slotConfigs.appSettingNames().contains(input));
-            }
-        });
+        return getAppSettingsAsync().toBlocking().single();
+    }
+
+    @Override
+    public Observable<Map<String, AppSetting>> getAppSettingsAsync() {
+        // The settings and their stickiness are retrieved in parallel
+        return Observable.zip(
+                listAppSettings().subscribeOn(Schedulers.io()),
+                listSlotConfigurations().subscribeOn(Schedulers.io()),
+                new Func2<StringDictionaryInner, SlotConfigNamesResourceInner, Map<String, AppSetting>>() {
+                    @Override
+                    public Map<String, AppSetting> call(final StringDictionaryInner inner, final SlotConfigNamesResourceInner slotConfigs) {
+                        if (inner == null || inner.properties() == null) {
+                            return null;
+                        }
+                        return Maps.asMap(inner.properties().keySet(), new Function<String, AppSetting>() {
+                            @Override
+                            public AppSetting apply(String input) {
+                                return new AppSettingImpl(input, inner.properties().get(input),
+                                        slotConfigs.appSettingNames() != null && slotConfigs.appSettingNames().contains(input));
+                            }
+                        });
+                    }
+                });
     }
 
     @Override
     public Map<String, ConnectionString> getConnectionStrings() {
-        final ConnectionStringDictionaryInner inner = listConnectionStrings().toBlocking().single();
-        final SlotConfigNamesResourceInner slotConfigs = listSlotConfigurations().toBlocking().single();
-        if (inner == null || inner.properties() == null) {
-            return null;
-        }
-        return Maps.asMap(inner.properties().keySet(), new Function<String, ConnectionString>() {
-            @Override
-            public ConnectionString apply(String input) {
-                return new ConnectionStringImpl(input, inner.properties().get(input), slotConfigs.connectionStringNames().contains(input));
-            }
-        });
+        return getConnectionStringsAsync().toBlocking().single();
+    }
+
+    @Override
+    public Observable<Map<String, ConnectionString>> getConnectionStringsAsync() {
+        // The connection strings and their stickiness are retrieved in parallel
+        return Observable.zip(
+                listConnectionStrings().subscribeOn(Schedulers.io()),
+                listSlotConfigurations().subscribeOn(Schedulers.io()),
+                new Func2<ConnectionStringDictionaryInner, SlotConfigNamesResourceInner, Map<String, ConnectionString>>() {
+                    @Override
+                    public Map<String, ConnectionString> call(final ConnectionStringDictionaryInner inner, final SlotConfigNamesResourceInner slotConfigs) {
+                        if (inner == null || inner.properties() == null) {
+                            return null;
+                        }
+                        return Maps.asMap(inner.properties().keySet(), new Function<String, ConnectionString>() {
+                            @Override
+                            public ConnectionString apply(String input) {
+                                return new ConnectionStringImpl(input, inner.properties().get(input),
+                                        slotConfigs.connectionStringNames() != null && slotConfigs.connectionStringNames().contains(input));
+                            }
+                        });
+                    }
+                });
     }
 
     abstract Observable<SiteInner> createOrUpdateInner(SiteInner site);
@@ -459,246 +502,299 @@ abstract class WebAppBaseImpl<
                 return createOrUpdateInner(inner());
             }
         })
-        // Submit hostname bindings
+        // The hostname and SSL bindings update the site itself, so they run one after the other
+        // before any configuration is written
         .flatMap(new Func1<SiteInner, Observable<SiteInner>>() {
             @Override
-            public Observable<SiteInner> call(final SiteInner site) {
-                List<Observable<HostNameBinding>> bindingObservables = new ArrayList<>();
-                for (HostNameBindingImpl<FluentT, FluentImplT> binding: hostNameBindingsToCreate.values()) {
-                    bindingObservables.add(binding.createAsync());
-                }
-                for (String binding: hostNameBindingsToDelete) {
-                    bindingObservables.add(deleteHostNameBinding(binding).map(new Func1<Object, HostNameBinding>() {
-                        @Override
-                        public HostNameBinding call(Object o) {
-                            return null;
-                        }
-                    }));
-                }
-                if (bindingObservables.isEmpty()) {
-                    return Observable.just(site);
-                } else {
-                    return Observable.zip(bindingObservables, new FuncN<SiteInner>() {
-                        @Override
-                        public SiteInner call(Object... args) {
-                            return site;
-                        }
-                    });
-                }
+            public Observable<SiteInner> call(SiteInner site) {
+                return submitHostNameBindings(site);
             }
         })
-        // refresh after hostname bindings
         .flatMap(new Func1<SiteInner, Observable<SiteInner>>() {
             @Override
             public Observable<SiteInner> call(SiteInner site) {
+                // refresh after hostname bindings
                 return getInner();
             }
         })
-        // Submit SSL bindings
         .flatMap(new Func1<SiteInner, Observable<SiteInner>>() {
             @Override
-            public Observable<SiteInner> call(final SiteInner siteInner) {
-                List<Observable<AppServiceCertificate>> certs = new ArrayList<>();
-                for (final HostNameSslBindingImpl<FluentT, FluentImplT> binding : sslBindingsToCreate.values()) {
-                    certs.add(binding.newCertificate());
-                    hostNameSslStateMap.put(binding.inner().name(), binding.inner().withToUpdate(true));
-                }
-                siteInner.withHostNameSslStates(new ArrayList<>(hostNameSslStateMap.values()));
-                if (certs.isEmpty()) {
-                    return Observable.just(siteInner);
-                } else {
-                    return Observable.zip(certs, new FuncN<SiteInner>() {
-                        @Override
-                        public SiteInner call(Object... args) {
-                            return siteInner;
-                        }
-                    }).flatMap(new Func1<SiteInner, Observable<SiteInner>>() {
-                        @Override
-                        public Observable<SiteInner> call(SiteInner inner) {
-                            return createOrUpdateInner(inner);
+            public Observable<SiteInner> call(SiteInner site) {
+                return submitSslBindings(site);
+            }
+        })
+        .flatMap(new Func1<SiteInner, Observable<SiteInner>>() {
+            @Override
+            public Observable<SiteInner> call(final SiteInner site) {
+                return submitSiteConfig().map(new Func1<SiteConfigInner, SiteInner>() {
+                    @Override
+                    public SiteInner call(SiteConfigInner siteConfig) {
+                        if (siteConfig != null) {
+                            site.withSiteConfig(siteConfig);
                         }
-                    });
-                }
+                        return site;
+                    }
+                });
             }
         })
-        // submit config
+        // App settings, connection strings and slot stickiness are independent resources and
+        // are written in parallel. Source control is only set up once they are in place, as a
+        // deployment may depend on them.
         .flatMap(new Func1<SiteInner, Observable<SiteInner>>() {
             @Override
-            public Observable<SiteInner> call(final SiteInner siteInner) {
-                if (inner().siteConfig() == null) {
-                    return Observable.just(siteInner);
-                }
-                return createOrUpdateSiteConfig(inner().siteConfig())
-                        .flatMap(new Func1<SiteConfigInner, Observable<SiteInner>>() {
+            public Observable<SiteInner> call(final SiteInner site) {
+                return Observable.zip(
+                        submitAppSettings(appSettingsToAdd, appSettingsToRemove).subscribeOn(Schedulers.io()),
+                        submitConnectionStrings(connectionStringsToAdd, connectionStringsToRemove).subscribeOn(Schedulers.io()),
+                        submitStickiness().subscribeOn(Schedulers.io()),
+                        new Func3<Object, Object, Object, SiteInner>() {
                             @Override
-                            public Observable<SiteInner> call(SiteConfigInner siteConfigInner) {
-                                siteInner.withSiteConfig(siteConfigInner);
-                                return Observable.just(siteInner);
+                            public SiteInner call(Object appSettings, Object connectionStrings, Object stickiness) {
+                                return site;
                             }
                         });
             }
         })
-        // app settings
         .flatMap(new Func1<SiteInner, Observable<SiteInner>>() {
             @Override
-            public Observable<SiteInner> call(final SiteInner inner) {
-                Observable<SiteInner> observable = Observable.just(inner);
-                if (!appSettingsToAdd.isEmpty() || !appSettingsToRemove.isEmpty()) {
-                    observable = listAppSettings()
-                            .flatMap(new Func1<StringDictionaryInner, Observable<StringDictionaryInner>>() {
-                                @Override
-                                public Observable<StringDictionaryInner> call(StringDictionaryInner stringDictionaryInner) {
-                                    if (stringDictionaryInner == null) {
-                                        stringDictionaryInner = new StringDictionaryInner();
-                                        stringDictionaryInner.withLocation(regionName());
-                                    }
-                                    if (stringDictionaryInner.properties() == null) {
-                                        stringDictionaryInner.withProperties(new HashMap<String, String>());
-                                    }
-                                    stringDictionaryInner.properties().putAll(appSettingsToAdd);
-                                    for (String appSettingKey : appSettingsToRemove) {
-                                        stringDictionaryInner.properties().remove(appSettingKey);
-                                    }
-                                    return updateAppSettings(stringDictionaryInner);
-                                }
-                            }).map(new Func1<StringDictionaryInner, SiteInner>() {
-                                @Override
-                                public SiteInner call(StringDictionaryInner stringDictionaryInner) {
-                                    return inner;
-                                }
-                            });
-                }
-                return observable;
+            public Observable<SiteInner> call(final SiteInner site) {
+                return submitSourceControl().map(new Func1<Object, SiteInner>() {
+                    @Override
+                    public SiteInner call(Object o) {
+                        return site;
+                    }
+                });
             }
         })
-        // connection strings
-        .flatMap(new Func1<SiteInner, Observable<SiteInner>>() {
+        // convert from inner
+        .map(new Func1<SiteInner, FluentT>() {
             @Override
-            public Observable<SiteInner> call(final SiteInner inner) {
-                Observable<SiteInner> observable = Observable.just(inner);
-                if (!connectionStringsToAdd.isEmpty() || !connectionStringsToRemove.isEmpty()) {
-                    observable = listConnectionStrings()
-                            .flatMap(new Func1<ConnectionStringDictionaryInner, Observable<ConnectionStringDictionaryInner>>() {
-                                @Override
-                                public Observable<ConnectionStringDictionaryInner> call(ConnectionStringDictionaryInner dictionaryInner) {
-                                    if (dictionaryInner == null) {
-                                        dictionaryInner = new ConnectionStringDictionaryInner();
-                                        dictionaryInner.withLocation(regionName());
-                                    }
-                                    if (dictionaryInner.properties() == null) {
-                                        dictionaryInner.withProperties(new HashMap<String, ConnStringValueTypePair>());
-                                    }
-                                    dictionaryInner.properties().putAll(connectionStringsToAdd);
-                                    for (String connectionString : connectionStringsToRemove) {
-                                        dictionaryInner.properties().remove(connectionString);
-                                    }
-                                    return updateConnectionStrings(dictionaryInner);
-                                }
-                            }).map(new Func1<ConnectionStringDictionaryInner, SiteInner>() {
-                                @Override
-                                public SiteInner call(ConnectionStringDictionaryInner stringDictionaryInner) {
-                                    return inner;
-                                }
-                            });
-                }
-                return observable;
+            public FluentT call(SiteInner siteInner) {
+                setInner(siteInner);
+                return normalizeProperties();
             }
-        })
-        // app setting & connection string stickiness
-        .flatMap(new Func1<SiteInner, Observable<SiteInner>>() {
-            @Override
-            public Observable<SiteInner> call(final SiteInner inner) {
-                Observable<SiteInner> observable = Observable.just(inner);
-                if (!appSettingStickiness.isEmpty() || !connectionStringStickiness.isEmpty()) {
-                    observable = listSlotConfigurations()
-                            .flatMap(new Func1<SlotConfigNamesResourceInner, Observable<SlotConfigNamesResourceInner>>() {
-                                @Override
-                                public Observable<SlotConfigNamesResourceInner> call(SlotConfigNamesResourceInner slotConfigNamesResourceInner) {
-                                    if (slotConfigNamesResourceInner == null) {
-                                        slotConfigNamesResourceInner = new SlotConfigNamesResourceInner();
-                                        slotConfigNamesResourceInner.withLocation(regionName());
-                                    }
-                                    if (slotConfigNamesResourceInner.appSettingNames() == null) {
-                                        slotConfigNamesResourceInner.withAppSettingNames(new ArrayList<String>());
-                                    }
-                                    if (slotConfigNamesResourceInner.connectionStringNames() == null) {
-                                        slotConfigNamesResourceInner.withConnectionStringNames(new ArrayList<String>());
-                                    }
-                                    Set<String> stickyAppSettingKeys = new HashSet<>(slotConfigNamesResourceInner.appSettingNames());
-                                    Set<String> stickyConnectionStringNames = new HashSet<>(slotConfigNamesResourceInner.connectionStringNames());
-                                    for (Map.Entry<String, Boolean> stickiness : appSettingStickiness.entrySet()) {
-                                        if (stickiness.getValue()) {
-                                            stickyAppSettingKeys.add(stickiness.getKey());
-                                        } else {
-                                            stickyAppSettingKeys.remove(stickiness.getKey());
-                                        }
-                                    }
-                                    for (Map.Entry<String, Boolean> stickiness : connectionStringStickiness.entrySet()) {
-                                        if (stickiness.getValue()) {
-                                            stickyConnectionStringNames.add(stickiness.getKey());
-                                        } else {
-                                            stickyConnectionStringNames.remove(stickiness.getKey());
-                                        }
-                                    }
-                                    slotConfigNamesResourceInner.withAppSettingNames(new ArrayList<>(stickyAppSettingKeys));
-                                    slotConfigNamesResourceInner.withConnectionStringNames(new ArrayList<>(stickyConnectionStringNames));
-                                    return updateSlotConfigurations(slotConfigNamesResourceInner);
-                                }
-                            }).map(new Func1<SlotConfigNamesResourceInner, SiteInner>() {
-                                @Override
-                                public SiteInner call(SlotConfigNamesResourceInner slotConfigNamesResourceInner) {
-                                    return inner;
-                                }
-                            });
+        });
+    }
+
+    // Submits the hostname bindings to create and to delete, all at once
+    private Observable<SiteInner> submitHostNameBindings(final SiteInner site) {
+        List<Observable<HostNameBinding>> bindingObservables = new ArrayList<>();
+        for (HostNameBindingImpl<FluentT, FluentImplT> binding: hostNameBindingsToCreate.values()) {
+            bindingObservables.add(binding.createAsync());
+        }
+        for (String binding: hostNameBindingsToDelete) {
+            bindingObservables.add(deleteHostNameBinding(binding).map(new Func1<Object, HostNameBinding>() {
+                @Override
+                public HostNameBinding call(Object o) {
+                    return null;
                 }
-                return observable;
-            }
-        })
-        // create source control
-        .flatMap(new Func1<SiteInner, Observable<SiteInner>>() {
-            @Override
-            public Observable<SiteInner> call(final SiteInner inner) {
-                if (sourceControl == null || sourceControlToDelete) {
-                    return Observable.just(inner);
+            }));
+        }
+        if (bindingObservables.isEmpty()) {
+            return Observable.just(site);
+        } else {
+            return Observable.zip(bindingObservables, new FuncN<SiteInner>() {
+                @Override
+                public SiteInner call(Object... args) {
+                    return site;
                 }
-                return sourceControl.registerGithubAccessToken()
-                .flatMap(new Func1<SourceControlInner, Observable<SiteSourceControlInner>>() {
+            });
+        }
+    }
+
+    // Creates the certificates of the SSL bindings, then updates the SSL states of the site
+    private Observable<SiteInner> submitSslBindings(final SiteInner siteInner) {
+        List<Observable<AppServiceCertificate>> certs = new ArrayList<>();
+        for (final HostNameSslBindingImpl<FluentT, FluentImplT> binding : sslBindingsToCreate.values()) {
+            certs.add(binding.newCertificate());
+            hostNameSslStateMap.put(binding.inner().name(), binding.inner().withToUpdate(true));
+        }
+        siteInner.withHostNameSslStates(new ArrayList<>(hostNameSslStateMap.values()));
+        if (certs.isEmpty()) {
+            return Observable.just(siteInner);
+        } else {
+            return Observable.zip(certs, new FuncN<SiteInner>() {
+                @Override
+                public SiteInner call(Object... args) {
+                    return siteInner;
+                }
+            }).flatMap(new Func1<SiteInner, Observable<SiteInner>>() {
+                @Override
+                public Observable<SiteInner> call(SiteInner inner) {
+                    return createOrUpdateInner(inner);
+                }
+            });
+        }
+    }
+
+    // Submits the site config, emits null if there is none
+    private Observable<SiteConfigInner> submitSiteConfig() {
+        if (inner().siteConfig() == null) {
+            return Observable.just(null);
+        }
+        return createOrUpdateSiteConfig(inner().siteConfig());
+    }
+
+    private Observable<Boolean> submitAppSettings(final Map<String, String> toAdd, final List<String> toRemove) {
+        if (toAdd.isEmpty() && toRemove.isEmpty()) {
+            return Observable.just(false);
+        }
+        return listAppSettings()
+                .flatMap(new Func1<StringDictionaryInner, Observable<Boolean>>() {
                     @Override
-                    public Observable<SiteSourceControlInner> call(SourceControlInner sourceControlInner) {
-                        return createOrUpdateSourceControl(sourceControl.inner());
+                    public Observable<Boolean> call(StringDictionaryInner stringDictionaryInner) {
+                        if (stringDictionaryInner == null) {
+                            stringDictionaryInner = new StringDictionaryInner();
+                            stringDictionaryInner.withLocation(regionName());
+                        }
+                        if (stringDictionaryInner.properties() == null) {
+                            stringDictionaryInner.withProperties(new HashMap<String, String>());
+                        }
+                        if (isUnchanged(stringDictionaryInner.properties(), toAdd, toRemove, Equivalence.equals())) {
+                            return Observable.just(false);
+                        }
+                        stringDictionaryInner.properties().putAll(toAdd);
+                        for (String appSettingKey : toRemove) {
+                            stringDictionaryInner.properties().remove(appSettingKey);
+                        }
+                        return updateAppSettings(stringDictionaryInner).map(new Func1<StringDictionaryInner, Boolean>() {
+                            @Override
+                            public Boolean call(StringDictionaryInner stringDictionaryInner) {
+                                return true;
+                            }
+                        });
                     }
-                })
-                .map(new Func1<SiteSourceControlInner, SiteInner>() {
+                });
+    }
+
+    private Observable<Boolean> submitConnectionStrings(final Map<String, ConnStringValueTypePair> toAdd, final List<String> toRemove) {
+        if (toAdd.isEmpty() && toRemove.isEmpty()) {
+            return Observable.just(false);
+        }
+        return listConnectionStrings()
+                .flatMap(new Func1<ConnectionStringDictionaryInner, Observable<Boolean>>() {
                     @Override
-                    public SiteInner call(SiteSourceControlInner siteSourceControlInner) {
-                        return inner;
+                    public Observable<Boolean> call(ConnectionStringDictionaryInner dictionaryInner) {
+                        if (dictionaryInner == null) {
+                            dictionaryInner = new ConnectionStringDictionaryInner();
+                            dictionaryInner.withLocation(regionName());
+                        }
+                        if (dictionaryInner.properties() == null) {
+                            dictionaryInner.withProperties(new HashMap<String, ConnStringValueTypePair>());
+                        }
+                        if (isUnchanged(dictionaryInner.properties(), toAdd, toRemove, CONNECTION_STRING_EQUIVALENCE)) {
+                            return Observable.just(false);
+                        }
+                        dictionaryInner.properties().putAll(toAdd);
+                        for (String connectionString : toRemove) {
+                            dictionaryInner.properties().remove(connectionString);
+                        }
+                        return updateConnectionStrings(dictionaryInner).map(new Func1<ConnectionStringDictionaryInner, Boolean>() {
+                            @Override
+                            public Boolean call(ConnectionStringDictionaryInner dictionaryInner) {
+                                return true;
+                            }
+                        });
                     }
                 });
-            }
-        })
-        // delete source control
-        .flatMap(new Func1<SiteInner, Observable<SiteInner>>() {
-            @Override
-            public Observable<SiteInner> call(final SiteInner inner) {
-                if (!sourceControlToDelete) {
-                    return Observable.just(inner);
-                }
-                return deleteSourceControl().map(new Func1<Void, SiteInner>() {
+    }
+
+    /**
+     * Adds or replaces app settings and connection strings, without updating the site itself.
+     * Nothing is written if the web app already has these values.
+     *
+     * @param appSettings the app settings to add or replace
+     * @param connectionStrings the connection strings to add or replace
+     * @return an observable emitting true if anything was written, false otherwise
+     */
+    Observable<Boolean> applySettingsAsync(Map<String, String> appSettings, Map<String, ConnStringValueTypePair> connectionStrings) {
+        return Observable.zip(
+                submitAppSettings(appSettings, Collections.<String>emptyList()).subscribeOn(Schedulers.io()),
+                submitConnectionStrings(connectionStrings, Collections.<String>emptyList()).subscribeOn(Schedulers.io()),
+                new Func2<Boolean, Boolean, Boolean>() {
                     @Override
-                    public SiteInner call(Void aVoid) {
-                        return inner;
+                    public Boolean call(Boolean appSettingsChanged, Boolean connectionStringsChanged) {
+                        return appSettingsChanged || connectionStringsChanged;
                     }
                 });
+    }
+
+    // Whether adding and removing the given values would leave the current values as they are
+    private static <V> boolean isUnchanged(Map<String, V> current,
+                                           Map<String, V> toAdd,
+                                           List<String> toRemove,
+                                           Equivalence<? super V> equivalence) {
+        for (Map.Entry<String, V> property : toAdd.entrySet()) {
+            if (!current.containsKey(property.getKey())
+                    || !equivalence.equivalent(property.getValue(), current.get(property.getKey()))) {
+                return false;
             }
-        })
-        // convert from inner
-        .map(new Func1<SiteInner, FluentT>() {
-            @Override
-            public FluentT call(SiteInner siteInner) {
-                setInner(siteInner);
-                return normalizeProperties();
+        }
+        for (String key : toRemove) {
+            if (current.containsKey(key)) {
+                return false;
             }
-        });
+        }
+        return true;
+    }
+
+    // Submits the app setting & connection string stickiness
+    private Observable<?> submitStickiness() {
+        if (appSettingStickiness.isEmpty() && connectionStringStickiness.isEmpty()) {
+            return Observable.just(null);
+        }
+        return listSlotConfigurations()
+                .flatMap(new Func1<SlotConfigNamesResourceInner, Observable<SlotConfigNamesResourceInner>>() {
+                    @Override
+                    public Observable<SlotConfigNamesResourceInner> call(SlotConfigNamesResourceInner slotConfigNamesResourceInner) {
+                        if (slotConfigNamesResourceInner == null) {
+                            slotConfigNamesResourceInner = new SlotConfigNamesResourceInner();
+                            slotConfigNamesResourceInner.withLocation(regionName());
+                        }
+                        if (slotConfigNamesResourceInner.appSettingNames() == null) {
+                            slotConfigNamesResourceInner.withAppSettingNames(new ArrayList<String>());
+                        }
+                        if (slotConfigNamesResourceInner.connectionStringNames() == null) {
+                            slotConfigNamesResourceInner.withConnectionStringNames(new ArrayList<String>());
+                        }
+                        Set<String> stickyAppSettingKeys = new HashSet<>(slotConfigNamesResourceInner.appSettingNames());
+                        Set<String> stickyConnectionStringNames = new HashSet<>(slotConfigNamesResourceInner.connectionStringNames());
+                        for (Map.Entry<String, Boolean> stickiness : appSettingStickiness.entrySet()) {
+                            if (stickiness.getValue()) {
+                                stickyAppSettingKeys.add(stickiness.getKey());
+                            } else {
+                                stickyAppSettingKeys.remove(stickiness.getKey());
+                            }
+                        }
+                        for (Map.Entry<String, Boolean> stickiness : connectionStringStickiness.entrySet()) {
+                            if (stickiness.getValue()) {
+                                stickyConnectionStringNames.add(stickiness.getKey());
+                            } else {
+                                stickyConnectionStringNames.remove(stickiness.getKey());
+                            }
+                        }
+                        slotConfigNamesResourceInner.withAppSettingNames(new ArrayList<>(stickyAppSettingKeys));
+                        slotConfigNamesResourceInner.withConnectionStringNames(new ArrayList<>(stickyConnectionStringNames));
+                        return updateSlotConfigurations(slotConfigNamesResourceInner);
+                    }
+                });
+    }
+
+    // Creates or deletes the source control
+    private Observable<?> submitSourceControl() {
+        if (sourceControlToDelete) {
+            return deleteSourceControl();
+        }
+        if (sourceControl == null) {
+            return Observable.just(null);
+        }
+        return sourceControl.registerGithubAccessToken()
+                .flatMap(new Func1<SourceControlInner, Observable<SiteSourceControlInner>>() {
+                    @Override
+                    public Observable<SiteSourceControlInner> call(SourceControlInner sourceControlInner) {
+                        return createOrUpdateSourceControl(sourceControl.inner());
+                    }
+                });
     }
 
     WebAppBaseImpl<FluentT, FluentImplT> withNewHostNameSslBinding(final HostNameSslBindingImpl<FluentT, FluentImplT> hostNameSslBinding) {
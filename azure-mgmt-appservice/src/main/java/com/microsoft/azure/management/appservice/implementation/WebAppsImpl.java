@@ -6,13 +6,29 @@
 
 package com.microsoft.azure.management.appservice.implementation;
 
+import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.GroupableResourcesImpl;
 import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
+import com.microsoft.azure.management.resources.fluentcore.utils.StreamingPageDecoder;
+import com.microsoft.azure.management.appservice.ConnStringValueTypePair;
+import com.microsoft.azure.management.appservice.DeploymentSlot;
+import com.microsoft.azure.management.appservice.DeploymentSlotSwapResult;
 import com.microsoft.azure.management.appservice.WebApp;
+import com.microsoft.azure.management.appservice.WebAppBase;
+import com.microsoft.azure.management.appservice.WebAppSettingsUpdateResult;
 import com.microsoft.azure.management.appservice.WebApps;
+import com.microsoft.rest.ServiceResponse;
 import rx.Observable;
+import rx.functions.Func0;
 import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The implementation for {@link WebApps}.
@@ -25,6 +41,7 @@ class WebAppsImpl
         WebAppsInner,
         AppServiceManager>
         implements WebApps {
+    private static final int MAX_CONFIGURATION_REQUESTS = 8;
 
     private final PagedListConverter<SiteInner, WebApp> converter;
     private final WebSiteManagementClientImpl serviceClient;
@@ -47,6 +64,48 @@ class WebAppsImpl
         return wrapList(innerCollection.listByResourceGroup(resourceGroupName));
     }
 
+    @Override
+    public Observable<WebApp> listByGroupAsync(final String resourceGroupName) {
+        PagedListConverter<SiteInner, SiteInner> sites = new PagedListConverter<SiteInner, SiteInner>() {
+            @Override
+            public SiteInner typeConvert(SiteInner siteInner) {
+                return siteInner;
+            }
+        };
+        final StreamingPageDecoder<SiteInner, SiteInner> decoder = new StreamingPageDecoder<>(serviceClient.retrofit(),
+                serviceClient.mapperAdapter(), serviceClient.acceptLanguage(), serviceClient.userAgent(), SiteInner.class, sites);
+        // The first page is requested by the generated client, with its API version, and the
+        // pages after it are decoded as they are consumed from their links
+        return innerCollection.listByResourceGroupSinglePageAsync(resourceGroupName)
+                .concatMap(new Func1<ServiceResponse<Page<SiteInner>>, Observable<SiteInner>>() {
+                    @Override
+                    public Observable<SiteInner> call(ServiceResponse<Page<SiteInner>> response) {
+                        final String nextPageLink = response.getBody().getNextPageLink();
+                        return Observable.from(response.getBody().getItems())
+                                .concatWith(Observable.defer(new Func0<Observable<SiteInner>>() {
+                                    @Override
+                                    public Observable<SiteInner> call() {
+                                        return nextPageLink == null ? Observable.<SiteInner>empty() : decoder.decodeAsync(nextPageLink);
+                                    }
+                                }));
+                    }
+                })
+                // The prefetch of the configuration requests bounds how many sites are read ahead
+                .concatMapEager(new Func1<SiteInner, Observable<WebApp>>() {
+                    @Override
+                    public Observable<WebApp> call(final SiteInner siteInner) {
+                        return innerCollection.getConfigurationAsync(resourceGroupName, siteInner.name())
+                                .subscribeOn(Schedulers.io())
+                                .map(new Func1<SiteConfigInner, WebApp>() {
+                                    @Override
+                                    public WebApp call(SiteConfigInner siteConfigInner) {
+                                        return wrapModel(siteInner.withSiteConfig(siteConfigInner));
+                                    }
+                                });
+                    }
+                }, MAX_CONFIGURATION_REQUESTS, MAX_CONFIGURATION_REQUESTS);
+    }
+
     @Override
     public WebApp getByGroup(String groupName, String name) {
         SiteInner siteInner = innerCollection.get(groupName, name);
@@ -95,4 +154,83 @@ class WebAppsImpl
                     }
                 });
     }
-}
\ No newline at end of file
+
+    @Override
+    public Observable<WebAppSettingsUpdateResult> applySettingsAsync(Collection<? extends WebAppBase<?>> webApps,
+                                                                     Map<String, String> appSettings,
+                                                                     Map<String, ConnStringValueTypePair> connectionStrings,
+                                                                     int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive.");
+        }
+        final Map<String, String> appSettingsToApply = appSettings == null
+                ? Collections.<String, String>emptyMap()
+                : new HashMap<>(appSettings);
+        final Map<String, ConnStringValueTypePair> connectionStringsToApply = connectionStrings == null
+                ? Collections.<String, ConnStringValueTypePair>emptyMap()
+                : new HashMap<>(connectionStrings);
+        return Observable.from(webApps).flatMap(new Func1<WebAppBase<?>, Observable<WebAppSettingsUpdateResult>>() {
+            @Override
+            public Observable<WebAppSettingsUpdateResult> call(final WebAppBase<?> webApp) {
+                return ((WebAppBaseImpl<?, ?>) webApp).applySettingsAsync(appSettingsToApply, connectionStringsToApply)
+                        .subscribeOn(Schedulers.io())
+                        .map(new Func1<Boolean, WebAppSettingsUpdateResult>() {
+                            @Override
+                            public WebAppSettingsUpdateResult call(Boolean changed) {
+                                return new SettingsUpdateResultImpl(webApp.id(), changed, null);
+                            }
+                        })
+                        .onErrorReturn(new Func1<Throwable, WebAppSettingsUpdateResult>() {
+                            @Override
+                            public WebAppSettingsUpdateResult call(Throwable throwable) {
+                                return new SettingsUpdateResultImpl(webApp.id(), false, throwable);
+                            }
+                        });
+            }
+        }, maxConcurrency);
+    }
+
+    @Override
+    public Observable<DeploymentSlotSwapResult> swapSlotsAsync(List<DeploymentSlot> slots,
+                                                               String targetSlotName,
+                                                               int canaryCount,
+                                                               int maxConcurrency) {
+        return new DeploymentSlotSwapsImpl(innerCollection, myManager.longRunningOperationPoller())
+                .swapAsync(slots, targetSlotName, canaryCount, maxConcurrency);
+    }
+
+    /**
+     * The implementation of {@link WebAppSettingsUpdateResult}.
+     */
+    private static final class SettingsUpdateResultImpl implements WebAppSettingsUpdateResult {
+        private final String webAppId;
+        private final boolean changed;
+        private final Throwable error;
+
+        SettingsUpdateResultImpl(String webAppId, boolean changed, Throwable error) {
+            this.webAppId = webAppId;
+            this.changed = changed;
+            this.error = error;
+        }
+
+        @Override
+        public String webAppId() {
+            return this.webAppId;
+        }
+
+        @Override
+        public boolean isChanged() {
+            return this.changed;
+        }
+
+        @Override
+        public boolean isSucceeded() {
+            return this.error == null;
+        }
+
+        @Override
+        public Throwable error() {
+            return this.error;
+        }
+    }
+}
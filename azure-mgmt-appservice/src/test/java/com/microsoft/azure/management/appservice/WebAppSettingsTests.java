@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.management.appservice.implementation.AppServiceManager;
+import com.microsoft.azure.management.resources.FakeService;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Buffer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.microsoft.azure.management.resources.FakeService.response;
+
+/**
+ * Test class to test applying settings to many web apps, against a fake service.
+ */
+public class WebAppSettingsTests {
+    private static final Pattern SITE_PATH = Pattern.compile(".*/resourceGroups/rg/providers/Microsoft.Web/sites/([^/]+)(/.*)?");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // The app settings of each web app on the fake service
+    private final ConcurrentMap<String, Map<String, String>> appSettings = new ConcurrentHashMap<>();
+    // The web apps whose app settings cannot be listed
+    private final List<String> failingWebApps = new CopyOnWriteArrayList<>();
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private AppServiceManager manager;
+
+    @Before
+    public void setup() {
+        FakeService service = new FakeService() {
+            @Override
+            protected Response respond(Request request) throws IOException {
+                return WebAppSettingsTests.this.respond(request);
+            }
+        };
+        manager = AppServiceManager.authenticate(service.restClient(), "tenant", "sub");
+    }
+
+    private Response respond(Request request) throws IOException {
+        Matcher matcher = SITE_PATH.matcher(request.url().encodedPath());
+        Assert.assertTrue(request.url().encodedPath(), matcher.matches());
+        String name = matcher.group(1);
+        String path = matcher.group(2) == null ? "" : matcher.group(2);
+        calls.add(request.method() + " " + name + path);
+        if (path.isEmpty()) {
+            return response(request, 200, "{\"id\":\"/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Web/sites/"
+                    + name + "\",\"name\":\"" + name + "\",\"location\":\"westus\",\"properties\":{}}");
+        } else if (path.equals("/config/web")) {
+            return response(request, 200, "{\"properties\":{}}");
+        } else if (path.equals("/config/appsettings/list")) {
+            if (failingWebApps.contains(name)) {
+                return response(request, 400, "{\"error\":{\"code\":\"BadRequest\",\"message\":\"Cannot list.\"}}");
+            }
+            return response(request, 200, "{\"location\":\"westus\",\"properties\":"
+                    + MAPPER.writeValueAsString(appSettings.get(name)) + "}");
+        } else if (path.equals("/config/appsettings")) {
+            Buffer body = new Buffer();
+            request.body().writeTo(body);
+            JsonNode properties = MAPPER.readTree(body.readUtf8()).get("properties");
+            Map<String, String> written = new HashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = properties.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                written.put(field.getKey(), field.getValue().asText());
+            }
+            appSettings.put(name, written);
+            ObjectNode result = MAPPER.createObjectNode();
+            result.set("properties", properties);
+            return response(request, 200, MAPPER.writeValueAsString(result));
+        }
+        return response(request, 404, "{}");
+    }
+
+    private Map<String, WebAppSettingsUpdateResult> apply(List<WebApp> webApps, Map<String, String> settings) {
+        Map<String, WebAppSettingsUpdateResult> results = new HashMap<>();
+        for (WebAppSettingsUpdateResult result : manager.webApps().applySettingsAsync(webApps, settings, null, 2)
+                .toList().toBlocking().single()) {
+            results.put(result.webAppId().substring(result.webAppId().lastIndexOf('/') + 1), result);
+        }
+        return results;
+    }
+
+    private int count(String call) {
+        return Collections.frequency(calls, call);
+    }
+
+    @Test
+    public void canApplySettingsOnlyWhereTheyDiffer() throws Exception {
+        appSettings.put("app1", Collections.singletonMap("A", "1"));
+        appSettings.put("app2", Collections.singletonMap("B", "2"));
+        appSettings.put("app3", Collections.<String, String>emptyMap());
+        failingWebApps.add("app3");
+        List<WebApp> webApps = Arrays.asList(
+                manager.webApps().getByGroup("rg", "app1"),
+                manager.webApps().getByGroup("rg", "app2"),
+                manager.webApps().getByGroup("rg", "app3"));
+
+        Map<String, WebAppSettingsUpdateResult> results = apply(webApps, Collections.singletonMap("A", "1"));
+
+        Assert.assertEquals(3, results.size());
+        Assert.assertTrue(results.get("app1").isSucceeded());
+        Assert.assertFalse(results.get("app1").isChanged());
+        Assert.assertNull(results.get("app1").error());
+        Assert.assertTrue(results.get("app2").isSucceeded());
+        Assert.assertTrue(results.get("app2").isChanged());
+        Assert.assertFalse(results.get("app3").isSucceeded());
+        Assert.assertFalse(results.get("app3").isChanged());
+        Assert.assertNotNull(results.get("app3").error());
+
+        Assert.assertEquals(0, count("PUT app1/config/appsettings"));
+        Assert.assertEquals(1, count("PUT app2/config/appsettings"));
+        Assert.assertEquals(0, count("PUT app3/config/appsettings"));
+        Assert.assertEquals("1", appSettings.get("app2").get("A"));
+        Assert.assertEquals("2", appSettings.get("app2").get("B"));
+        // Connection strings are not read when none are applied
+        Assert.assertEquals(0, count("POST app1/config/connectionstrings/list"));
+    }
+
+    @Test
+    public void canRewriteSettingsChangedOnTheService() throws Exception {
+        appSettings.put("app1", Collections.<String, String>emptyMap());
+        List<WebApp> webApps = Collections.singletonList(manager.webApps().getByGroup("rg", "app1"));
+
+        Assert.assertTrue(apply(webApps, Collections.singletonMap("A", "1")).get("app1").isChanged());
+        Assert.assertFalse(apply(webApps, Collections.singletonMap("A", "1")).get("app1").isChanged());
+
+        // The settings are changed by someone else, so the same update is written again
+        appSettings.put("app1", Collections.singletonMap("A", "2"));
+        Assert.assertTrue(apply(webApps, Collections.singletonMap("A", "1")).get("app1").isChanged());
+
+        Assert.assertEquals("1", appSettings.get("app1").get("A"));
+        Assert.assertEquals(3, count("POST app1/config/appsettings/list"));
+        Assert.assertEquals(2, count("PUT app1/config/appsettings"));
+    }
+}
@@ -12,6 +12,7 @@ import com.microsoft.azure.management.batch.BatchAccounts;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
+import com.microsoft.azure.management.resources.fluentcore.utils.Lazy;
 import com.microsoft.azure.management.storage.implementation.StorageManager;
 
 /**
@@ -20,15 +21,24 @@ import com.microsoft.azure.management.storage.implementation.StorageManager;
 public class BatchManager extends Manager<BatchManager, BatchManagementClientImpl> {
 
     private BatchAccounts batchAccounts;
-    private StorageManager storageManager;
+    // The storage manager, created when first needed
+    private final Lazy<StorageManager> storageManager;
 
-    protected BatchManager(RestClient restClient, String subscriptionId) {
+    protected BatchManager(final RestClient restClient, final String subscriptionId) {
+        this(restClient, subscriptionId, new Lazy<StorageManager>() {
+            @Override
+            protected StorageManager create() {
+                return StorageManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private BatchManager(RestClient restClient, String subscriptionId, Lazy<StorageManager> storageManager) {
         super(
                 restClient,
                 subscriptionId,
                 new BatchManagementClientImpl(restClient).withSubscriptionId(subscriptionId));
-
-        storageManager = StorageManager.authenticate(restClient, subscriptionId);
+        this.storageManager = storageManager;
     }
 
     /**
@@ -64,6 +74,19 @@ public class BatchManager extends Manager<BatchManager, BatchManagementClientImp
         return new BatchManager(restClient, subscriptionId);
     }
 
+    /**
+     * Creates an instance of BatchManager that exposes Batch resource management API entry points,
+     * sharing the storage manager of the caller.
+     *
+     * @param restClient the RestClient to be used for API calls.
+     * @param subscriptionId the subscription
+     * @param storageManager the storage manager the auto storage accounts are managed with, created when first needed
+     * @return the BatchManager
+     */
+    public static BatchManager authenticate(RestClient restClient, String subscriptionId, Lazy<StorageManager> storageManager) {
+        return new BatchManager(restClient, subscriptionId, storageManager);
+    }
+
     /**
      * The interface allowing configurations to be set.
      */
@@ -99,7 +122,7 @@ public class BatchManager extends Manager<BatchManager, BatchManagementClientImp
                     super.innerManagementClient.applications(),
                     super.innerManagementClient.applicationPackages(),
                     super.innerManagementClient.locations(),
-                    this.storageManager);
+                    this.storageManager.get());
         }
 
         return batchAccounts;
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.compute;
+
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+import java.util.List;
+
+/**
+ * An immutable summary of a virtual machine, its power state and its IP addresses,
+ * as captured by an inventory of the virtual machines in a subscription.
+ */
+@Fluent
+public interface VirtualMachineInventoryEntry {
+    /**
+     * @return the resource ID of the virtual machine
+     */
+    String id();
+
+    /**
+     * @return the name of the virtual machine
+     */
+    String name();
+
+    /**
+     * @return the name of the resource group of the virtual machine
+     */
+    String resourceGroupName();
+
+    /**
+     * @return the name of the region of the virtual machine
+     */
+    String regionName();
+
+    /**
+     * @return the size of the virtual machine
+     */
+    VirtualMachineSizeTypes size();
+
+    /**
+     * @return the operating system type of the virtual machine
+     */
+    OperatingSystemTypes osType();
+
+    /**
+     * @return the provisioning state of the virtual machine
+     */
+    String provisioningState();
+
+    /**
+     * @return the power state of the virtual machine, null if the instance view could not be retrieved
+     */
+    PowerState powerState();
+
+    /**
+     * @return the error that prevented retrieving the instance view of the virtual machine, null if it was retrieved
+     */
+    Throwable instanceViewError();
+
+    /**
+     * @return the resource IDs of the network interfaces of the virtual machine
+     */
+    List<String> networkInterfaceIds();
+
+    /**
+     * @return the private IP addresses of the network interfaces of the virtual machine
+     */
+    List<String> privateIpAddresses();
+
+    /**
+     * @return the public IP addresses associated with the network interfaces of the virtual machine
+     */
+    List<String> publicIpAddresses();
+}
@@ -0,0 +1,20 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.compute;
+
+/**
+ * The power operations that can be applied to many virtual machines at once.
+ */
+public enum VirtualMachinePowerOperation {
+    /** Start the virtual machine. */
+    START,
+    /** Power off (stop) the virtual machine. */
+    POWER_OFF,
+    /** Restart the virtual machine. */
+    RESTART,
+    /** Shut down the virtual machine and release its compute resources. */
+    DEALLOCATE
+}
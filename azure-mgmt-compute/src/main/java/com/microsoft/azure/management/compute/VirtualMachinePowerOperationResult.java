@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.compute;
+
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+/**
+ * The outcome of a power operation applied to one of many virtual machines.
+ */
+@Fluent
+public interface VirtualMachinePowerOperationResult {
+    /**
+     * @return the resource ID of the virtual machine
+     */
+    String virtualMachineId();
+
+    /**
+     * @return the power operation that was applied
+     */
+    VirtualMachinePowerOperation operation();
+
+    /**
+     * @return true if the operation completed successfully, false otherwise
+     */
+    boolean isSucceeded();
+
+    /**
+     * @return the reason the operation failed, null if it succeeded
+     */
+    Throwable error();
+}
@@ -0,0 +1,22 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.compute;
+
+/**
+ * The operations that can be rolled out over the virtual machine instances of a scale set.
+ */
+public enum VirtualMachineScaleSetVMOperation {
+    /** Reimage the virtual machine instance. */
+    REIMAGE,
+    /** Restart the virtual machine instance. */
+    RESTART,
+    /** Shut down the virtual machine instance and release its compute resources. */
+    DEALLOCATE,
+    /** Start the virtual machine instance. */
+    START,
+    /** Power off (stop) the virtual machine instance. */
+    POWER_OFF
+}
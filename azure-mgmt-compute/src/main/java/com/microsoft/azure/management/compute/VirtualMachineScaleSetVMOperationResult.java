@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.compute;
+
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+/**
+ * The outcome of a rolling operation for one virtual machine instance of a scale set.
+ */
+@Fluent
+public interface VirtualMachineScaleSetVMOperationResult {
+    /**
+     * @return the instance ID of the virtual machine
+     */
+    String instanceId();
+
+    /**
+     * @return the operation that was applied
+     */
+    VirtualMachineScaleSetVMOperation operation();
+
+    /**
+     * @return the zero based index of the batch the instance was part of
+     */
+    int batch();
+
+    /**
+     * @return true if the operation succeeded and the instance did not report a failed provisioning state
+     */
+    boolean isSucceeded();
+
+    /**
+     * @return the reason the operation or the instance view retrieval failed, null if none
+     */
+    Throwable error();
+
+    /**
+     * @return the instance view retrieved once the batch completed, null if it could not be retrieved
+     */
+    VirtualMachineInstanceView instanceView();
+
+    /**
+     * @return the power state from the instance view, null if not known
+     */
+    PowerState powerState();
+}
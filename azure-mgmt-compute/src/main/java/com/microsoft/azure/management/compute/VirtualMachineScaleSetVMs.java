@@ -2,10 +2,31 @@ package com.microsoft.azure.management.compute;
 
 import com.microsoft.azure.management.apigeneration.Fluent;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import rx.Observable;
+
+import java.util.List;
 
 /**
  *  Entry point to virtual machine scale set instance management API.
  */
 @Fluent
 public interface VirtualMachineScaleSetVMs extends SupportsListing<VirtualMachineScaleSetVM> {
+    /**
+     * Rolls an operation out over virtual machine instances, one batch after the other.
+     * <p>
+     * Once a batch completes, the instance view of each of its instances is retrieved and emitted
+     * before the next batch starts. When maxFailures instances have failed, the remaining batches
+     * are not started and the observable completes.
+     *
+     * @param operation the operation to apply
+     * @param instanceIds the instance IDs of the virtual machines
+     * @param batchSize the maximum number of instances in a batch
+     * @param maxFailures the number of failed instances after which the rollout stops
+     * @return an observable emitting the outcome for each instance
+     */
+    Observable<VirtualMachineScaleSetVMOperationResult> applyRollingAsync(
+            VirtualMachineScaleSetVMOperation operation,
+            List<String> instanceIds,
+            int batchSize,
+            int maxFailures);
 }
@@ -9,6 +9,9 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import rx.Observable;
+
+import java.util.Collection;
 
 /**
  *  Entry point to virtual machine management API.
@@ -69,6 +72,38 @@ public interface VirtualMachines extends
      */
     void start(String groupName, String name);
 
+    /**
+     * Applies a power operation to many virtual machines.
+     * <p>
+     * At most maxConcurrency operations are being started at any time, while the operations already
+     * started are awaited together, honoring the Retry-After interval returned by the service.
+     * Begin calls throttled by the service are retried, by the throttling of the manager
+     * configuration when it is on, or a few times here otherwise.
+     *
+     * @param operation the power operation to apply
+     * @param ids the resource IDs of the virtual machines
+     * @param maxConcurrency the maximum number of operations being started at the same time
+     * @return an observable emitting the outcome for each virtual machine as soon as it is known
+     */
+    Observable<VirtualMachinePowerOperationResult> applyPowerOperationAsync(
+            VirtualMachinePowerOperation operation,
+            Collection<String> ids,
+            int maxConcurrency);
+
+    /**
+     * Lists an inventory of all the virtual machines in the currently selected subscription,
+     * including their power states and IP addresses.
+     * <p>
+     * The virtual machines are listed once, their instance views are retrieved concurrently and
+     * their IP addresses are taken from a single listing of the network interfaces and public IP addresses.
+     * A virtual machine whose instance view could not be retrieved is still listed, with the error
+     * in {@link VirtualMachineInventoryEntry#instanceViewError()}.
+     *
+     * @param maxConcurrency the maximum number of instance views being retrieved at the same time
+     * @return an observable emitting an entry for each virtual machine
+     */
+    Observable<VirtualMachineInventoryEntry> listInventoryAsync(int maxConcurrency);
+
     /**
      * Redeploy a virtual machine.
      *
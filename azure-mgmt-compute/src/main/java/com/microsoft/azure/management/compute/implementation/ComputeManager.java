@@ -12,15 +12,18 @@ import com.microsoft.azure.management.network.implementation.NetworkManager;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
+import com.microsoft.azure.management.resources.fluentcore.utils.Lazy;
+import com.microsoft.azure.management.resources.fluentcore.utils.LongRunningOperationPoller;
 import com.microsoft.azure.management.storage.implementation.StorageManager;
 
 /**
  * Entry point to Azure compute resource management.
  */
 public final class ComputeManager extends Manager<ComputeManager, ComputeManagementClientImpl> {
-    // The service managers
-    private StorageManager storageManager;
-    private NetworkManager networkManager;
+    // The service managers, created when first needed
+    private final Lazy<StorageManager> storageManager;
+    private final Lazy<NetworkManager> networkManager;
+    private final LongRunningOperationPoller longRunningOperationPoller;
     // The collections
     private AvailabilitySets availabilitySets;
     private VirtualMachines virtualMachines;
@@ -46,7 +49,7 @@ public final class ComputeManager extends Manager<ComputeManager, ComputeManagem
      * @return the ComputeManager
      */
     public static ComputeManager authenticate(AzureTokenCredentials credentials, String subscriptionId) {
-        return new ComputeManager(credentials.getEnvironment().newRestClientBuilder()
+        return ComputeManager.authenticate(credentials.getEnvironment().newRestClientBuilder()
                 .withCredentials(credentials)
                 .build(), subscriptionId);
     }
@@ -58,8 +61,37 @@ public final class ComputeManager extends Manager<ComputeManager, ComputeManagem
      * @param subscriptionId the subscription
      * @return the ComputeManager
      */
-    public static ComputeManager authenticate(RestClient restClient, String subscriptionId) {
-        return new ComputeManager(restClient, subscriptionId);
+    public static ComputeManager authenticate(final RestClient restClient, final String subscriptionId) {
+        return new ComputeManager(restClient, subscriptionId,
+                new Lazy<StorageManager>() {
+                    @Override
+                    protected StorageManager create() {
+                        return StorageManager.authenticate(restClient, subscriptionId);
+                    }
+                },
+                new Lazy<NetworkManager>() {
+                    @Override
+                    protected NetworkManager create() {
+                        return NetworkManager.authenticate(restClient, subscriptionId);
+                    }
+                });
+    }
+
+    /**
+     * Creates an instance of ComputeManager that exposes Compute resource management API entry points,
+     * sharing the storage and network managers of the caller.
+     *
+     * @param restClient the RestClient to be used for API calls.
+     * @param subscriptionId the subscription
+     * @param storageManager the storage manager the virtual machines are managed with, created when first needed
+     * @param networkManager the network manager the virtual machines are managed with, created when first needed
+     * @return the ComputeManager
+     */
+    public static ComputeManager authenticate(RestClient restClient,
+                                              String subscriptionId,
+                                              Lazy<StorageManager> storageManager,
+                                              Lazy<NetworkManager> networkManager) {
+        return new ComputeManager(restClient, subscriptionId, storageManager, networkManager);
     }
 
     /**
@@ -86,13 +118,26 @@ public final class ComputeManager extends Manager<ComputeManager, ComputeManagem
         }
     }
 
-    private ComputeManager(RestClient restClient, String subscriptionId) {
+    private ComputeManager(RestClient restClient,
+                           String subscriptionId,
+                           Lazy<StorageManager> storageManager,
+                           Lazy<NetworkManager> networkManager) {
         super(
                 restClient,
                 subscriptionId,
                 new ComputeManagementClientImpl(restClient).withSubscriptionId(subscriptionId));
-        storageManager = StorageManager.authenticate(restClient, subscriptionId);
-        networkManager = NetworkManager.authenticate(restClient, subscriptionId);
+        this.storageManager = storageManager;
+        this.networkManager = networkManager;
+        this.longRunningOperationPoller = new LongRunningOperationPoller(super.innerManagementClient.retrofit(),
+                super.innerManagementClient.mapperAdapter(),
+                super.innerManagementClient.getAzureClient());
+    }
+
+    /**
+     * @return the poller waiting for the long running operations started by the bulk operations of this manager
+     */
+    public LongRunningOperationPoller longRunningOperationPoller() {
+        return longRunningOperationPoller;
     }
 
     /**
@@ -112,12 +157,11 @@ public final class ComputeManager extends Manager<ComputeManager, ComputeManagem
      */
     public VirtualMachines virtualMachines() {
         if (virtualMachines == null) {
-            virtualMachines = new VirtualMachinesImpl(super.innerManagementClient.virtualMachines(),
-                    super.innerManagementClient.virtualMachineExtensions(),
-                    super.innerManagementClient.virtualMachineSizes(),
+            virtualMachines = new VirtualMachinesImpl(super.innerManagementClient,
                     this,
-                    storageManager,
-                    networkManager);
+                    storageManager.get(),
+                    networkManager.get(),
+                    longRunningOperationPoller);
         }
         return virtualMachines;
     }
@@ -153,8 +197,8 @@ public final class ComputeManager extends Manager<ComputeManager, ComputeManagem
             virtualMachineScaleSets = new VirtualMachineScaleSetsImpl(super.innerManagementClient.virtualMachineScaleSets(),
                     this.innerManagementClient.virtualMachineScaleSetVMs(),
                     this,
-                    storageManager,
-                    networkManager);
+                    storageManager.get(),
+                    networkManager.get());
         }
         return virtualMachineScaleSets;
     }
@@ -0,0 +1,281 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.compute.implementation;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.compute.InstanceViewTypes;
+import com.microsoft.azure.management.compute.OperatingSystemTypes;
+import com.microsoft.azure.management.compute.PowerState;
+import com.microsoft.azure.management.compute.VirtualMachineInventoryEntry;
+import com.microsoft.azure.management.compute.VirtualMachineSizeTypes;
+import com.microsoft.azure.management.network.NetworkInterface;
+import com.microsoft.azure.management.network.NicIpConfiguration;
+import com.microsoft.azure.management.network.PublicIpAddress;
+import com.microsoft.azure.management.network.implementation.NetworkManager;
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.functions.Func2;
+import rx.schedulers.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Builds an inventory of the virtual machines in a subscription in one pass: the virtual machines
+ * are paged through once, their instance views are retrieved concurrently, and their IP addresses
+ * are joined from a single listing of the network interfaces and public IP addresses.
+ */
+final class VirtualMachineInventoryImpl {
+    private final VirtualMachinesInner innerCollection;
+    private final NetworkManager networkManager;
+
+    VirtualMachineInventoryImpl(VirtualMachinesInner innerCollection, NetworkManager networkManager) {
+        this.innerCollection = innerCollection;
+        this.networkManager = networkManager;
+    }
+
+    /**
+     * Lists the inventory of the virtual machines.
+     *
+     * @param maxConcurrency the maximum number of instance views being retrieved at the same time
+     * @return an observable emitting an entry for each virtual machine
+     */
+    Observable<VirtualMachineInventoryEntry> listAsync(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive.");
+        }
+        final Observable<NetworkIndex> networkIndex = networkIndexAsync().cache();
+        return innerCollection.listAllAsync()
+                .concatMap(new Func1<Page<VirtualMachineInner>, Observable<VirtualMachineInner>>() {
+                    @Override
+                    public Observable<VirtualMachineInner> call(Page<VirtualMachineInner> page) {
+                        return Observable.from(page.getItems());
+                    }
+                })
+                .flatMap(new Func1<VirtualMachineInner, Observable<InstanceViewResult>>() {
+                    @Override
+                    public Observable<InstanceViewResult> call(final VirtualMachineInner listed) {
+                        return withInstanceViewAsync(listed);
+                    }
+                }, maxConcurrency)
+                .flatMap(new Func1<InstanceViewResult, Observable<VirtualMachineInventoryEntry>>() {
+                    @Override
+                    public Observable<VirtualMachineInventoryEntry> call(final InstanceViewResult result) {
+                        return networkIndex.map(new Func1<NetworkIndex, VirtualMachineInventoryEntry>() {
+                            @Override
+                            public VirtualMachineInventoryEntry call(NetworkIndex index) {
+                                return new EntryImpl(result.inner, result.error, index);
+                            }
+                        });
+                    }
+                });
+    }
+
+    // Retrieves the virtual machine with its instance view, falling back to the listed model along with
+    // the error if the instance view could not be retrieved
+    private Observable<InstanceViewResult> withInstanceViewAsync(final VirtualMachineInner listed) {
+        return innerCollection.getAsync(ResourceUtils.groupFromResourceId(listed.id()),
+                listed.name(),
+                InstanceViewTypes.INSTANCE_VIEW)
+                .subscribeOn(Schedulers.io())
+                .map(new Func1<VirtualMachineInner, InstanceViewResult>() {
+                    @Override
+                    public InstanceViewResult call(VirtualMachineInner inner) {
+                        return new InstanceViewResult(inner, null);
+                    }
+                })
+                .onErrorReturn(new Func1<Throwable, InstanceViewResult>() {
+                    @Override
+                    public InstanceViewResult call(Throwable throwable) {
+                        return new InstanceViewResult(listed, throwable);
+                    }
+                });
+    }
+
+    // Lists the network interfaces and the public IP addresses in parallel
+    private Observable<NetworkIndex> networkIndexAsync() {
+        Observable<List<NetworkInterface>> nics = networkManager.networkInterfaces().listAsync()
+                .toList()
+                .subscribeOn(Schedulers.io());
+        Observable<List<PublicIpAddress>> pips = Observable.defer(new Func0<Observable<List<PublicIpAddress>>>() {
+            @Override
+            public Observable<List<PublicIpAddress>> call() {
+                return Observable.just((List<PublicIpAddress>) new ArrayList<>(networkManager.publicIpAddresses().list()));
+            }
+        }).subscribeOn(Schedulers.io());
+        return Observable.zip(nics, pips, new Func2<List<NetworkInterface>, List<PublicIpAddress>, NetworkIndex>() {
+            @Override
+            public NetworkIndex call(List<NetworkInterface> nics, List<PublicIpAddress> pips) {
+                return new NetworkIndex(nics, pips);
+            }
+        });
+    }
+
+    private static String key(String id) {
+        return id.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A virtual machine with its instance view, or without it along with the error retrieving it.
+     */
+    private static final class InstanceViewResult {
+        private final VirtualMachineInner inner;
+        private final Throwable error;
+
+        InstanceViewResult(VirtualMachineInner inner, Throwable error) {
+            this.inner = inner;
+            this.error = error;
+        }
+    }
+
+    /**
+     * The IP addresses of the network interfaces, by lower cased network interface ID.
+     */
+    private static final class NetworkIndex {
+        private final Map<String, List<String>> privateIps = new HashMap<>();
+        private final Map<String, List<String>> publicIps = new HashMap<>();
+
+        NetworkIndex(List<NetworkInterface> nics, List<PublicIpAddress> pips) {
+            Map<String, String> pipAddresses = new HashMap<>();
+            for (PublicIpAddress pip : pips) {
+                if (pip.ipAddress() != null) {
+                    pipAddresses.put(key(pip.id()), pip.ipAddress());
+                }
+            }
+            for (NetworkInterface nic : nics) {
+                List<String> nicPrivateIps = new ArrayList<>();
+                List<String> nicPublicIps = new ArrayList<>();
+                for (NicIpConfiguration ipConfig : nic.ipConfigurations().values()) {
+                    if (ipConfig.inner().privateIPAddress() != null) {
+                        nicPrivateIps.add(ipConfig.inner().privateIPAddress());
+                    }
+                    if (ipConfig.publicIpAddressId() != null) {
+                        String address = pipAddresses.get(key(ipConfig.publicIpAddressId()));
+                        if (address != null) {
+                            nicPublicIps.add(address);
+                        }
+                    }
+                }
+                this.privateIps.put(key(nic.id()), nicPrivateIps);
+                this.publicIps.put(key(nic.id()), nicPublicIps);
+            }
+        }
+    }
+
+    /**
+     * The implementation of {@link VirtualMachineInventoryEntry}.
+     */
+    private static final class EntryImpl implements VirtualMachineInventoryEntry {
+        private final String id;
+        private final String name;
+        private final String resourceGroupName;
+        private final String regionName;
+        private final VirtualMachineSizeTypes size;
+        private final OperatingSystemTypes osType;
+        private final String provisioningState;
+        private final PowerState powerState;
+        private final Throwable instanceViewError;
+        private final List<String> networkInterfaceIds;
+        private final List<String> privateIpAddresses;
+        private final List<String> publicIpAddresses;
+
+        EntryImpl(VirtualMachineInner inner, Throwable instanceViewError, NetworkIndex index) {
+            this.id = inner.id();
+            this.name = inner.name();
+            this.resourceGroupName = ResourceUtils.groupFromResourceId(inner.id());
+            this.regionName = inner.location();
+            this.size = inner.hardwareProfile() != null ? inner.hardwareProfile().vmSize() : null;
+            this.osType = inner.storageProfile() != null && inner.storageProfile().osDisk() != null
+                    ? inner.storageProfile().osDisk().osType()
+                    : null;
+            this.provisioningState = inner.provisioningState();
+            this.powerState = PowerState.fromInstanceView(inner.instanceView());
+            this.instanceViewError = instanceViewError;
+            List<String> nicIds = new ArrayList<>();
+            List<String> privateIps = new ArrayList<>();
+            List<String> publicIps = new ArrayList<>();
+            if (inner.networkProfile() != null && inner.networkProfile().networkInterfaces() != null) {
+                for (NetworkInterfaceReferenceInner nicReference : inner.networkProfile().networkInterfaces()) {
+                    nicIds.add(nicReference.id());
+                    String nicKey = key(nicReference.id());
+                    if (index.privateIps.containsKey(nicKey)) {
+                        privateIps.addAll(index.privateIps.get(nicKey));
+                        publicIps.addAll(index.publicIps.get(nicKey));
+                    }
+                }
+            }
+            this.networkInterfaceIds = Collections.unmodifiableList(nicIds);
+            this.privateIpAddresses = Collections.unmodifiableList(privateIps);
+            this.publicIpAddresses = Collections.unmodifiableList(publicIps);
+        }
+
+        @Override
+        public String id() {
+            return this.id;
+        }
+
+        @Override
+        public String name() {
+            return this.name;
+        }
+
+        @Override
+        public String resourceGroupName() {
+            return this.resourceGroupName;
+        }
+
+        @Override
+        public String regionName() {
+            return this.regionName;
+        }
+
+        @Override
+        public VirtualMachineSizeTypes size() {
+            return this.size;
+        }
+
+        @Override
+        public OperatingSystemTypes osType() {
+            return this.osType;
+        }
+
+        @Override
+        public String provisioningState() {
+            return this.provisioningState;
+        }
+
+        @Override
+        public PowerState powerState() {
+            return this.powerState;
+        }
+
+        @Override
+        public Throwable instanceViewError() {
+            return this.instanceViewError;
+        }
+
+        @Override
+        public List<String> networkInterfaceIds() {
+            return this.networkInterfaceIds;
+        }
+
+        @Override
+        public List<String> privateIpAddresses() {
+            return this.privateIpAddresses;
+        }
+
+        @Override
+        public List<String> publicIpAddresses() {
+            return this.publicIpAddresses;
+        }
+    }
+}
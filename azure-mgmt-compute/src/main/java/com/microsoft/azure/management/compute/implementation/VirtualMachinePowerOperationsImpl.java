@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.compute.implementation;
+
+import com.microsoft.azure.CloudException;
+import com.microsoft.azure.management.compute.VirtualMachinePowerOperation;
+import com.microsoft.azure.management.compute.VirtualMachinePowerOperationResult;
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
+import com.microsoft.azure.management.resources.fluentcore.utils.LongRunningOperationPoller;
+import com.microsoft.azure.management.resources.fluentcore.utils.ThrottlingInterceptor;
+import com.microsoft.rest.ServiceResponse;
+import retrofit2.Response;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies a power operation to many virtual machines: the begin calls are issued with bounded
+ * concurrency, and the resulting long running operations are waited for through the shared
+ * {@link LongRunningOperationPoller} instead of holding a thread per operation.
+ */
+final class VirtualMachinePowerOperationsImpl {
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int MAX_THROTTLED_RETRIES = 5;
+
+    private final VirtualMachinesInner innerCollection;
+    private final LongRunningOperationPoller poller;
+    // Throttled begin calls are only retried here when the HTTP client does not retry them already
+    private final boolean retriesThrottledCalls;
+
+    VirtualMachinePowerOperationsImpl(ComputeManagementClientImpl client, LongRunningOperationPoller poller) {
+        this.innerCollection = client.virtualMachines();
+        this.retriesThrottledCalls = !ThrottlingInterceptor.isInstalled(client.restClient());
+        this.poller = poller;
+    }
+
+    /**
+     * Applies a power operation to virtual machines.
+     *
+     * @param operation the power operation
+     * @param ids the resource IDs of the virtual machines
+     * @param maxConcurrency the maximum number of begin calls in flight at any time
+     * @return an observable emitting the outcome for each virtual machine as it completes
+     */
+    Observable<VirtualMachinePowerOperationResult> applyAsync(final VirtualMachinePowerOperation operation,
+                                                              Collection<String> ids,
+                                                              int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive.");
+        }
+        // Only the begin calls count towards the concurrency limit, the polls of the
+        // started operations are merged without a bound
+        return Observable.merge(Observable.from(ids).flatMap(
+                new Func1<String, Observable<Observable<VirtualMachinePowerOperationResult>>>() {
+                    @Override
+                    public Observable<Observable<VirtualMachinePowerOperationResult>> call(final String id) {
+                        return beginAsync(operation, id)
+                                .map(new Func1<ServiceResponse<Void>, Observable<VirtualMachinePowerOperationResult>>() {
+                                    @Override
+                                    public Observable<VirtualMachinePowerOperationResult> call(ServiceResponse<Void> response) {
+                                        return poller.waitAsync(response.getResponse())
+                                                .map(new Func1<Void, VirtualMachinePowerOperationResult>() {
+                                                    @Override
+                                                    public VirtualMachinePowerOperationResult call(Void aVoid) {
+                                                        return new ResultImpl(id, operation, null);
+                                                    }
+                                                })
+                                                .onErrorReturn(failure(id, operation));
+                                    }
+                                })
+                                .onErrorReturn(new Func1<Throwable, Observable<VirtualMachinePowerOperationResult>>() {
+                                    @Override
+                                    public Observable<VirtualMachinePowerOperationResult> call(Throwable throwable) {
+                                        return Observable.just(failure(id, operation).call(throwable));
+                                    }
+                                });
+                    }
+                }, maxConcurrency));
+    }
+
+    private static Func1<Throwable, VirtualMachinePowerOperationResult> failure(final String id,
+                                                                               final VirtualMachinePowerOperation operation) {
+        return new Func1<Throwable, VirtualMachinePowerOperationResult>() {
+            @Override
+            public VirtualMachinePowerOperationResult call(Throwable throwable) {
+                return new ResultImpl(id, operation, throwable);
+            }
+        };
+    }
+
+    private Observable<ServiceResponse<Void>> beginAsync(final VirtualMachinePowerOperation operation, String id) {
+        final String groupName = ResourceUtils.groupFromResourceId(id);
+        final String name = ResourceUtils.nameFromResourceId(id);
+        final AtomicInteger throttledRetries = new AtomicInteger();
+        Observable<ServiceResponse<Void>> begin = Observable.defer(new Func0<Observable<ServiceResponse<Void>>>() {
+            @Override
+            public Observable<ServiceResponse<Void>> call() {
+                switch (operation) {
+                    case START:
+                        return innerCollection.beginStartWithServiceResponseAsync(groupName, name);
+                    case POWER_OFF:
+                        return innerCollection.beginPowerOffWithServiceResponseAsync(groupName, name);
+                    case RESTART:
+                        return innerCollection.beginRestartWithServiceResponseAsync(groupName, name);
+                    case DEALLOCATE:
+                        return innerCollection.beginDeallocateWithServiceResponseAsync(groupName, name);
+                    default:
+                        return Observable.error(new IllegalArgumentException("Unsupported operation " + operation));
+                }
+            }
+        }).subscribeOn(Schedulers.io());
+        if (!retriesThrottledCalls) {
+            return begin;
+        }
+        return begin.retryWhen(new Func1<Observable<? extends Throwable>, Observable<?>>() {
+            @Override
+            public Observable<?> call(Observable<? extends Throwable> errors) {
+                return errors.flatMap(new Func1<Throwable, Observable<Long>>() {
+                    @Override
+                    public Observable<Long> call(Throwable throwable) {
+                        if (throwable instanceof CloudException
+                                && ((CloudException) throwable).getResponse() != null
+                                && ((CloudException) throwable).getResponse().code() == TOO_MANY_REQUESTS
+                                && throttledRetries.incrementAndGet() <= MAX_THROTTLED_RETRIES) {
+                            return Observable.timer(retryAfterInSeconds(((CloudException) throwable).getResponse(),
+                                    1L << throttledRetries.get()), TimeUnit.SECONDS);
+                        }
+                        return Observable.error(throwable);
+                    }
+                });
+            }
+        });
+    }
+
+    // The delay in the Retry-After header of a throttled response, or the backoff if it has none
+    private static long retryAfterInSeconds(Response<?> response, long backoffInSeconds) {
+        String retryAfter = response.headers().get(RETRY_AFTER_HEADER);
+        if (retryAfter != null) {
+            try {
+                return Math.max(0, Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                // Not a number of seconds, fall back to the backoff
+            }
+        }
+        return backoffInSeconds;
+    }
+
+    /**
+     * The implementation of {@link VirtualMachinePowerOperationResult}.
+     */
+    private static final class ResultImpl implements VirtualMachinePowerOperationResult {
+        private final String virtualMachineId;
+        private final VirtualMachinePowerOperation operation;
+        private final Throwable error;
+
+        ResultImpl(String virtualMachineId, VirtualMachinePowerOperation operation, Throwable error) {
+            this.virtualMachineId = virtualMachineId;
+            this.operation = operation;
+            this.error = error;
+        }
+
+        @Override
+        public String virtualMachineId() {
+            return this.virtualMachineId;
+        }
+
+        @Override
+        public VirtualMachinePowerOperation operation() {
+            return this.operation;
+        }
+
+        @Override
+        public boolean isSucceeded() {
+            return this.error == null;
+        }
+
+        @Override
+        public Throwable error() {
+            return this.error;
+        }
+    }
+}
@@ -141,7 +141,7 @@ public class VirtualMachineScaleSetImpl
 
    @Override
    public VirtualMachineScaleSetVMs virtualMachines() {
-        return new VirtualMachineScaleSetVMsImpl(this, this.vmInstancesClient, this.myManager);
+        return new VirtualMachineScaleSetVMsImpl(this, this.client, this.vmInstancesClient, this.myManager);
    }
 
    @Override
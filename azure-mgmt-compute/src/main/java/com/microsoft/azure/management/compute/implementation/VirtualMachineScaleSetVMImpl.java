@@ -297,19 +297,23 @@ class VirtualMachineScaleSetVMImpl
                 this.parent().name(),
                 this.instanceId());
         if (instanceViewInner != null) {
-            this.virtualMachineInstanceView = new VirtualMachineInstanceView()
-                    .withBootDiagnostics(instanceViewInner.bootDiagnostics())
-                    .withDisks(instanceViewInner.disks())
-                    .withExtensions(instanceViewInner.extensions())
-                    .withPlatformFaultDomain(instanceViewInner.platformFaultDomain())
-                    .withPlatformUpdateDomain(instanceViewInner.platformUpdateDomain())
-                    .withRdpThumbPrint(instanceViewInner.rdpThumbPrint())
-                    .withStatuses(instanceViewInner.statuses())
-                    .withVmAgent(instanceViewInner.vmAgent());
+            this.virtualMachineInstanceView = toInstanceView(instanceViewInner);
         }
         return this.virtualMachineInstanceView;
     }
 
+    static VirtualMachineInstanceView toInstanceView(VirtualMachineScaleSetVMInstanceViewInner instanceViewInner) {
+        return new VirtualMachineInstanceView()
+                .withBootDiagnostics(instanceViewInner.bootDiagnostics())
+                .withDisks(instanceViewInner.disks())
+                .withExtensions(instanceViewInner.extensions())
+                .withPlatformFaultDomain(instanceViewInner.platformFaultDomain())
+                .withPlatformUpdateDomain(instanceViewInner.platformUpdateDomain())
+                .withRdpThumbPrint(instanceViewInner.rdpThumbPrint())
+                .withStatuses(instanceViewInner.statuses())
+                .withVmAgent(instanceViewInner.vmAgent());
+    }
+
     @Override
     public PowerState powerState() {
         return PowerState.fromInstanceView(this.instanceView());
@@ -1,9 +1,24 @@
 package com.microsoft.azure.management.compute.implementation;
 
 import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.compute.InstanceViewStatus;
+import com.microsoft.azure.management.compute.PowerState;
+import com.microsoft.azure.management.compute.VirtualMachineInstanceView;
 import com.microsoft.azure.management.compute.VirtualMachineScaleSetVM;
+import com.microsoft.azure.management.compute.VirtualMachineScaleSetVMOperation;
+import com.microsoft.azure.management.compute.VirtualMachineScaleSetVMOperationResult;
 import com.microsoft.azure.management.compute.VirtualMachineScaleSetVMs;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.ReadableWrappersImpl;
+import com.microsoft.rest.ServiceResponse;
+import rx.Observable;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Implementation for {@link VirtualMachineScaleSetVMs}.
@@ -15,13 +30,16 @@ class VirtualMachineScaleSetVMsImpl
         VirtualMachineScaleSetVMs {
 
     private final VirtualMachineScaleSetImpl scaleSet;
+    private final VirtualMachineScaleSetsInner scaleSetsClient;
     private final VirtualMachineScaleSetVMsInner client;
     private final ComputeManager computeManager;
 
     VirtualMachineScaleSetVMsImpl(VirtualMachineScaleSetImpl scaleSet,
+                                  VirtualMachineScaleSetsInner scaleSetsClient,
                                   VirtualMachineScaleSetVMsInner client,
                                   ComputeManager computeManager) {
         this.scaleSet = scaleSet;
+        this.scaleSetsClient = scaleSetsClient;
         this.client = client;
         this.computeManager = computeManager;
     }
@@ -35,4 +53,184 @@ class VirtualMachineScaleSetVMsImpl
     public PagedList<VirtualMachineScaleSetVM> list() {
         return super.wrapList(this.client.list(this.scaleSet.resourceGroupName(), this.scaleSet.name()));
     }
+
+    @Override
+    public Observable<VirtualMachineScaleSetVMOperationResult> applyRollingAsync(final VirtualMachineScaleSetVMOperation operation,
+                                                                                 List<String> instanceIds,
+                                                                                 int batchSize,
+                                                                                 final int maxFailures) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive.");
+        }
+        if (maxFailures <= 0) {
+            throw new IllegalArgumentException("maxFailures must be positive.");
+        }
+        final List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < instanceIds.size(); i += batchSize) {
+            batches.add(new ArrayList<>(instanceIds.subList(i, Math.min(i + batchSize, instanceIds.size()))));
+        }
+        final AtomicInteger failures = new AtomicInteger();
+        // concatMap only starts a batch once the previous one has completed
+        return Observable.range(0, batches.size()).concatMap(new Func1<Integer, Observable<VirtualMachineScaleSetVMOperationResult>>() {
+            @Override
+            public Observable<VirtualMachineScaleSetVMOperationResult> call(final Integer batch) {
+                return Observable.defer(new Func0<Observable<VirtualMachineScaleSetVMOperationResult>>() {
+                    @Override
+                    public Observable<VirtualMachineScaleSetVMOperationResult> call() {
+                        if (failures.get() >= maxFailures) {
+                            return Observable.empty();
+                        }
+                        return applyBatchAsync(operation, batch, batches.get(batch))
+                                .doOnNext(new Action1<VirtualMachineScaleSetVMOperationResult>() {
+                                    @Override
+                                    public void call(VirtualMachineScaleSetVMOperationResult result) {
+                                        if (!result.isSucceeded()) {
+                                            failures.incrementAndGet();
+                                        }
+                                    }
+                                });
+                    }
+                });
+            }
+        });
+    }
+
+    private Observable<VirtualMachineScaleSetVMOperationResult> applyBatchAsync(final VirtualMachineScaleSetVMOperation operation,
+                                                                               final int batch,
+                                                                               final List<String> instanceIds) {
+        return operateAsync(operation, instanceIds)
+                .last()
+                .map(new Func1<Object, Throwable>() {
+                    @Override
+                    public Throwable call(Object o) {
+                        return null;
+                    }
+                })
+                .onErrorReturn(new Func1<Throwable, Throwable>() {
+                    @Override
+                    public Throwable call(Throwable throwable) {
+                        return throwable;
+                    }
+                })
+                .flatMap(new Func1<Throwable, Observable<VirtualMachineScaleSetVMOperationResult>>() {
+                    @Override
+                    public Observable<VirtualMachineScaleSetVMOperationResult> call(final Throwable batchError) {
+                        // Whatever the outcome of the batch, report the current view of each of its instances
+                        return Observable.from(instanceIds).flatMap(new Func1<String, Observable<VirtualMachineScaleSetVMOperationResult>>() {
+                            @Override
+                            public Observable<VirtualMachineScaleSetVMOperationResult> call(final String instanceId) {
+                                return client.getInstanceViewAsync(scaleSet.resourceGroupName(), scaleSet.name(), instanceId)
+                                        .map(new Func1<VirtualMachineScaleSetVMInstanceViewInner, VirtualMachineScaleSetVMOperationResult>() {
+                                            @Override
+                                            public VirtualMachineScaleSetVMOperationResult call(VirtualMachineScaleSetVMInstanceViewInner inner) {
+                                                VirtualMachineInstanceView instanceView = inner == null
+                                                        ? null
+                                                        : VirtualMachineScaleSetVMImpl.toInstanceView(inner);
+                                                return new ResultImpl(instanceId, operation, batch, batchError, instanceView);
+                                            }
+                                        })
+                                        .onErrorReturn(new Func1<Throwable, VirtualMachineScaleSetVMOperationResult>() {
+                                            @Override
+                                            public VirtualMachineScaleSetVMOperationResult call(Throwable throwable) {
+                                                return new ResultImpl(instanceId, operation, batch,
+                                                        batchError != null ? batchError : throwable, null);
+                                            }
+                                        });
+                            }
+                        });
+                    }
+                });
+    }
+
+    private Observable<?> operateAsync(VirtualMachineScaleSetVMOperation operation, List<String> instanceIds) {
+        final String groupName = this.scaleSet.resourceGroupName();
+        final String name = this.scaleSet.name();
+        switch (operation) {
+            case REIMAGE:
+                // Reimage is not scoped by instance IDs at the scale set level, reimage the instances of the batch together
+                List<Observable<ServiceResponse<Void>>> reimages = new ArrayList<>();
+                for (String instanceId : instanceIds) {
+                    reimages.add(this.client.reimageWithServiceResponseAsync(groupName, name, instanceId));
+                }
+                return Observable.merge(reimages);
+            case RESTART:
+                return this.scaleSetsClient.restartWithServiceResponseAsync(groupName, name, instanceIds);
+            case DEALLOCATE:
+                return this.scaleSetsClient.deallocateWithServiceResponseAsync(groupName, name, instanceIds);
+            case START:
+                return this.scaleSetsClient.startWithServiceResponseAsync(groupName, name, instanceIds);
+            case POWER_OFF:
+                return this.scaleSetsClient.powerOffWithServiceResponseAsync(groupName, name, instanceIds);
+            default:
+                return Observable.error(new IllegalArgumentException("Unsupported operation " + operation));
+        }
+    }
+
+    /**
+     * The implementation of {@link VirtualMachineScaleSetVMOperationResult}.
+     */
+    private static final class ResultImpl implements VirtualMachineScaleSetVMOperationResult {
+        private final String instanceId;
+        private final VirtualMachineScaleSetVMOperation operation;
+        private final int batch;
+        private final Throwable error;
+        private final VirtualMachineInstanceView instanceView;
+
+        ResultImpl(String instanceId,
+                   VirtualMachineScaleSetVMOperation operation,
+                   int batch,
+                   Throwable error,
+                   VirtualMachineInstanceView instanceView) {
+            this.instanceId = instanceId;
+            this.operation = operation;
+            this.batch = batch;
+            this.error = error;
+            this.instanceView = instanceView;
+        }
+
+        @Override
+        public String instanceId() {
+            return this.instanceId;
+        }
+
+        @Override
+        public VirtualMachineScaleSetVMOperation operation() {
+            return this.operation;
+        }
+
+        @Override
+        public int batch() {
+            return this.batch;
+        }
+
+        @Override
+        public boolean isSucceeded() {
+            if (this.error != null || this.instanceView == null) {
+                return false;
+            }
+            if (this.instanceView.statuses() != null) {
+                for (InstanceViewStatus status : this.instanceView.statuses()) {
+                    if (status.code() != null && status.code().toLowerCase(Locale.ROOT).startsWith("provisioningstate/failed")) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Throwable error() {
+            return this.error;
+        }
+
+        @Override
+        public VirtualMachineInstanceView instanceView() {
+            return this.instanceView;
+        }
+
+        @Override
+        public PowerState powerState() {
+            return PowerState.fromInstanceView(this.instanceView);
+        }
+    }
 }
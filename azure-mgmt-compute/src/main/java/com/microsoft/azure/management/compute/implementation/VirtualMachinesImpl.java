@@ -16,15 +16,20 @@ import com.microsoft.azure.management.compute.OSDisk;
 import com.microsoft.azure.management.compute.OSProfile;
 import com.microsoft.azure.management.compute.StorageProfile;
 import com.microsoft.azure.management.compute.VirtualMachine;
+import com.microsoft.azure.management.compute.VirtualMachineInventoryEntry;
+import com.microsoft.azure.management.compute.VirtualMachinePowerOperation;
+import com.microsoft.azure.management.compute.VirtualMachinePowerOperationResult;
 import com.microsoft.azure.management.compute.VirtualMachineSizes;
 import com.microsoft.azure.management.compute.VirtualMachines;
 import com.microsoft.azure.management.network.implementation.NetworkManager;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.GroupableResourcesImpl;
+import com.microsoft.azure.management.resources.fluentcore.utils.LongRunningOperationPoller;
 import com.microsoft.azure.management.storage.implementation.StorageManager;
 import rx.Observable;
 import rx.exceptions.Exceptions;
 
 import java.util.ArrayList;
+import java.util.Collection;
 
 /**
  * The implementation for {@link VirtualMachines}.
@@ -42,18 +47,19 @@ class VirtualMachinesImpl
     private final NetworkManager networkManager;
     private final VirtualMachineSizesImpl vmSizes;
     private final VirtualMachineExtensionsInner virtualMachineExtensionsClient;
+    private final VirtualMachinePowerOperationsImpl powerOperations;
 
-    VirtualMachinesImpl(VirtualMachinesInner client,
-                        VirtualMachineExtensionsInner virtualMachineExtensionsClient,
-                        VirtualMachineSizesInner virtualMachineSizesClient,
+    VirtualMachinesImpl(ComputeManagementClientImpl client,
                         ComputeManager computeManager,
                         StorageManager storageManager,
-                        NetworkManager networkManager) {
-        super(client, computeManager);
-        this.virtualMachineExtensionsClient = virtualMachineExtensionsClient;
+                        NetworkManager networkManager,
+                        LongRunningOperationPoller poller) {
+        super(client.virtualMachines(), computeManager);
+        this.virtualMachineExtensionsClient = client.virtualMachineExtensions();
         this.storageManager = storageManager;
         this.networkManager = networkManager;
-        this.vmSizes = new VirtualMachineSizesImpl(virtualMachineSizesClient);
+        this.vmSizes = new VirtualMachineSizesImpl(client.virtualMachineSizes());
+        this.powerOperations = new VirtualMachinePowerOperationsImpl(client, poller);
     }
 
     // Actions
@@ -108,6 +114,18 @@ class VirtualMachinesImpl
         this.innerCollection.start(groupName, name);
     }
 
+    @Override
+    public Observable<VirtualMachinePowerOperationResult> applyPowerOperationAsync(VirtualMachinePowerOperation operation,
+                                                                                 Collection<String> ids,
+                                                                                 int maxConcurrency) {
+        return this.powerOperations.applyAsync(operation, ids, maxConcurrency);
+    }
+
+    @Override
+    public Observable<VirtualMachineInventoryEntry> listInventoryAsync(int maxConcurrency) {
+        return new VirtualMachineInventoryImpl(this.innerCollection, this.networkManager).listAsync(maxConcurrency);
+    }
+
     @Override
     public void redeploy(String groupName, String name) {
         this.innerCollection.redeploy(groupName, name);
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.datalake.analytics;
+
+import com.microsoft.azure.management.datalake.analytics.models.USqlProcedure;
+import com.microsoft.azure.management.datalake.analytics.models.USqlTable;
+import com.microsoft.azure.management.datalake.analytics.models.USqlTableValuedFunction;
+import com.microsoft.azure.management.datalake.analytics.models.USqlView;
+import rx.Observable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An in-memory index of the U-SQL catalog of a Data Lake Analytics account, holding its
+ * databases, schemas, tables, views, procedures and table valued functions.
+ * <p>
+ * The catalog is crawled with a bounded number of concurrent requests, and each database is
+ * indexed as a whole and then replaced in one step, so lookups never see a partly refreshed
+ * database. A database whose crawl fails keeps the index of its previous crawl, and does not
+ * stop the crawl of the others.
+ */
+public interface CatalogIndex {
+    /**
+     * @return the name of the Data Lake Analytics account whose catalog is indexed
+     */
+    String accountName();
+
+    /**
+     * Crawls all the databases of the catalog, replacing the index of each of them as soon as
+     * it is crawled and dropping the databases no longer in the catalog. The databases whose
+     * crawl fails are reported by {@link #crawlErrors()}.
+     *
+     * @return an observable emitting the number of objects indexed
+     */
+    Observable<Integer> crawlAsync();
+
+    /**
+     * Crawls a single database of the catalog, replacing its index and leaving the other
+     * databases as they are. A failed crawl is reported by {@link #crawlErrors()}.
+     *
+     * @param databaseName the name of the database
+     * @return an observable emitting the number of objects indexed
+     */
+    Observable<Integer> refreshDatabaseAsync(String databaseName);
+
+    /**
+     * @return the errors of the databases whose last crawl failed, by database name
+     */
+    Map<String, Throwable> crawlErrors();
+
+    /**
+     * @return the names of the databases indexed
+     */
+    Set<String> databaseNames();
+
+    /**
+     * @param databaseName the name of the database
+     * @return the names of the schemas of the database, empty if the database is not indexed
+     */
+    Set<String> schemaNames(String databaseName);
+
+    /**
+     * @param databaseName the name of the database
+     * @param schemaName the name of the schema
+     * @return the tables of the schema, empty if the schema is not indexed
+     */
+    List<USqlTable> tables(String databaseName, String schemaName);
+
+    /**
+     * @param databaseName the name of the database
+     * @param schemaName the name of the schema
+     * @return the views of the schema, empty if the schema is not indexed
+     */
+    List<USqlView> views(String databaseName, String schemaName);
+
+    /**
+     * @param databaseName the name of the database
+     * @param schemaName the name of the schema
+     * @return the procedures of the schema, empty if the schema is not indexed
+     */
+    List<USqlProcedure> procedures(String databaseName, String schemaName);
+
+    /**
+     * @param databaseName the name of the database
+     * @param schemaName the name of the schema
+     * @return the table valued functions of the schema, empty if the schema is not indexed
+     */
+    List<USqlTableValuedFunction> tableValuedFunctions(String databaseName, String schemaName);
+
+    /**
+     * @param databaseName the name of the database
+     * @param schemaName the name of the schema
+     * @param tableName the name of the table
+     * @return the table, null if it is not indexed
+     */
+    USqlTable getTable(String databaseName, String schemaName, String tableName);
+
+    /**
+     * @param databaseName the name of the database
+     * @param schemaName the name of the schema
+     * @param viewName the name of the view
+     * @return the view, null if it is not indexed
+     */
+    USqlView getView(String databaseName, String schemaName, String viewName);
+
+    /**
+     * @param databaseName the name of the database
+     * @param schemaName the name of the schema
+     * @param procedureName the name of the procedure
+     * @return the procedure, null if it is not indexed
+     */
+    USqlProcedure getProcedure(String databaseName, String schemaName, String procedureName);
+
+    /**
+     * @param databaseName the name of the database
+     * @param schemaName the name of the schema
+     * @param tableValuedFunctionName the name of the table valued function
+     * @return the table valued function, null if it is not indexed
+     */
+    USqlTableValuedFunction getTableValuedFunction(String databaseName, String schemaName, String tableValuedFunctionName);
+
+    /**
+     * Finds the tables of all the databases indexed having a column of a name, ignoring case.
+     *
+     * @param columnName the name of the column
+     * @return the tables having the column
+     */
+    List<USqlTable> findTablesByColumnName(String columnName);
+
+    /**
+     * Finds the tables of all the databases indexed having a column of a type, ignoring case.
+     *
+     * @param columnType the type of the column, e.g. System.String
+     * @return the tables having a column of the type
+     */
+    List<USqlTable> findTablesByColumnType(String columnType);
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.datalake.analytics;
+
+/**
+ * The telemetry of the finished jobs of a pipeline, the jobs sharing a name.
+ * <p>
+ * Percentiles are computed with the nearest rank method, and range from 0, the smallest
+ * value, to 100, the largest value.
+ */
+public interface JobPipelineTelemetry {
+    /**
+     * @return the name of the jobs of the pipeline
+     */
+    String pipelineName();
+
+    /**
+     * @return the number of jobs aggregated
+     */
+    int jobCount();
+
+    /**
+     * @param percentile the percentile, from 0 to 100
+     * @return the duration of the jobs from start to end at the percentile, in milliseconds
+     */
+    long durationInMillis(double percentile);
+
+    /**
+     * @param percentile the percentile, from 0 to 100
+     * @return the amount of data read by the jobs at the percentile, in bytes
+     */
+    long dataRead(double percentile);
+
+    /**
+     * @param percentile the percentile, from 0 to 100
+     * @return the amount of data written by the jobs at the percentile, in bytes
+     */
+    long dataWritten(double percentile);
+
+    /**
+     * The skew ratio of a job is the largest ratio, over its vertex stages, of the data read by
+     * the vertex reading the most to the data read by an average vertex of the stage.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the skew ratio of the jobs at the percentile, NaN if no job read any data
+     */
+    double skewRatio(double percentile);
+
+    /**
+     * The allocation usage of a job is the time its vertices ran divided by the time its
+     * analytics units were allocated for, so a low usage means analytics units were wasted.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the allocation usage of the jobs at the percentile, NaN if no job reported its vertex times
+     */
+    double allocationUsage(double percentile);
+}
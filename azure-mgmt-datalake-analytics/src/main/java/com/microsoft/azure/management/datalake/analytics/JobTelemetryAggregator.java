@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.datalake.analytics;
+
+import rx.Observable;
+
+import java.util.Set;
+
+/**
+ * Aggregates the statistics of the finished jobs of a Data Lake Analytics account by pipeline,
+ * the jobs sharing a name.
+ * <p>
+ * The vertex stages of each job are reduced to a few values as soon as its statistics are
+ * fetched, so only these values are kept in memory. A job is aggregated once, however many
+ * times it is listed.
+ * <p>
+ * Each filter has a watermark trailing the latest end time of the jobs aggregated with it by an
+ * hour, and later calls with the filter only list the jobs ending after the watermark. So only
+ * the IDs of the recently ended jobs are kept to tell the jobs already aggregated. The first call
+ * with a filter lists all the jobs matching it; it also lists, for each filter used before, the
+ * jobs matching both filters and ending before the watermark of the other filter, which are the
+ * older jobs already aggregated.
+ */
+public interface JobTelemetryAggregator {
+    /**
+     * @return the name of the Data Lake Analytics account whose jobs are aggregated
+     */
+    String accountName();
+
+    /**
+     * Lists the jobs matching a filter and aggregates the statistics of the finished jobs not
+     * aggregated yet, fetching the statistics of several jobs at the same time.
+     * <p>
+     * A job whose statistics cannot be fetched is counted by {@link #failedJobCount()} and is
+     * aggregated by a later call if it is listed again: the watermark of the filter does not
+     * move past it.
+     *
+     * @param filter the OData filter of the jobs, e.g. on their name; null for all the jobs
+     * @return an observable emitting the number of jobs aggregated
+     */
+    Observable<Integer> aggregateAsync(String filter);
+
+    /**
+     * @return the number of jobs whose statistics could not be fetched
+     */
+    long failedJobCount();
+
+    /**
+     * @return the names of the pipelines with jobs aggregated
+     */
+    Set<String> pipelineNames();
+
+    /**
+     * Gets the telemetry of a pipeline, as of the jobs aggregated so far.
+     *
+     * @param pipelineName the name of the jobs of the pipeline
+     * @return the telemetry, null if no job of the pipeline is aggregated
+     */
+    JobPipelineTelemetry getPipeline(String pipelineName);
+}
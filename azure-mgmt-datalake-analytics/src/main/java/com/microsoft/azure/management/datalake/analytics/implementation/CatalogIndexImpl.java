@@ -0,0 +1,447 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.datalake.analytics.implementation;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.datalake.analytics.CatalogIndex;
+import com.microsoft.azure.management.datalake.analytics.Catalogs;
+import com.microsoft.azure.management.datalake.analytics.models.USqlDatabase;
+import com.microsoft.azure.management.datalake.analytics.models.USqlProcedure;
+import com.microsoft.azure.management.datalake.analytics.models.USqlSchema;
+import com.microsoft.azure.management.datalake.analytics.models.USqlTable;
+import com.microsoft.azure.management.datalake.analytics.models.USqlTableColumn;
+import com.microsoft.azure.management.datalake.analytics.models.USqlTableValuedFunction;
+import com.microsoft.azure.management.datalake.analytics.models.USqlView;
+import rx.Observable;
+import rx.functions.Action1;
+import rx.functions.Action2;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.functions.Func2;
+import rx.schedulers.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The implementation of {@link CatalogIndex}.
+ * <p>
+ * A crawl lists the schemas of at most maxConcurrency databases at a time, and then the objects
+ * of each schema with at most maxConcurrency requests in flight per database. What is listed for
+ * a database is collected into a builder, and its new index is swapped in as soon as all its
+ * listings are done.
+ */
+class CatalogIndexImpl implements CatalogIndex {
+    private final Catalogs catalogs;
+    private final String accountName;
+    private final int maxConcurrency;
+    // The index of each database, by database name, replaced as a whole on refresh
+    private final ConcurrentMap<String, DatabaseIndex> databases = new ConcurrentHashMap<>();
+    // The error of the last crawl of each database it failed for, by database name
+    private final ConcurrentMap<String, Throwable> crawlErrors = new ConcurrentHashMap<>();
+
+    CatalogIndexImpl(Catalogs catalogs, String accountName, int maxConcurrency) {
+        this.catalogs = catalogs;
+        this.accountName = accountName;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    @Override
+    public String accountName() {
+        return this.accountName;
+    }
+
+    @Override
+    public Observable<Integer> crawlAsync() {
+        return itemsOf(catalogs.listDatabasesAsync(accountName))
+                .map(new Func1<USqlDatabase, String>() {
+                    @Override
+                    public String call(USqlDatabase database) {
+                        return database.name();
+                    }
+                })
+                .toList()
+                .flatMap(new Func1<List<String>, Observable<Integer>>() {
+                    @Override
+                    public Observable<Integer> call(List<String> databaseNames) {
+                        return crawlAsync(databaseNames, true);
+                    }
+                });
+    }
+
+    @Override
+    public Observable<Integer> refreshDatabaseAsync(String databaseName) {
+        return crawlAsync(Collections.singletonList(databaseName), false);
+    }
+
+    private Observable<Integer> crawlAsync(final List<String> databaseNames, final boolean dropOthers) {
+        return Observable.from(databaseNames)
+                .flatMap(new Func1<String, Observable<Integer>>() {
+                    @Override
+                    public Observable<Integer> call(String databaseName) {
+                        return crawlDatabaseAsync(databaseName);
+                    }
+                }, maxConcurrency)
+                .reduce(0, new Func2<Integer, Integer, Integer>() {
+                    @Override
+                    public Integer call(Integer total, Integer count) {
+                        return total + count;
+                    }
+                })
+                .doOnNext(new Action1<Integer>() {
+                    @Override
+                    public void call(Integer count) {
+                        if (dropOthers) {
+                            databases.keySet().retainAll(databaseNames);
+                            crawlErrors.keySet().retainAll(databaseNames);
+                        }
+                    }
+                });
+    }
+
+    // Collects what is listed for a database and swaps in its new index, keeping its previous index if a listing fails
+    private Observable<Integer> crawlDatabaseAsync(final String databaseName) {
+        return listingsOf(databaseName)
+                .flatMap(new Func1<Listing, Observable<Listed>>() {
+                    @Override
+                    public Observable<Listed> call(Listing listing) {
+                        return listAsync(listing);
+                    }
+                }, maxConcurrency)
+                .collect(new Func0<DatabaseBuilder>() {
+                    @Override
+                    public DatabaseBuilder call() {
+                        return new DatabaseBuilder();
+                    }
+                }, new Action2<DatabaseBuilder, Listed>() {
+                    @Override
+                    public void call(DatabaseBuilder builder, Listed listed) {
+                        builder.add(listed);
+                    }
+                })
+                .map(new Func1<DatabaseBuilder, Integer>() {
+                    @Override
+                    public Integer call(DatabaseBuilder builder) {
+                        DatabaseIndex index = builder.build();
+                        databases.put(databaseName, index);
+                        crawlErrors.remove(databaseName);
+                        return index.objectCount;
+                    }
+                })
+                .onErrorResumeNext(new Func1<Throwable, Observable<Integer>>() {
+                    @Override
+                    public Observable<Integer> call(Throwable throwable) {
+                        crawlErrors.put(databaseName, throwable);
+                        return Observable.just(0);
+                    }
+                });
+    }
+
+    // The listings of a database, one for the database itself, one per schema and one per object type of each schema
+    private Observable<Listing> listingsOf(final String databaseName) {
+        return itemsOf(catalogs.listSchemasAsync(accountName, databaseName))
+                .subscribeOn(Schedulers.io())
+                .concatMap(new Func1<USqlSchema, Observable<Listing>>() {
+                    @Override
+                    public Observable<Listing> call(USqlSchema schema) {
+                        List<Listing> listings = new ArrayList<>();
+                        listings.add(new Listing(databaseName, schema.name(), null));
+                        for (ObjectType type : ObjectType.values()) {
+                            listings.add(new Listing(databaseName, schema.name(), type));
+                        }
+                        return Observable.from(listings);
+                    }
+                })
+                .startWith(new Listing(databaseName, null, null));
+    }
+
+    private Observable<Listed> listAsync(final Listing listing) {
+        if (listing.type == null) {
+            return Observable.just(new Listed(listing, null));
+        }
+        Observable<?> items;
+        switch (listing.type) {
+            case TABLE:
+                items = itemsOf(catalogs.listTablesAsync(accountName, listing.databaseName, listing.schemaName));
+                break;
+            case VIEW:
+                items = itemsOf(catalogs.listViewsAsync(accountName, listing.databaseName, listing.schemaName));
+                break;
+            case PROCEDURE:
+                items = itemsOf(catalogs.listProceduresAsync(accountName, listing.databaseName, listing.schemaName));
+                break;
+            default:
+                items = itemsOf(catalogs.listTableValuedFunctionsAsync(accountName, listing.databaseName, listing.schemaName));
+                break;
+        }
+        return items
+                .subscribeOn(Schedulers.io())
+                .map(new Func1<Object, Listed>() {
+                    @Override
+                    public Listed call(Object item) {
+                        return new Listed(listing, item);
+                    }
+                });
+    }
+
+    private static <T> Observable<T> itemsOf(Observable<Page<T>> pages) {
+        return pages.concatMap(new Func1<Page<T>, Observable<T>>() {
+            @Override
+            public Observable<T> call(Page<T> page) {
+                return Observable.from(page.getItems());
+            }
+        });
+    }
+
+    @Override
+    public Map<String, Throwable> crawlErrors() {
+        return Collections.unmodifiableMap(new TreeMap<>(crawlErrors));
+    }
+
+    @Override
+    public Set<String> databaseNames() {
+        return Collections.unmodifiableSet(new TreeSet<>(databases.keySet()));
+    }
+
+    @Override
+    public Set<String> schemaNames(String databaseName) {
+        DatabaseIndex database = databases.get(databaseName);
+        if (database == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(database.schemas.keySet());
+    }
+
+    @Override
+    public List<USqlTable> tables(String databaseName, String schemaName) {
+        SchemaIndex schema = schemaOf(databaseName, schemaName);
+        return schema == null ? Collections.<USqlTable>emptyList() : valuesOf(schema.tables);
+    }
+
+    @Override
+    public List<USqlView> views(String databaseName, String schemaName) {
+        SchemaIndex schema = schemaOf(databaseName, schemaName);
+        return schema == null ? Collections.<USqlView>emptyList() : valuesOf(schema.views);
+    }
+
+    @Override
+    public List<USqlProcedure> procedures(String databaseName, String schemaName) {
+        SchemaIndex schema = schemaOf(databaseName, schemaName);
+        return schema == null ? Collections.<USqlProcedure>emptyList() : valuesOf(schema.procedures);
+    }
+
+    @Override
+    public List<USqlTableValuedFunction> tableValuedFunctions(String databaseName, String schemaName) {
+        SchemaIndex schema = schemaOf(databaseName, schemaName);
+        return schema == null ? Collections.<USqlTableValuedFunction>emptyList() : valuesOf(schema.tableValuedFunctions);
+    }
+
+    @Override
+    public USqlTable getTable(String databaseName, String schemaName, String tableName) {
+        SchemaIndex schema = schemaOf(databaseName, schemaName);
+        return schema == null ? null : schema.tables.get(tableName);
+    }
+
+    @Override
+    public USqlView getView(String databaseName, String schemaName, String viewName) {
+        SchemaIndex schema = schemaOf(databaseName, schemaName);
+        return schema == null ? null : schema.views.get(viewName);
+    }
+
+    @Override
+    public USqlProcedure getProcedure(String databaseName, String schemaName, String procedureName) {
+        SchemaIndex schema = schemaOf(databaseName, schemaName);
+        return schema == null ? null : schema.procedures.get(procedureName);
+    }
+
+    @Override
+    public USqlTableValuedFunction getTableValuedFunction(String databaseName, String schemaName, String tableValuedFunctionName) {
+        SchemaIndex schema = schemaOf(databaseName, schemaName);
+        return schema == null ? null : schema.tableValuedFunctions.get(tableValuedFunctionName);
+    }
+
+    @Override
+    public List<USqlTable> findTablesByColumnName(String columnName) {
+        List<USqlTable> tables = new ArrayList<>();
+        String key = columnName.toLowerCase(Locale.ROOT);
+        for (String databaseName : databaseNames()) {
+            DatabaseIndex database = databases.get(databaseName);
+            if (database != null && database.tablesByColumnName.containsKey(key)) {
+                tables.addAll(database.tablesByColumnName.get(key));
+            }
+        }
+        return Collections.unmodifiableList(tables);
+    }
+
+    @Override
+    public List<USqlTable> findTablesByColumnType(String columnType) {
+        List<USqlTable> tables = new ArrayList<>();
+        String key = columnType.toLowerCase(Locale.ROOT);
+        for (String databaseName : databaseNames()) {
+            DatabaseIndex database = databases.get(databaseName);
+            if (database != null && database.tablesByColumnType.containsKey(key)) {
+                tables.addAll(database.tablesByColumnType.get(key));
+            }
+        }
+        return Collections.unmodifiableList(tables);
+    }
+
+    private SchemaIndex schemaOf(String databaseName, String schemaName) {
+        DatabaseIndex database = databases.get(databaseName);
+        return database == null ? null : database.schemas.get(schemaName);
+    }
+
+    private static <T> List<T> valuesOf(Map<String, T> objects) {
+        return Collections.unmodifiableList(new ArrayList<>(objects.values()));
+    }
+
+    private enum ObjectType {
+        TABLE,
+        VIEW,
+        PROCEDURE,
+        TABLE_VALUED_FUNCTION
+    }
+
+    /**
+     * A listing of the catalog; a null type stands for the schema itself, and a null schema
+     * name for the database itself, so empty databases and schemas are indexed too.
+     */
+    private static final class Listing {
+        private final String databaseName;
+        private final String schemaName;
+        private final ObjectType type;
+
+        Listing(String databaseName, String schemaName, ObjectType type) {
+            this.databaseName = databaseName;
+            this.schemaName = schemaName;
+            this.type = type;
+        }
+    }
+
+    /**
+     * An object listed by a listing, null for the listing of a database or schema itself.
+     */
+    private static final class Listed {
+        private final Listing listing;
+        private final Object item;
+
+        Listed(Listing listing, Object item) {
+            this.listing = listing;
+            this.item = item;
+        }
+    }
+
+    /**
+     * Collects the objects listed for a database, then builds its index.
+     */
+    private static final class DatabaseBuilder {
+        private final Map<String, SchemaIndex> schemas = new TreeMap<>();
+
+        void add(Listed listed) {
+            if (listed.listing.schemaName == null) {
+                return;
+            }
+            SchemaIndex schema = schemas.get(listed.listing.schemaName);
+            if (schema == null) {
+                schema = new SchemaIndex();
+                schemas.put(listed.listing.schemaName, schema);
+            }
+            if (listed.item instanceof USqlTable) {
+                USqlTable table = (USqlTable) listed.item;
+                schema.tables.put(table.name(), table);
+            } else if (listed.item instanceof USqlView) {
+                USqlView view = (USqlView) listed.item;
+                schema.views.put(view.name(), view);
+            } else if (listed.item instanceof USqlProcedure) {
+                USqlProcedure procedure = (USqlProcedure) listed.item;
+                schema.procedures.put(procedure.name(), procedure);
+            } else if (listed.item instanceof USqlTableValuedFunction) {
+                USqlTableValuedFunction function = (USqlTableValuedFunction) listed.item;
+                schema.tableValuedFunctions.put(function.name(), function);
+            }
+        }
+
+        DatabaseIndex build() {
+            Map<String, List<USqlTable>> byColumnName = new HashMap<>();
+            Map<String, List<USqlTable>> byColumnType = new HashMap<>();
+            int objectCount = 0;
+            for (SchemaIndex schema : schemas.values()) {
+                objectCount += schema.tables.size() + schema.views.size()
+                        + schema.procedures.size() + schema.tableValuedFunctions.size();
+                for (USqlTable table : schema.tables.values()) {
+                    if (table.columnList() == null) {
+                        continue;
+                    }
+                    // A table is indexed once per column name and once per column type
+                    Set<String> names = new TreeSet<>();
+                    Set<String> types = new TreeSet<>();
+                    for (USqlTableColumn column : table.columnList()) {
+                        if (column.name() != null) {
+                            names.add(column.name().toLowerCase(Locale.ROOT));
+                        }
+                        if (column.type() != null) {
+                            types.add(column.type().toLowerCase(Locale.ROOT));
+                        }
+                    }
+                    addTo(byColumnName, names, table);
+                    addTo(byColumnType, types, table);
+                }
+            }
+            return new DatabaseIndex(schemas, byColumnName, byColumnType, objectCount);
+        }
+
+        private static void addTo(Map<String, List<USqlTable>> index, Set<String> keys, USqlTable table) {
+            for (String key : keys) {
+                List<USqlTable> tables = index.get(key);
+                if (tables == null) {
+                    tables = new ArrayList<>();
+                    index.put(key, tables);
+                }
+                tables.add(table);
+            }
+        }
+    }
+
+    /**
+     * The index of a database, not modified once built.
+     */
+    private static final class DatabaseIndex {
+        private final Map<String, SchemaIndex> schemas;
+        private final Map<String, List<USqlTable>> tablesByColumnName;
+        private final Map<String, List<USqlTable>> tablesByColumnType;
+        private final int objectCount;
+
+        DatabaseIndex(Map<String, SchemaIndex> schemas,
+                      Map<String, List<USqlTable>> tablesByColumnName,
+                      Map<String, List<USqlTable>> tablesByColumnType,
+                      int objectCount) {
+            this.schemas = schemas;
+            this.tablesByColumnName = tablesByColumnName;
+            this.tablesByColumnType = tablesByColumnType;
+            this.objectCount = objectCount;
+        }
+    }
+
+    /**
+     * The objects of a schema, by name.
+     */
+    private static final class SchemaIndex {
+        private final Map<String, USqlTable> tables = new TreeMap<>();
+        private final Map<String, USqlView> views = new TreeMap<>();
+        private final Map<String, USqlProcedure> procedures = new TreeMap<>();
+        private final Map<String, USqlTableValuedFunction> tableValuedFunctions = new TreeMap<>();
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.datalake.analytics.implementation;
+
+import com.microsoft.azure.management.datalake.analytics.CatalogIndex;
+import com.microsoft.azure.management.datalake.analytics.DataLakeAnalyticsCatalogManagementClient;
+
+/**
+ * Entry point to creating in-memory indexes of U-SQL catalogs, kept apart from the generated
+ * catalog client.
+ */
+public final class CatalogIndexes {
+    private CatalogIndexes() {
+    }
+
+    /**
+     * Creates an in-memory index of the U-SQL catalog of an account, empty until crawled.
+     *
+     * @param client the catalog client the catalog is crawled with
+     * @param accountName the Azure Data Lake Analytics account whose catalog is indexed
+     * @param maxConcurrency the maximum number of databases crawled at the same time, and of catalog requests in flight for each of them
+     * @return the catalog index
+     */
+    public static CatalogIndex create(DataLakeAnalyticsCatalogManagementClient client, String accountName, int maxConcurrency) {
+        return new CatalogIndexImpl(client.catalogs(), accountName, maxConcurrency);
+    }
+}
@@ -0,0 +1,347 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.datalake.analytics.implementation;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.datalake.analytics.JobPipelineTelemetry;
+import com.microsoft.azure.management.datalake.analytics.JobTelemetryAggregator;
+import com.microsoft.azure.management.datalake.analytics.Jobs;
+import com.microsoft.azure.management.datalake.analytics.models.JobInformation;
+import com.microsoft.azure.management.datalake.analytics.models.JobState;
+import com.microsoft.azure.management.datalake.analytics.models.JobStatistics;
+import com.microsoft.azure.management.datalake.analytics.models.JobStatisticsVertexStage;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Duration;
+import org.joda.time.Period;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.functions.Action2;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.functions.Func2;
+import rx.schedulers.Schedulers;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The implementation of {@link JobTelemetryAggregator}.
+ * <p>
+ * Each filter has a watermark, an end time before which all the jobs matching the filter are
+ * aggregated, and only the jobs ending after it are listed again. So only the IDs of the jobs
+ * ending after the lowest watermark are kept to tell the jobs already aggregated. A filter not
+ * used before lists all its jobs, and tells the older ones already aggregated by listing, for each
+ * other filter, the jobs matching both filters and ending before the watermark of the other one;
+ * no job ID is forgotten while such a first call is running.
+ */
+class JobTelemetryAggregatorImpl implements JobTelemetryAggregator {
+    // How far behind the latest end time aggregated a watermark stays, for the jobs listed late
+    static final Duration WATERMARK_LAG = Duration.standardHours(1);
+
+    private final Jobs jobs;
+    private final String accountName;
+    private final int maxConcurrency;
+    private final ConcurrentMap<String, JobTelemetryColumns> pipelines = new ConcurrentHashMap<>();
+    // The end time of the jobs aggregated or being aggregated after the lowest watermark, by job ID
+    private final ConcurrentMap<UUID, DateTime> jobIds = new ConcurrentHashMap<>();
+    // The watermark of each filter, the empty string standing for no filter
+    private final ConcurrentMap<String, DateTime> watermarks = new ConcurrentHashMap<>();
+    // The number of calls running with a filter not used before
+    private int firstCalls;
+    private final AtomicLong failedJobs = new AtomicLong();
+
+    JobTelemetryAggregatorImpl(Jobs jobs, String accountName, int maxConcurrency) {
+        this.jobs = jobs;
+        this.accountName = accountName;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    @Override
+    public String accountName() {
+        return this.accountName;
+    }
+
+    @Override
+    public Observable<Integer> aggregateAsync(final String filter) {
+        return Observable.defer(new Func0<Observable<Integer>>() {
+            @Override
+            public Observable<Integer> call() {
+                final String key = filter == null ? "" : filter;
+                final Pass pass = new Pass();
+                final DateTime watermark = watermarks.get(key);
+                final Map<String, DateTime> otherWatermarks = watermark == null ? beginFirstCall(key) : null;
+                final Observable<Set<UUID>> aggregatedBefore = otherWatermarks == null
+                        ? Observable.just(Collections.<UUID>emptySet())
+                        : aggregatedWithOtherFiltersAsync(filter, otherWatermarks);
+                Observable<Integer> aggregated = aggregatedBefore.flatMap(new Func1<Set<UUID>, Observable<Integer>>() {
+                    @Override
+                    public Observable<Integer> call(final Set<UUID> aggregatedJobIds) {
+                        return listAsync(filterOf(filter, watermark))
+                                .filter(new Func1<JobInformation, Boolean>() {
+                                    @Override
+                                    public Boolean call(JobInformation job) {
+                                        if (job.state() != JobState.ENDED || job.jobId() == null || job.startTime() == null
+                                                || job.endTime() == null) {
+                                            return false;
+                                        }
+                                        pass.listed(job.endTime());
+                                        return !aggregatedJobIds.contains(job.jobId())
+                                                && jobIds.putIfAbsent(job.jobId(), job.endTime()) == null;
+                                    }
+                                })
+                                .flatMap(new Func1<JobInformation, Observable<Integer>>() {
+                                    @Override
+                                    public Observable<Integer> call(JobInformation job) {
+                                        return aggregateAsync(job, pass);
+                                    }
+                                }, maxConcurrency)
+                                .reduce(0, new Func2<Integer, Integer, Integer>() {
+                                    @Override
+                                    public Integer call(Integer total, Integer aggregated) {
+                                        return total + aggregated;
+                                    }
+                                });
+                    }
+                }).doOnNext(new Action1<Integer>() {
+                    @Override
+                    public void call(Integer total) {
+                        advance(key, watermark, pass.watermark());
+                    }
+                });
+                if (otherWatermarks == null) {
+                    return aggregated;
+                }
+                final AtomicBoolean running = new AtomicBoolean(true);
+                Action0 end = new Action0() {
+                    @Override
+                    public void call() {
+                        if (running.compareAndSet(true, false)) {
+                            endFirstCall();
+                        }
+                    }
+                };
+                return aggregated.doOnTerminate(end).doOnUnsubscribe(end);
+            }
+        });
+    }
+
+    private Observable<JobInformation> listAsync(String filter) {
+        return jobs.listAsync(accountName, filter, null, null, null, null, null)
+                .concatMap(new Func1<Page<JobInformation>, Observable<JobInformation>>() {
+                    @Override
+                    public Observable<JobInformation> call(Page<JobInformation> page) {
+                        return Observable.from(page.getItems());
+                    }
+                });
+    }
+
+    // Lists the IDs of the jobs matching a filter that were aggregated with the other filters,
+    // those ending before the watermarks of the other filters
+    private Observable<Set<UUID>> aggregatedWithOtherFiltersAsync(final String filter, Map<String, DateTime> otherWatermarks) {
+        return Observable.from(otherWatermarks.entrySet())
+                .concatMap(new Func1<Map.Entry<String, DateTime>, Observable<JobInformation>>() {
+                    @Override
+                    public Observable<JobInformation> call(Map.Entry<String, DateTime> other) {
+                        String otherFilter = other.getKey().isEmpty() ? null : other.getKey();
+                        return listAsync(filterOf(filter, otherFilter, other.getValue()));
+                    }
+                })
+                .collect(new Func0<Set<UUID>>() {
+                    @Override
+                    public Set<UUID> call() {
+                        return new HashSet<>();
+                    }
+                }, new Action2<Set<UUID>, JobInformation>() {
+                    @Override
+                    public void call(Set<UUID> aggregatedJobIds, JobInformation job) {
+                        if (job.jobId() != null) {
+                            aggregatedJobIds.add(job.jobId());
+                        }
+                    }
+                });
+    }
+
+    // Counts a call with a filter not used before, returning the watermarks of the other filters
+    private synchronized Map<String, DateTime> beginFirstCall(String key) {
+        firstCalls++;
+        Map<String, DateTime> otherWatermarks = new HashMap<>(watermarks);
+        otherWatermarks.remove(key);
+        return otherWatermarks;
+    }
+
+    private synchronized void endFirstCall() {
+        firstCalls--;
+    }
+
+    // Restricts a filter to the jobs ending after a watermark
+    static String filterOf(String filter, DateTime watermark) {
+        if (watermark == null) {
+            return filter;
+        }
+        String endedAfter = "endTime gt datetimeoffset'" + watermark.withZone(DateTimeZone.UTC) + "'";
+        return filter == null ? endedAfter : "(" + filter + ") and " + endedAfter;
+    }
+
+    // Restricts a filter to the jobs matching another filter and ending before its watermark
+    static String filterOf(String filter, String otherFilter, DateTime otherWatermark) {
+        String endedBefore = "endTime le datetimeoffset'" + otherWatermark.withZone(DateTimeZone.UTC) + "'";
+        if (otherFilter != null) {
+            endedBefore = "(" + otherFilter + ") and " + endedBefore;
+        }
+        return filter == null ? endedBefore : "(" + filter + ") and " + endedBefore;
+    }
+
+    // Moves the watermark of a filter forward from the one its jobs were listed after, and
+    // forgets the jobs ending before all the watermarks unless a first call needs them
+    private synchronized void advance(String key, DateTime listedAfter, DateTime watermark) {
+        DateTime current = watermarks.get(key);
+        DateTime floor = current != null && (listedAfter == null || current.isAfter(listedAfter)) ? current : listedAfter;
+        if (watermark == null || (floor != null && !watermark.isAfter(floor))) {
+            return;
+        }
+        watermarks.put(key, watermark);
+        if (firstCalls > 0) {
+            return;
+        }
+        DateTime lowest = null;
+        for (DateTime filterWatermark : watermarks.values()) {
+            if (lowest == null || filterWatermark.isBefore(lowest)) {
+                lowest = filterWatermark;
+            }
+        }
+        for (Map.Entry<UUID, DateTime> job : jobIds.entrySet()) {
+            if (!job.getValue().isAfter(lowest)) {
+                jobIds.remove(job.getKey(), job.getValue());
+            }
+        }
+    }
+
+    private Observable<Integer> aggregateAsync(final JobInformation job, final Pass pass) {
+        return jobs.getStatisticsAsync(accountName, job.jobId())
+                .subscribeOn(Schedulers.io())
+                .map(new Func1<JobStatistics, Integer>() {
+                    @Override
+                    public Integer call(JobStatistics statistics) {
+                        record(job, statistics);
+                        return 1;
+                    }
+                })
+                .onErrorResumeNext(new Func1<Throwable, Observable<Integer>>() {
+                    @Override
+                    public Observable<Integer> call(Throwable throwable) {
+                        // The job is aggregated by a later call, as the watermark stays before it
+                        jobIds.remove(job.jobId());
+                        pass.failed(job.endTime());
+                        failedJobs.incrementAndGet();
+                        return Observable.just(0);
+                    }
+                });
+    }
+
+    // Reduces the vertex stages of a job to its totals, its worst skew and its allocation usage
+    private void record(JobInformation job, JobStatistics statistics) {
+        long durationMillis = job.endTime().getMillis() - job.startTime().getMillis();
+        long dataRead = 0;
+        long dataWritten = 0;
+        long vertexMillis = 0;
+        double skewRatio = Double.NaN;
+        if (statistics.stages() != null) {
+            for (JobStatisticsVertexStage stage : statistics.stages()) {
+                long stageDataRead = valueOf(stage.dataRead());
+                dataRead += stageDataRead;
+                dataWritten += valueOf(stage.dataWritten());
+                vertexMillis += millisOf(stage.totalSucceededTime()) + millisOf(stage.totalFailedTime());
+                int vertexCount = stage.totalCount() == null ? 0 : stage.totalCount();
+                if (vertexCount > 0 && stageDataRead > 0 && stage.maxVertexDataRead() != null) {
+                    double stageSkewRatio = stage.maxVertexDataRead() * (double) vertexCount / stageDataRead;
+                    if (Double.isNaN(skewRatio) || stageSkewRatio > skewRatio) {
+                        skewRatio = stageSkewRatio;
+                    }
+                }
+            }
+        }
+        double allocationUsage = Double.NaN;
+        int analyticsUnits = job.degreeOfParallelism() == null ? 0 : job.degreeOfParallelism();
+        if (analyticsUnits > 0 && durationMillis > 0 && vertexMillis > 0) {
+            allocationUsage = vertexMillis / ((double) analyticsUnits * durationMillis);
+        }
+        String pipelineName = job.name() == null ? "" : job.name();
+        JobTelemetryColumns columns = pipelines.get(pipelineName);
+        if (columns == null) {
+            pipelines.putIfAbsent(pipelineName, new JobTelemetryColumns());
+            columns = pipelines.get(pipelineName);
+        }
+        columns.add(durationMillis, dataRead, dataWritten, skewRatio, allocationUsage);
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0 : value;
+    }
+
+    private static long millisOf(Period period) {
+        return period == null ? 0 : period.toStandardDuration().getMillis();
+    }
+
+    @Override
+    public long failedJobCount() {
+        return failedJobs.get();
+    }
+
+    @Override
+    public Set<String> pipelineNames() {
+        return Collections.unmodifiableSet(new TreeSet<>(pipelines.keySet()));
+    }
+
+    @Override
+    public JobPipelineTelemetry getPipeline(String pipelineName) {
+        JobTelemetryColumns columns = pipelines.get(pipelineName);
+        return columns == null ? null : columns.snapshot(pipelineName);
+    }
+
+    /**
+     * The end times seen by a call, from which the next watermark of its filter is computed.
+     */
+    private static final class Pass {
+        private DateTime latestEndTime;
+        private DateTime earliestFailedEndTime;
+
+        synchronized void listed(DateTime endTime) {
+            if (latestEndTime == null || endTime.isAfter(latestEndTime)) {
+                latestEndTime = endTime;
+            }
+        }
+
+        synchronized void failed(DateTime endTime) {
+            if (earliestFailedEndTime == null || endTime.isBefore(earliestFailedEndTime)) {
+                earliestFailedEndTime = endTime;
+            }
+        }
+
+        // The latest end time less the lag, kept before the jobs that failed; null if no job ended
+        synchronized DateTime watermark() {
+            if (latestEndTime == null) {
+                return null;
+            }
+            DateTime watermark = latestEndTime.minus(WATERMARK_LAG);
+            if (earliestFailedEndTime != null && !watermark.isBefore(earliestFailedEndTime)) {
+                watermark = earliestFailedEndTime.minusMillis(1);
+            }
+            return watermark;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.datalake.analytics.implementation;
+
+import com.microsoft.azure.management.datalake.analytics.DataLakeAnalyticsJobManagementClient;
+import com.microsoft.azure.management.datalake.analytics.JobTelemetryAggregator;
+
+/**
+ * Entry point to creating aggregators of the telemetry of finished jobs, kept apart from the
+ * generated job client.
+ */
+public final class JobTelemetryAggregators {
+    private JobTelemetryAggregators() {
+    }
+
+    /**
+     * Creates an aggregator of the telemetry of the finished jobs of an account, empty until jobs are aggregated.
+     *
+     * @param client the job client the jobs and their statistics are fetched with
+     * @param accountName the Azure Data Lake Analytics account whose jobs are aggregated
+     * @param maxConcurrency the maximum number of job statistics requests in flight
+     * @return the aggregator
+     */
+    public static JobTelemetryAggregator create(DataLakeAnalyticsJobManagementClient client, String accountName, int maxConcurrency) {
+        return new JobTelemetryAggregatorImpl(client.jobs(), accountName, maxConcurrency);
+    }
+}
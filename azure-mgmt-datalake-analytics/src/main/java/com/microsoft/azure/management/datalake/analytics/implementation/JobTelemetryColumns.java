@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.datalake.analytics.implementation;
+
+import com.microsoft.azure.management.datalake.analytics.JobPipelineTelemetry;
+
+import java.util.Arrays;
+
+/**
+ * The telemetry of the jobs of a pipeline, one primitive array per value and one element per job.
+ */
+final class JobTelemetryColumns {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] durations = new long[INITIAL_CAPACITY];
+    private long[] dataRead = new long[INITIAL_CAPACITY];
+    private long[] dataWritten = new long[INITIAL_CAPACITY];
+    private double[] skewRatios = new double[INITIAL_CAPACITY];
+    private double[] allocationUsages = new double[INITIAL_CAPACITY];
+    private int count;
+
+    /**
+     * Adds the telemetry of a job.
+     *
+     * @param durationMillis the duration of the job, in milliseconds
+     * @param jobDataRead the amount of data read by the job, in bytes
+     * @param jobDataWritten the amount of data written by the job, in bytes
+     * @param skewRatio the skew ratio of the job, NaN if unknown
+     * @param allocationUsage the allocation usage of the job, NaN if unknown
+     */
+    synchronized void add(long durationMillis, long jobDataRead, long jobDataWritten, double skewRatio, double allocationUsage) {
+        if (count == durations.length) {
+            int capacity = count * 2;
+            durations = Arrays.copyOf(durations, capacity);
+            dataRead = Arrays.copyOf(dataRead, capacity);
+            dataWritten = Arrays.copyOf(dataWritten, capacity);
+            skewRatios = Arrays.copyOf(skewRatios, capacity);
+            allocationUsages = Arrays.copyOf(allocationUsages, capacity);
+        }
+        durations[count] = durationMillis;
+        dataRead[count] = jobDataRead;
+        dataWritten[count] = jobDataWritten;
+        skewRatios[count] = skewRatio;
+        allocationUsages[count] = allocationUsage;
+        count++;
+    }
+
+    /**
+     * Takes a snapshot of the telemetry, with each value sorted so percentiles are looked up
+     * rather than computed.
+     *
+     * @param pipelineName the name of the pipeline
+     * @return the snapshot
+     */
+    synchronized JobPipelineTelemetry snapshot(String pipelineName) {
+        return new SnapshotImpl(pipelineName,
+                sorted(durations, count),
+                sorted(dataRead, count),
+                sorted(dataWritten, count),
+                sorted(skewRatios, count),
+                sorted(allocationUsages, count));
+    }
+
+    private static long[] sorted(long[] values, int count) {
+        long[] copy = Arrays.copyOf(values, count);
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    // NaN values are sorted last and dropped
+    private static double[] sorted(double[] values, int count) {
+        double[] copy = Arrays.copyOf(values, count);
+        Arrays.sort(copy);
+        int known = count;
+        while (known > 0 && Double.isNaN(copy[known - 1])) {
+            known--;
+        }
+        return Arrays.copyOf(copy, known);
+    }
+
+    // The index of the nearest rank of a percentile in sorted values
+    private static int rankOf(double percentile, int length) {
+        if (percentile < 0 || percentile > 100 || Double.isNaN(percentile)) {
+            throw new IllegalArgumentException("The percentile must be from 0 to 100");
+        }
+        int rank = (int) Math.ceil(percentile / 100 * length);
+        return Math.max(0, rank - 1);
+    }
+
+    /**
+     * The implementation of {@link JobPipelineTelemetry}.
+     */
+    private static final class SnapshotImpl implements JobPipelineTelemetry {
+        private final String pipelineName;
+        private final long[] durations;
+        private final long[] dataRead;
+        private final long[] dataWritten;
+        private final double[] skewRatios;
+        private final double[] allocationUsages;
+
+        SnapshotImpl(String pipelineName,
+                     long[] durations,
+                     long[] dataRead,
+                     long[] dataWritten,
+                     double[] skewRatios,
+                     double[] allocationUsages) {
+            this.pipelineName = pipelineName;
+            this.durations = durations;
+            this.dataRead = dataRead;
+            this.dataWritten = dataWritten;
+            this.skewRatios = skewRatios;
+            this.allocationUsages = allocationUsages;
+        }
+
+        @Override
+        public String pipelineName() {
+            return this.pipelineName;
+        }
+
+        @Override
+        public int jobCount() {
+            return this.durations.length;
+        }
+
+        @Override
+        public long durationInMillis(double percentile) {
+            return this.durations[rankOf(percentile, this.durations.length)];
+        }
+
+        @Override
+        public long dataRead(double percentile) {
+            return this.dataRead[rankOf(percentile, this.dataRead.length)];
+        }
+
+        @Override
+        public long dataWritten(double percentile) {
+            return this.dataWritten[rankOf(percentile, this.dataWritten.length)];
+        }
+
+        @Override
+        public double skewRatio(double percentile) {
+            int rank = rankOf(percentile, this.skewRatios.length);
+            return this.skewRatios.length == 0 ? Double.NaN : this.skewRatios[rank];
+        }
+
+        @Override
+        public double allocationUsage(double percentile) {
+            int rank = rankOf(percentile, this.allocationUsages.length);
+            return this.allocationUsages.length == 0 ? Double.NaN : this.allocationUsages[rank];
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.datalake.analytics;
+
+import com.microsoft.azure.management.datalake.analytics.implementation.CatalogIndexes;
+import com.microsoft.azure.management.datalake.analytics.implementation.DataLakeAnalyticsCatalogManagementClientImpl;
+import com.microsoft.azure.management.resources.FakeService;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.microsoft.azure.management.resources.FakeService.response;
+
+/**
+ * Test class to test indexing the U-SQL catalog of an account, against a fake service.
+ */
+public class CatalogIndexTests {
+    private static final Pattern CATALOG_PATH = Pattern.compile("/catalog/usql/databases(?:/([^/]+)/schemas(?:/([^/]+)/([^/]+))?)?");
+
+    // The tables of the dbo schema of each database of the fake catalog, as JSON
+    private final Map<String, String> tables = new ConcurrentHashMap<>();
+    // The databases whose tables cannot be listed
+    private final List<String> failingDatabases = new CopyOnWriteArrayList<>();
+    private CatalogIndex index;
+
+    @Before
+    public void setup() {
+        FakeService service = new FakeService() {
+            @Override
+            protected Response respond(Request request) {
+                return CatalogIndexTests.this.respond(request);
+            }
+        };
+        DataLakeAnalyticsCatalogManagementClientImpl client = new DataLakeAnalyticsCatalogManagementClientImpl(
+                service.restClient("https://{accountName}.{adlaCatalogDnsSuffix}"));
+        client.withAdlaCatalogDnsSuffix("azuredatalakeanalytics.net");
+        index = CatalogIndexes.create(client, "account", 2);
+        tables.put("db1", table("db1", "t1", "id", "System.Int32", "Name", "System.String"));
+        tables.put("db2", table("db2", "t2", "ID", "System.Int32"));
+    }
+
+    private static String table(String databaseName, String tableName, String... columns) {
+        StringBuilder columnList = new StringBuilder();
+        for (int i = 0; i < columns.length; i += 2) {
+            columnList.append(i == 0 ? "" : ",").append("{\"name\":\"").append(columns[i])
+                    .append("\",\"type\":\"").append(columns[i + 1]).append("\"}");
+        }
+        return "{\"databaseName\":\"" + databaseName + "\",\"schemaName\":\"dbo\",\"tableName\":\"" + tableName
+                + "\",\"columnList\":[" + columnList + "]}";
+    }
+
+    private Response respond(Request request) {
+        Assert.assertTrue(request.header("x-ms-parameterized-host").contains("account"));
+        Matcher matcher = CATALOG_PATH.matcher(request.url().encodedPath());
+        Assert.assertTrue(request.url().encodedPath(), matcher.matches());
+        String databaseName = matcher.group(1);
+        if (databaseName == null) {
+            StringBuilder value = new StringBuilder();
+            for (String name : tables.keySet()) {
+                value.append(value.length() == 0 ? "" : ",").append("{\"databaseName\":\"").append(name).append("\"}");
+            }
+            return response(request, 200, "{\"value\":[" + value + "]}");
+        } else if (matcher.group(2) == null) {
+            return response(request, 200, "{\"value\":[{\"databaseName\":\"" + databaseName + "\",\"schemaName\":\"dbo\"}]}");
+        } else if (!matcher.group(3).equals("tables")) {
+            return response(request, 200, "{\"value\":[]}");
+        } else if (failingDatabases.contains(databaseName)) {
+            return response(request, 500, "{\"error\":{\"code\":\"InternalError\",\"message\":\"Cannot list.\"}}");
+        }
+        return response(request, 200, "{\"value\":[" + tables.get(databaseName) + "]}");
+    }
+
+    @Test
+    public void canIndexCatalog() throws Exception {
+        Assert.assertEquals(2, (int) index.crawlAsync().toBlocking().single());
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("db1", "db2")), index.databaseNames());
+        Assert.assertEquals(Collections.singleton("dbo"), index.schemaNames("db1"));
+        Assert.assertEquals("t1", index.getTable("db1", "dbo", "t1").name());
+        Assert.assertEquals(2, index.getTable("db1", "dbo", "t1").columnList().size());
+        Assert.assertNull(index.getTable("db1", "dbo", "t2"));
+        Assert.assertTrue(index.views("db1", "dbo").isEmpty());
+        Assert.assertEquals(2, index.findTablesByColumnName("Id").size());
+        Assert.assertEquals(1, index.findTablesByColumnType("system.string").size());
+        Assert.assertTrue(index.crawlErrors().isEmpty());
+    }
+
+    @Test
+    public void canIndexOtherDatabasesWhenOneFails() throws Exception {
+        index.crawlAsync().toBlocking().single();
+        tables.put("db1", table("db1", "t1", "id", "System.Int32"));
+        tables.put("db2", table("db2", "t3", "id", "System.Int32"));
+        failingDatabases.add("db2");
+
+        Assert.assertEquals(1, (int) index.crawlAsync().toBlocking().single());
+
+        // The failed database keeps its previous index while the other one is replaced
+        Assert.assertEquals(Collections.singleton("db2"), index.crawlErrors().keySet());
+        Assert.assertEquals(1, index.getTable("db1", "dbo", "t1").columnList().size());
+        Assert.assertNotNull(index.getTable("db2", "dbo", "t2"));
+        Assert.assertNull(index.getTable("db2", "dbo", "t3"));
+
+        failingDatabases.clear();
+        Assert.assertEquals(1, (int) index.refreshDatabaseAsync("db2").toBlocking().single());
+        Assert.assertTrue(index.crawlErrors().isEmpty());
+        Assert.assertNotNull(index.getTable("db2", "dbo", "t3"));
+    }
+
+    @Test
+    public void canDropDatabasesNoLongerInCatalog() throws Exception {
+        failingDatabases.add("db2");
+        index.crawlAsync().toBlocking().single();
+        tables.remove("db2");
+
+        index.crawlAsync().toBlocking().single();
+
+        Assert.assertEquals(Collections.singleton("db1"), index.databaseNames());
+        Assert.assertTrue(index.crawlErrors().isEmpty());
+    }
+}
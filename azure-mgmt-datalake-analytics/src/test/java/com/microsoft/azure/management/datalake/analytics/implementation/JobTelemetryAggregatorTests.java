@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.datalake.analytics.implementation;
+
+import com.microsoft.azure.management.datalake.analytics.JobTelemetryAggregator;
+import com.microsoft.azure.management.resources.FakeService;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.microsoft.azure.management.resources.FakeService.response;
+
+/**
+ * Test class to test aggregating the telemetry of finished jobs, against a fake service.
+ */
+public class JobTelemetryAggregatorTests {
+    private static final DateTime START_TIME = new DateTime(2016, 9, 1, 0, 0, DateTimeZone.UTC);
+    private static final Pattern NAME_FILTER = Pattern.compile("name eq '([^']*)'");
+    private static final Pattern END_TIME_FILTER = Pattern.compile("endTime (gt|le) datetimeoffset'([^']*)'");
+
+    // The end time of each finished job on the fake service, by job ID
+    private final Map<UUID, DateTime> jobs = new ConcurrentHashMap<>();
+    // The name of each finished job, by job ID
+    private final Map<UUID, String> jobNames = new ConcurrentHashMap<>();
+    // The jobs whose statistics cannot be fetched
+    private final Set<UUID> failingJobs = Collections.newSetFromMap(new ConcurrentHashMap<UUID, Boolean>());
+    private final List<String> filters = new CopyOnWriteArrayList<>();
+    private final List<UUID> fetchedJobs = new CopyOnWriteArrayList<>();
+    private JobTelemetryAggregator aggregator;
+
+    @Before
+    public void setup() {
+        FakeService service = new FakeService() {
+            @Override
+            protected Response respond(Request request) {
+                return JobTelemetryAggregatorTests.this.respond(request);
+            }
+        };
+        DataLakeAnalyticsJobManagementClientImpl client = new DataLakeAnalyticsJobManagementClientImpl(
+                service.restClient("https://{accountName}.{adlaJobDnsSuffix}"));
+        client.withAdlaJobDnsSuffix("azuredatalakeanalytics.net");
+        aggregator = JobTelemetryAggregators.create(client, "account", 2);
+    }
+
+    private UUID addJob(int endMinutes) {
+        return addJob("pipeline", endMinutes);
+    }
+
+    private UUID addJob(String name, int endMinutes) {
+        UUID jobId = UUID.randomUUID();
+        jobNames.put(jobId, name);
+        jobs.put(jobId, START_TIME.plusMinutes(endMinutes));
+        return jobId;
+    }
+
+    // Whether a job matches the name and end time conditions of a filter
+    private boolean matches(String filter, UUID jobId) {
+        if (filter == null) {
+            return true;
+        }
+        Matcher name = NAME_FILTER.matcher(filter);
+        while (name.find()) {
+            if (!name.group(1).equals(jobNames.get(jobId))) {
+                return false;
+            }
+        }
+        Matcher endTime = END_TIME_FILTER.matcher(filter);
+        while (endTime.find()) {
+            boolean after = jobs.get(jobId).isAfter(DateTime.parse(endTime.group(2)));
+            if (after != endTime.group(1).equals("gt")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Response respond(Request request) {
+        Assert.assertTrue(request.header("x-ms-parameterized-host").contains("account"));
+        String path = request.url().encodedPath();
+        if (path.equals("/Jobs")) {
+            String filter = request.url().queryParameter("$filter");
+            filters.add(String.valueOf(filter));
+            StringBuilder value = new StringBuilder();
+            for (Map.Entry<UUID, DateTime> job : jobs.entrySet()) {
+                if (matches(filter, job.getKey())) {
+                    value.append(value.length() == 0 ? "" : ",").append("{\"jobId\":\"").append(job.getKey())
+                            .append("\",\"name\":\"").append(jobNames.get(job.getKey()))
+                            .append("\",\"type\":\"USql\",\"state\":\"Ended\",\"degreeOfParallelism\":1")
+                            .append(",\"startTime\":\"").append(START_TIME).append("\",\"endTime\":\"")
+                            .append(job.getValue()).append("\"}");
+                }
+            }
+            return response(request, 200, "{\"value\":[" + value + "]}");
+        }
+        Assert.assertTrue(path, path.endsWith("/GetStatistics"));
+        UUID jobId = UUID.fromString(path.substring("/Jobs/".length(), path.lastIndexOf('/')));
+        fetchedJobs.add(jobId);
+        if (failingJobs.contains(jobId)) {
+            return response(request, 500, "{\"error\":{\"code\":\"InternalError\",\"message\":\"Cannot fetch.\"}}");
+        }
+        return response(request, 200, "{\"stages\":[{\"dataRead\":100,\"dataWritten\":10,\"totalCount\":4,\"maxVertexDataRead\":50}]}");
+    }
+
+    @Test
+    public void canAggregateJobs() throws Exception {
+        addJob(60);
+        addJob(120);
+
+        Assert.assertEquals(2, (int) aggregator.aggregateAsync(null).toBlocking().single());
+
+        Assert.assertEquals(2, aggregator.getPipeline("pipeline").jobCount());
+        Assert.assertEquals(3600000, aggregator.getPipeline("pipeline").durationInMillis(0));
+        Assert.assertEquals(100, aggregator.getPipeline("pipeline").dataRead(100));
+        Assert.assertEquals(2, aggregator.getPipeline("pipeline").skewRatio(50), 1e-9);
+        Assert.assertEquals(0, aggregator.failedJobCount());
+    }
+
+    @Test
+    public void canListOnlyJobsEndingAfterWatermark() throws Exception {
+        addJob(60);
+        addJob(300);
+        Assert.assertEquals(2, (int) aggregator.aggregateAsync(null).toBlocking().single());
+
+        // A job ending within the lag of the latest one is listed again, and not aggregated twice
+        addJob(270);
+        addJob(360);
+        Assert.assertEquals(2, (int) aggregator.aggregateAsync(null).toBlocking().single());
+
+        // A new filter lists all its jobs, and tells the older ones aggregated with the other filter
+        addJob(420);
+        Assert.assertEquals(1, (int) aggregator.aggregateAsync("name eq 'pipeline'").toBlocking().single());
+        Assert.assertEquals(0, (int) aggregator.aggregateAsync("name eq 'pipeline'").toBlocking().single());
+
+        Assert.assertEquals("null", filters.get(0));
+        Assert.assertEquals("endTime gt datetimeoffset'" + START_TIME.plusMinutes(240) + "'", filters.get(1));
+        Assert.assertEquals("(name eq 'pipeline') and endTime le datetimeoffset'" + START_TIME.plusMinutes(300) + "'",
+                filters.get(2));
+        Assert.assertEquals("name eq 'pipeline'", filters.get(3));
+        Assert.assertEquals("(name eq 'pipeline') and endTime gt datetimeoffset'" + START_TIME.plusMinutes(360) + "'",
+                filters.get(4));
+        Assert.assertEquals(5, aggregator.getPipeline("pipeline").jobCount());
+        Assert.assertEquals(5, fetchedJobs.size());
+        Assert.assertEquals(0, aggregator.failedJobCount());
+    }
+
+    @Test
+    public void canAggregateOlderJobsWithNewFilter() throws Exception {
+        addJob("first", 60);
+        addJob("first", 300);
+        addJob("second", 60);
+        Assert.assertEquals(2, (int) aggregator.aggregateAsync("name eq 'first'").toBlocking().single());
+
+        // The job of the other pipeline ends before the watermark of the first filter, and is not lost
+        Assert.assertEquals(1, (int) aggregator.aggregateAsync("name eq 'second'").toBlocking().single());
+        Assert.assertEquals("(name eq 'second') and (name eq 'first') and endTime le datetimeoffset'"
+                + START_TIME.plusMinutes(240) + "'", filters.get(1));
+
+        // Nothing is aggregated twice by a filter covering both
+        Assert.assertEquals(0, (int) aggregator.aggregateAsync(null).toBlocking().single());
+        Assert.assertEquals(2, aggregator.getPipeline("first").jobCount());
+        Assert.assertEquals(1, aggregator.getPipeline("second").jobCount());
+        Assert.assertEquals(3, fetchedJobs.size());
+    }
+
+    @Test
+    public void canAggregateFailedJobsLater() throws Exception {
+        addJob(60);
+        UUID failingJob = addJob(120);
+        addJob(600);
+        failingJobs.add(failingJob);
+
+        Assert.assertEquals(2, (int) aggregator.aggregateAsync(null).toBlocking().single());
+        Assert.assertEquals(1, aggregator.failedJobCount());
+
+        // The watermark stays before the failed job, rather than an hour before the latest one
+        failingJobs.clear();
+        Assert.assertEquals(1, (int) aggregator.aggregateAsync(null).toBlocking().single());
+        Assert.assertEquals("endTime gt datetimeoffset'" + START_TIME.plusMinutes(120).minusMillis(1) + "'", filters.get(1));
+        Assert.assertEquals(3, aggregator.getPipeline("pipeline").jobCount());
+
+        Assert.assertEquals(0, (int) aggregator.aggregateAsync(null).toBlocking().single());
+        Assert.assertEquals("endTime gt datetimeoffset'" + START_TIME.plusMinutes(540) + "'", filters.get(2));
+    }
+}
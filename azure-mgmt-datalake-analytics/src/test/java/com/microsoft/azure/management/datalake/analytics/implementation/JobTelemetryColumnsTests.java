@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.datalake.analytics.implementation;
+
+import com.microsoft.azure.management.datalake.analytics.JobPipelineTelemetry;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test class to test the percentiles of the telemetry of the jobs of a pipeline.
+ */
+public class JobTelemetryColumnsTests {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void canLookUpNearestRankPercentiles() throws Exception {
+        JobTelemetryColumns columns = new JobTelemetryColumns();
+        // Added out of order, and more jobs than the initial capacity
+        for (int i = 20; i >= 1; i--) {
+            columns.add(i * 1000, i, i * 10, i, i / 100.0);
+        }
+
+        JobPipelineTelemetry telemetry = columns.snapshot("pipeline");
+
+        Assert.assertEquals("pipeline", telemetry.pipelineName());
+        Assert.assertEquals(20, telemetry.jobCount());
+        // The value at rank ceil(p / 100 * 20), the lowest one for 0
+        Assert.assertEquals(1000, telemetry.durationInMillis(0));
+        Assert.assertEquals(1000, telemetry.durationInMillis(5));
+        Assert.assertEquals(2000, telemetry.durationInMillis(5.1));
+        Assert.assertEquals(10000, telemetry.durationInMillis(50));
+        Assert.assertEquals(19000, telemetry.durationInMillis(95));
+        Assert.assertEquals(20000, telemetry.durationInMillis(99));
+        Assert.assertEquals(20000, telemetry.durationInMillis(100));
+        Assert.assertEquals(10, telemetry.dataRead(50));
+        Assert.assertEquals(190, telemetry.dataWritten(95));
+        Assert.assertEquals(15, telemetry.skewRatio(75), DELTA);
+        Assert.assertEquals(0.01, telemetry.allocationUsage(0), DELTA);
+    }
+
+    @Test
+    public void canDropUnknownValues() throws Exception {
+        JobTelemetryColumns columns = new JobTelemetryColumns();
+        columns.add(1000, 1, 1, Double.NaN, Double.NaN);
+        columns.add(2000, 2, 2, 3, Double.NaN);
+        columns.add(3000, 3, 3, Double.NaN, Double.NaN);
+        columns.add(4000, 4, 4, 1, Double.NaN);
+
+        JobPipelineTelemetry telemetry = columns.snapshot("pipeline");
+
+        // The percentiles of the skew ratio are over the two jobs that have one
+        Assert.assertEquals(4, telemetry.jobCount());
+        Assert.assertEquals(1, telemetry.skewRatio(50), DELTA);
+        Assert.assertEquals(3, telemetry.skewRatio(51), DELTA);
+        Assert.assertEquals(3, telemetry.skewRatio(100), DELTA);
+        Assert.assertTrue(Double.isNaN(telemetry.allocationUsage(50)));
+    }
+
+    @Test
+    public void canTakeSnapshotsUnaffectedByLaterJobs() throws Exception {
+        JobTelemetryColumns columns = new JobTelemetryColumns();
+        columns.add(1000, 1, 1, 1, 1);
+        JobPipelineTelemetry telemetry = columns.snapshot("pipeline");
+
+        columns.add(500, 2, 2, 2, 2);
+
+        Assert.assertEquals(1, telemetry.jobCount());
+        Assert.assertEquals(1000, telemetry.durationInMillis(0));
+        Assert.assertEquals(500, columns.snapshot("pipeline").durationInMillis(0));
+    }
+
+    @Test
+    public void canRejectPercentilesOutOfRange() throws Exception {
+        JobTelemetryColumns columns = new JobTelemetryColumns();
+        columns.add(1000, 1, 1, Double.NaN, Double.NaN);
+        JobPipelineTelemetry telemetry = columns.snapshot("pipeline");
+
+        double[] invalidPercentiles = {-0.1, 100.1, Double.NaN};
+        for (double percentile : invalidPercentiles) {
+            try {
+                telemetry.durationInMillis(percentile);
+                Assert.fail(Double.toString(percentile));
+            } catch (IllegalArgumentException e) {
+                Assert.assertNotNull(e.getMessage());
+            }
+            // Also when there is no value to look up
+            try {
+                telemetry.skewRatio(percentile);
+                Assert.fail(Double.toString(percentile));
+            } catch (IllegalArgumentException e) {
+                Assert.assertNotNull(e.getMessage());
+            }
+        }
+    }
+}
@@ -15,7 +15,13 @@ import com.microsoft.azure.management.resources.fluentcore.model.Refreshable;
 import com.microsoft.azure.management.resources.fluentcore.model.Updatable;
 import com.microsoft.azure.management.resources.fluentcore.model.Wrapper;
 
+import rx.Observable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.List;
+import java.util.Map;
 
 /**
  * An immutable client-side representation of an Azure DNS Zone.
@@ -86,6 +92,36 @@ public interface DnsZone extends
      */
     SoaRecordSet getSoaRecordSet();
 
+    /**
+     * @return the time each record set took to commit in the last create or update of this zone,
+     * in milliseconds, by record set name and type, e.g. www_A
+     */
+    Map<String, Long> recordSetCommitLatenciesInMillis();
+
+    /**
+     * Writes the record sets of this zone as a BIND zone file.
+     * <p>
+     * The record sets are listed a page at a time and written as they are received.
+     *
+     * @param writer the writer to write the zone file to
+     * @throws IOException if the zone file cannot be written
+     */
+    void exportZoneFile(Writer writer) throws IOException;
+
+    /**
+     * Creates, updates and deletes the record sets of this zone so they match a BIND zone file.
+     * <p>
+     * The record sets of the zone are listed once, and only the record sets that differ from the
+     * zone file are written, guarded by their ETags. The SOA record set and the NS record set of
+     * the zone apex are managed by Azure DNS and are left as they are. A record set that cannot
+     * be written does not stop the others and is reported in the failed record sets.
+     *
+     * @param zoneFile the zone file
+     * @param maxConcurrency the maximum number of record sets written at the same time
+     * @return an observable emitting the changes made
+     */
+    Observable<DnsZoneSyncResult> syncWithZoneFileAsync(Reader zoneFile, int maxConcurrency);
+
     /**
      * The entirety of the Dns zone definition.
      */
@@ -385,6 +421,27 @@ public interface DnsZone extends
              */
             Update withoutTxtRecordSet(String name);
         }
+
+        /**
+         * The stage of the Dns zone update allowing to specify how the record set changes are committed.
+         */
+        interface WithRecordSetCommit {
+            /**
+             * Specifies the maximum number of record sets created, updated or removed at the same time.
+             * Default is 16.
+             *
+             * @param maxConcurrency the maximum number of record sets committed at the same time
+             * @return the next stage of Dns zone update
+             */
+            Update withRecordSetCommitConcurrency(int maxConcurrency);
+
+            /**
+             * Specifies that the record sets to remove are removed before any record set is created or updated.
+             *
+             * @return the next stage of Dns zone update
+             */
+            Update withRecordSetRemovalsFirst();
+        }
     }
 
     /**
@@ -395,6 +452,7 @@ public interface DnsZone extends
     interface Update extends
             Appliable<DnsZone>,
             UpdateStages.WithRecordSet,
+            UpdateStages.WithRecordSetCommit,
             Resource.UpdateWithTags<Update> {
     }
 }
@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.dns;
+
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The changes made to the record sets of a Dns zone to match a zone file, each record set
+ * given as its relative name and type, e.g. www/A.
+ */
+@Fluent
+public interface DnsZoneSyncResult {
+    /**
+     * @return the record sets in the zone file that were missing from the zone and were created
+     */
+    List<String> createdRecordSets();
+
+    /**
+     * @return the record sets whose TTL or records differed from the zone file and were updated
+     */
+    List<String> updatedRecordSets();
+
+    /**
+     * @return the record sets in the zone that were missing from the zone file and were deleted
+     */
+    List<String> deletedRecordSets();
+
+    /**
+     * @return the errors of the record sets that could not be created, updated or deleted, e.g.
+     * as they were changed since they were listed, by record set
+     */
+    Map<String, Throwable> failedRecordSets();
+
+    /**
+     * @return the number of record sets that already matched the zone file
+     */
+    int unchangedRecordSetCount();
+}
@@ -10,6 +10,7 @@ import com.microsoft.azure.management.dns.ARecordSets;
 import com.microsoft.azure.management.dns.AaaaRecordSets;
 import com.microsoft.azure.management.dns.CnameRecordSets;
 import com.microsoft.azure.management.dns.DnsZone;
+import com.microsoft.azure.management.dns.DnsZoneSyncResult;
 import com.microsoft.azure.management.dns.MxRecordSets;
 import com.microsoft.azure.management.dns.NsRecordSets;
 import com.microsoft.azure.management.dns.PtrRecordSets;
@@ -17,11 +18,17 @@ import com.microsoft.azure.management.dns.RecordType;
 import com.microsoft.azure.management.dns.SoaRecordSet;
 import com.microsoft.azure.management.dns.SrvRecordSets;
 import com.microsoft.azure.management.dns.TxtRecordSets;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.ExternalChildResourceCollectionImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.GroupableResourceImpl;
+import com.microsoft.azure.management.resources.fluentcore.utils.ThrottlingInterceptor;
 import rx.Observable;
 import rx.functions.Func1;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation for {@link DnsZone}.
@@ -59,6 +66,7 @@ public class DnsZoneImpl
         this.innerCollection = innerCollection;
         this.recordSetsClient = recordSetsClient;
         this.recordSetsImpl = new DnsRecordSetsImpl(recordSetsClient, this);
+        this.recordSetsImpl.withThrottledCommitRetries(!ThrottlingInterceptor.isInstalled(trafficManager.restClient()));
         initRecordSets();
     }
 
@@ -123,6 +131,22 @@ public class DnsZoneImpl
         return new SoaRecordSetImpl(this, inner, this.recordSetsClient);
     }
 
+    @Override
+    public Map<String, Long> recordSetCommitLatenciesInMillis() {
+        return this.recordSetsImpl.commitLatenciesInMillis();
+    }
+
+    @Override
+    public void exportZoneFile(Writer writer) throws IOException {
+        new ZoneFileOperations(this.recordSetsClient, this.resourceGroupName(), this.name()).exportTo(writer);
+    }
+
+    @Override
+    public Observable<DnsZoneSyncResult> syncWithZoneFileAsync(Reader zoneFile, int maxConcurrency) {
+        return new ZoneFileOperations(this.recordSetsClient, this.resourceGroupName(), this.name())
+                .syncAsync(zoneFile, maxConcurrency);
+    }
+
     // Setters
 
     @Override
@@ -135,6 +159,18 @@ public class DnsZoneImpl
         return recordSetsImpl.defineAaaaRecordSet(name);
     }
 
+    @Override
+    public DnsZoneImpl withRecordSetCommitConcurrency(int maxConcurrency) {
+        recordSetsImpl.withCommitConcurrency(maxConcurrency);
+        return this;
+    }
+
+    @Override
+    public DnsZoneImpl withRecordSetRemovalsFirst() {
+        recordSetsImpl.withCommitOrder(ExternalChildResourceCollectionImpl.CommitOrder.DELETES_FIRST);
+        return this;
+    }
+
     @Override
     public DnsZoneImpl withCnameRecordSet(String name, String alias) {
         recordSetsImpl.withCnameRecordSet(name, alias);
@@ -91,4 +91,8 @@ public final class DnsZoneManager extends Manager<DnsZoneManager, DnsManagementC
         }
         return this.zones;
     }
+
+    RestClient restClient() {
+        return super.innerManagementClient.restClient();
+    }
 }
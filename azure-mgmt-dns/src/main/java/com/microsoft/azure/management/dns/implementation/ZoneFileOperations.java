@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.dns.implementation;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.dns.DnsZoneSyncResult;
+import com.microsoft.azure.management.dns.RecordType;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Exports the record sets of a Dns zone to a zone file, and brings them in line with a zone file.
+ */
+final class ZoneFileOperations {
+    private final RecordSetsInner client;
+    private final String resourceGroupName;
+    private final String zoneName;
+
+    ZoneFileOperations(RecordSetsInner client, String resourceGroupName, String zoneName) {
+        this.client = client;
+        this.resourceGroupName = resourceGroupName;
+        this.zoneName = zoneName;
+    }
+
+    /**
+     * Writes the record sets of the zone to a zone file, one page of record sets at a time.
+     *
+     * @param writer the writer to write the zone file to
+     * @throws IOException if the zone file cannot be written
+     */
+    void exportTo(Writer writer) throws IOException {
+        ZoneFileWriter zoneFile = new ZoneFileWriter(writer, zoneName);
+        // The SOA record comes first in a zone file
+        zoneFile.write(client.get(resourceGroupName, zoneName, "@", RecordType.SOA));
+        for (RecordSetInner recordSet : client.listAllInResourceGroup(resourceGroupName, zoneName)) {
+            if (ZoneFileWriter.typeOf(recordSet) != RecordType.SOA) {
+                zoneFile.write(recordSet);
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Creates, updates and deletes the record sets of the zone so they match a zone file.
+     * <p>
+     * The record sets of the zone are listed once and compared with the zone file, and only the
+     * record sets that differ are written, with their ETags so concurrent changes are not
+     * overwritten. The SOA record set and the NS record set of the zone apex are managed by
+     * Azure DNS and left as they are. A record set that fails to be written, e.g. as it was
+     * changed since it was listed, does not stop the others and is reported as failed.
+     *
+     * @param zoneFileReader the zone file
+     * @param maxConcurrency the maximum number of record sets written at the same time
+     * @return an observable emitting the changes made
+     */
+    Observable<DnsZoneSyncResult> syncAsync(final Reader zoneFileReader, final int maxConcurrency) {
+        return Observable.defer(new Func0<Observable<DnsZoneSyncResult>>() {
+            @Override
+            public Observable<DnsZoneSyncResult> call() {
+                final Map<String, RecordSetInner> desired;
+                try {
+                    desired = new ZoneFileReader(zoneFileReader, zoneName).readRecordSets();
+                } catch (IOException e) {
+                    return Observable.error(e);
+                }
+                return listAsync().flatMap(new Func1<Map<String, RecordSetInner>, Observable<DnsZoneSyncResult>>() {
+                    @Override
+                    public Observable<DnsZoneSyncResult> call(Map<String, RecordSetInner> live) {
+                        return applyAsync(desired, live, maxConcurrency);
+                    }
+                });
+            }
+        });
+    }
+
+    private Observable<Map<String, RecordSetInner>> listAsync() {
+        return client.listAllInResourceGroupAsync(resourceGroupName, zoneName)
+                .concatMap(new Func1<Page<RecordSetInner>, Observable<RecordSetInner>>() {
+                    @Override
+                    public Observable<RecordSetInner> call(Page<RecordSetInner> page) {
+                        return Observable.from(page.getItems());
+                    }
+                })
+                .toList()
+                .map(new Func1<List<RecordSetInner>, Map<String, RecordSetInner>>() {
+                    @Override
+                    public Map<String, RecordSetInner> call(List<RecordSetInner> recordSets) {
+                        Map<String, RecordSetInner> live = new HashMap<>();
+                        for (RecordSetInner recordSet : recordSets) {
+                            live.put(ZoneFileReader.keyOf(recordSet.name(), ZoneFileWriter.typeOf(recordSet)), recordSet);
+                        }
+                        return live;
+                    }
+                });
+    }
+
+    private Observable<DnsZoneSyncResult> applyAsync(Map<String, RecordSetInner> desired,
+                                                     Map<String, RecordSetInner> live,
+                                                     int maxConcurrency) {
+        final SyncResultImpl result = new SyncResultImpl();
+        List<Observable<Void>> writes = new ArrayList<>();
+        for (Map.Entry<String, RecordSetInner> entry : desired.entrySet()) {
+            RecordSetInner recordSet = entry.getValue();
+            if (isManagedByAzure(recordSet)) {
+                continue;
+            }
+            RecordSetInner current = live.get(entry.getKey());
+            if (current == null) {
+                writes.add(result.track(writeAsync(recordSet.name(), recordSet, null, "*"),
+                        result.created, describe(recordSet)));
+            } else if (!sameRecords(recordSet, current)) {
+                recordSet.withMetadata(current.metadata());
+                writes.add(result.track(writeAsync(current.name(), recordSet, current.etag(), null),
+                        result.updated, describe(current)));
+            } else {
+                result.unchangedCount++;
+            }
+        }
+        for (Map.Entry<String, RecordSetInner> entry : live.entrySet()) {
+            RecordSetInner recordSet = entry.getValue();
+            if (!desired.containsKey(entry.getKey()) && !isManagedByAzure(recordSet)) {
+                writes.add(result.track(client.deleteAsync(resourceGroupName, zoneName, recordSet.name(),
+                        ZoneFileWriter.typeOf(recordSet), recordSet.etag(), null).subscribeOn(Schedulers.io()),
+                        result.deleted, describe(recordSet)));
+            }
+        }
+        return Observable.merge(writes, Math.max(1, maxConcurrency))
+                .toList()
+                .map(new Func1<List<Void>, DnsZoneSyncResult>() {
+                    @Override
+                    public DnsZoneSyncResult call(List<Void> voids) {
+                        return result;
+                    }
+                });
+    }
+
+    private Observable<Void> writeAsync(String name, RecordSetInner recordSet, String ifMatch, String ifNoneMatch) {
+        return client.createOrUpdateAsync(resourceGroupName, zoneName, name, ZoneFileWriter.typeOf(recordSet),
+                recordSet, ifMatch, ifNoneMatch)
+                .subscribeOn(Schedulers.io())
+                .map(new Func1<RecordSetInner, Void>() {
+                    @Override
+                    public Void call(RecordSetInner recordSetInner) {
+                        return null;
+                    }
+                });
+    }
+
+    private static boolean isManagedByAzure(RecordSetInner recordSet) {
+        RecordType type = ZoneFileWriter.typeOf(recordSet);
+        return type == RecordType.SOA || (type == RecordType.NS && recordSet.name().equals("@"));
+    }
+
+    // Compares the TTL and the records regardless of their order and of the case of names
+    private static boolean sameRecords(RecordSetInner recordSet, RecordSetInner other) {
+        long ttl = recordSet.tTL() == null ? 0 : recordSet.tTL();
+        long otherTtl = other.tTL() == null ? 0 : other.tTL();
+        return ttl == otherTtl && normalizedDataOf(recordSet).equals(normalizedDataOf(other));
+    }
+
+    private static List<String> normalizedDataOf(RecordSetInner recordSet) {
+        RecordType type = ZoneFileWriter.typeOf(recordSet);
+        List<String> data = ZoneFileWriter.dataOf(recordSet, type);
+        if (type != RecordType.TXT) {
+            for (int i = 0; i < data.size(); i++) {
+                data.set(i, data.get(i).toLowerCase(Locale.ROOT));
+            }
+        }
+        Collections.sort(data);
+        return data;
+    }
+
+    private static String describe(RecordSetInner recordSet) {
+        return recordSet.name() + "/" + ZoneFileWriter.typeOf(recordSet);
+    }
+
+    /**
+     * The implementation of {@link DnsZoneSyncResult}.
+     */
+    private static final class SyncResultImpl implements DnsZoneSyncResult {
+        private final List<String> created = new CopyOnWriteArrayList<>();
+        private final List<String> updated = new CopyOnWriteArrayList<>();
+        private final List<String> deleted = new CopyOnWriteArrayList<>();
+        private final Map<String, Throwable> failed = new ConcurrentHashMap<>();
+        private int unchangedCount;
+
+        // Records a record set in the given changes once written, or as failed
+        private Observable<Void> track(Observable<Void> write, final List<String> changes, final String recordSet) {
+            return write
+                    .doOnCompleted(new Action0() {
+                        @Override
+                        public void call() {
+                            changes.add(recordSet);
+                        }
+                    })
+                    .onErrorResumeNext(new Func1<Throwable, Observable<Void>>() {
+                        @Override
+                        public Observable<Void> call(Throwable throwable) {
+                            failed.put(recordSet, throwable);
+                            return Observable.empty();
+                        }
+                    });
+        }
+
+        @Override
+        public List<String> createdRecordSets() {
+            return Collections.unmodifiableList(created);
+        }
+
+        @Override
+        public List<String> updatedRecordSets() {
+            return Collections.unmodifiableList(updated);
+        }
+
+        @Override
+        public List<String> deletedRecordSets() {
+            return Collections.unmodifiableList(deleted);
+        }
+
+        @Override
+        public Map<String, Throwable> failedRecordSets() {
+            return Collections.unmodifiableMap(failed);
+        }
+
+        @Override
+        public int unchangedRecordSetCount() {
+            return unchangedCount;
+        }
+    }
+}
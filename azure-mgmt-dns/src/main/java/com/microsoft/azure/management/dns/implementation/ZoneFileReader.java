@@ -0,0 +1,371 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.dns.implementation;
+
+import com.microsoft.azure.management.dns.ARecord;
+import com.microsoft.azure.management.dns.AaaaRecord;
+import com.microsoft.azure.management.dns.CnameRecord;
+import com.microsoft.azure.management.dns.MxRecord;
+import com.microsoft.azure.management.dns.NsRecord;
+import com.microsoft.azure.management.dns.PtrRecord;
+import com.microsoft.azure.management.dns.RecordType;
+import com.microsoft.azure.management.dns.SoaRecord;
+import com.microsoft.azure.management.dns.SrvRecord;
+import com.microsoft.azure.management.dns.TxtRecord;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the record sets of a zone from a BIND zone file, one line at a time.
+ * <p>
+ * Supports the $ORIGIN and $TTL directives, comments, entries continued over several lines
+ * with parentheses, omitted owners and TTLs, and the record types Azure DNS supports.
+ * Records with the same owner and type are merged into one record set, taking the TTL of
+ * the first of them.
+ */
+final class ZoneFileReader {
+    private static final char QUOTED = '"';
+    private static final String RESOURCE_TYPE_PREFIX = "Microsoft.Network/dnszones/";
+
+    private final BufferedReader reader;
+    private final String zoneName;
+    private String origin;
+    private Long defaultTtl;
+    private String previousOwner;
+    private int lineNumber;
+
+    /**
+     * Creates a reader for the zone file of a zone.
+     *
+     * @param reader the zone file
+     * @param zoneName the name of the zone, the initial origin of the zone file
+     */
+    ZoneFileReader(Reader reader, String zoneName) {
+        this.reader = new BufferedReader(reader);
+        this.zoneName = absolute(zoneName);
+        this.origin = this.zoneName;
+    }
+
+    /**
+     * Reads all the record sets of the zone file.
+     *
+     * @return the record sets, keyed by {@link #keyOf(String, RecordType)}
+     * @throws IOException if the zone file cannot be read or is not valid
+     */
+    Map<String, RecordSetInner> readRecordSets() throws IOException {
+        Map<String, RecordSetInner> recordSets = new LinkedHashMap<>();
+        List<String> tokens;
+        while ((tokens = nextEntry()) != null) {
+            if (tokens.isEmpty()) {
+                continue;
+            }
+            String first = tokens.get(0);
+            if (first.equalsIgnoreCase("$ORIGIN")) {
+                origin = absolute(resolve(token(tokens, 1)));
+            } else if (first.equalsIgnoreCase("$TTL")) {
+                defaultTtl = ttlOf(token(tokens, 1));
+                if (defaultTtl == null) {
+                    throw invalid("Invalid $TTL " + tokens.get(1));
+                }
+            } else if (first.startsWith("$")) {
+                throw invalid("Unsupported directive " + first);
+            } else {
+                readRecord(tokens, recordSets);
+            }
+        }
+        return recordSets;
+    }
+
+    private void readRecord(List<String> tokens, Map<String, RecordSetInner> recordSets) throws IOException {
+        // An entry starting with white space belongs to the owner of the previous entry
+        String owner = tokens.get(0).isEmpty() ? previousOwner : resolve(tokens.get(0));
+        if (owner == null) {
+            throw invalid("Missing owner name");
+        }
+        previousOwner = owner;
+        Long ttl = null;
+        RecordType type = null;
+        int index = 1;
+        while (type == null) {
+            String token = token(tokens, index++);
+            Long tokenTtl = ttlOf(token);
+            if (tokenTtl != null) {
+                ttl = tokenTtl;
+            } else if (!token.equalsIgnoreCase("IN")) {
+                type = RecordType.fromString(token);
+                if (type == null) {
+                    throw invalid("Unsupported record type " + token);
+                }
+            }
+        }
+        if (ttl == null) {
+            ttl = defaultTtl;
+        }
+        if (ttl == null) {
+            throw invalid("Missing TTL and no $TTL directive");
+        }
+
+        String name = relativeName(owner);
+        String key = keyOf(name, type);
+        RecordSetInner recordSet = recordSets.get(key);
+        if (recordSet == null) {
+            recordSet = new RecordSetInner()
+                    .withName(name)
+                    .withType(RESOURCE_TYPE_PREFIX + type)
+                    .withTTL(ttl);
+            recordSets.put(key, recordSet);
+        }
+        List<String> data = tokens.subList(index, tokens.size());
+        switch (type) {
+            case A:
+                recordSet.withARecords(add(recordSet.aRecords(), new ARecord().withIpv4Address(token(data, 0))));
+                break;
+            case AAAA:
+                recordSet.withAaaaRecords(add(recordSet.aaaaRecords(), new AaaaRecord().withIpv6Address(token(data, 0))));
+                break;
+            case CNAME:
+                if (recordSet.cnameRecord() != null) {
+                    throw invalid("More than one CNAME record for " + owner);
+                }
+                recordSet.withCnameRecord(new CnameRecord().withCname(target(token(data, 0))));
+                break;
+            case MX:
+                recordSet.withMxRecords(add(recordSet.mxRecords(), new MxRecord()
+                        .withPreference(intOf(token(data, 0)))
+                        .withExchange(target(token(data, 1)))));
+                break;
+            case NS:
+                recordSet.withNsRecords(add(recordSet.nsRecords(), new NsRecord().withNsdname(target(token(data, 0)))));
+                break;
+            case PTR:
+                recordSet.withPtrRecords(add(recordSet.ptrRecords(), new PtrRecord().withPtrdname(target(token(data, 0)))));
+                break;
+            case SRV:
+                recordSet.withSrvRecords(add(recordSet.srvRecords(), new SrvRecord()
+                        .withPriority(intOf(token(data, 0)))
+                        .withWeight(intOf(token(data, 1)))
+                        .withPort(intOf(token(data, 2)))
+                        .withTarget(target(token(data, 3)))));
+                break;
+            case TXT:
+                List<String> values = new ArrayList<>();
+                for (String value : data) {
+                    values.add(unquote(value));
+                }
+                if (values.isEmpty()) {
+                    throw invalid("Missing TXT data");
+                }
+                recordSet.withTxtRecords(add(recordSet.txtRecords(), new TxtRecord().withValue(values)));
+                break;
+            case SOA:
+                recordSet.withSoaRecord(new SoaRecord()
+                        .withHost(target(token(data, 0)))
+                        .withEmail(target(token(data, 1)))
+                        .withSerialNumber(longOf(token(data, 2)))
+                        .withRefreshTime(ttlOf(token(data, 3)))
+                        .withRetryTime(ttlOf(token(data, 4)))
+                        .withExpireTime(ttlOf(token(data, 5)))
+                        .withMinimumTtl(ttlOf(token(data, 6))));
+                break;
+            default:
+                throw invalid("Unsupported record type " + type);
+        }
+    }
+
+    /**
+     * Gets the key identifying a record set in a zone, its lower cased relative name and its type.
+     *
+     * @param name the name of the record set relative to the zone, @ for the zone apex
+     * @param type the type of the record set
+     * @return the key
+     */
+    static String keyOf(String name, RecordType type) {
+        return name.toLowerCase(Locale.ROOT) + "/" + type;
+    }
+
+    // Reads the tokens of the next entry, an empty first token standing for an omitted owner
+    private List<String> nextEntry() throws IOException {
+        List<String> tokens = new ArrayList<>();
+        int depth = 0;
+        do {
+            String line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                if (depth > 0) {
+                    throw invalid("Unbalanced parentheses");
+                }
+                return tokens.isEmpty() ? null : tokens;
+            }
+            if (tokens.isEmpty() && depth == 0 && !line.isEmpty() && Character.isWhitespace(line.charAt(0))) {
+                tokens.add("");
+            }
+            StringBuilder token = null;
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '\\' && i + 1 < line.length()) {
+                        token.append(line.charAt(++i));
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        token.append(c);
+                    }
+                } else if (c == ';') {
+                    break;
+                } else if (c == '(' || c == ')' || Character.isWhitespace(c)) {
+                    depth += c == '(' ? 1 : c == ')' ? -1 : 0;
+                    if (token != null) {
+                        tokens.add(token.toString());
+                        token = null;
+                    }
+                } else if (c == '"') {
+                    if (token != null) {
+                        tokens.add(token.toString());
+                    }
+                    token = new StringBuilder().append(QUOTED);
+                    quoted = true;
+                } else {
+                    if (token == null) {
+                        token = new StringBuilder();
+                    }
+                    token.append(c);
+                }
+            }
+            if (quoted) {
+                throw invalid("Unterminated quoted string");
+            }
+            if (token != null) {
+                tokens.add(token.toString());
+            }
+            if (depth < 0) {
+                throw invalid("Unbalanced parentheses");
+            }
+        } while (depth > 0);
+        // A line holding only white space or a comment
+        if (tokens.size() == 1 && tokens.get(0).isEmpty()) {
+            tokens.clear();
+        }
+        return tokens;
+    }
+
+    private String token(List<String> tokens, int index) throws IOException {
+        if (index >= tokens.size()) {
+            throw invalid("Incomplete entry");
+        }
+        return tokens.get(index);
+    }
+
+    // Makes a name from the zone file absolute, relative names being relative to the current origin
+    private String resolve(String name) {
+        if (name.equals("@")) {
+            return origin;
+        }
+        return name.endsWith(".") ? name : name + "." + origin;
+    }
+
+    private String relativeName(String owner) throws IOException {
+        String lowerCaseOwner = owner.toLowerCase(Locale.ROOT);
+        if (lowerCaseOwner.equals(zoneName)) {
+            return "@";
+        }
+        if (lowerCaseOwner.endsWith("." + zoneName)) {
+            return owner.substring(0, owner.length() - zoneName.length() - 1);
+        }
+        throw invalid("Owner " + owner + " is outside of zone " + zoneName);
+    }
+
+    // Targets are stored without the trailing dot of absolute names
+    private String target(String name) {
+        String resolved = resolve(unquote(name));
+        return resolved.substring(0, resolved.length() - 1);
+    }
+
+    private static String absolute(String name) {
+        String lowerCaseName = name.toLowerCase(Locale.ROOT);
+        return lowerCaseName.endsWith(".") ? lowerCaseName : lowerCaseName + ".";
+    }
+
+    private static String unquote(String token) {
+        return !token.isEmpty() && token.charAt(0) == QUOTED ? token.substring(1) : token;
+    }
+
+    // Parses a TTL in seconds or with BIND units, e.g. 3600 or 1h, null if the token is not a TTL
+    private static Long ttlOf(String token) {
+        if (token.isEmpty() || !Character.isDigit(token.charAt(0))) {
+            return null;
+        }
+        long ttl = 0;
+        long value = 0;
+        boolean pending = false;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (Character.isDigit(c)) {
+                value = value * 10 + (c - '0');
+                pending = true;
+                continue;
+            }
+            if (!pending) {
+                return null;
+            }
+            switch (Character.toLowerCase(c)) {
+                case 's':
+                    ttl += value;
+                    break;
+                case 'm':
+                    ttl += value * 60;
+                    break;
+                case 'h':
+                    ttl += value * 3600;
+                    break;
+                case 'd':
+                    ttl += value * 86400;
+                    break;
+                case 'w':
+                    ttl += value * 604800;
+                    break;
+                default:
+                    return null;
+            }
+            value = 0;
+            pending = false;
+        }
+        return ttl + value;
+    }
+
+    private int intOf(String token) throws IOException {
+        try {
+            return Integer.parseInt(token);
+        } catch (NumberFormatException e) {
+            throw invalid("Invalid number " + token);
+        }
+    }
+
+    private long longOf(String token) throws IOException {
+        try {
+            return Long.parseLong(token);
+        } catch (NumberFormatException e) {
+            throw invalid("Invalid number " + token);
+        }
+    }
+
+    private static <T> List<T> add(List<T> records, T record) {
+        List<T> result = records == null ? new ArrayList<T>() : records;
+        result.add(record);
+        return result;
+    }
+
+    private IOException invalid(String message) {
+        return new IOException(message + " at line " + lineNumber);
+    }
+}
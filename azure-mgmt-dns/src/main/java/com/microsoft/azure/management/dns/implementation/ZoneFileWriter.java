@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.dns.implementation;
+
+import com.microsoft.azure.management.dns.ARecord;
+import com.microsoft.azure.management.dns.AaaaRecord;
+import com.microsoft.azure.management.dns.MxRecord;
+import com.microsoft.azure.management.dns.NsRecord;
+import com.microsoft.azure.management.dns.PtrRecord;
+import com.microsoft.azure.management.dns.RecordType;
+import com.microsoft.azure.management.dns.SoaRecord;
+import com.microsoft.azure.management.dns.SrvRecord;
+import com.microsoft.azure.management.dns.TxtRecord;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the record sets of a zone as a BIND zone file, one record set at a time.
+ */
+final class ZoneFileWriter {
+    private final Writer writer;
+
+    /**
+     * Creates a writer for the zone file of a zone, starting it with the $ORIGIN of the zone.
+     *
+     * @param writer the writer to write the zone file to
+     * @param zoneName the name of the zone
+     * @throws IOException if the zone file cannot be written
+     */
+    ZoneFileWriter(Writer writer, String zoneName) throws IOException {
+        this.writer = writer;
+        this.writer.write("$ORIGIN " + absolute(zoneName) + "\n");
+    }
+
+    /**
+     * Writes the records of a record set, one line per record.
+     *
+     * @param recordSet the record set
+     * @throws IOException if the zone file cannot be written
+     */
+    void write(RecordSetInner recordSet) throws IOException {
+        RecordType type = typeOf(recordSet);
+        String prefix = recordSet.name() + "\t" + (recordSet.tTL() == null ? 0 : recordSet.tTL()) + "\tIN\t" + type + "\t";
+        for (String data : dataOf(recordSet, type)) {
+            writer.write(prefix);
+            writer.write(data);
+            writer.write("\n");
+        }
+    }
+
+    /**
+     * Gets the type of a record set returned by the service.
+     *
+     * @param recordSet the record set
+     * @return the record type, the last segment of its resource type, e.g. Microsoft.Network/dnszones/A
+     */
+    static RecordType typeOf(RecordSetInner recordSet) {
+        String type = recordSet.type();
+        return RecordType.fromString(type.substring(type.lastIndexOf('/') + 1));
+    }
+
+    /**
+     * Gets the data of the records of a record set, as written in a zone file.
+     *
+     * @param recordSet the record set
+     * @param type the type of the record set
+     * @return the data of each of the records
+     */
+    static List<String> dataOf(RecordSetInner recordSet, RecordType type) {
+        List<String> data = new ArrayList<>();
+        switch (type) {
+            case A:
+                if (recordSet.aRecords() != null) {
+                    for (ARecord record : recordSet.aRecords()) {
+                        data.add(record.ipv4Address());
+                    }
+                }
+                break;
+            case AAAA:
+                if (recordSet.aaaaRecords() != null) {
+                    for (AaaaRecord record : recordSet.aaaaRecords()) {
+                        data.add(record.ipv6Address());
+                    }
+                }
+                break;
+            case CNAME:
+                if (recordSet.cnameRecord() != null) {
+                    data.add(absolute(recordSet.cnameRecord().cname()));
+                }
+                break;
+            case MX:
+                if (recordSet.mxRecords() != null) {
+                    for (MxRecord record : recordSet.mxRecords()) {
+                        data.add(record.preference() + " " + absolute(record.exchange()));
+                    }
+                }
+                break;
+            case NS:
+                if (recordSet.nsRecords() != null) {
+                    for (NsRecord record : recordSet.nsRecords()) {
+                        data.add(absolute(record.nsdname()));
+                    }
+                }
+                break;
+            case PTR:
+                if (recordSet.ptrRecords() != null) {
+                    for (PtrRecord record : recordSet.ptrRecords()) {
+                        data.add(absolute(record.ptrdname()));
+                    }
+                }
+                break;
+            case SRV:
+                if (recordSet.srvRecords() != null) {
+                    for (SrvRecord record : recordSet.srvRecords()) {
+                        data.add(record.priority() + " " + record.weight() + " " + record.port() + " " + absolute(record.target()));
+                    }
+                }
+                break;
+            case TXT:
+                if (recordSet.txtRecords() != null) {
+                    for (TxtRecord record : recordSet.txtRecords()) {
+                        StringBuilder builder = new StringBuilder();
+                        for (String value : record.value()) {
+                            if (builder.length() > 0) {
+                                builder.append(' ');
+                            }
+                            builder.append('"').append(value.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+                        }
+                        data.add(builder.toString());
+                    }
+                }
+                break;
+            case SOA:
+                SoaRecord record = recordSet.soaRecord();
+                if (record != null) {
+                    data.add(absolute(record.host()) + " " + absolute(record.email()) + " " + record.serialNumber()
+                            + " " + record.refreshTime() + " " + record.retryTime() + " " + record.expireTime()
+                            + " " + record.minimumTtl());
+                }
+                break;
+            default:
+                break;
+        }
+        return data;
+    }
+
+    private static String absolute(String name) {
+        return name.endsWith(".") ? name : name + ".";
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.dns.implementation;
+
+import com.microsoft.azure.management.dns.DnsZoneSyncResult;
+import com.microsoft.azure.management.resources.FakeService;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Buffer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.microsoft.azure.management.resources.FakeService.response;
+
+/**
+ * Test class to test bringing the record sets of a zone in line with a zone file, against a
+ * fake service.
+ */
+public class ZoneFileSyncTests {
+    private static final String ZONE_PATH = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Network/dnszones/contoso.com/";
+    private static final String LIVE_RECORD_SETS = "{\"value\":["
+            + "{\"name\":\"@\",\"type\":\"Microsoft.Network/dnszones/SOA\",\"etag\":\"soa\",\"properties\":{\"TTL\":3600,"
+            + "\"SOARecord\":{\"host\":\"ns1.azure-dns.com\",\"email\":\"admin.contoso.com\",\"serialNumber\":1}}},"
+            + "{\"name\":\"@\",\"type\":\"Microsoft.Network/dnszones/NS\",\"etag\":\"ns\",\"properties\":{\"TTL\":3600,"
+            + "\"NSRecords\":[{\"nsdname\":\"ns1.azure-dns.com\"}]}},"
+            + "{\"name\":\"www\",\"type\":\"Microsoft.Network/dnszones/A\",\"etag\":\"www\",\"properties\":{\"TTL\":300,"
+            + "\"ARecords\":[{\"ipv4Address\":\"10.0.0.2\"},{\"ipv4Address\":\"10.0.0.1\"}]}},"
+            + "{\"name\":\"ftp\",\"type\":\"Microsoft.Network/dnszones/CNAME\",\"etag\":\"ftp\",\"properties\":{\"TTL\":300,"
+            + "\"CNAMERecord\":{\"cname\":\"WWW.contoso.com\"}}},"
+            + "{\"name\":\"mail\",\"type\":\"Microsoft.Network/dnszones/A\",\"etag\":\"mail\",\"properties\":{\"TTL\":300,"
+            + "\"ARecords\":[{\"ipv4Address\":\"10.0.0.3\"}]}},"
+            + "{\"name\":\"old\",\"type\":\"Microsoft.Network/dnszones/A\",\"etag\":\"old\",\"properties\":{\"TTL\":300,"
+            + "\"ARecords\":[{\"ipv4Address\":\"10.0.0.4\"}]}}]}";
+    private static final String ZONE_FILE = "$TTL 300\n"
+            + "@\tIN\tSOA\tns1.contoso.com. admin.contoso.com. 2 3600 300 604800 300\n"
+            + "@\tIN\tNS\tns1.contoso.com.\n"
+            + "www\tIN\tA\t10.0.0.1\n"
+            + "www\tIN\tA\t10.0.0.2\n"
+            + "ftp\tIN\tCNAME\twww\n"
+            + "mail\tIN\tA\t10.0.0.5\n"
+            + "api\tIN\tA\t10.0.0.6\n"
+            + "blog\t600\tIN\tCNAME\twww\n";
+
+    // The record sets changed on the service since they were listed
+    private final List<String> changedRecordSets = new CopyOnWriteArrayList<>();
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private ZoneFileOperations operations;
+
+    @Before
+    public void setup() {
+        FakeService service = new FakeService() {
+            @Override
+            protected Response respond(Request request) throws IOException {
+                return ZoneFileSyncTests.this.respond(request);
+            }
+        };
+        DnsManagementClientImpl client = new DnsManagementClientImpl(service.restClient());
+        client.withSubscriptionId("sub");
+        operations = new ZoneFileOperations(client.recordSets(), "rg", "contoso.com");
+    }
+
+    private Response respond(Request request) throws IOException {
+        String path = request.url().encodedPath();
+        Assert.assertTrue(path, path.startsWith(ZONE_PATH));
+        String recordSet = path.substring(ZONE_PATH.length());
+        if (recordSet.equals("recordsets")) {
+            return response(request, 200, LIVE_RECORD_SETS);
+        }
+        String preconditions = " " + request.header("If-Match") + " " + request.header("If-None-Match");
+        calls.add(request.method() + " " + recordSet + preconditions);
+        if (changedRecordSets.contains(recordSet)) {
+            return response(request, 412, "{\"error\":{\"code\":\"PreconditionFailed\",\"message\":\"Changed.\"}}");
+        }
+        if (request.method().equals("DELETE")) {
+            return response(request, 200, "");
+        }
+        Buffer body = new Buffer();
+        request.body().writeTo(body);
+        return response(request, 200, body.readUtf8());
+    }
+
+    private DnsZoneSyncResult sync() {
+        return operations.syncAsync(new StringReader(ZONE_FILE), 2).toBlocking().single();
+    }
+
+    private static List<String> sorted(List<String> values) {
+        List<String> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    @Test
+    public void canWriteOnlyRecordSetsThatDiffer() throws Exception {
+        DnsZoneSyncResult result = sync();
+
+        Assert.assertEquals(Arrays.asList("api/A", "blog/CNAME"), sorted(result.createdRecordSets()));
+        Assert.assertEquals(Collections.singletonList("mail/A"), result.updatedRecordSets());
+        Assert.assertEquals(Collections.singletonList("old/A"), result.deletedRecordSets());
+        Assert.assertTrue(result.failedRecordSets().isEmpty());
+        // The records of www and ftp only differ by their order and case, SOA and NS are left as they are
+        Assert.assertEquals(2, result.unchangedRecordSetCount());
+        Assert.assertEquals(Arrays.asList(
+                "DELETE A/old old null",
+                "PUT A/api null *",
+                "PUT A/mail mail null",
+                "PUT CNAME/blog null *"), sorted(calls));
+    }
+
+    @Test
+    public void canReportRecordSetsChangedConcurrently() throws Exception {
+        changedRecordSets.add("A/mail");
+        changedRecordSets.add("A/old");
+
+        DnsZoneSyncResult result = sync();
+
+        // The writes failing their preconditions do not stop the others, and are not reported as applied
+        Assert.assertEquals(Arrays.asList("api/A", "blog/CNAME"), sorted(result.createdRecordSets()));
+        Assert.assertTrue(result.updatedRecordSets().isEmpty());
+        Assert.assertTrue(result.deletedRecordSets().isEmpty());
+        Assert.assertEquals(Arrays.asList("mail/A", "old/A"), sorted(new ArrayList<>(result.failedRecordSets().keySet())));
+        Assert.assertEquals(4, calls.size());
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.dns.implementation;
+
+import com.microsoft.azure.management.dns.RecordType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Test class to test reading and writing zone files.
+ */
+public class ZoneFileTests {
+    private static final String ZONE_FILE = "$ORIGIN contoso.com.\n"
+            + "$TTL 1h\n"
+            + "@\tIN\tSOA\tns1.contoso.com. admin.contoso.com. (\n"
+            + "\t\t2017010101 ; serial\n"
+            + "\t\t1h 10m 1w 5m )\n"
+            + "@\t3600\tIN\tNS\tns1\n"
+            + "\tIN\tNS\tns2.contoso.com.\n"
+            + "@\tIN\tMX\t10 mail\n"
+            + "www\t300\tIN\tA\t10.0.0.1\n"
+            + "WWW\tIN\tA\t10.0.0.2 ; merged with www\n"
+            + "ftp\tIN\tCNAME\twww\n"
+            + "_sip._tcp\tIN\tSRV\t10 60 5060 sip.fabrikam.com.\n"
+            + "txt\tIN\tTXT\t\"v=spf1 ; -all\" \"say \\\"hi\\\"\"\n"
+            + "\n"
+            + "; records of a sub domain\n"
+            + "$ORIGIN sub.contoso.com.\n"
+            + "v6\t1d\tIN\tAAAA\t::1\n";
+
+    private static Map<String, RecordSetInner> read(String zoneFile) throws IOException {
+        return new ZoneFileReader(new StringReader(zoneFile), "Contoso.com").readRecordSets();
+    }
+
+    private static String write(Map<String, RecordSetInner> recordSets) throws IOException {
+        StringWriter writer = new StringWriter();
+        ZoneFileWriter zoneFile = new ZoneFileWriter(writer, "contoso.com");
+        for (RecordSetInner recordSet : recordSets.values()) {
+            zoneFile.write(recordSet);
+        }
+        return writer.toString();
+    }
+
+    @Test
+    public void canReadZoneFile() throws Exception {
+        Map<String, RecordSetInner> recordSets = read(ZONE_FILE);
+
+        Assert.assertEquals(Arrays.asList("@/SOA", "@/NS", "@/MX", "www/A", "ftp/CNAME", "_sip._tcp/SRV", "txt/TXT", "v6.sub/AAAA"),
+                Arrays.asList(recordSets.keySet().toArray()));
+        RecordSetInner soa = recordSets.get("@/SOA");
+        Assert.assertEquals("ns1.contoso.com", soa.soaRecord().host());
+        Assert.assertEquals("admin.contoso.com", soa.soaRecord().email());
+        Assert.assertEquals(2017010101L, (long) soa.soaRecord().serialNumber());
+        Assert.assertEquals(3600L, (long) soa.soaRecord().refreshTime());
+        Assert.assertEquals(600L, (long) soa.soaRecord().retryTime());
+        Assert.assertEquals(604800L, (long) soa.soaRecord().expireTime());
+        Assert.assertEquals(300L, (long) soa.soaRecord().minimumTtl());
+
+        // An omitted owner is the owner of the previous entry
+        RecordSetInner ns = recordSets.get("@/NS");
+        Assert.assertEquals("Microsoft.Network/dnszones/NS", ns.type());
+        Assert.assertEquals(2, ns.nsRecords().size());
+        Assert.assertEquals("ns1.contoso.com", ns.nsRecords().get(0).nsdname());
+        Assert.assertEquals("ns2.contoso.com", ns.nsRecords().get(1).nsdname());
+        Assert.assertEquals("mail.contoso.com", recordSets.get("@/MX").mxRecords().get(0).exchange());
+        Assert.assertEquals(3600L, (long) recordSets.get("@/MX").tTL());
+
+        // Records of the same owner and type are merged, with the TTL of the first of them
+        RecordSetInner www = recordSets.get("www/A");
+        Assert.assertEquals("www", www.name());
+        Assert.assertEquals(300L, (long) www.tTL());
+        Assert.assertEquals(2, www.aRecords().size());
+        Assert.assertEquals("10.0.0.2", www.aRecords().get(1).ipv4Address());
+
+        Assert.assertEquals("www.contoso.com", recordSets.get("ftp/CNAME").cnameRecord().cname());
+        RecordSetInner srv = recordSets.get("_sip._tcp/SRV");
+        Assert.assertEquals(5060, (int) srv.srvRecords().get(0).port());
+        Assert.assertEquals("sip.fabrikam.com", srv.srvRecords().get(0).target());
+        Assert.assertEquals(Arrays.asList("v=spf1 ; -all", "say \"hi\""), recordSets.get("txt/TXT").txtRecords().get(0).value());
+        Assert.assertEquals(86400L, (long) recordSets.get("v6.sub/AAAA").tTL());
+    }
+
+    @Test
+    public void canWriteAndReadBackRecordSets() throws Exception {
+        Map<String, RecordSetInner> recordSets = read(ZONE_FILE);
+
+        String zoneFile = write(recordSets);
+        Assert.assertTrue(zoneFile.startsWith("$ORIGIN contoso.com.\n@\t3600\tIN\tSOA\tns1.contoso.com. admin.contoso.com. 2017010101 3600 600 604800 300\n"));
+        Assert.assertTrue(zoneFile.contains("txt\t3600\tIN\tTXT\t\"v=spf1 ; -all\" \"say \\\"hi\\\"\"\n"));
+
+        Map<String, RecordSetInner> readBack = read(zoneFile);
+        Assert.assertEquals(recordSets.keySet(), readBack.keySet());
+        for (Map.Entry<String, RecordSetInner> entry : recordSets.entrySet()) {
+            RecordSetInner recordSet = entry.getValue();
+            RecordSetInner other = readBack.get(entry.getKey());
+            RecordType type = ZoneFileWriter.typeOf(recordSet);
+            Assert.assertEquals(recordSet.name(), other.name());
+            Assert.assertEquals(recordSet.tTL(), other.tTL());
+            Assert.assertEquals(ZoneFileWriter.dataOf(recordSet, type), ZoneFileWriter.dataOf(other, type));
+        }
+        // Writing what was read back gives the same zone file
+        Assert.assertEquals(zoneFile, write(readBack));
+    }
+
+    @Test
+    public void canRejectInvalidZoneFiles() throws Exception {
+        String[] invalidZoneFiles = {
+            "www\tIN\tA\t10.0.0.1\n",
+            "$TTL 1h\nwww\tIN\tA\t(10.0.0.1\n",
+            "$TTL 1h\nwww.fabrikam.com.\tIN\tA\t10.0.0.1\n",
+            "$TTL 1h\nwww\tIN\tHINFO\tx86 linux\n",
+            "$TTL 1h\nwww\tIN\tTXT\t\"unterminated\n",
+            "$TTL 1h\nwww\tIN\tMX\tten mail\n",
+            "$INCLUDE other.zone\n"
+        };
+        for (String zoneFile : invalidZoneFiles) {
+            try {
+                read(zoneFile);
+                Assert.fail(zoneFile);
+            } catch (IOException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains(" at line "));
+            }
+        }
+    }
+}
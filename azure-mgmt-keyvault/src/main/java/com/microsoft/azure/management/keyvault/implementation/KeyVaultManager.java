@@ -14,13 +14,14 @@ import com.microsoft.azure.management.keyvault.Vaults;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
+import com.microsoft.azure.management.resources.fluentcore.utils.Lazy;
 
 /**
  * Entry point to Azure storage resource management.
  */
 public final class KeyVaultManager extends Manager<KeyVaultManager, KeyVaultManagementClientImpl> {
-    // Service managers
-    private GraphRbacManager graphRbacManager;
+    // Service managers, created when first needed
+    private final Lazy<GraphRbacManager> graphRbacManager;
     // Collections
     private Vaults vaults;
     // Variables
@@ -87,18 +88,23 @@ public final class KeyVaultManager extends Manager<KeyVaultManager, KeyVaultMana
         }
     }
 
-    private KeyVaultManager(final RestClient restClient, String tenantId, String subscriptionId) {
+    private KeyVaultManager(final RestClient restClient, final String tenantId, String subscriptionId) {
         super(
                 restClient,
                 subscriptionId,
                 new KeyVaultManagementClientImpl(restClient).withSubscriptionId(subscriptionId));
-        String graphEndpoint = AzureEnvironment.AZURE.getGraphEndpoint();
-        if (restClient.credentials() instanceof AzureTokenCredentials) {
-            graphEndpoint = ((AzureTokenCredentials) restClient.credentials()).getEnvironment().getGraphEndpoint();
-        }
-        graphRbacManager = GraphRbacManager.authenticate(restClient.newBuilder()
-                .withBaseUrl(graphEndpoint)
-                .build(), tenantId);
+        this.graphRbacManager = new Lazy<GraphRbacManager>() {
+            @Override
+            protected GraphRbacManager create() {
+                String graphEndpoint = AzureEnvironment.AZURE.getGraphEndpoint();
+                if (restClient.credentials() instanceof AzureTokenCredentials) {
+                    graphEndpoint = ((AzureTokenCredentials) restClient.credentials()).getEnvironment().getGraphEndpoint();
+                }
+                return GraphRbacManager.authenticate(restClient.newBuilder()
+                        .withBaseUrl(graphEndpoint)
+                        .build(), tenantId);
+            }
+        };
         this.tenantId = tenantId;
     }
 
@@ -110,7 +116,7 @@ public final class KeyVaultManager extends Manager<KeyVaultManager, KeyVaultMana
             vaults = new VaultsImpl(
                     super.innerManagementClient.vaults(),
                     this,
-                    graphRbacManager,
+                    graphRbacManager.get(),
                     tenantId);
         }
         return vaults;
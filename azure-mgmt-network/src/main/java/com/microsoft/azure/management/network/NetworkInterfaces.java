@@ -9,6 +9,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import rx.Observable;
 
 /**
  * Entry point to network interface management.
@@ -23,4 +24,23 @@ public interface NetworkInterfaces  extends
         SupportsDeletingById,
         SupportsDeletingByGroup,
         SupportsBatchCreation<NetworkInterface> {
+    /**
+     * Lists all the network interfaces in the currently selected subscription as a stream.
+     * <p>
+     * Each page of the response is decoded as the network interfaces are consumed, rather than
+     * loaded into memory as a whole, which keeps memory bounded for very large subscriptions.
+     *
+     * @return an observable emitting the network interfaces
+     */
+    Observable<NetworkInterface> listAsync();
+
+    /**
+     * Lists the network interfaces in the specified resource group as a stream.
+     * <p>
+     * Each page of the response is decoded as the network interfaces are consumed.
+     *
+     * @param groupName the name of the resource group
+     * @return an observable emitting the network interfaces
+     */
+    Observable<NetworkInterface> listByGroupAsync(String groupName);
 }
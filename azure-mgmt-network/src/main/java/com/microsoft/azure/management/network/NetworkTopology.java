@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.network;
+
+import com.microsoft.azure.management.apigeneration.Fluent;
+import org.joda.time.DateTime;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable, in-memory snapshot of the network topology of a subscription, connecting
+ * virtual networks, subnets, network interfaces, virtual machines, public IP addresses and
+ * load balancers by their resource IDs.
+ * <p>
+ * Resource IDs are compared case-insensitively and are returned in lower case.
+ * <p>
+ * The graph part of the snapshot (resource IDs and adjacency) is serializable, so that snapshots
+ * taken at different times can be stored and compared offline. The fluent models are not, so after
+ * deserialization the maps of fluent models are empty.
+ */
+@Fluent()
+public interface NetworkTopology extends Serializable {
+    /**
+     * @return the time at which the snapshot was taken
+     */
+    DateTime snapshotTime();
+
+    /**
+     * @return the IDs of all the resources in the snapshot
+     */
+    Set<String> resourceIds();
+
+    /**
+     * @param resourceType the resource type, e.g. "virtualNetworks", "subnets", "networkInterfaces",
+     *                     "virtualMachines", "publicIPAddresses" or "loadBalancers"
+     * @return the IDs of the resources of the specified type in the snapshot
+     */
+    Set<String> resourceIdsOfType(String resourceType);
+
+    /**
+     * @param resourceId the ID of a resource in the snapshot
+     * @return the IDs of the resources directly connected to the specified resource,
+     * or an empty set if the resource is not in the snapshot
+     */
+    Set<String> neighborsOf(String resourceId);
+
+    /**
+     * @return the virtual networks in the snapshot, indexed by resource ID
+     */
+    Map<String, Network> networks();
+
+    /**
+     * @return the network interfaces in the snapshot, indexed by resource ID
+     */
+    Map<String, NetworkInterface> networkInterfaces();
+
+    /**
+     * @return the public IP addresses in the snapshot, indexed by resource ID
+     */
+    Map<String, PublicIpAddress> publicIpAddresses();
+
+    /**
+     * @return the load balancers in the snapshot, indexed by resource ID
+     */
+    Map<String, LoadBalancer> loadBalancers();
+}
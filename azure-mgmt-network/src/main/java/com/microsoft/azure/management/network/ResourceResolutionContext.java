@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.network;
+
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+import java.io.Closeable;
+
+/**
+ * A unit of work during which related network resources looked up by their resource IDs
+ * (e.g. the public IP address of a network interface IP configuration, or the load balancer of a
+ * backend) are fetched from Azure at most once and then served from memory.
+ * <p>
+ * Resources resolved within the context are snapshots taken at the time of the first lookup,
+ * so the context should be closed as soon as the unit of work is done. A context applies to the
+ * thread it was begun on, and should be closed on that thread.
+ */
+@Fluent()
+public interface ResourceResolutionContext extends Closeable {
+    /**
+     * Loads all the virtual networks, network interfaces, public IP addresses, load balancers,
+     * network security groups, route tables and application gateways in the specified resource
+     * group into the context, so that subsequent lookups of them do not call Azure.
+     *
+     * @param resourceGroupName the name of the resource group to prefetch
+     * @return the context itself
+     */
+    ResourceResolutionContext prefetchByGroup(String resourceGroupName);
+
+    /**
+     * @return the number of distinct resources resolved so far within this context
+     */
+    int size();
+
+    /**
+     * Ends the unit of work and discards the resolved resources.
+     */
+    @Override
+    void close();
+}
@@ -81,9 +81,10 @@ class LoadBalancerBackendImpl
         Set<String> vmIds = new HashSet<>();
         Map<String, String> nicConfigs = this.backendNicIpConfigurationNames();
         if (nicConfigs != null) {
+            final NetworkManager manager = this.parent().manager();
             for (String nicId : nicConfigs.keySet()) {
                 try {
-                    NetworkInterface nic = this.parent().manager().networkInterfaces().getById(nicId);
+                    NetworkInterface nic = manager.resolveById(nicId, manager.networkInterfaces());
                     if (nic == null || nic.virtualMachineId() == null) {
                         continue;
                     } else {
@@ -216,7 +216,8 @@ class LoadBalancerFrontendImpl
         if (pipId == null) {
             return null;
         } else {
-            return this.parent().manager().publicIpAddresses().getById(pipId);
+            final NetworkManager manager = this.parent().manager();
+            return manager.resolveById(pipId, manager.publicIpAddresses());
         }
     }
 }
@@ -16,7 +16,6 @@ import com.microsoft.azure.management.network.NetworkSecurityGroup;
 import com.microsoft.azure.management.network.NicIpConfiguration;
 import com.microsoft.azure.management.network.PublicIpAddress;
 import com.microsoft.azure.management.resources.ResourceGroup;
-import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.Resource;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.GroupableParentResourceImpl;
 import com.microsoft.azure.management.resources.fluentcore.model.Creatable;
@@ -338,11 +337,8 @@ class NetworkInterfaceImpl
     @Override
     public NetworkSecurityGroup getNetworkSecurityGroup() {
         if (this.networkSecurityGroup == null && this.networkSecurityGroupId() != null) {
-            String id = this.networkSecurityGroupId();
-            this.networkSecurityGroup = super.myManager
-                    .networkSecurityGroups()
-                    .getByGroup(ResourceUtils.groupFromResourceId(id),
-                    ResourceUtils.nameFromResourceId(id));
+            this.networkSecurityGroup = super.myManager.resolveById(this.networkSecurityGroupId(),
+                    super.myManager.networkSecurityGroups());
         }
         return this.networkSecurityGroup;
     }
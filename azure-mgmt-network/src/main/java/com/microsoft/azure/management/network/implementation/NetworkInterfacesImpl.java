@@ -23,10 +23,13 @@ class NetworkInterfacesImpl
             NetworkManager>
         implements NetworkInterfaces {
 
+    private final NetworkManagementClientImpl networkClient;
+
     NetworkInterfacesImpl(
-            final NetworkInterfacesInner client,
+            final NetworkManagementClientImpl networkClient,
             final NetworkManager networkManager) {
-        super(client, networkManager);
+        super(networkClient.networkInterfaces(), networkManager);
+        this.networkClient = networkClient;
     }
 
     @Override
@@ -39,6 +42,27 @@ class NetworkInterfacesImpl
         return wrapList(innerCollection.list(groupName));
     }
 
+    @Override
+    public Observable<NetworkInterface> listAsync() {
+        return wrapListStream(this.networkClient,
+                this.networkClient.acceptLanguage(),
+                this.networkClient.apiVersion(),
+                NetworkInterfaceInner.class,
+                "subscriptions", this.networkClient.subscriptionId(),
+                "providers", "Microsoft.Network", "networkInterfaces");
+    }
+
+    @Override
+    public Observable<NetworkInterface> listByGroupAsync(String groupName) {
+        return wrapListStream(this.networkClient,
+                this.networkClient.acceptLanguage(),
+                this.networkClient.apiVersion(),
+                NetworkInterfaceInner.class,
+                "subscriptions", this.networkClient.subscriptionId(),
+                "resourceGroups", groupName,
+                "providers", "Microsoft.Network", "networkInterfaces");
+    }
+
     @Override
     public NetworkInterface getByGroup(String groupName, String name) {
         return wrapModel(this.innerCollection.get(groupName, name));
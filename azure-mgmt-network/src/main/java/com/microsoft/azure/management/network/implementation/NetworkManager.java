@@ -18,13 +18,16 @@ import com.microsoft.azure.management.network.LoadBalancers;
 import com.microsoft.azure.management.network.Network;
 import com.microsoft.azure.management.network.NetworkInterfaces;
 import com.microsoft.azure.management.network.NetworkSecurityGroups;
+import com.microsoft.azure.management.network.NetworkTopology;
 import com.microsoft.azure.management.network.NetworkUsages;
 import com.microsoft.azure.management.network.Networks;
 import com.microsoft.azure.management.network.PublicIpAddresses;
+import com.microsoft.azure.management.network.ResourceResolutionContext;
 import com.microsoft.azure.management.network.RouteTables;
 import com.microsoft.azure.management.network.Subnet;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
 
@@ -43,6 +46,9 @@ public final class NetworkManager extends Manager<NetworkManager, NetworkManagem
     private ApplicationGateways applicationGateways;
     private NetworkUsages networkUsages;
 
+    // The resource resolution context active on each thread, if any
+    private final ThreadLocal<ResourceResolutionContextImpl> resolutionContext = new ThreadLocal<>();
+
     /**
      * Get a Configurable instance that can be used to create {@link NetworkManager}
      * with optional configuration.
@@ -164,7 +170,7 @@ public final class NetworkManager extends Manager<NetworkManager, NetworkManagem
     public NetworkInterfaces networkInterfaces() {
         if (networkInterfaces == null) {
             this.networkInterfaces = new NetworkInterfacesImpl(
-                    super.innerManagementClient.networkInterfaces(),
+                    super.innerManagementClient,
                     this);
         }
         return this.networkInterfaces;
@@ -204,6 +210,50 @@ public final class NetworkManager extends Manager<NetworkManager, NetworkManagem
         return this.networkUsages;
     }
 
+    /**
+     * Takes a snapshot of the network topology of the subscription, listing virtual networks,
+     * network interfaces, public IP addresses and load balancers once each, in parallel.
+     *
+     * @return the network topology snapshot
+     */
+    public NetworkTopology snapshotTopology() {
+        return NetworkTopologyImpl.snapshot(this);
+    }
+
+    /**
+     * Begins a unit of work during which related network resources looked up by their IDs
+     * through the network fluent models are fetched at most once.
+     * <p>
+     * The context applies to the lookups made on the calling thread only, and should be closed
+     * on that thread once the unit of work is done.
+     *
+     * @return the resolution context
+     */
+    public ResourceResolutionContext beginResolutionContext() {
+        if (this.resolutionContext.get() != null) {
+            throw new IllegalStateException("A resource resolution context is already active on this thread.");
+        }
+        ResourceResolutionContextImpl context = new ResourceResolutionContextImpl(this);
+        this.resolutionContext.set(context);
+        return context;
+    }
+
+    // Internal utility function
+    void endResolutionContext(ResourceResolutionContextImpl context) {
+        if (this.resolutionContext.get() == context) {
+            this.resolutionContext.remove();
+        }
+    }
+
+    // Internal utility function
+    <T> T resolveById(String id, SupportsGettingById<T> collection) {
+        ResourceResolutionContextImpl context = this.resolutionContext.get();
+        if (context == null) {
+            return collection.getById(id);
+        }
+        return context.resolve(id, collection);
+    }
+
     // Internal utility function
     List<Subnet> listAssociatedSubnets(List<SubnetInner> subnetRefs) {
         final Map<String, Network> networks = new HashMap<>();
@@ -214,7 +264,7 @@ public final class NetworkManager extends Manager<NetworkManager, NetworkManagem
                 String networkId = ResourceUtils.parentResourceIdFromResourceId(subnetRef.id());
                 Network network = networks.get(networkId);
                 if (network == null) {
-                    network = this.networks().getById(networkId);
+                    network = this.resolveById(networkId, this.networks());
                     networks.put(networkId, network);
                 }
 
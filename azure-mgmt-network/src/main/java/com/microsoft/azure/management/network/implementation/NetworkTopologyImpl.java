@@ -0,0 +1,252 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.network.implementation;
+
+import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.network.LoadBalancer;
+import com.microsoft.azure.management.network.LoadBalancerFrontend;
+import com.microsoft.azure.management.network.LoadBalancerPrivateFrontend;
+import com.microsoft.azure.management.network.LoadBalancerPublicFrontend;
+import com.microsoft.azure.management.network.Network;
+import com.microsoft.azure.management.network.NetworkInterface;
+import com.microsoft.azure.management.network.NetworkTopology;
+import com.microsoft.azure.management.network.NicIpConfiguration;
+import com.microsoft.azure.management.network.PublicIpAddress;
+import com.microsoft.azure.management.network.Subnet;
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
+import org.joda.time.DateTime;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func4;
+import rx.schedulers.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The implementation of {@link NetworkTopology}.
+ */
+final class NetworkTopologyImpl implements NetworkTopology {
+    private static final long serialVersionUID = 1L;
+
+    private final DateTime snapshotTime;
+    // Lower cased resource ID to the lower cased IDs of the resources connected to it
+    private final HashMap<String, HashSet<String>> adjacency = new HashMap<>();
+    // Lower cased resource type to the lower cased IDs of the resources of that type
+    private final HashMap<String, HashSet<String>> idsByType = new HashMap<>();
+
+    // Fluent models are not serializable, they are only available in the original snapshot
+    private transient Map<String, Network> networks = new HashMap<>();
+    private transient Map<String, NetworkInterface> networkInterfaces = new HashMap<>();
+    private transient Map<String, PublicIpAddress> publicIpAddresses = new HashMap<>();
+    private transient Map<String, LoadBalancer> loadBalancers = new HashMap<>();
+
+    private NetworkTopologyImpl() {
+        this.snapshotTime = DateTime.now();
+    }
+
+    /**
+     * Takes a snapshot of the network topology of the subscription the manager works with,
+     * listing each of the resource types once, in parallel.
+     *
+     * @param manager the network manager
+     * @return the snapshot
+     */
+    static NetworkTopologyImpl snapshot(final NetworkManager manager) {
+        return Observable.zip(
+                listAsync(new Func0<PagedList<Network>>() {
+                    @Override
+                    public PagedList<Network> call() {
+                        return manager.networks().list();
+                    }
+                }),
+                listAsync(new Func0<PagedList<NetworkInterface>>() {
+                    @Override
+                    public PagedList<NetworkInterface> call() {
+                        return manager.networkInterfaces().list();
+                    }
+                }),
+                listAsync(new Func0<PagedList<PublicIpAddress>>() {
+                    @Override
+                    public PagedList<PublicIpAddress> call() {
+                        return manager.publicIpAddresses().list();
+                    }
+                }),
+                listAsync(new Func0<PagedList<LoadBalancer>>() {
+                    @Override
+                    public PagedList<LoadBalancer> call() {
+                        return manager.loadBalancers().list();
+                    }
+                }),
+                new Func4<List<Network>, List<NetworkInterface>, List<PublicIpAddress>, List<LoadBalancer>, NetworkTopologyImpl>() {
+                    @Override
+                    public NetworkTopologyImpl call(List<Network> networks,
+                                                    List<NetworkInterface> nics,
+                                                    List<PublicIpAddress> pips,
+                                                    List<LoadBalancer> loadBalancers) {
+                        return new NetworkTopologyImpl().index(networks, nics, pips, loadBalancers);
+                    }
+                }).toBlocking().single();
+    }
+
+    // Retrieves all the pages of a list on an I/O thread
+    private static <T> Observable<List<T>> listAsync(final Func0<PagedList<T>> lister) {
+        return Observable.defer(new Func0<Observable<List<T>>>() {
+            @Override
+            public Observable<List<T>> call() {
+                return Observable.just((List<T>) new ArrayList<>(lister.call()));
+            }
+        }).subscribeOn(Schedulers.io());
+    }
+
+    private NetworkTopologyImpl index(List<Network> networks,
+                                      List<NetworkInterface> nics,
+                                      List<PublicIpAddress> pips,
+                                      List<LoadBalancer> loadBalancers) {
+        for (Network network : networks) {
+            String networkId = addNode(network.id());
+            this.networks.put(networkId, network);
+            for (Subnet subnet : network.subnets().values()) {
+                if (subnet.inner().id() != null) {
+                    connect(networkId, addNode(subnet.inner().id()));
+                }
+            }
+        }
+
+        for (PublicIpAddress pip : pips) {
+            this.publicIpAddresses.put(addNode(pip.id()), pip);
+        }
+
+        for (NetworkInterface nic : nics) {
+            String nicId = addNode(nic.id());
+            this.networkInterfaces.put(nicId, nic);
+            if (nic.virtualMachineId() != null) {
+                connect(nicId, addNode(nic.virtualMachineId()));
+            }
+            for (NicIpConfiguration ipConfig : nic.ipConfigurations().values()) {
+                NetworkInterfaceIPConfigurationInner inner = ipConfig.inner();
+                if (inner.subnet() != null) {
+                    connect(nicId, addNode(inner.subnet().id()));
+                }
+                if (ipConfig.publicIpAddressId() != null) {
+                    connect(nicId, addNode(ipConfig.publicIpAddressId()));
+                }
+                if (inner.loadBalancerBackendAddressPools() != null) {
+                    for (BackendAddressPoolInner pool : inner.loadBalancerBackendAddressPools()) {
+                        connect(nicId, addNode(ResourceUtils.parentResourceIdFromResourceId(pool.id())));
+                    }
+                }
+                if (inner.loadBalancerInboundNatRules() != null) {
+                    for (InboundNatRuleInner rule : inner.loadBalancerInboundNatRules()) {
+                        connect(nicId, addNode(ResourceUtils.parentResourceIdFromResourceId(rule.id())));
+                    }
+                }
+            }
+        }
+
+        for (LoadBalancer loadBalancer : loadBalancers) {
+            String loadBalancerId = addNode(loadBalancer.id());
+            this.loadBalancers.put(loadBalancerId, loadBalancer);
+            for (LoadBalancerFrontend frontend : loadBalancer.frontends().values()) {
+                if (frontend instanceof LoadBalancerPublicFrontend) {
+                    String pipId = ((LoadBalancerPublicFrontend) frontend).publicIpAddressId();
+                    if (pipId != null) {
+                        connect(loadBalancerId, addNode(pipId));
+                    }
+                } else if (frontend instanceof LoadBalancerPrivateFrontend) {
+                    LoadBalancerPrivateFrontend privateFrontend = (LoadBalancerPrivateFrontend) frontend;
+                    if (privateFrontend.networkId() != null && privateFrontend.subnetName() != null) {
+                        connect(loadBalancerId,
+                                addNode(privateFrontend.networkId() + "/subnets/" + privateFrontend.subnetName()));
+                    }
+                }
+            }
+        }
+
+        return this;
+    }
+
+    private String addNode(String id) {
+        String key = id.toLowerCase(Locale.ROOT);
+        if (!this.adjacency.containsKey(key)) {
+            this.adjacency.put(key, new HashSet<String>());
+            String type = ResourceUtils.resourceTypeFromResourceId(key);
+            HashSet<String> ids = this.idsByType.get(type);
+            if (ids == null) {
+                ids = new HashSet<>();
+                this.idsByType.put(type, ids);
+            }
+            ids.add(key);
+        }
+        return key;
+    }
+
+    private void connect(String id1, String id2) {
+        this.adjacency.get(id1).add(id2);
+        this.adjacency.get(id2).add(id1);
+    }
+
+    private static <T> Map<String, T> unmodifiable(Map<String, T> map) {
+        if (map == null) {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public DateTime snapshotTime() {
+        return this.snapshotTime;
+    }
+
+    @Override
+    public Set<String> resourceIds() {
+        return Collections.unmodifiableSet(this.adjacency.keySet());
+    }
+
+    @Override
+    public Set<String> resourceIdsOfType(String resourceType) {
+        Set<String> ids = this.idsByType.get(resourceType.toLowerCase(Locale.ROOT));
+        if (ids == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(ids);
+    }
+
+    @Override
+    public Set<String> neighborsOf(String resourceId) {
+        Set<String> neighbors = this.adjacency.get(resourceId.toLowerCase(Locale.ROOT));
+        if (neighbors == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(neighbors);
+    }
+
+    @Override
+    public Map<String, Network> networks() {
+        return unmodifiable(this.networks);
+    }
+
+    @Override
+    public Map<String, NetworkInterface> networkInterfaces() {
+        return unmodifiable(this.networkInterfaces);
+    }
+
+    @Override
+    public Map<String, PublicIpAddress> publicIpAddresses() {
+        return unmodifiable(this.publicIpAddresses);
+    }
+
+    @Override
+    public Map<String, LoadBalancer> loadBalancers() {
+        return unmodifiable(this.loadBalancers);
+    }
+}
@@ -104,7 +104,7 @@ class NicIpConfigurationImpl
             return null;
         }
 
-        return this.networkManager.publicIpAddresses().getById(id);
+        return this.networkManager.resolveById(id, this.networkManager.publicIpAddresses());
     }
 
     @Override
@@ -126,7 +126,7 @@ class NicIpConfigurationImpl
     @Override
     public Network getNetwork() {
         String id = this.networkId();
-        return (id != null) ? this.networkManager.networks().getById(id) : null;
+        return (id != null) ? this.networkManager.resolveById(id, this.networkManager.networks()) : null;
     }
 
     @Override
@@ -396,7 +396,7 @@ class NicIpConfigurationImpl
                 String loadBalancerId = ResourceUtils.parentResourceIdFromResourceId(ref.id());
                 LoadBalancer loadBalancer = loadBalancers.get(loadBalancerId);
                 if (loadBalancer == null) {
-                    loadBalancer = this.parent().manager().loadBalancers().getById(loadBalancerId);
+                    loadBalancer = this.networkManager.resolveById(loadBalancerId, this.networkManager.loadBalancers());
                     loadBalancers.put(loadBalancerId, loadBalancer);
                 }
 
@@ -419,7 +419,7 @@ class NicIpConfigurationImpl
                 String loadBalancerId = ResourceUtils.parentResourceIdFromResourceId(backendRef.id());
                 LoadBalancer loadBalancer = loadBalancers.get(loadBalancerId);
                 if (loadBalancer == null) {
-                    loadBalancer = this.parent().manager().loadBalancers().getById(loadBalancerId);
+                    loadBalancer = this.networkManager.resolveById(loadBalancerId, this.networkManager.loadBalancers());
                     loadBalancers.put(loadBalancerId, loadBalancer);
                 }
 
@@ -182,7 +182,7 @@ class PublicIpAddressImpl
         if (this.hasAssignedLoadBalancer()) {
             final String refId = this.inner().ipConfiguration().id();
             final String loadBalancerId = ResourceUtils.parentResourceIdFromResourceId(refId);
-            final LoadBalancer lb = this.myManager.loadBalancers().getById(loadBalancerId);
+            final LoadBalancer lb = this.myManager.resolveById(loadBalancerId, this.myManager.loadBalancers());
             final String frontendName = ResourceUtils.nameFromResourceId(refId);
             return (LoadBalancerPublicFrontend) lb.frontends().get(frontendName);
         } else {
@@ -200,7 +200,7 @@ class PublicIpAddressImpl
         if (this.hasAssignedNetworkInterface()) {
             final String refId = this.inner().ipConfiguration().id();
             final String parentId = ResourceUtils.parentResourceIdFromResourceId(refId);
-            final NetworkInterface nic = this.myManager.networkInterfaces().getById(parentId);
+            final NetworkInterface nic = this.myManager.resolveById(parentId, this.myManager.networkInterfaces());
             final String childName = ResourceUtils.nameFromResourceId(refId);
             return nic.ipConfigurations().get(childName);
         } else {
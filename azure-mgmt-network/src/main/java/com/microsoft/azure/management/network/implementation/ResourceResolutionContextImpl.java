@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+package com.microsoft.azure.management.network.implementation;
+
+import com.microsoft.azure.management.network.ResourceResolutionContext;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
+import com.microsoft.azure.management.resources.fluentcore.arm.models.HasId;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * The implementation of {@link ResourceResolutionContext}.
+ */
+class ResourceResolutionContextImpl implements ResourceResolutionContext {
+    private final NetworkManager manager;
+    // Resolved (or being resolved) resources keyed by their lower cased resource ID
+    private final ConcurrentMap<String, FutureTask<Object>> resources = new ConcurrentHashMap<>();
+
+    ResourceResolutionContextImpl(NetworkManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Gets a resource by its ID, fetching it from Azure only if it has not been resolved within this
+     * context yet. Concurrent lookups of the same ID share a single fetch.
+     *
+     * @param id the resource ID
+     * @param collection the collection to fetch the resource from if needed
+     * @param <T> the type of the resource
+     * @return the resource
+     */
+    @SuppressWarnings("unchecked")
+    <T> T resolve(final String id, final SupportsGettingById<T> collection) {
+        final String key = id.toLowerCase(Locale.ROOT);
+        FutureTask<Object> task = this.resources.get(key);
+        if (task == null) {
+            FutureTask<Object> newTask = new FutureTask<>(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    return collection.getById(id);
+                }
+            });
+            task = this.resources.putIfAbsent(key, newTask);
+            if (task == null) {
+                task = newTask;
+                newTask.run();
+            }
+        }
+
+        try {
+            return (T) task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            // Do not remember failures, the next lookup will try again
+            this.resources.remove(key, task);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void seed(Iterable<? extends HasId> resources) {
+        for (final HasId resource : resources) {
+            FutureTask<Object> task = new FutureTask<>(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    return resource;
+                }
+            });
+            task.run();
+            this.resources.put(resource.id().toLowerCase(Locale.ROOT), task);
+        }
+    }
+
+    @Override
+    public ResourceResolutionContextImpl prefetchByGroup(String resourceGroupName) {
+        seed(this.manager.networks().listByGroup(resourceGroupName));
+        seed(this.manager.networkInterfaces().listByGroup(resourceGroupName));
+        seed(this.manager.publicIpAddresses().listByGroup(resourceGroupName));
+        seed(this.manager.loadBalancers().listByGroup(resourceGroupName));
+        seed(this.manager.networkSecurityGroups().listByGroup(resourceGroupName));
+        seed(this.manager.routeTables().listByGroup(resourceGroupName));
+        seed(this.manager.applicationGateways().listByGroup(resourceGroupName));
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return this.resources.size();
+    }
+
+    @Override
+    public void close() {
+        this.resources.clear();
+        this.manager.endResolutionContext(this);
+    }
+}
@@ -98,15 +98,17 @@ class SubnetImpl
 
     @Override
     public RouteTable getRouteTable() {
+        final NetworkManager manager = this.parent().manager();
         return (this.routeTableId() != null)
-                ? this.parent().manager().routeTables().getById(this.routeTableId())
+                ? manager.resolveById(this.routeTableId(), manager.routeTables())
                         : null;
     }
 
     @Override
     public NetworkSecurityGroup getNetworkSecurityGroup() {
+        final NetworkManager manager = this.parent().manager();
         return (this.networkSecurityGroupId() != null)
-                ? this.parent().manager().networkSecurityGroups().getById(this.routeTableId())
+                ? manager.resolveById(this.networkSecurityGroupId(), manager.networkSecurityGroups())
                         : null;
     }
 }
@@ -9,6 +9,7 @@ package com.microsoft.azure.management.resources;
 import com.microsoft.azure.management.apigeneration.Fluent;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.SupportsGettingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import rx.Observable;
 
 /**
  * Entry point to deployment operation management API.
@@ -17,4 +18,19 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsLi
 public interface DeploymentOperations extends
         SupportsListing<DeploymentOperation>,
         SupportsGettingById<DeploymentOperation> {
+    /**
+     * Watches the operations of the deployment until it completes.
+     * <p>
+     * Each operation is emitted when it is first seen and whenever its provisioning state or
+     * timestamp changes. While the deployment is running, the pages of operations are only
+     * retrieved until one with no changes is found and every operation still running has been
+     * seen again, and the delay between polls doubles while nothing changes. Once the deployment
+     * has completed, all the operations are retrieved a last time and the observable completes.
+     * Each subscription watches the operations from scratch.
+     *
+     * @param minDelayInSeconds the delay between polls while operations are changing
+     * @param maxDelayInSeconds the maximum delay between polls while nothing changes
+     * @return an observable emitting the new and changed operations
+     */
+    Observable<DeploymentOperation> watchAsync(int minDelayInSeconds, int maxDelayInSeconds);
 }
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.apigeneration.Fluent;
+import org.joda.time.DateTime;
+
+/**
+ * The outcome of deploying a template to one of many resource groups.
+ */
+@Fluent
+public interface DeploymentTargetResult {
+    /**
+     * @return the name of the resource group deployed to
+     */
+    String resourceGroupName();
+
+    /**
+     * @return the name of the deployment
+     */
+    String deploymentName();
+
+    /**
+     * @return true if the deployment succeeded, false otherwise
+     */
+    boolean isSucceeded();
+
+    /**
+     * @return the reason the deployment failed or was not attempted, null if it succeeded
+     */
+    Throwable error();
+
+    /**
+     * @return the time the deployment was started, null if it was not attempted
+     */
+    DateTime startTime();
+
+    /**
+     * @return the time the deployment completed or failed, null if it was not attempted
+     */
+    DateTime endTime();
+}
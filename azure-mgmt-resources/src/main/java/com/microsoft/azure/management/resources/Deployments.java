@@ -15,6 +15,9 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.Suppor
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import rx.Observable;
+
+import java.util.Map;
 
 /**
  * Entry point to template deployment in Azure.
@@ -37,4 +40,27 @@ public interface Deployments extends
      * @return true if the deployment exists; false otherwise
      */
     boolean checkExistence(String resourceGroupName, String deploymentName);
+
+    /**
+     * Deploys a template to many resource groups.
+     * <p>
+     * The deployments are started with bounded concurrency and waited for through a single shared
+     * poller. Once maxFailures deployments have failed, no more deployments are started and the
+     * remaining resource groups are reported as not attempted, with a CancellationException as
+     * error and neither a start time nor an end time.
+     *
+     * @param deploymentName the name of the deployment in each resource group
+     * @param template the template, as a JSON object
+     * @param parametersByGroup the parameters of the deployment, as a JSON object, by name of the resource group to deploy to
+     * @param mode the deployment mode
+     * @param maxConcurrency the maximum number of deployments in progress at any time
+     * @param maxFailures the number of failed deployments after which no more deployments are started
+     * @return an observable emitting the outcome for each resource group as it completes
+     */
+    Observable<DeploymentTargetResult> deployAsync(String deploymentName,
+                                                   Object template,
+                                                   Map<String, Object> parametersByGroup,
+                                                   DeploymentMode mode,
+                                                   int maxConcurrency,
+                                                   int maxFailures);
 }
@@ -14,6 +14,10 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCr
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
 
+import rx.Observable;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -107,4 +111,21 @@ public interface GenericResources extends
      * @param apiVersion the String value
      */
     void delete(String resourceGroupName, String resourceProviderNamespace, String parentResourcePath, String resourceType, String resourceName, String apiVersion);
+
+    /**
+     * Builds an inventory of the resources of the subscription from a single listing of them.
+     *
+     * @return an observable emitting the inventory once built
+     */
+    Observable<ResourceInventory> buildInventoryAsync();
+
+    /**
+     * Reads an inventory written by {@link ResourceInventory#writeTo(java.io.OutputStream)}.
+     * The inventory can be refreshed through this entry point.
+     *
+     * @param inputStream the stream to read from, not closed by this method
+     * @return the inventory
+     * @throws IOException if the inventory cannot be read
+     */
+    ResourceInventory loadInventory(InputStream inputStream) throws IOException;
 }
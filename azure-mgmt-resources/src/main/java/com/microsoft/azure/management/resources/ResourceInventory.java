@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.apigeneration.Fluent;
+import rx.Observable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An in-memory inventory of the resources of a subscription, indexed by resource group, type,
+ * region and tag so that queries are answered without calling the service.
+ * <p>
+ * Names, types, regions and tag names are matched case insensitively, tag values exactly.
+ */
+@Fluent
+public interface ResourceInventory {
+    /**
+     * @return the number of resources in the inventory
+     */
+    int size();
+
+    /**
+     * @return the names of the resource groups that have resources in the inventory
+     */
+    Set<String> resourceGroupNames();
+
+    /**
+     * Gets a resource from the inventory.
+     *
+     * @param id the resource ID
+     * @return the resource, null if it is not in the inventory
+     */
+    ResourceInventoryEntry getById(String id);
+
+    /**
+     * Finds the resources matching all the given criteria.
+     *
+     * @param resourceGroupName the name of the resource group, null for any
+     * @param type the full type of the resources, such as Microsoft.Compute/virtualMachines, null for any
+     * @param regionName the name of the region, null for any
+     * @param tags the tags the resources must have, a null value matching any value of the tag; null or empty for any
+     * @return the matching resources
+     */
+    List<ResourceInventoryEntry> find(String resourceGroupName, String type, String regionName, Map<String, String> tags);
+
+    /**
+     * Replaces the resources of a resource group with its current resources, leaving the other
+     * resources of the inventory untouched.
+     *
+     * @param resourceGroupName the name of the resource group
+     * @return an observable emitting the inventory once refreshed
+     */
+    Observable<ResourceInventory> refreshGroupAsync(String resourceGroupName);
+
+    /**
+     * Replaces all the resources of the inventory with the current resources of the subscription.
+     *
+     * @return an observable emitting the inventory once refreshed
+     */
+    Observable<ResourceInventory> refreshAsync();
+
+    /**
+     * Writes the inventory in a compact binary form, which can be read back with
+     * {@link GenericResources#loadInventory(java.io.InputStream)}.
+     *
+     * @param outputStream the stream to write to, not closed by this method
+     * @throws IOException if the inventory cannot be written
+     */
+    void writeTo(OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+import java.util.Map;
+
+/**
+ * An immutable summary of a resource, as captured by a {@link ResourceInventory}.
+ */
+@Fluent
+public interface ResourceInventoryEntry {
+    /**
+     * @return the resource ID
+     */
+    String id();
+
+    /**
+     * @return the ID of the subscription of the resource
+     */
+    String subscriptionId();
+
+    /**
+     * @return the name of the resource group of the resource
+     */
+    String resourceGroupName();
+
+    /**
+     * @return the namespace of the provider of the resource
+     */
+    String providerNamespace();
+
+    /**
+     * @return the full type of the resource, such as Microsoft.Compute/virtualMachines
+     */
+    String type();
+
+    /**
+     * @return the name of the resource
+     */
+    String name();
+
+    /**
+     * @return the name of the region of the resource
+     */
+    String regionName();
+
+    /**
+     * @return the tags of the resource
+     */
+    Map<String, String> tags();
+}
@@ -93,4 +93,22 @@ public interface AzureConfigurable<T extends AzureConfigurable<T>> {
      * @return the configurable object itself for chaining
      */
     T withProxyAuthenticator(Authenticator proxyAuthenticator);
+
+    /**
+     * Sets the per-subscription request limits the requests to Azure Resource Manager are paced to,
+     * replacing the default limits. Requests throttled with HTTP 429 are retried after their
+     * Retry-After delay. The limits are tracked for the clients built by this configurable only.
+     *
+     * @param readsPerHour the number of reads per hour allowed for a subscription
+     * @param writesPerHour the number of writes per hour allowed for a subscription
+     * @return the configurable object itself for chaining
+     */
+    T withThrottling(long readsPerHour, long writesPerHour);
+
+    /**
+     * Turns off the pacing of the requests to Azure Resource Manager, which is on by default.
+     *
+     * @return the configurable object itself for chaining
+     */
+    T withoutThrottling();
 }
@@ -9,6 +9,8 @@ package com.microsoft.azure.management.resources.fluentcore.arm;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 
 import java.security.InvalidParameterException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Instantiate itself from a resource id, and give easy access to resource information like subscription, resourceGroup,
@@ -17,6 +19,13 @@ import java.security.InvalidParameterException;
 @LangDefinition
 public final class ResourceId {
 
+    // Parsed IDs are immutable, so they are shared by everyone parsing the same ID
+    private static final int MAX_CACHED_IDS = 4096;
+    private static final ConcurrentMap<String, ResourceId> PARSED_IDS = new ConcurrentHashMap<>();
+    // The few distinct subscriptions, groups, namespaces and types are shared by all the parsed IDs
+    private static final int MAX_INTERNED_SEGMENTS = 4096;
+    private static final ConcurrentMap<String, String> SEGMENTS = new ConcurrentHashMap<>();
+
     private String subscriptionId;
     private String resourceGroupName;
     private String name;
@@ -31,42 +40,88 @@ public final class ResourceId {
      * @return ResourceId object.
      */
     public static ResourceId parseResourceId(String id) {
+        ResourceId resourceId = PARSED_IDS.get(id);
+        if (resourceId != null) {
+            return resourceId;
+        }
         // Example of id is id=/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/ans/providers/Microsoft.Network/applicationGateways/something
-        // Remove the first '/' and then split using '/'
-        String[] splits = id.substring(1).split("/");
-
-        if (splits.length % 2 == 1) {
+        // Skip the first '/' and ignore any trailing '/', then find where the segments start in a single pass
+        int end = id.length();
+        while (end > 1 && id.charAt(end - 1) == '/') {
+            end--;
+        }
+        int segmentCount = 1;
+        for (int i = 1; i < end; i++) {
+            if (id.charAt(i) == '/') {
+                segmentCount++;
+            }
+        }
+        if (end < 1 || segmentCount % 2 == 1 || segmentCount < 4) {
             throw new InvalidParameterException();
         }
+        // Segment i spans from starts[i] to starts[i + 1] - 1
+        int[] starts = new int[segmentCount + 1];
+        starts[0] = 1;
+        int segment = 1;
+        for (int i = 1; i < end; i++) {
+            if (id.charAt(i) == '/') {
+                starts[segment++] = i + 1;
+            }
+        }
+        starts[segmentCount] = end + 1;
+
+        resourceId = build(id, starts, segmentCount);
+        if (PARSED_IDS.size() >= MAX_CACHED_IDS) {
+            PARSED_IDS.clear();
+        }
+        PARSED_IDS.put(id, resourceId);
+        return resourceId;
+    }
+
+    private static ResourceId build(String id, int[] starts, int segmentCount) {
         ResourceId resourceId = new ResourceId();
 
-        resourceId.id = id;
-        resourceId.subscriptionId = splits[1];
-        resourceId.resourceGroupName = splits[3];
+        resourceId.id = segmentCount == starts.length - 1 ? id : id.substring(0, starts[segmentCount] - 1);
+        resourceId.subscriptionId = intern(segment(id, starts, 1));
+        resourceId.resourceGroupName = intern(segment(id, starts, 3));
 
         // In case of a resource group Id is passed, then name is resource group name.
-        if (splits.length == 4) {
+        if (segmentCount == 4) {
             resourceId.name = resourceId.resourceGroupName;
             return resourceId;
         }
 
-        resourceId.providerNamespace = splits[5];
+        resourceId.providerNamespace = intern(segment(id, starts, 5));
 
-        resourceId.name = splits[splits.length - 1];
-        resourceId.resourceType = splits[splits.length - 2];
+        resourceId.name = segment(id, starts, segmentCount - 1);
+        resourceId.resourceType = intern(segment(id, starts, segmentCount - 2));
 
-        int numberOfParents = splits.length / 2 - 4;
+        int numberOfParents = segmentCount / 2 - 4;
         if (numberOfParents == 0) {
             return resourceId;
         }
 
-        String resourceType = splits[splits.length - 2];
-
-        resourceId.parent = ResourceId.parseResourceId(id.substring(0, id.length() - ("/" + resourceType + "/" + resourceId.name()).length()));
+        resourceId.parent = build(id, starts, segmentCount - 2);
 
         return resourceId;
     }
 
+    private static String segment(String id, int[] starts, int index) {
+        return id.substring(starts[index], starts[index + 1] - 1);
+    }
+
+    private static String intern(String segment) {
+        String interned = SEGMENTS.get(segment);
+        if (interned != null) {
+            return interned;
+        }
+        if (SEGMENTS.size() >= MAX_INTERNED_SEGMENTS) {
+            SEGMENTS.clear();
+        }
+        interned = SEGMENTS.putIfAbsent(segment, segment);
+        return interned != null ? interned : segment;
+    }
+
     /**
      * @return subscriptionId of the resource.
      */
@@ -9,9 +9,6 @@ package com.microsoft.azure.management.resources.fluentcore.arm;
 import com.microsoft.azure.management.resources.Provider;
 import com.microsoft.azure.management.resources.ProviderResourceType;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * Utility methods for Azure resource IDs.
  */
@@ -62,7 +59,7 @@ public final class ResourceUtils {
         }
         ResourceId resourceId = ResourceId.parseResourceId(id);
         if (resourceId != null && resourceId.parent() != null) {
-            return ResourceId.parseResourceId(id).parent().id();
+            return resourceId.parent().id();
         }
 
         return null;
@@ -99,11 +96,12 @@ public final class ResourceUtils {
         if (id == null) {
             return null;
         }
-        String[] paths = id.split("/providers/" + resourceProviderFromResourceId(id) + "/", 2);
-        if (paths.length == 1) {
+        String separator = "/providers/" + resourceProviderFromResourceId(id) + "/";
+        int index = id.indexOf(separator);
+        if (index < 0) {
             return "";
         } else {
-            return paths[1];
+            return id.substring(index + separator.length());
         }
     }
 
@@ -119,13 +117,24 @@ public final class ResourceUtils {
         if (id == null || identifier == null) {
             return id;
         }
-        Pattern pattern = Pattern.compile(identifier + "/[-\\w._]+");
-        Matcher matcher = pattern.matcher(id);
-        if (matcher.find()) {
-            return matcher.group().split("/")[1];
-        } else {
-            return null;
+        // The first occurrence of the identifier followed by a name made of [-\w._] characters
+        String prefix = identifier + "/";
+        for (int index = id.indexOf(prefix); index >= 0; index = id.indexOf(prefix, index + 1)) {
+            int start = index + prefix.length();
+            int end = start;
+            while (end < id.length() && isNameCharacter(id.charAt(end))) {
+                end++;
+            }
+            if (end > start) {
+                return id.substring(start, end);
+            }
         }
+        return null;
+    }
+
+    private static boolean isNameCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '_' || c == '-' || c == '.';
     }
 
     /**
@@ -5,8 +5,10 @@
  */
 package com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation;
 
+import com.microsoft.azure.CloudException;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.ExternalChildResource;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.ExternalChildResourceImpl;
+import retrofit2.Response;
 import rx.Observable;
 import rx.exceptions.CompositeException;
 import rx.functions.Action0;
@@ -22,6 +24,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Base class for cached {@link ExternalChildResourcesCachedImpl} and non-cached {@link ExternalChildResourcesNonCachedImpl}
@@ -40,6 +44,21 @@ public abstract class ExternalChildResourceCollectionImpl<
         InnerModelT,
         ParentImplT extends ParentT,
         ParentT> {
+    private static final int DEFAULT_MAX_CONCURRENCY = 16;
+    private static final int MAX_THROTTLING_RETRIES = 3;
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /**
+     * The order in which the changes of the child resources are committed.
+     */
+    public enum CommitOrder {
+        /** Deletes, creates and updates are committed together. */
+        CONCURRENT,
+
+        /** Deletes are committed first, then creates and updates together. */
+        DELETES_FIRST
+    }
+
     /**
      * The parent resource of this collection of child resources.
      */
@@ -50,6 +69,15 @@ public abstract class ExternalChildResourceCollectionImpl<
      */
     protected ConcurrentMap<String, FluentModelTImpl> childCollection = new ConcurrentHashMap<>();
 
+    /**
+     * The time each child resource took to commit in the last commit, in milliseconds.
+     */
+    private final ConcurrentMap<String, Long> commitLatencies = new ConcurrentHashMap<>();
+
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private CommitOrder commitOrder = CommitOrder.CONCURRENT;
+    private boolean retriesThrottledCommits = true;
+
     /**
      * Used to construct error string, this is user friendly name of the child resource (e.g. Subnet, Extension).
      */
@@ -66,6 +94,44 @@ public abstract class ExternalChildResourceCollectionImpl<
         this.childResourceName = childResourceName;
     }
 
+    /**
+     * Sets the maximum number of child resources committed at the same time.
+     *
+     * @param maxConcurrency the maximum number of concurrent child resource commits
+     */
+    public void withCommitConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Sets the order in which the changes of the child resources are committed.
+     *
+     * @param commitOrder the commit order
+     */
+    public void withCommitOrder(CommitOrder commitOrder) {
+        this.commitOrder = commitOrder;
+    }
+
+    /**
+     * Sets whether commits rejected with status code 429 (Too Many Requests) are retried by the collection.
+     * They should not be when the HTTP client retries them already.
+     *
+     * @param retriesThrottledCommits true to retry throttled commits, false otherwise
+     */
+    public void withThrottledCommitRetries(boolean retriesThrottledCommits) {
+        this.retriesThrottledCommits = retriesThrottledCommits;
+    }
+
+    /**
+     * @return the time each child resource took to commit in the last commit, in milliseconds, by child resource key
+     */
+    public Map<String, Long> commitLatenciesInMillis() {
+        return Collections.unmodifiableMap(this.commitLatencies);
+    }
+
     /**
      * Commits the changes in the external child resource childCollection.
      * <p/>
@@ -73,118 +139,46 @@ public abstract class ExternalChildResourceCollectionImpl<
      * committed resource followed by one call to 'onCompleted' or one call to 'onError' with a
      * {@link CompositeException } containing the list of exceptions where each exception describes the reason
      * for failure of a resource commit.
+     * <p/>
+     * At most {@link #withCommitConcurrency(int)} child resources are committed at the same time, and commits
+     * rejected with status code 429 (Too Many Requests) are retried with backoff, unless turned off with
+     * {@link #withThrottledCommitRetries(boolean)}.
      *
      * @return the observable stream
      */
     public Observable<FluentModelTImpl> commitAsync() {
         final ExternalChildResourceCollectionImpl<FluentModelTImpl, FluentModelT, InnerModelT, ParentImplT, ParentT> self = this;
-        List<FluentModelTImpl> items = new ArrayList<>();
+        List<FluentModelTImpl> deletes = new ArrayList<>();
+        List<FluentModelTImpl> others = new ArrayList<>();
         for (FluentModelTImpl item : this.childCollection.values()) {
-            items.add(item);
+            if (item.pendingOperation() == ExternalChildResourceImpl.PendingOperation.ToBeRemoved) {
+                deletes.add(item);
+            } else if (item.pendingOperation() != ExternalChildResourceImpl.PendingOperation.None) {
+                others.add(item);
+            }
         }
 
         final List<Throwable> exceptionsList = Collections.synchronizedList(new ArrayList<Throwable>());
-        Observable<FluentModelTImpl> deleteStream = Observable.from(items)
-                .filter(new Func1<FluentModelTImpl, Boolean>() {
-                    @Override
-                    public Boolean call(FluentModelTImpl childResource) {
-                        return childResource.pendingOperation() == ExternalChildResourceImpl.PendingOperation.ToBeRemoved;
-                    }
-                }).flatMap(new Func1<FluentModelTImpl, Observable<FluentModelTImpl>>() {
-                    @Override
-                    public Observable<FluentModelTImpl> call(final FluentModelTImpl childResource) {
-                        return childResource.deleteAsync()
-                                .map(new Func1<Void, FluentModelTImpl>() {
-                                    @Override
-                                    public FluentModelTImpl call(Void response) {
-                                        return childResource;
-                                    }
-                                }).doOnNext(new Action1<FluentModelTImpl>() {
-                                    @Override
-                                    public void call(FluentModelTImpl childResource) {
-                                        childResource.setPendingOperation(ExternalChildResourceImpl.PendingOperation.None);
-                                        self.childCollection.remove(childResource.name());
-                                    }
-                                })
-                                .onErrorResumeNext(new Func1<Throwable, Observable<FluentModelTImpl>>() {
-                                    @Override
-                                    public Observable<FluentModelTImpl> call(Throwable throwable) {
-                                        exceptionsList.add(throwable);
-                                        return Observable.empty();
-                                    }
-                                });
-                    }
-                });
-
-        Observable<FluentModelTImpl> createStream = Observable.from(items)
-                .filter(new Func1<FluentModelTImpl, Boolean>() {
-                    @Override
-                    public Boolean call(FluentModelTImpl childResource) {
-                        return childResource.pendingOperation() == ExternalChildResourceImpl.PendingOperation.ToBeCreated;
-                    }
-                }).flatMap(new Func1<FluentModelTImpl, Observable<FluentModelTImpl>>() {
-                    @Override
-                    public Observable<FluentModelTImpl> call(final FluentModelTImpl childResource) {
-                        return childResource.createAsync()
-                                .map(new Func1<FluentModelT, FluentModelTImpl>() {
-                                    @Override
-                                    public FluentModelTImpl call(FluentModelT fluentModelT) {
-                                        return childResource;
-                                    }
-                                })
-                                .doOnNext(new Action1<FluentModelTImpl>() {
-                                    @Override
-                                    public void call(FluentModelTImpl fluentModelT) {
-                                        childResource.setPendingOperation(ExternalChildResourceImpl.PendingOperation.None);
-                                    }
-                                })
-                                .onErrorResumeNext(new Func1<Throwable, Observable<? extends FluentModelTImpl>>() {
-                                    @Override
-                                    public Observable<FluentModelTImpl> call(Throwable throwable) {
-                                        self.childCollection.remove(childResource.name());
-                                        exceptionsList.add(throwable);
-                                        return Observable.empty();
-                                    }
-                                });
-                    }
-                });
-
-        Observable<FluentModelTImpl> updateStream = Observable.from(items)
-                .filter(new Func1<FluentModelTImpl, Boolean>() {
-                    @Override
-                    public Boolean call(FluentModelTImpl childResource) {
-                        return childResource.pendingOperation() == ExternalChildResourceImpl.PendingOperation.ToBeUpdated;
-                    }
-                }).flatMap(new Func1<FluentModelTImpl, Observable<FluentModelTImpl>>() {
-                    @Override
-                    public Observable<FluentModelTImpl> call(final FluentModelTImpl childResource) {
-                        return childResource.updateAsync()
-                                .map(new Func1<FluentModelT, FluentModelTImpl>() {
-                                    @Override
-                                    public FluentModelTImpl call(FluentModelT e) {
-                                        return childResource;
-                                    }
-                                })
-                                .doOnNext(new Action1<FluentModelTImpl>() {
-                                    @Override
-                                    public void call(FluentModelTImpl childResource) {
-                                        childResource.setPendingOperation(ExternalChildResourceImpl.PendingOperation.None);
-                                    }
-                                })
-                                .onErrorResumeNext(new Func1<Throwable, Observable<? extends FluentModelTImpl>>() {
-                                    @Override
-                                    public Observable<FluentModelTImpl> call(Throwable throwable) {
-                                        exceptionsList.add(throwable);
-                                        return Observable.empty();
-                                    }
-                                });
-                    }
-                });
+        final Func1<FluentModelTImpl, Observable<FluentModelTImpl>> commitChild = new Func1<FluentModelTImpl, Observable<FluentModelTImpl>>() {
+            @Override
+            public Observable<FluentModelTImpl> call(FluentModelTImpl childResource) {
+                return self.commitChildAsync(childResource, exceptionsList);
+            }
+        };
+        Observable<FluentModelTImpl> commitStream;
+        if (this.commitOrder == CommitOrder.DELETES_FIRST) {
+            commitStream = Observable.concat(
+                    Observable.from(deletes).flatMap(commitChild, this.maxConcurrency),
+                    Observable.from(others).flatMap(commitChild, this.maxConcurrency));
+        } else {
+            List<FluentModelTImpl> items = new ArrayList<>(deletes);
+            items.addAll(others);
+            commitStream = Observable.from(items).flatMap(commitChild, this.maxConcurrency);
+        }
+        this.commitLatencies.clear();
 
         final PublishSubject<FluentModelTImpl> aggregatedErrorStream = PublishSubject.create();
-        Observable<FluentModelTImpl> operationsStream = Observable.merge(deleteStream,
-                createStream,
-                updateStream).doOnTerminate(new Action0() {
+        Observable<FluentModelTImpl> operationsStream = commitStream.doOnTerminate(new Action0() {
             @Override
             public void call() {
                 if (clearAfterCommit()) {
@@ -202,6 +196,77 @@ public abstract class ExternalChildResourceCollectionImpl<
         return stream;
     }
 
+    /**
+     * Commits the pending operation of a child resource, recording failures rather than emitting them.
+     *
+     * @param childResource the child resource
+     * @param exceptionsList the list the failure is added to
+     * @return an observable emitting the child resource once committed, or nothing if the commit failed
+     */
+    private Observable<FluentModelTImpl> commitChildAsync(final FluentModelTImpl childResource, final List<Throwable> exceptionsList) {
+        final ExternalChildResourceImpl.PendingOperation pendingOperation = childResource.pendingOperation();
+        Observable<FluentModelTImpl> operation = Observable.defer(new Func0<Observable<FluentModelTImpl>>() {
+            @Override
+            public Observable<FluentModelTImpl> call() {
+                if (pendingOperation == ExternalChildResourceImpl.PendingOperation.ToBeRemoved) {
+                    return childResource.deleteAsync().map(new Func1<Void, FluentModelTImpl>() {
+                        @Override
+                        public FluentModelTImpl call(Void response) {
+                            return childResource;
+                        }
+                    });
+                }
+                Observable<FluentModelT> createOrUpdate =
+                        pendingOperation == ExternalChildResourceImpl.PendingOperation.ToBeCreated
+                                ? childResource.createAsync()
+                                : childResource.updateAsync();
+                return createOrUpdate.map(new Func1<FluentModelT, FluentModelTImpl>() {
+                    @Override
+                    public FluentModelTImpl call(FluentModelT fluentModelT) {
+                        return childResource;
+                    }
+                });
+            }
+        });
+
+        if (this.retriesThrottledCommits) {
+            operation = operation.retryWhen(new RetryOnThrottling());
+        }
+        final long[] start = new long[1];
+        return operation
+                .doOnSubscribe(new Action0() {
+                    @Override
+                    public void call() {
+                        start[0] = System.nanoTime();
+                    }
+                })
+                .doOnTerminate(new Action0() {
+                    @Override
+                    public void call() {
+                        commitLatencies.put(childResource.childResourceKey(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start[0]));
+                    }
+                })
+                .doOnNext(new Action1<FluentModelTImpl>() {
+                    @Override
+                    public void call(FluentModelTImpl childResource) {
+                        childResource.setPendingOperation(ExternalChildResourceImpl.PendingOperation.None);
+                        if (pendingOperation == ExternalChildResourceImpl.PendingOperation.ToBeRemoved) {
+                            childCollection.remove(childResource.childResourceKey());
+                        }
+                    }
+                })
+                .onErrorResumeNext(new Func1<Throwable, Observable<FluentModelTImpl>>() {
+                    @Override
+                    public Observable<FluentModelTImpl> call(Throwable throwable) {
+                        if (pendingOperation == ExternalChildResourceImpl.PendingOperation.ToBeCreated) {
+                            childCollection.remove(childResource.childResourceKey());
+                        }
+                        exceptionsList.add(throwable);
+                        return Observable.empty();
+                    }
+                });
+    }
+
     /**
      * Commits the changes in the external child resource childCollection.
      * <p/>
@@ -248,6 +313,40 @@ public abstract class ExternalChildResourceCollectionImpl<
         return parent;
     }
 
+    /**
+     * Retries a commit rejected with status code 429, after the delay in its Retry-After header or
+     * otherwise after a delay doubling from one second.
+     */
+    private static final class RetryOnThrottling implements Func1<Observable<? extends Throwable>, Observable<?>> {
+        @Override
+        public Observable<?> call(Observable<? extends Throwable> errors) {
+            final AtomicInteger retries = new AtomicInteger();
+            return errors.flatMap(new Func1<Throwable, Observable<Long>>() {
+                @Override
+                public Observable<Long> call(Throwable throwable) {
+                    int retry = retries.incrementAndGet();
+                    if (retry > MAX_THROTTLING_RETRIES || !(throwable instanceof CloudException)) {
+                        return Observable.error(throwable);
+                    }
+                    Response<?> response = ((CloudException) throwable).getResponse();
+                    if (response == null || response.code() != TOO_MANY_REQUESTS) {
+                        return Observable.error(throwable);
+                    }
+                    long delayInSeconds = 1L << (retry - 1);
+                    String retryAfter = response.headers().get("Retry-After");
+                    if (retryAfter != null) {
+                        try {
+                            delayInSeconds = Math.max(0, Long.parseLong(retryAfter.trim()));
+                        } catch (NumberFormatException e) {
+                            // Not a number of seconds, keep the backoff
+                        }
+                    }
+                    return Observable.timer(delayInSeconds, TimeUnit.SECONDS);
+                }
+            });
+        }
+    }
+
     /**
      * @return true if the child resource collection needs to be cleared after the commit.
      */
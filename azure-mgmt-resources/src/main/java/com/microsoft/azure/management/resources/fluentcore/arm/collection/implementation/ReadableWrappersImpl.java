@@ -5,11 +5,15 @@
  */
 package com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation;
 
+import com.microsoft.azure.AzureServiceClient;
 import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
+import com.microsoft.azure.management.resources.fluentcore.utils.StreamingPageDecoder;
 import com.microsoft.azure.management.resources.implementation.PageImpl;
+import rx.Observable;
 
+import java.lang.reflect.Type;
 import java.util.List;
 
 /**
@@ -45,6 +49,26 @@ public abstract class ReadableWrappersImpl<
         return converter.convert(ReadableWrappersImpl.convertToPagedList(list));
     }
 
+    /**
+     * Streams the results of a list operation, wrapping each inner model as it is decoded
+     * instead of loading and wrapping whole pages.
+     *
+     * @param client the service client to send the requests with
+     * @param acceptLanguage the accept-language header of the service client
+     * @param apiVersion the API version of the list operation
+     * @param innerType the type of the inner models
+     * @param pathSegments the segments of the path of the list operation, relative to the base URL of the client
+     * @return an observable emitting the wrapped models
+     */
+    protected Observable<T> wrapListStream(AzureServiceClient client,
+                                           String acceptLanguage,
+                                           String apiVersion,
+                                           Type innerType,
+                                           String... pathSegments) {
+        return new StreamingPageDecoder<>(client.retrofit(), client.mapperAdapter(), acceptLanguage, client.userAgent(), innerType, converter)
+                .decodeAsync(apiVersion, pathSegments);
+    }
+
     /**
      * Converts the List to PagedList.
      * @param list list to be converted in to paged list
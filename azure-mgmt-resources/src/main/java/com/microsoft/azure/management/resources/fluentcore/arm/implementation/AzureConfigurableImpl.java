@@ -10,11 +10,15 @@ import com.microsoft.azure.AzureEnvironment;
 import com.microsoft.azure.RestClient;
 import com.microsoft.azure.credentials.AzureTokenCredentials;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
+import com.microsoft.azure.management.resources.fluentcore.utils.ThrottlingInterceptor;
 import okhttp3.Authenticator;
 import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
 import okhttp3.logging.HttpLoggingInterceptor;
+import retrofit2.Retrofit;
 
 import java.net.Proxy;
+import java.util.Iterator;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
@@ -27,9 +31,14 @@ import java.util.concurrent.TimeUnit;
 public class AzureConfigurableImpl<T extends AzureConfigurable<T>>
         implements AzureConfigurable<T> {
     protected RestClient.Builder restClientBuilder;
+    // The HTTP client builder behind restClientBuilder, kept to replace the throttling interceptor
+    private final OkHttpClient.Builder httpClientBuilder;
 
     protected AzureConfigurableImpl() {
-        this.restClientBuilder = new RestClient.Builder(); // default to public cloud
+        this.httpClientBuilder = new OkHttpClient.Builder();
+        this.restClientBuilder = new RestClient.Builder(httpClientBuilder, new Retrofit.Builder()); // default to public cloud
+        this.httpClientBuilder.addInterceptor(new ThrottlingInterceptor(
+                ThrottlingInterceptor.DEFAULT_READS_PER_HOUR, ThrottlingInterceptor.DEFAULT_WRITES_PER_HOUR));
     }
 
     @SuppressWarnings("unchecked")
@@ -95,6 +104,31 @@ public class AzureConfigurableImpl<T extends AzureConfigurable<T>>
         return (T) this;
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public T withThrottling(long readsPerHour, long writesPerHour) {
+        ThrottlingInterceptor interceptor = new ThrottlingInterceptor(readsPerHour, writesPerHour);
+        removeThrottling();
+        this.httpClientBuilder.addInterceptor(interceptor);
+        return (T) this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T withoutThrottling() {
+        removeThrottling();
+        return (T) this;
+    }
+
+    private void removeThrottling() {
+        Iterator<Interceptor> interceptors = this.httpClientBuilder.interceptors().iterator();
+        while (interceptors.hasNext()) {
+            if (interceptors.next() instanceof ThrottlingInterceptor) {
+                interceptors.remove();
+            }
+        }
+    }
+
     protected RestClient buildRestClient(AzureTokenCredentials credentials, AzureEnvironment.Endpoint endpoint) {
         restClientBuilder = restClientBuilder.withBaseUrl(credentials.getEnvironment(), endpoint);
         return restClientBuilder.withCredentials(credentials).build();
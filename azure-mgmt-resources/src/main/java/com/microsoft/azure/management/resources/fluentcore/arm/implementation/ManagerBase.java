@@ -8,19 +8,24 @@ package com.microsoft.azure.management.resources.fluentcore.arm.implementation;
 
 import com.microsoft.azure.management.resources.implementation.ResourceManager;
 import com.microsoft.azure.RestClient;
+import com.microsoft.azure.management.resources.fluentcore.utils.Lazy;
 
 /**
  * Base class for Azure resource managers.
  */
 public abstract class ManagerBase {
 
-    private ResourceManager resourceManager;
+    // The resource manager, created when first needed
+    private volatile Lazy<ResourceManager> resourceManager;
     private final String subscriptionId;
 
-    protected ManagerBase(RestClient restClient, String subscriptionId) {
-        if (restClient != null) {
-            this.resourceManager = ResourceManager.authenticate(restClient).withSubscription(subscriptionId);
-        }
+    protected ManagerBase(final RestClient restClient, final String subscriptionId) {
+        this.resourceManager = new Lazy<ResourceManager>() {
+            @Override
+            protected ResourceManager create() {
+                return restClient == null ? null : ResourceManager.authenticate(restClient).withSubscription(subscriptionId);
+            }
+        };
         this.subscriptionId = subscriptionId;
     }
 
@@ -31,14 +36,19 @@ public abstract class ManagerBase {
         return this.subscriptionId;
     }
 
-    protected final void setResourceManager(ResourceManager resourceManager) {
-        this.resourceManager = resourceManager;
+    protected final void setResourceManager(final ResourceManager resourceManager) {
+        this.resourceManager = new Lazy<ResourceManager>() {
+            @Override
+            protected ResourceManager create() {
+                return resourceManager;
+            }
+        };
     }
 
     /**
      * @return the {@ResourceManager} associated with this manager
      */
     public ResourceManager resourceManager() {
-        return this.resourceManager;
+        return this.resourceManager.get();
     }
 }
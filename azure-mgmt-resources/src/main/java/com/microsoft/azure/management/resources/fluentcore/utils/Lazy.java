@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+/**
+ * A value created the first time it is needed, such as a service manager.
+ * <p>
+ * The value is created once even when it is first needed by several threads at the same time,
+ * and it can be shared with the other objects needing the same value.
+ *
+ * @param <T> the type of the value
+ */
+public abstract class Lazy<T> {
+    private volatile T value;
+
+    /**
+     * @return the value, created on the first call
+     */
+    public final T get() {
+        T result = this.value;
+        if (result == null) {
+            synchronized (this) {
+                result = this.value;
+                if (result == null) {
+                    result = create();
+                    this.value = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates the value, called once unless it returns null.
+     *
+     * @return the value
+     */
+    protected abstract T create();
+}
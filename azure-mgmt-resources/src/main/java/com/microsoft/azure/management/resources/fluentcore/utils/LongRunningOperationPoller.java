@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.AzureClient;
+import com.microsoft.azure.CloudException;
+import com.microsoft.rest.serializer.JacksonMapperAdapter;
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.Url;
+import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Action0;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Waits for long running operations started with a begin call to complete, without holding a
+ * thread per operation.
+ * <p>
+ * The waits between the polls of all the operations in flight, whichever client started them,
+ * are scheduled on a single shared thread; only the poll requests themselves run on the I/O
+ * scheduler. An operation is polled after the delay in the Retry-After header of the last
+ * response if there is one, otherwise after a delay starting at one second and doubling up to
+ * the long running operation retry timeout of the client.
+ * <p>
+ * The poller is used by the bulk operations, such as the virtual machine power operations, the
+ * deployment slot swaps and the deployment fan-out. Each manager offering them holds one poller,
+ * returned by its longRunningOperationPoller() method, so the counts of a poller cover all the bulk
+ * operations of its manager. The create and apply methods of the fluent models still wait through
+ * the generated clients, which poll with the client runtime.
+ */
+public final class LongRunningOperationPoller {
+    private static final String ASYNC_OPERATION_HEADER = "Azure-AsyncOperation";
+    private static final String LOCATION_HEADER = "Location";
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final long INITIAL_DELAY_IN_SECONDS = 1;
+    private static final long DEFAULT_MAX_DELAY_IN_SECONDS = 30;
+
+    // The scheduler all the poll waits are multiplexed on
+    private static final Scheduler SCHEDULER = Schedulers.from(Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "azure-lro-poller");
+            thread.setDaemon(true);
+            return thread;
+        }
+    }));
+
+    private final AtomicLong activeOperations = new AtomicLong();
+    private final AtomicLong polls = new AtomicLong();
+    private final PollService pollService;
+    private final ObjectMapper mapper;
+    private final long maxDelayInSeconds;
+
+    /**
+     * Creates a poller for the long running operations of a service client.
+     *
+     * @param retrofit the Retrofit instance of the service client
+     * @param mapperAdapter the mapper adapter of the service client
+     * @param azureClient the Azure client of the service client, providing the long running operation retry timeout
+     */
+    public LongRunningOperationPoller(Retrofit retrofit, JacksonMapperAdapter mapperAdapter, AzureClient azureClient) {
+        this.pollService = retrofit.create(PollService.class);
+        this.mapper = mapperAdapter.getObjectMapper();
+        Integer timeout = azureClient.getLongRunningOperationRetryTimeout();
+        this.maxDelayInSeconds = timeout != null && timeout >= 0 ? timeout : DEFAULT_MAX_DELAY_IN_SECONDS;
+    }
+
+    /**
+     * @return the scheduler the waits between polls are scheduled on, shared by all the pollers
+     */
+    public static Scheduler scheduler() {
+        return SCHEDULER;
+    }
+
+    /**
+     * @return the number of long running operations this poller is currently waiting for
+     */
+    public long activeOperationCount() {
+        return activeOperations.get();
+    }
+
+    /**
+     * @return the number of polls made by this poller
+     */
+    public long pollCount() {
+        return polls.get();
+    }
+
+    /**
+     * Waits for the long running operation started by a begin call to complete.
+     *
+     * @param beginResponse the response to the begin call
+     * @return an observable emitting null once the operation succeeded, or an error if it failed
+     */
+    public Observable<Void> waitAsync(final Response<?> beginResponse) {
+        return Observable.defer(new Func0<Observable<Void>>() {
+            @Override
+            public Observable<Void> call() {
+                String asyncOperationUrl = beginResponse.headers().get(ASYNC_OPERATION_HEADER);
+                String locationUrl = beginResponse.headers().get(LOCATION_HEADER);
+                if (asyncOperationUrl == null && locationUrl == null) {
+                    // The operation completed with the begin call
+                    return Observable.just(null);
+                }
+                final AtomicBoolean active = new AtomicBoolean(true);
+                activeOperations.incrementAndGet();
+                Action0 done = new Action0() {
+                    @Override
+                    public void call() {
+                        if (active.compareAndSet(true, false)) {
+                            activeOperations.decrementAndGet();
+                        }
+                    }
+                };
+                Observable<Void> poll = asyncOperationUrl != null
+                        ? pollAsync(asyncOperationUrl, true, delayInSeconds(beginResponse, INITIAL_DELAY_IN_SECONDS), INITIAL_DELAY_IN_SECONDS)
+                        : pollAsync(locationUrl, false, delayInSeconds(beginResponse, INITIAL_DELAY_IN_SECONDS), INITIAL_DELAY_IN_SECONDS);
+                return poll.doOnTerminate(done).doOnUnsubscribe(done);
+            }
+        });
+    }
+
+    private Observable<Void> pollAsync(final String url,
+                                       final boolean isAsyncOperation,
+                                       long delayInSeconds,
+                                       final long backoffInSeconds) {
+        return Observable.timer(delayInSeconds, TimeUnit.SECONDS, SCHEDULER)
+                .flatMap(new Func1<Long, Observable<Response<ResponseBody>>>() {
+                    @Override
+                    public Observable<Response<ResponseBody>> call(Long aLong) {
+                        polls.incrementAndGet();
+                        return pollService.poll(url).subscribeOn(Schedulers.io());
+                    }
+                })
+                .flatMap(new Func1<Response<ResponseBody>, Observable<Void>>() {
+                    @Override
+                    public Observable<Void> call(Response<ResponseBody> response) {
+                        try {
+                            if (response.code() == TOO_MANY_REQUESTS || !isDone(response, isAsyncOperation)) {
+                                long nextBackoffInSeconds = Math.max(INITIAL_DELAY_IN_SECONDS, backoffInSeconds * 2);
+                                return pollAsync(url, isAsyncOperation,
+                                        delayInSeconds(response, nextBackoffInSeconds), nextBackoffInSeconds);
+                            }
+                            return Observable.just(null);
+                        } catch (IOException | CloudException e) {
+                            return Observable.error(e);
+                        } finally {
+                            closeBody(response);
+                        }
+                    }
+                });
+    }
+
+    private boolean isDone(Response<ResponseBody> response, boolean isAsyncOperation) throws IOException {
+        if (!response.isSuccessful()) {
+            throw pollFailure(response, "Status code " + response.code());
+        }
+        if (!isAsyncOperation) {
+            // A location URL keeps returning 202 until the operation completes
+            return response.code() != 202;
+        }
+        JsonNode body = mapper.readTree(response.body().string());
+        String status = body.path("status").asText();
+        if ("Succeeded".equalsIgnoreCase(status)) {
+            return true;
+        } else if ("Failed".equalsIgnoreCase(status) || "Canceled".equalsIgnoreCase(status)) {
+            JsonNode error = body.path("error");
+            throw pollFailure(response, error.isMissingNode()
+                    ? "Long running operation " + status
+                    : error.path("code").asText() + ": " + error.path("message").asText());
+        }
+        return false;
+    }
+
+    private static CloudException pollFailure(Response<ResponseBody> response, String message) {
+        CloudException exception = new CloudException(message);
+        exception.setResponse(response);
+        return exception;
+    }
+
+    private static void closeBody(Response<ResponseBody> response) {
+        if (response.body() != null) {
+            response.body().close();
+        } else if (response.errorBody() != null) {
+            response.errorBody().close();
+        }
+    }
+
+    // The delay before the next poll, from the Retry-After header of a response if it has one,
+    // otherwise from the backoff capped at the retry timeout of the client
+    private long delayInSeconds(Response<?> response, long backoffInSeconds) {
+        String retryAfter = response.headers().get(RETRY_AFTER_HEADER);
+        if (retryAfter != null) {
+            try {
+                return Math.max(0, Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                // Not a number of seconds, fall back to the backoff
+            }
+        }
+        return Math.min(backoffInSeconds, this.maxDelayInSeconds);
+    }
+
+    /**
+     * A Retrofit service used to poll the status of long running operations.
+     */
+    private interface PollService {
+        @GET
+        Observable<Response<ResponseBody>> poll(@Url String url);
+    }
+}
@@ -12,13 +12,25 @@ import com.microsoft.azure.management.resources.implementation.PageImpl;
 import com.microsoft.rest.RestException;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
 
 /**
  * The base class for converting {@link PagedList} of one type of resource to
  * another, without polling down all the items in a list.
  * This converter is useful in converting inner top level resources into fluent
  * top level resources.
+ * <p>
+ * Each item is converted the first time it is accessed and the result is remembered, so
+ * callers that only count the items, or stop at the first match, do not pay for converting
+ * the rest. The converted list can be shared between threads, each item being converted
+ * once. Unlike the lists converted eagerly before, it is a read-only view: the methods
+ * modifying it throw {@link UnsupportedOperationException}.
  *
  * @param <U> the type of Resource to convert from
  * @param <V> the type of Resource to convert to
@@ -37,7 +49,7 @@ public abstract class PagedListConverter<U, V> {
      * Converts the paged list.
      *
      * @param uList the resource list to convert from
-     * @return the converted list
+     * @return the converted list, read-only unless empty
      */
     public PagedList<V> convert(final PagedList<U> uList) {
         if (uList == null || uList.isEmpty()) {
@@ -48,25 +60,223 @@ public abstract class PagedListConverter<U, V> {
                 }
             };
         }
-        Page<U> uPage = uList.currentPage();
-        PageImpl<V> vPage = new PageImpl<>();
-        vPage.setNextPageLink(uPage.getNextPageLink());
-        vPage.setItems(new ArrayList<V>());
-        for (U u : uPage.getItems()) {
-            vPage.getItems().add(typeConvert(u));
+        return new ConvertedPagedList(uList);
+    }
+
+    /**
+     * A paged list converting the items of another paged list on first access.
+     */
+    private class ConvertedPagedList extends PagedList<V> {
+        private final PagedList<U> uList;
+        // The items converted so far, by identity of the item each was converted from, so the
+        // list and its pages share the converted items, null ones included
+        private final Map<U, V> converted = new IdentityHashMap<>();
+        private final ConvertingList items;
+
+        ConvertedPagedList(PagedList<U> uList) {
+            this.uList = uList;
+            this.items = new ConvertingList(uList);
         }
-        return new PagedList<V>(vPage) {
-            @Override
-            public Page<V> nextPage(String nextPageLink) throws RestException, IOException {
-                Page<U> uPage = uList.nextPage(nextPageLink);
-                PageImpl<V> vPage = new PageImpl<>();
-                vPage.setNextPageLink(uPage.getNextPageLink());
-                vPage.setItems(new ArrayList<V>());
-                for (U u : uPage.getItems()) {
-                    vPage.getItems().add(typeConvert(u));
+
+        private V convertedOf(U u) {
+            synchronized (this.converted) {
+                if (this.converted.containsKey(u)) {
+                    return this.converted.get(u);
                 }
-                return vPage;
+                V v = typeConvert(u);
+                this.converted.put(u, v);
+                return v;
             }
-        };
+        }
+
+        private Page<V> convertedOf(Page<U> uPage) {
+            PageImpl<V> vPage = new PageImpl<>();
+            vPage.setNextPageLink(uPage.getNextPageLink());
+            vPage.setItems(new ConvertingList(uPage.getItems()));
+            return vPage;
+        }
+
+        @Override
+        public Page<V> nextPage(String nextPageLink) throws RestException, IOException {
+            return convertedOf(uList.nextPage(nextPageLink));
+        }
+
+        @Override
+        public Page<V> currentPage() {
+            return convertedOf(uList.currentPage());
+        }
+
+        @Override
+        public boolean hasNextPage() {
+            return uList.hasNextPage();
+        }
+
+        @Override
+        public void loadNextPage() {
+            uList.loadNextPage();
+        }
+
+        @Override
+        public void loadAll() {
+            uList.loadAll();
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return uList.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return items.contains(o);
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return items.iterator();
+        }
+
+        @Override
+        public Object[] toArray() {
+            return items.toArray();
+        }
+
+        @Override
+        public <T> T[] toArray(T[] a) {
+            return items.toArray(a);
+        }
+
+        @Override
+        public boolean add(V v) {
+            return items.add(v);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return items.remove(o);
+        }
+
+        @Override
+        public boolean containsAll(Collection<?> c) {
+            return items.containsAll(c);
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends V> c) {
+            return items.addAll(c);
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends V> c) {
+            return items.addAll(index, c);
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> c) {
+            return items.removeAll(c);
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> c) {
+            return items.retainAll(c);
+        }
+
+        @Override
+        public void clear() {
+            items.clear();
+        }
+
+        @Override
+        public V get(int index) {
+            return items.get(index);
+        }
+
+        @Override
+        public V set(int index, V element) {
+            return items.set(index, element);
+        }
+
+        @Override
+        public void add(int index, V element) {
+            items.add(index, element);
+        }
+
+        @Override
+        public V remove(int index) {
+            return items.remove(index);
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return items.indexOf(o);
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return items.lastIndexOf(o);
+        }
+
+        @Override
+        public ListIterator<V> listIterator() {
+            return items.listIterator();
+        }
+
+        @Override
+        public ListIterator<V> listIterator(int index) {
+            return items.listIterator(index);
+        }
+
+        @Override
+        public List<V> subList(int fromIndex, int toIndex) {
+            return items.subList(fromIndex, toIndex);
+        }
+
+        /**
+         * A read-only view of a list of items, converting each of them on first access.
+         */
+        private final class ConvertingList extends AbstractList<V> {
+            private final List<U> uItems;
+
+            ConvertingList(List<U> uItems) {
+                this.uItems = uItems;
+            }
+
+            @Override
+            public V get(int index) {
+                return convertedOf(uItems.get(index));
+            }
+
+            @Override
+            public int size() {
+                return uItems.size();
+            }
+
+            @Override
+            public Iterator<V> iterator() {
+                // Walks the source list's own iterator so that pages are only retrieved as needed
+                final Iterator<U> uIterator = uItems.iterator();
+                return new Iterator<V>() {
+                    @Override
+                    public boolean hasNext() {
+                        return uIterator.hasNext();
+                    }
+
+                    @Override
+                    public V next() {
+                        return convertedOf(uIterator.next());
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        }
     }
 }
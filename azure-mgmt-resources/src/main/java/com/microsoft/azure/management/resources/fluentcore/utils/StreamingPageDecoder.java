@@ -0,0 +1,285 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.CloudError;
+import com.microsoft.azure.CloudException;
+import com.microsoft.rest.serializer.JacksonMapperAdapter;
+import okhttp3.HttpUrl;
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Streaming;
+import retrofit2.http.Url;
+import rx.Observable;
+import rx.exceptions.Exceptions;
+import rx.functions.Action0;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Decodes the pages of an Azure list response as a stream: the items of the "value" array
+ * are deserialized one at a time, as they are consumed, and converted right away, so that
+ * neither the response text nor a whole page of inner models is held in memory.
+ *
+ * @param <U> the type of the inner models in the pages
+ * @param <V> the type the inner models are converted to
+ */
+public final class StreamingPageDecoder<U, V> {
+    private final PageService service;
+    private final HttpUrl baseUrl;
+    private final JacksonMapperAdapter mapperAdapter;
+    private final ObjectMapper mapper;
+    private final String acceptLanguage;
+    private final String userAgent;
+    private final JavaType innerType;
+    private final PagedListConverter<U, V> converter;
+
+    /**
+     * Creates a decoder.
+     *
+     * @param retrofit the retrofit client to retrieve the pages with
+     * @param mapperAdapter the mapper adapter of the service client, used to deserialize the items and errors
+     * @param acceptLanguage the accept-language header of the service client, null for none
+     * @param userAgent the User-Agent header of the service client, null for the default one
+     * @param innerType the type of the inner models in the pages
+     * @param converter the converter to apply to each inner model
+     */
+    public StreamingPageDecoder(Retrofit retrofit,
+                                JacksonMapperAdapter mapperAdapter,
+                                String acceptLanguage,
+                                String userAgent,
+                                Type innerType,
+                                PagedListConverter<U, V> converter) {
+        this.service = retrofit.create(PageService.class);
+        this.baseUrl = retrofit.baseUrl();
+        this.mapperAdapter = mapperAdapter;
+        this.mapper = mapperAdapter.getObjectMapper();
+        this.acceptLanguage = acceptLanguage;
+        this.userAgent = userAgent;
+        this.innerType = this.mapper.getTypeFactory().constructType(innerType);
+        this.converter = converter;
+    }
+
+    /**
+     * Retrieves the pages of a list operation, emitting the converted items as they are decoded.
+     *
+     * @param apiVersion the API version of the list operation
+     * @param pathSegments the segments of the path of the list operation, relative to the base URL
+     *                     of the retrofit client and not encoded
+     * @return an observable emitting the converted items of all the pages
+     */
+    public Observable<V> decodeAsync(String apiVersion, String... pathSegments) {
+        HttpUrl.Builder url = this.baseUrl.newBuilder();
+        for (String pathSegment : pathSegments) {
+            url.addPathSegment(pathSegment);
+        }
+        return decodeAsync(url.addQueryParameter("api-version", apiVersion).build().toString());
+    }
+
+    /**
+     * Retrieves the page at the given URL and all the pages following it, emitting the
+     * converted items as they are decoded.
+     *
+     * @param url the encoded URL of the first page, absolute or relative to the base URL of the retrofit client
+     * @return an observable emitting the converted items of all the pages
+     */
+    public Observable<V> decodeAsync(String url) {
+        return service.get(url, acceptLanguage, userAgent).flatMap(new Func1<Response<ResponseBody>, Observable<V>>() {
+            @Override
+            public Observable<V> call(Response<ResponseBody> response) {
+                if (!response.isSuccessful()) {
+                    return Observable.error(errorOf(response));
+                }
+                final PageIterator page;
+                try {
+                    page = decodePage(response.body().byteStream());
+                } catch (IOException e) {
+                    response.body().close();
+                    return Observable.error(e);
+                }
+                return Observable.from(new Iterable<V>() {
+                    @Override
+                    public Iterator<V> iterator() {
+                        return page;
+                    }
+                }).doOnUnsubscribe(new Action0() {
+                    @Override
+                    public void call() {
+                        page.close();
+                    }
+                }).concatWith(Observable.defer(new Func0<Observable<V>>() {
+                    @Override
+                    public Observable<V> call() {
+                        if (page.nextPageLink() == null) {
+                            return Observable.empty();
+                        }
+                        return decodeAsync(page.nextPageLink());
+                    }
+                }));
+            }
+        });
+    }
+
+    // Deserializes the error of a failed response with the CloudError deserializer of the service client.
+    // AzureServiceResponseBuilder is not used as it treats a 404 to a GET as an empty result.
+    private Throwable errorOf(Response<ResponseBody> response) {
+        ResponseBody errorBody = response.errorBody();
+        try {
+            String content = errorBody == null ? "" : errorBody.string();
+            CloudException exception = new CloudException("Status code " + response.code() + ", " + content);
+            exception.setResponse(response);
+            if (!content.isEmpty()) {
+                exception.setBody(this.mapperAdapter.<CloudError>deserialize(content, CloudError.class));
+            }
+            return exception;
+        } catch (IOException e) {
+            return e;
+        } finally {
+            if (errorBody != null) {
+                errorBody.close();
+            }
+        }
+    }
+
+    /**
+     * Starts decoding a single page.
+     *
+     * @param stream the stream containing the JSON of the page
+     * @return an iterator over the converted items of the page
+     * @throws IOException if the page is not a JSON object or cannot be read
+     */
+    public PageIterator decodePage(InputStream stream) throws IOException {
+        return new PageIterator(this.mapper.getFactory().createParser(stream));
+    }
+
+    /**
+     * An iterator over the converted items of a single page, decoded on demand.
+     * The underlying stream is closed once the page has been fully read.
+     */
+    public final class PageIterator implements Iterator<V>, Closeable {
+        private final JsonParser parser;
+        private String nextPageLink;
+        private boolean inItems;
+        private boolean itemReady;
+        private boolean closed;
+
+        private PageIterator(JsonParser parser) throws IOException {
+            this.parser = parser;
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                close();
+                throw new IOException("The page is not a JSON object.");
+            }
+            readFields();
+        }
+
+        /**
+         * @return the link to the next page, if any; only known for sure once all the items are consumed
+         */
+        public String nextPageLink() {
+            return this.nextPageLink;
+        }
+
+        // Reads the top level fields until the items array starts or the page ends
+        private void readFields() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                token = parser.nextToken();
+                if ("value".equals(field) && token == JsonToken.START_ARRAY) {
+                    this.inItems = true;
+                    return;
+                } else if ("nextLink".equals(field) || "odata.nextLink".equals(field)) {
+                    this.nextPageLink = token == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            close();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.itemReady) {
+                return true;
+            }
+            if (!this.inItems) {
+                return false;
+            }
+            try {
+                if (parser.nextToken() == JsonToken.END_ARRAY) {
+                    this.inItems = false;
+                    readFields();
+                    return false;
+                }
+                this.itemReady = true;
+                return true;
+            } catch (IOException e) {
+                close();
+                throw Exceptions.propagate(e);
+            }
+        }
+
+        @Override
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.itemReady = false;
+            try {
+                U item = mapper.readValue(parser, innerType);
+                return converter.typeConvert(item);
+            } catch (IOException e) {
+                close();
+                throw Exceptions.propagate(e);
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            this.inItems = false;
+            try {
+                parser.close();
+            } catch (IOException e) {
+                // Nothing left to read from the stream
+            }
+        }
+    }
+
+    /**
+     * A Retrofit service used to retrieve a page without buffering its content.
+     */
+    private interface PageService {
+        @Streaming
+        @GET
+        Observable<Response<ResponseBody>> get(@Url String url,
+                                               @Header("accept-language") String acceptLanguage,
+                                               @Header("User-Agent") String userAgent);
+    }
+}
@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import com.microsoft.azure.RestClient;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An interceptor pacing the requests made to Azure Resource Manager so that they stay within the
+ * per-subscription read and write limits, instead of failing with HTTP 429 once a limit is hit.
+ * <p>
+ * Each subscription gets a token bucket for reads and one for writes, refilled at the hourly
+ * limit. The tokens left are aligned with the x-ms-ratelimit-remaining-subscription-reads and
+ * x-ms-ratelimit-remaining-subscription-writes headers of each response, so requests are only
+ * slowed down when the service reports the subscription is running out of requests. Throttled
+ * requests are retried after the delay in their Retry-After header, which also holds back the
+ * other requests of the same kind to the subscription.
+ * <p>
+ * Requests are paced by blocking the calling thread, so the interceptor is meant to be shared by
+ * all the clients of a subscription. It is installed with the default limits on the managers
+ * authenticated through a configurable, which get their own buckets; the limits are changed with
+ * {@link com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable#withThrottling(long, long)}.
+ * Code retrying throttled requests itself should check {@link #isInstalled(RestClient)} first,
+ * so that the retries do not add up.
+ */
+public final class ThrottlingInterceptor implements Interceptor {
+    /** The default number of reads per hour allowed for a subscription. */
+    public static final long DEFAULT_READS_PER_HOUR = 12000;
+    /** The default number of writes per hour allowed for a subscription. */
+    public static final long DEFAULT_WRITES_PER_HOUR = 1200;
+
+    private static final String REMAINING_READS_HEADER = "x-ms-ratelimit-remaining-subscription-reads";
+    private static final String REMAINING_WRITES_HEADER = "x-ms-ratelimit-remaining-subscription-writes";
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int MAX_THROTTLED_RETRIES = 3;
+    private static final long DEFAULT_RETRY_AFTER_IN_SECONDS = 10;
+
+    private final long readsPerHour;
+    private final long writesPerHour;
+    private final ConcurrentMap<String, TokenBucket[]> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an interceptor with the given limits.
+     *
+     * @param readsPerHour the number of reads per hour allowed for a subscription
+     * @param writesPerHour the number of writes per hour allowed for a subscription
+     */
+    public ThrottlingInterceptor(long readsPerHour, long writesPerHour) {
+        if (readsPerHour <= 0 || writesPerHour <= 0) {
+            throw new IllegalArgumentException("The number of requests per hour must be positive.");
+        }
+        this.readsPerHour = readsPerHour;
+        this.writesPerHour = writesPerHour;
+    }
+
+    /**
+     * Checks whether the HTTP client of a REST client paces and retries its requests with a throttling interceptor.
+     *
+     * @param restClient the REST client
+     * @return true if a throttling interceptor is installed, false otherwise
+     */
+    public static boolean isInstalled(RestClient restClient) {
+        for (Interceptor interceptor : restClient.httpClient().interceptors()) {
+            if (interceptor instanceof ThrottlingInterceptor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String subscriptionId = subscriptionId(request.url());
+        if (subscriptionId == null) {
+            return chain.proceed(request);
+        }
+        boolean isRead = "GET".equals(request.method()) || "HEAD".equals(request.method());
+        TokenBucket bucket = bucketsOf(subscriptionId)[isRead ? 0 : 1];
+        for (int retry = 0;; retry++) {
+            bucket.acquire();
+            Response response = chain.proceed(request);
+            String remaining = response.header(isRead ? REMAINING_READS_HEADER : REMAINING_WRITES_HEADER);
+            if (remaining != null) {
+                try {
+                    bucket.align(Long.parseLong(remaining.trim()));
+                } catch (NumberFormatException e) {
+                    // Ignore a malformed header, the bucket keeps its own count
+                }
+            }
+            if (response.code() != TOO_MANY_REQUESTS || retry >= MAX_THROTTLED_RETRIES) {
+                return response;
+            }
+            bucket.pause(retryAfterInSeconds(response), TimeUnit.SECONDS);
+            response.body().close();
+        }
+    }
+
+    private TokenBucket[] bucketsOf(String subscriptionId) {
+        TokenBucket[] subscriptionBuckets = buckets.get(subscriptionId);
+        if (subscriptionBuckets == null) {
+            TokenBucket[] created = new TokenBucket[] {
+                    new TokenBucket(readsPerHour),
+                    new TokenBucket(writesPerHour)
+            };
+            subscriptionBuckets = buckets.putIfAbsent(subscriptionId, created);
+            if (subscriptionBuckets == null) {
+                subscriptionBuckets = created;
+            }
+        }
+        return subscriptionBuckets;
+    }
+
+    private static String subscriptionId(HttpUrl url) {
+        List<String> segments = url.pathSegments();
+        for (int i = 0; i < segments.size() - 1; i++) {
+            if ("subscriptions".equalsIgnoreCase(segments.get(i)) && !segments.get(i + 1).isEmpty()) {
+                return segments.get(i + 1).toLowerCase(Locale.ROOT);
+            }
+        }
+        return null;
+    }
+
+    private static long retryAfterInSeconds(Response response) {
+        String retryAfter = response.header(RETRY_AFTER_HEADER);
+        if (retryAfter != null) {
+            try {
+                return Math.max(0, Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                // Not a number of seconds, fall back to the default delay
+            }
+        }
+        return DEFAULT_RETRY_AFTER_IN_SECONDS;
+    }
+
+    /**
+     * A token bucket holding up to an hour worth of requests, refilled continuously.
+     */
+    private static final class TokenBucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long refilledAt;
+        private long pausedUntil;
+
+        TokenBucket(long requestsPerHour) {
+            this.capacity = requestsPerHour;
+            this.tokensPerNano = requestsPerHour / (double) TimeUnit.HOURS.toNanos(1);
+            this.tokens = requestsPerHour;
+            this.refilledAt = System.nanoTime();
+            this.pausedUntil = this.refilledAt;
+        }
+
+        // Takes a token, waiting for one to be available
+        void acquire() throws InterruptedIOException {
+            while (true) {
+                long waitInNanos;
+                synchronized (this) {
+                    long now = System.nanoTime();
+                    refill(now);
+                    if (now - pausedUntil >= 0 && tokens >= 1) {
+                        tokens -= 1;
+                        return;
+                    }
+                    waitInNanos = Math.max(pausedUntil - now, (long) Math.ceil((1 - tokens) / tokensPerNano));
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(Math.max(1, waitInNanos));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the subscription request limit");
+                }
+            }
+        }
+
+        // Adopts the number of requests the service reports as remaining
+        synchronized void align(long remaining) {
+            refill(System.nanoTime());
+            tokens = Math.min(capacity, remaining);
+        }
+
+        synchronized void pause(long duration, TimeUnit unit) {
+            long until = System.nanoTime() + unit.toNanos(duration);
+            if (until - pausedUntil > 0) {
+                pausedUntil = until;
+            }
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
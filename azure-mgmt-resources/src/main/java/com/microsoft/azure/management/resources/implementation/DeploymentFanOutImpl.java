@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.implementation;
+
+import com.microsoft.azure.management.resources.DeploymentMode;
+import com.microsoft.azure.management.resources.DeploymentProperties;
+import com.microsoft.azure.management.resources.DeploymentTargetResult;
+import com.microsoft.azure.management.resources.fluentcore.utils.LongRunningOperationPoller;
+import com.microsoft.rest.ServiceResponse;
+import org.joda.time.DateTime;
+import rx.Observable;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deploys a template to many resource groups: the deployments are started with bounded
+ * concurrency and waited for through the shared {@link LongRunningOperationPoller}, and no
+ * more deployments are started once too many have failed.
+ */
+final class DeploymentFanOutImpl {
+    private final DeploymentsInner client;
+    private final LongRunningOperationPoller poller;
+
+    DeploymentFanOutImpl(DeploymentsInner client, LongRunningOperationPoller poller) {
+        this.client = client;
+        this.poller = poller;
+    }
+
+    /**
+     * Deploys a template to resource groups.
+     *
+     * @param deploymentName the name of the deployment in each resource group
+     * @param template the template
+     * @param parametersByGroup the parameters of the deployment by name of the resource group
+     * @param mode the deployment mode
+     * @param maxConcurrency the maximum number of deployments in progress at any time
+     * @param maxFailures the number of failed deployments after which no more deployments are started
+     * @return an observable emitting the outcome for each resource group as it completes
+     */
+    Observable<DeploymentTargetResult> deployAsync(final String deploymentName,
+                                                   final Object template,
+                                                   Map<String, Object> parametersByGroup,
+                                                   final DeploymentMode mode,
+                                                   int maxConcurrency,
+                                                   final int maxFailures) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive.");
+        }
+        if (maxFailures <= 0) {
+            throw new IllegalArgumentException("maxFailures must be positive.");
+        }
+        final AtomicInteger failures = new AtomicInteger();
+        return Observable.from(parametersByGroup.entrySet()).flatMap(new Func1<Map.Entry<String, Object>, Observable<DeploymentTargetResult>>() {
+            @Override
+            public Observable<DeploymentTargetResult> call(final Map.Entry<String, Object> target) {
+                return Observable.defer(new Func0<Observable<DeploymentTargetResult>>() {
+                    @Override
+                    public Observable<DeploymentTargetResult> call() {
+                        if (failures.get() >= maxFailures) {
+                            return Observable.<DeploymentTargetResult>just(new ResultImpl(target.getKey(), deploymentName, null,
+                                    new CancellationException("Not deployed as " + maxFailures + " deployments failed")));
+                        }
+                        DeploymentInner inner = new DeploymentInner()
+                                .withProperties(new DeploymentProperties()
+                                        .withMode(mode)
+                                        .withTemplate(template)
+                                        .withParameters(target.getValue()));
+                        return deployAsync(target.getKey(), deploymentName, inner)
+                                .doOnNext(new Action1<DeploymentTargetResult>() {
+                                    @Override
+                                    public void call(DeploymentTargetResult result) {
+                                        if (!result.isSucceeded()) {
+                                            failures.incrementAndGet();
+                                        }
+                                    }
+                                });
+                    }
+                });
+            }
+        }, maxConcurrency);
+    }
+
+    private Observable<DeploymentTargetResult> deployAsync(final String resourceGroupName,
+                                                           final String deploymentName,
+                                                           DeploymentInner inner) {
+        final DateTime startTime = DateTime.now();
+        return client.beginCreateOrUpdateWithServiceResponseAsync(resourceGroupName, deploymentName, inner)
+                .subscribeOn(Schedulers.io())
+                .flatMap(new Func1<ServiceResponse<DeploymentExtendedInner>, Observable<Void>>() {
+                    @Override
+                    public Observable<Void> call(ServiceResponse<DeploymentExtendedInner> response) {
+                        return poller.waitAsync(response.getResponse());
+                    }
+                })
+                .map(new Func1<Void, DeploymentTargetResult>() {
+                    @Override
+                    public DeploymentTargetResult call(Void aVoid) {
+                        return new ResultImpl(resourceGroupName, deploymentName, startTime, null);
+                    }
+                })
+                .onErrorReturn(new Func1<Throwable, DeploymentTargetResult>() {
+                    @Override
+                    public DeploymentTargetResult call(Throwable throwable) {
+                        return new ResultImpl(resourceGroupName, deploymentName, startTime, throwable);
+                    }
+                });
+    }
+
+    /**
+     * The implementation of {@link DeploymentTargetResult}.
+     */
+    private static final class ResultImpl implements DeploymentTargetResult {
+        private final String resourceGroupName;
+        private final String deploymentName;
+        private final DateTime startTime;
+        private final DateTime endTime;
+        private final Throwable error;
+
+        ResultImpl(String resourceGroupName, String deploymentName, DateTime startTime, Throwable error) {
+            this.resourceGroupName = resourceGroupName;
+            this.deploymentName = deploymentName;
+            this.startTime = startTime;
+            this.endTime = startTime == null ? null : DateTime.now();
+            this.error = error;
+        }
+
+        @Override
+        public String resourceGroupName() {
+            return this.resourceGroupName;
+        }
+
+        @Override
+        public String deploymentName() {
+            return this.deploymentName;
+        }
+
+        @Override
+        public boolean isSucceeded() {
+            return this.error == null;
+        }
+
+        @Override
+        public Throwable error() {
+            return this.error;
+        }
+
+        @Override
+        public DateTime startTime() {
+            return this.startTime;
+        }
+
+        @Override
+        public DateTime endTime() {
+            return this.endTime;
+        }
+    }
+}
@@ -161,7 +161,7 @@ final class DeploymentImpl extends
 
     @Override
     public DeploymentOperations deploymentOperations() {
-        return new DeploymentOperationsImpl(deploymentOperationsClient, this);
+        return new DeploymentOperationsImpl(deploymentOperationsClient, client, this);
     }
 
     @Override
@@ -6,11 +6,25 @@
 
 package com.microsoft.azure.management.resources.implementation;
 
+import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.resources.Deployment;
 import com.microsoft.azure.management.resources.DeploymentOperation;
 import com.microsoft.azure.management.resources.DeploymentOperations;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.ReadableWrappersImpl;
+import com.microsoft.azure.management.resources.fluentcore.utils.LongRunningOperationPoller;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The implementation of {@link DeploymentOperations}.
@@ -19,11 +33,14 @@ final class DeploymentOperationsImpl
         extends ReadableWrappersImpl<DeploymentOperation, DeploymentOperationImpl, DeploymentOperationInner>
         implements DeploymentOperations {
     private final DeploymentOperationsInner client;
+    private final DeploymentsInner deploymentsClient;
     private final Deployment deployment;
 
     DeploymentOperationsImpl(final DeploymentOperationsInner client,
+                                    final DeploymentsInner deploymentsClient,
                                     final Deployment deployment) {
         this.client = client;
+        this.deploymentsClient = deploymentsClient;
         this.deployment = deployment;
     }
 
@@ -37,6 +54,129 @@ final class DeploymentOperationsImpl
         return wrapModel(client.get(deployment.resourceGroupName(), deployment.name(), operationId));
     }
 
+    @Override
+    public Observable<DeploymentOperation> watchAsync(final int minDelayInSeconds, final int maxDelayInSeconds) {
+        if (minDelayInSeconds < 0 || maxDelayInSeconds < minDelayInSeconds) {
+            throw new IllegalArgumentException("The delays must satisfy 0 <= minDelayInSeconds <= maxDelayInSeconds.");
+        }
+        return Observable.defer(new Func0<Observable<DeploymentOperation>>() {
+            @Override
+            public Observable<DeploymentOperation> call() {
+                // Each subscription watches the operations from scratch
+                return watchAsync(new WatchState(), 0, minDelayInSeconds, maxDelayInSeconds);
+            }
+        });
+    }
+
+    private Observable<DeploymentOperation> watchAsync(final WatchState state,
+                                                       final long delayInSeconds,
+                                                       final long minDelayInSeconds,
+                                                       final long maxDelayInSeconds) {
+        return Observable.timer(delayInSeconds, TimeUnit.SECONDS, LongRunningOperationPoller.scheduler())
+                .flatMap(new Func1<Long, Observable<DeploymentExtendedInner>>() {
+                    @Override
+                    public Observable<DeploymentExtendedInner> call(Long aLong) {
+                        return deploymentsClient.getAsync(deployment.resourceGroupName(), deployment.name())
+                                .subscribeOn(Schedulers.io());
+                    }
+                })
+                .flatMap(new Func1<DeploymentExtendedInner, Observable<DeploymentOperation>>() {
+                    @Override
+                    public Observable<DeploymentOperation> call(DeploymentExtendedInner deploymentInner) {
+                        final boolean isCompleted = isCompleted(deploymentInner);
+                        // The operations not finished at the last pass, which may have changed on any page
+                        final Set<String> unseen = new HashSet<>(state.running);
+                        Observable<List<DeploymentOperationInner>> changedPages = client
+                                .listAsync(deployment.resourceGroupName(), deployment.name())
+                                .subscribeOn(Schedulers.io())
+                                .map(new Func1<Page<DeploymentOperationInner>, List<DeploymentOperationInner>>() {
+                                    @Override
+                                    public List<DeploymentOperationInner> call(Page<DeploymentOperationInner> page) {
+                                        for (DeploymentOperationInner operation : page.getItems()) {
+                                            unseen.remove(operation.operationId());
+                                        }
+                                        return state.changes(page.getItems());
+                                    }
+                                });
+                        if (!isCompleted) {
+                            // Operations are listed newest first, so new operations are on the first
+                            // pages; paging stops at a page without changes once every running operation
+                            // has been seen. The last pass once the deployment has completed lists them all.
+                            changedPages = changedPages.takeUntil(new Func1<List<DeploymentOperationInner>, Boolean>() {
+                                @Override
+                                public Boolean call(List<DeploymentOperationInner> changes) {
+                                    return changes.isEmpty() && unseen.isEmpty();
+                                }
+                            });
+                        }
+                        return changedPages.toList().flatMap(new Func1<List<List<DeploymentOperationInner>>, Observable<DeploymentOperation>>() {
+                            @Override
+                            public Observable<DeploymentOperation> call(List<List<DeploymentOperationInner>> pages) {
+                                List<DeploymentOperation> operations = new ArrayList<>();
+                                for (List<DeploymentOperationInner> page : pages) {
+                                    for (DeploymentOperationInner inner : page) {
+                                        operations.add(wrapModel(inner));
+                                    }
+                                }
+                                if (isCompleted) {
+                                    return Observable.from(operations);
+                                }
+                                long nextDelayInSeconds = operations.isEmpty()
+                                        ? Math.min(maxDelayInSeconds, Math.max(1, delayInSeconds * 2))
+                                        : minDelayInSeconds;
+                                return Observable.from(operations)
+                                        .concatWith(watchAsync(state, nextDelayInSeconds, minDelayInSeconds, maxDelayInSeconds));
+                            }
+                        });
+                    }
+                });
+    }
+
+    /**
+     * The operations seen by a watch.
+     */
+    private static final class WatchState {
+        // The last seen state of each operation, by operation ID
+        private final Map<String, String> states = new HashMap<>();
+        // The IDs of the operations last seen in a non-terminal state
+        private final Set<String> running = new HashSet<>();
+
+        // Records the state of the given operations, returning the ones that are new or changed
+        List<DeploymentOperationInner> changes(List<DeploymentOperationInner> operations) {
+            List<DeploymentOperationInner> changed = new ArrayList<>();
+            for (DeploymentOperationInner operation : operations) {
+                String provisioningState = operation.properties() == null ? null : operation.properties().provisioningState();
+                String state = operation.properties() == null
+                        ? null
+                        : provisioningState + "@" + operation.properties().timestamp();
+                if (!states.containsKey(operation.operationId()) || !String.valueOf(state).equals(states.get(operation.operationId()))) {
+                    states.put(operation.operationId(), String.valueOf(state));
+                    changed.add(operation);
+                }
+                if (isTerminal(provisioningState)) {
+                    running.remove(operation.operationId());
+                } else {
+                    running.add(operation.operationId());
+                }
+            }
+            return changed;
+        }
+    }
+
+    private static boolean isTerminal(String state) {
+        return "Succeeded".equalsIgnoreCase(state)
+                || "Failed".equalsIgnoreCase(state)
+                || "Canceled".equalsIgnoreCase(state)
+                || "Cancelled".equalsIgnoreCase(state);
+    }
+
+    private static boolean isCompleted(DeploymentExtendedInner deploymentInner) {
+        if (deploymentInner == null || deploymentInner.properties() == null) {
+            return true;
+        }
+        return isTerminal(deploymentInner.properties().provisioningState());
+    }
+
     @Override
     protected DeploymentOperationImpl wrapModel(DeploymentOperationInner inner) {
         if (inner == null) {
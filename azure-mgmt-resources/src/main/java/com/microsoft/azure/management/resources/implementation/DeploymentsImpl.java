@@ -8,10 +8,13 @@ package com.microsoft.azure.management.resources.implementation;
 
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.resources.Deployment;
+import com.microsoft.azure.management.resources.DeploymentMode;
+import com.microsoft.azure.management.resources.DeploymentTargetResult;
 import com.microsoft.azure.management.resources.Deployments;
 import com.microsoft.azure.management.resources.ResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.GroupPagedList;
+import com.microsoft.azure.management.resources.fluentcore.utils.LongRunningOperationPoller;
 import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
 import com.microsoft.rest.ServiceCall;
 import com.microsoft.rest.ServiceCallback;
@@ -20,6 +23,7 @@ import rx.Observable;
 import rx.functions.Func1;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * The implementation for {@link Deployments}.
@@ -29,14 +33,17 @@ final class DeploymentsImpl
 
     private final DeploymentsInner client;
     private final DeploymentOperationsInner deploymentOperationsClient;
+    private final LongRunningOperationPoller poller;
     private final ResourceManager resourceManager;
     private PagedListConverter<DeploymentExtendedInner, Deployment> converter;
 
     DeploymentsImpl(final DeploymentsInner client,
                            final DeploymentOperationsInner deploymentOperationsClient,
+                           final LongRunningOperationPoller poller,
                            final ResourceManager resourceManager) {
         this.client = client;
         this.deploymentOperationsClient = deploymentOperationsClient;
+        this.poller = poller;
         this.resourceManager = resourceManager;
         converter = new PagedListConverter<DeploymentExtendedInner, Deployment>() {
             @Override
@@ -107,6 +114,17 @@ final class DeploymentsImpl
         return client.checkExistence(resourceGroupName, deploymentName);
     }
 
+    @Override
+    public Observable<DeploymentTargetResult> deployAsync(String deploymentName,
+                                                          Object template,
+                                                          Map<String, Object> parametersByGroup,
+                                                          DeploymentMode mode,
+                                                          int maxConcurrency,
+                                                          int maxFailures) {
+        return new DeploymentFanOutImpl(client, poller)
+                .deployAsync(deploymentName, template, parametersByGroup, mode, maxConcurrency, maxFailures);
+    }
+
     protected DeploymentImpl createFluentModel(String name) {
         return new DeploymentImpl(
                 new DeploymentExtendedInner().withName(name),
@@ -11,12 +11,15 @@ import com.microsoft.azure.management.resources.GenericResource;
 import com.microsoft.azure.management.resources.GenericResources;
 import com.microsoft.azure.management.resources.Provider;
 import com.microsoft.azure.management.resources.ResourceGroup;
+import com.microsoft.azure.management.resources.ResourceInventory;
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.GroupableResourcesImpl;
 import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import rx.Observable;
 import rx.functions.Func1;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -43,6 +46,16 @@ final class GenericResourcesImpl
         return wrapList(this.serviceClient.resources().list());
     }
 
+    @Override
+    public Observable<ResourceInventory> buildInventoryAsync() {
+        return new ResourceInventoryImpl(serviceClient).refreshAsync();
+    }
+
+    @Override
+    public ResourceInventory loadInventory(InputStream inputStream) throws IOException {
+        return ResourceInventoryImpl.readFrom(serviceClient, inputStream);
+    }
+
     @Override
     public PagedList<GenericResource> listByGroup(String groupName) {
         return wrapList(this.serviceClient.resourceGroups().listResources(groupName));
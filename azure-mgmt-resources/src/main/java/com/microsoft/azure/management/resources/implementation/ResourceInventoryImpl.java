@@ -0,0 +1,386 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.implementation;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.resources.ResourceInventory;
+import com.microsoft.azure.management.resources.ResourceInventoryEntry;
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceId;
+import rx.Observable;
+import rx.functions.Func1;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The implementation of {@link ResourceInventory}.
+ */
+final class ResourceInventoryImpl implements ResourceInventory {
+    private static final int FORMAT_VERSION = 2;
+
+    private final ResourceManagementClientImpl serviceClient;
+    // The resources and the indexes of their lower cased IDs, all guarded by this
+    private final Map<String, EntryImpl> entries = new HashMap<>();
+    private final Map<String, Set<String>> byGroup = new HashMap<>();
+    private final Map<String, Set<String>> byType = new HashMap<>();
+    private final Map<String, Set<String>> byRegion = new HashMap<>();
+    private final Map<String, Set<String>> byTagName = new HashMap<>();
+
+    ResourceInventoryImpl(ResourceManagementClientImpl serviceClient) {
+        this.serviceClient = serviceClient;
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized Set<String> resourceGroupNames() {
+        Set<String> names = new HashSet<>();
+        for (EntryImpl entry : entries.values()) {
+            names.add(entry.resourceGroupName());
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    @Override
+    public synchronized ResourceInventoryEntry getById(String id) {
+        return entries.get(key(id));
+    }
+
+    @Override
+    public synchronized List<ResourceInventoryEntry> find(String resourceGroupName,
+                                                          String type,
+                                                          String regionName,
+                                                          Map<String, String> tags) {
+        // Only check the criteria against the candidates from the most selective index
+        Collection<String> candidates = entries.keySet();
+        candidates = narrow(candidates, byGroup, resourceGroupName);
+        candidates = narrow(candidates, byType, type);
+        candidates = narrow(candidates, byRegion, regionName);
+        if (tags != null) {
+            for (String tagName : tags.keySet()) {
+                candidates = narrow(candidates, byTagName, tagName);
+            }
+        }
+        List<ResourceInventoryEntry> matches = new ArrayList<>();
+        for (String candidate : candidates) {
+            EntryImpl entry = entries.get(candidate);
+            if (entry.matches(resourceGroupName, type, regionName, tags)) {
+                matches.add(entry);
+            }
+        }
+        return matches;
+    }
+
+    private static Collection<String> narrow(Collection<String> candidates, Map<String, Set<String>> index, String value) {
+        if (value == null) {
+            return candidates;
+        }
+        Set<String> indexed = index.get(key(value));
+        if (indexed == null) {
+            return Collections.emptySet();
+        }
+        return indexed.size() < candidates.size() ? indexed : candidates;
+    }
+
+    @Override
+    public Observable<ResourceInventory> refreshGroupAsync(final String resourceGroupName) {
+        return collect(serviceClient.resourceGroups().listResourcesAsync(resourceGroupName))
+                .map(new Func1<List<EntryImpl>, ResourceInventory>() {
+                    @Override
+                    public ResourceInventory call(List<EntryImpl> groupEntries) {
+                        synchronized (ResourceInventoryImpl.this) {
+                            Set<String> previous = byGroup.get(key(resourceGroupName));
+                            if (previous != null) {
+                                for (String id : new ArrayList<>(previous)) {
+                                    remove(id);
+                                }
+                            }
+                            for (EntryImpl entry : groupEntries) {
+                                add(entry);
+                            }
+                        }
+                        return ResourceInventoryImpl.this;
+                    }
+                });
+    }
+
+    @Override
+    public Observable<ResourceInventory> refreshAsync() {
+        return collect(serviceClient.resources().listAsync())
+                .map(new Func1<List<EntryImpl>, ResourceInventory>() {
+                    @Override
+                    public ResourceInventory call(List<EntryImpl> allEntries) {
+                        synchronized (ResourceInventoryImpl.this) {
+                            clear();
+                            for (EntryImpl entry : allEntries) {
+                                add(entry);
+                            }
+                        }
+                        return ResourceInventoryImpl.this;
+                    }
+                });
+    }
+
+    // Converts the resources of all the pages, only keeping what the inventory needs
+    private static Observable<List<EntryImpl>> collect(Observable<Page<GenericResourceInner>> pages) {
+        return pages.concatMap(new Func1<Page<GenericResourceInner>, Observable<EntryImpl>>() {
+            @Override
+            public Observable<EntryImpl> call(Page<GenericResourceInner> page) {
+                List<EntryImpl> pageEntries = new ArrayList<>();
+                for (GenericResourceInner inner : page.getItems()) {
+                    pageEntries.add(new EntryImpl(inner.id(), inner.type(), inner.location(), inner.getTags()));
+                }
+                return Observable.from(pageEntries);
+            }
+        }).toList();
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        List<EntryImpl> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(entries.values());
+        }
+        GZIPOutputStream gzip = new GZIPOutputStream(outputStream);
+        DataOutputStream output = new DataOutputStream(gzip);
+        output.writeInt(FORMAT_VERSION);
+        output.writeInt(snapshot.size());
+        for (EntryImpl entry : snapshot) {
+            output.writeUTF(entry.id());
+            writeNullable(output, entry.type());
+            writeNullable(output, entry.regionName());
+            output.writeInt(entry.tags().size());
+            for (Map.Entry<String, String> tag : entry.tags().entrySet()) {
+                output.writeUTF(tag.getKey());
+                writeNullable(output, tag.getValue());
+            }
+        }
+        // Finish rather than close the GZIP stream, which would close the caller's stream
+        output.flush();
+        gzip.finish();
+    }
+
+    /**
+     * Reads an inventory written by {@link #writeTo(OutputStream)}.
+     *
+     * @param serviceClient the client used to refresh the inventory
+     * @param inputStream the stream to read from
+     * @return the inventory
+     * @throws IOException if the inventory cannot be read
+     */
+    static ResourceInventoryImpl readFrom(ResourceManagementClientImpl serviceClient, InputStream inputStream) throws IOException {
+        DataInputStream input = new DataInputStream(new GZIPInputStream(inputStream));
+        int version = input.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported inventory format version " + version);
+        }
+        ResourceInventoryImpl inventory = new ResourceInventoryImpl(serviceClient);
+        int count = input.readInt();
+        for (int i = 0; i < count; i++) {
+            String id = input.readUTF();
+            String type = readNullable(input);
+            String regionName = readNullable(input);
+            int tagCount = input.readInt();
+            Map<String, String> tags = new LinkedHashMap<>();
+            for (int j = 0; j < tagCount; j++) {
+                tags.put(input.readUTF(), readNullable(input));
+            }
+            inventory.add(new EntryImpl(id, type, regionName, tags));
+        }
+        return inventory;
+    }
+
+    private void add(EntryImpl entry) {
+        String id = key(entry.id());
+        remove(id);
+        entries.put(id, entry);
+        index(byGroup, entry.resourceGroupName(), id);
+        index(byType, entry.type(), id);
+        index(byRegion, entry.regionName(), id);
+        for (String tagName : entry.tags().keySet()) {
+            index(byTagName, tagName, id);
+        }
+    }
+
+    private void remove(String id) {
+        EntryImpl entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        unindex(byGroup, entry.resourceGroupName(), id);
+        unindex(byType, entry.type(), id);
+        unindex(byRegion, entry.regionName(), id);
+        for (String tagName : entry.tags().keySet()) {
+            unindex(byTagName, tagName, id);
+        }
+    }
+
+    private void clear() {
+        entries.clear();
+        byGroup.clear();
+        byType.clear();
+        byRegion.clear();
+        byTagName.clear();
+    }
+
+    private static void index(Map<String, Set<String>> index, String value, String id) {
+        if (value == null) {
+            return;
+        }
+        Set<String> ids = index.get(key(value));
+        if (ids == null) {
+            ids = new HashSet<>();
+            index.put(key(value), ids);
+        }
+        ids.add(id);
+    }
+
+    private static void unindex(Map<String, Set<String>> index, String value, String id) {
+        if (value == null) {
+            return;
+        }
+        Set<String> ids = index.get(key(value));
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key(value));
+            }
+        }
+    }
+
+    // A null string is written as a false flag, any other string as a true flag followed by its value
+    private static void writeNullable(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The implementation of {@link ResourceInventoryEntry}.
+     */
+    private static final class EntryImpl implements ResourceInventoryEntry {
+        private final String id;
+        private final String subscriptionId;
+        private final String resourceGroupName;
+        private final String providerNamespace;
+        private final String type;
+        private final String name;
+        private final String regionName;
+        private final Map<String, String> tags;
+
+        EntryImpl(String id, String type, String regionName, Map<String, String> tags) {
+            ResourceId resourceId = ResourceId.parseResourceId(id);
+            this.id = id;
+            this.subscriptionId = resourceId.subscriptionId();
+            this.resourceGroupName = resourceId.resourceGroupName();
+            this.providerNamespace = resourceId.providerNamespace();
+            this.type = type;
+            this.name = resourceId.name();
+            this.regionName = regionName;
+            this.tags = tags == null
+                    ? Collections.<String, String>emptyMap()
+                    : Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+        }
+
+        boolean matches(String resourceGroupName, String type, String regionName, Map<String, String> tags) {
+            if (!equalsIgnoreCase(resourceGroupName, this.resourceGroupName)
+                    || !equalsIgnoreCase(type, this.type)
+                    || !equalsIgnoreCase(regionName, this.regionName)) {
+                return false;
+            }
+            if (tags != null) {
+                for (Map.Entry<String, String> tag : tags.entrySet()) {
+                    if (!hasTag(tag.getKey(), tag.getValue())) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private boolean hasTag(String tagName, String tagValue) {
+            for (Map.Entry<String, String> tag : this.tags.entrySet()) {
+                if (tag.getKey().equalsIgnoreCase(tagName)) {
+                    return tagValue == null || tagValue.equals(tag.getValue());
+                }
+            }
+            return false;
+        }
+
+        // A null criterion matches any value
+        private static boolean equalsIgnoreCase(String criterion, String value) {
+            return criterion == null || criterion.equalsIgnoreCase(value);
+        }
+
+        @Override
+        public String id() {
+            return this.id;
+        }
+
+        @Override
+        public String subscriptionId() {
+            return this.subscriptionId;
+        }
+
+        @Override
+        public String resourceGroupName() {
+            return this.resourceGroupName;
+        }
+
+        @Override
+        public String providerNamespace() {
+            return this.providerNamespace;
+        }
+
+        @Override
+        public String type() {
+            return this.type;
+        }
+
+        @Override
+        public String name() {
+            return this.name;
+        }
+
+        @Override
+        public String regionName() {
+            return this.regionName;
+        }
+
+        @Override
+        public Map<String, String> tags() {
+            return this.tags;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.microsoft.azure.management.resources.Tenants;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.ManagerBase;
+import com.microsoft.azure.management.resources.fluentcore.utils.LongRunningOperationPoller;
 
 /**
  * Entry point to Azure resource management.
@@ -29,6 +30,7 @@ public final class ResourceManager extends ManagerBase {
     private final ResourceManagementClientImpl resourceManagementClient;
     private final FeatureClientImpl featureClient;
     private final PolicyClientImpl policyClient;
+    private final LongRunningOperationPoller longRunningOperationPoller;
     // The collections
     private ResourceGroups resourceGroups;
     private GenericResources genericResources;
@@ -158,6 +160,16 @@ public final class ResourceManager extends ManagerBase {
         this.featureClient.withSubscriptionId(subscriptionId);
         this.policyClient = new PolicyClientImpl(restClient);
         this.policyClient.withSubscriptionId(subscriptionId);
+        this.longRunningOperationPoller = new LongRunningOperationPoller(resourceManagementClient.retrofit(),
+                resourceManagementClient.mapperAdapter(),
+                resourceManagementClient.getAzureClient());
+    }
+
+    /**
+     * @return the poller waiting for the long running operations started by the bulk operations of this manager
+     */
+    public LongRunningOperationPoller longRunningOperationPoller() {
+        return longRunningOperationPoller;
     }
 
     /**
@@ -188,6 +200,7 @@ public final class ResourceManager extends ManagerBase {
             deployments = new DeploymentsImpl(
                     resourceManagementClient.deployments(),
                     resourceManagementClient.deploymentOperations(),
+                    longRunningOperationPoller,
                     this);
         }
         return deployments;
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.implementation.ResourceManager;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Test class to test deploying a template to many resource groups, against a fake service.
+ */
+public class DeploymentFanOutTests {
+    private static final Pattern DEPLOYMENT_PATH = Pattern.compile(".*/resourcegroups/([^/]+)/providers/Microsoft.Resources/deployments/dep");
+    private static final Pattern OPERATION_PATH = Pattern.compile(".*/operations/([^/]+)");
+
+    private FakeService service;
+    private ResourceManager resourceManager;
+    private Deployments deployments;
+
+    @Before
+    public void setup() throws Exception {
+        service = new FakeService() {
+            @Override
+            protected Response respond(Request request) {
+                Matcher deployment = DEPLOYMENT_PATH.matcher(request.url().encodedPath());
+                if (deployment.matches()) {
+                    return response(request, 201, "{\"name\":\"dep\",\"properties\":{\"provisioningState\":\"Accepted\"}}",
+                            "Azure-AsyncOperation", BASE_URL + "operations/" + deployment.group(1), "Retry-After", "0");
+                }
+                Matcher operation = OPERATION_PATH.matcher(request.url().encodedPath());
+                Assert.assertTrue(request.url().encodedPath(), operation.matches());
+                // The deployments to resource groups named fail... fail
+                String status = operation.group(1).startsWith("fail") ? "Failed" : "Succeeded";
+                return response(request, 200, "{\"status\":\"" + status
+                        + "\",\"error\":{\"code\":\"Conflict\",\"message\":\"failed\"}}");
+            }
+        };
+        resourceManager = ResourceManager.authenticate(service.restClient()).withSubscription("sub");
+        deployments = resourceManager.deployments();
+    }
+
+    private Map<String, DeploymentTargetResult> deploy(Map<String, Object> parametersByGroup, int maxFailures) {
+        Map<String, DeploymentTargetResult> results = new HashMap<>();
+        for (DeploymentTargetResult result : deployments.deployAsync("dep", "{}", parametersByGroup,
+                DeploymentMode.INCREMENTAL, 1, maxFailures).toList().toBlocking().single()) {
+            results.put(result.resourceGroupName(), result);
+        }
+        return results;
+    }
+
+    private int deploymentPuts() {
+        int puts = 0;
+        for (Request request : service.requests()) {
+            if (request.method().equals("PUT")) {
+                puts++;
+            }
+        }
+        return puts;
+    }
+
+    @Test
+    public void canDeployToManyGroups() throws Exception {
+        Map<String, Object> parametersByGroup = new LinkedHashMap<>();
+        parametersByGroup.put("rg1", "{}");
+        parametersByGroup.put("fail1", "{}");
+        parametersByGroup.put("rg2", "{}");
+
+        Map<String, DeploymentTargetResult> results = deploy(parametersByGroup, 2);
+
+        Assert.assertEquals(3, results.size());
+        Assert.assertEquals(3, deploymentPuts());
+        Assert.assertTrue(results.get("rg1").isSucceeded());
+        Assert.assertNull(results.get("rg1").error());
+        Assert.assertTrue(results.get("rg2").isSucceeded());
+        Assert.assertFalse(results.get("fail1").isSucceeded());
+        Assert.assertEquals("Conflict: failed", results.get("fail1").error().getMessage());
+        // Each deployment is polled once, through the poller of the manager
+        Assert.assertEquals(3, resourceManager.longRunningOperationPoller().pollCount());
+        Assert.assertEquals(0, resourceManager.longRunningOperationPoller().activeOperationCount());
+        for (DeploymentTargetResult result : results.values()) {
+            Assert.assertEquals("dep", result.deploymentName());
+            Assert.assertNotNull(result.startTime());
+            Assert.assertNotNull(result.endTime());
+            Assert.assertFalse(result.endTime().isBefore(result.startTime()));
+        }
+    }
+
+    @Test
+    public void canReportGroupsNotAttemptedAfterFailures() throws Exception {
+        Map<String, Object> parametersByGroup = new LinkedHashMap<>();
+        parametersByGroup.put("fail1", "{}");
+        parametersByGroup.put("rg1", "{}");
+        parametersByGroup.put("rg2", "{}");
+
+        Map<String, DeploymentTargetResult> results = deploy(parametersByGroup, 1);
+
+        Assert.assertEquals(3, results.size());
+        // Only the failed deployment was started
+        Assert.assertEquals(1, deploymentPuts());
+        Assert.assertFalse(results.get("fail1").isSucceeded());
+        Assert.assertNotNull(results.get("fail1").startTime());
+        Assert.assertNotNull(results.get("fail1").endTime());
+        for (String resourceGroupName : new String[] {"rg1", "rg2"}) {
+            DeploymentTargetResult result = results.get(resourceGroupName);
+            Assert.assertFalse(result.isSucceeded());
+            Assert.assertTrue(result.error() instanceof CancellationException);
+            Assert.assertNull(result.startTime());
+            Assert.assertNull(result.endTime());
+        }
+    }
+}
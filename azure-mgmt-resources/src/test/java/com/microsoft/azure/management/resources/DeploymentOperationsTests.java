@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.implementation.ResourceManager;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Action1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class to test watching the operations of a deployment, against a fake service.
+ */
+public class DeploymentOperationsTests {
+    private static final String DEPLOYMENT_ID = "/subscriptions/sub/resourcegroups/rg/providers/Microsoft.Resources/deployments/dep";
+    private static final String OPERATIONS_URL = FakeService.BASE_URL + "subscriptions/sub/resourcegroups/rg/deployments/dep/operations";
+
+    // The deployment is running for its first four gets, then succeeded
+    private static final int RUNNING_PASSES = 4;
+    // The states of op2 and op1 at each pass; op2 is newer, so it is listed on the first page
+    private static final String[][] OPERATION_STATES = {
+        {"Running", "Running"},
+        {"Running", "Succeeded"},
+        {"Succeeded", "Succeeded"},
+        {"Succeeded", "Succeeded"},
+        {"Succeeded", "Succeeded"}
+    };
+
+    private final AtomicInteger deploymentGets = new AtomicInteger();
+    private final AtomicInteger secondPageGets = new AtomicInteger();
+    private Deployment deployment;
+
+    private static String operation(String operationId, String state) {
+        return "{\"id\":\"" + DEPLOYMENT_ID + "/operations/" + operationId + "\",\"operationId\":\"" + operationId
+                + "\",\"properties\":{\"provisioningState\":\"" + state + "\",\"timestamp\":\"2017-01-01T00:00:00Z\"}}";
+    }
+
+    @Before
+    public void setup() throws Exception {
+        FakeService service = new FakeService() {
+            @Override
+            protected Response respond(Request request) {
+                String path = request.url().encodedPath();
+                if (path.endsWith("/deployments/dep")) {
+                    String state = deploymentGets.incrementAndGet() <= RUNNING_PASSES ? "Running" : "Succeeded";
+                    return response(request, 200, "{\"id\":\"" + DEPLOYMENT_ID + "\",\"name\":\"dep\",\"properties\":{\"provisioningState\":\""
+                            + state + "\"}}");
+                }
+                String[] states = OPERATION_STATES[Math.max(0, deploymentGets.get() - 1)];
+                if (!path.endsWith("/page2")) {
+                    return response(request, 200, "{\"value\":[" + operation("op2", states[0]) + "],\"nextLink\":\""
+                            + OPERATIONS_URL + "/page2\"}");
+                }
+                secondPageGets.incrementAndGet();
+                return response(request, 200, "{\"value\":[" + operation("op1", states[1]) + "]}");
+            }
+        };
+        deployment = ResourceManager.authenticate(service.restClient()).withSubscription("sub")
+                .deployments().getByGroup("rg", "dep");
+        deploymentGets.set(0);
+    }
+
+    private List<String> watch() {
+        final List<String> changes = new ArrayList<>();
+        deployment.deploymentOperations().watchAsync(0, 0)
+                .doOnNext(new Action1<DeploymentOperation>() {
+                    @Override
+                    public void call(DeploymentOperation operation) {
+                        changes.add(operation.operationId() + " " + operation.provisioningState() + " at pass " + deploymentGets.get());
+                    }
+                })
+                .toBlocking().lastOrDefault(null);
+        return changes;
+    }
+
+    @Test
+    public void canSeeChangesPastUnchangedPages() throws Exception {
+        List<String> changes = watch();
+
+        // op1 finishing is seen at the second pass although the first page has not changed
+        Assert.assertEquals(Arrays.asList(
+                "op2 Running at pass 1",
+                "op1 Running at pass 1",
+                "op1 Succeeded at pass 2",
+                "op2 Succeeded at pass 3"), changes);
+        // The unchanged second page is only skipped at the fourth pass, once no operation is running
+        Assert.assertEquals(5, deploymentGets.get());
+        Assert.assertEquals(4, secondPageGets.get());
+    }
+
+    @Test
+    public void canWatchAgainFromScratch() throws Exception {
+        Observable<DeploymentOperation> watch = deployment.deploymentOperations().watchAsync(0, 0);
+
+        Assert.assertEquals(4, watch.toList().toBlocking().single().size());
+        deploymentGets.set(0);
+        Assert.assertEquals(4, watch.toList().toBlocking().single().size());
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A fake of the Azure services for tests, answering the requests of a client in place of the
+ * network. Tests implement {@link #respond(Request)} and inspect the requests received.
+ */
+public abstract class FakeService implements Interceptor {
+    /** The base URL of the clients of the fake service. */
+    public static final String BASE_URL = "https://management.azure.com/";
+
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+
+    /**
+     * Answers a request.
+     *
+     * @param request the request
+     * @return the response
+     * @throws IOException if the response cannot be built
+     */
+    protected abstract Response respond(Request request) throws IOException;
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        requests.add(chain.request());
+        return respond(chain.request());
+    }
+
+    /**
+     * @return the requests received so far, in order
+     */
+    public List<Request> requests() {
+        return requests;
+    }
+
+    /**
+     * @return a rest client whose requests are answered by this fake service
+     */
+    public RestClient restClient() {
+        return restClient(BASE_URL);
+    }
+
+    /**
+     * @param baseUrl the base URL of the client, such as the parameterized host of a data plane service
+     * @return a rest client whose requests are answered by this fake service
+     */
+    public RestClient restClient(String baseUrl) {
+        return new RestClient.Builder()
+                .withBaseUrl(baseUrl)
+                .withInterceptor(this)
+                .build();
+    }
+
+    /**
+     * @return a Retrofit instance whose requests are answered by this fake service
+     */
+    public Retrofit retrofit() {
+        return new Retrofit.Builder()
+                .baseUrl(BASE_URL)
+                .client(new OkHttpClient.Builder().addInterceptor(this).build())
+                .addCallAdapterFactory(RxJavaCallAdapterFactory.create())
+                .build();
+    }
+
+    /**
+     * Builds a JSON response.
+     *
+     * @param request the request answered
+     * @param code the status code
+     * @param body the JSON body
+     * @param headers the names and values of the headers, one after the other
+     * @return the response
+     */
+    public static Response response(Request request, int code, String body, String... headers) {
+        Response.Builder builder = new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .body(ResponseBody.create(MediaType.parse("application/json"), body));
+        for (int i = 0; i + 1 < headers.length; i += 2) {
+            builder.addHeader(headers[i], headers[i + 1]);
+        }
+        return builder.build();
+    }
+}
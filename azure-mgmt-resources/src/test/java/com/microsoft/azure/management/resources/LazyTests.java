@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.fluentcore.utils.Lazy;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class to test values created on first use.
+ */
+public class LazyTests {
+    @Test
+    public void canCreateValueOnceOnConcurrentFirstUse() throws Exception {
+        final AtomicInteger creations = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final Lazy<Object> lazy = new Lazy<Object>() {
+            @Override
+            protected Object create() {
+                creations.incrementAndGet();
+                return new Object();
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> values = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                values.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        start.await();
+                        return lazy.get();
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Object> value : values) {
+                Assert.assertSame(lazy.get(), value.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(1, creations.get());
+    }
+
+    @Test
+    public void canCreateValueAgainAfterNull() throws Exception {
+        final AtomicInteger creations = new AtomicInteger();
+        Lazy<String> lazy = new Lazy<String>() {
+            @Override
+            protected String create() {
+                return creations.incrementAndGet() < 2 ? null : "value";
+            }
+        };
+
+        Assert.assertNull(lazy.get());
+        Assert.assertEquals("value", lazy.get());
+        Assert.assertEquals("value", lazy.get());
+        Assert.assertEquals(2, creations.get());
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.CloudException;
+import com.microsoft.azure.management.resources.fluentcore.utils.LongRunningOperationPoller;
+import com.microsoft.azure.management.resources.implementation.ResourceManagementClientImpl;
+import okhttp3.Headers;
+import okhttp3.Request;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Response;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class to test LongRunningOperationPoller class.
+ */
+public class LongRunningOperationPollerTests {
+    private final AtomicInteger polls = new AtomicInteger();
+    private final String baseUrl = FakeService.BASE_URL;
+    private LongRunningOperationPoller poller;
+
+    @Before
+    public void setup() throws Exception {
+        FakeService service = new FakeService() {
+            @Override
+            protected okhttp3.Response respond(Request request) {
+                // Operations are in progress for their first two polls
+                String status = polls.incrementAndGet() % 3 != 0
+                        ? "InProgress"
+                        : request.url().encodedPath().endsWith("fail") ? "Failed" : "Succeeded";
+                return response(request, 200,
+                        "{\"status\":\"" + status + "\",\"error\":{\"code\":\"Conflict\",\"message\":\"failed\"}}",
+                        "Retry-After", "0");
+            }
+        };
+        ResourceManagementClientImpl client = new ResourceManagementClientImpl(service.restClient());
+        poller = new LongRunningOperationPoller(client.retrofit(), client.mapperAdapter(), client.getAzureClient());
+    }
+
+    private Response<Void> beginResponse(String header, String url) {
+        return Response.success(null, Headers.of(header, url, "Retry-After", "0"));
+    }
+
+    @Test
+    public void canWaitForAsyncOperation() throws Exception {
+        poller.waitAsync(beginResponse("Azure-AsyncOperation", baseUrl + "operations/ok")).toBlocking().single();
+
+        Assert.assertEquals(3, polls.get());
+        Assert.assertEquals(3, poller.pollCount());
+        Assert.assertEquals(0, poller.activeOperationCount());
+    }
+
+    @Test
+    public void canReportFailedAsyncOperation() throws Exception {
+        try {
+            poller.waitAsync(beginResponse("Azure-AsyncOperation", baseUrl + "operations/fail")).toBlocking().single();
+            Assert.fail();
+        } catch (CloudException e) {
+            Assert.assertEquals("Conflict: failed", e.getMessage());
+        }
+        Assert.assertEquals(3, poller.pollCount());
+        Assert.assertEquals(0, poller.activeOperationCount());
+    }
+
+    @Test
+    public void canCompleteWithoutPolling() throws Exception {
+        poller.waitAsync(Response.success(null)).toBlocking().single();
+
+        Assert.assertEquals(0, polls.get());
+        Assert.assertEquals(0, poller.pollCount());
+        Assert.assertEquals(0, poller.activeOperationCount());
+    }
+}
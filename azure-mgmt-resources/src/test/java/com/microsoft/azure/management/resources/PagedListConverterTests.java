@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
+import com.microsoft.azure.management.resources.implementation.PageImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class to test PagedListConverter class.
+ */
+public class PagedListConverterTests {
+    private final AtomicInteger conversions = new AtomicInteger();
+
+    private final PagedListConverter<String, StringBuilder> converter = new PagedListConverter<String, StringBuilder>() {
+        @Override
+        public StringBuilder typeConvert(String s) {
+            conversions.incrementAndGet();
+            return new StringBuilder(s);
+        }
+    };
+
+    private static PagedList<String> twoPages() {
+        final PageImpl<String> page1 = new PageImpl<>();
+        page1.setItems(Arrays.asList("a", "b", "c"));
+        page1.setNextPageLink("2");
+        final PageImpl<String> page2 = new PageImpl<>();
+        page2.setItems(Arrays.asList("d", "e"));
+        page2.setNextPageLink(null);
+        return new PagedList<String>(page1) {
+            @Override
+            public Page<String> nextPage(String nextPageLink) {
+                return page2;
+            }
+        };
+    }
+
+    @Test
+    public void itemsAreConvertedOnFirstAccessOnly() {
+        PagedList<StringBuilder> converted = converter.convert(twoPages());
+        Assert.assertEquals(0, conversions.get());
+
+        Assert.assertEquals(5, converted.size());
+        Assert.assertEquals(0, conversions.get());
+
+        StringBuilder d = converted.get(3);
+        Assert.assertEquals("d", d.toString());
+        Assert.assertSame(d, converted.get(3));
+        Assert.assertEquals(1, conversions.get());
+    }
+
+    @Test
+    public void iterationStopsConvertingAtFirstMatch() {
+        PagedList<StringBuilder> converted = converter.convert(twoPages());
+        StringBuilder match = null;
+        for (StringBuilder sb : converted) {
+            if (sb.toString().equals("b")) {
+                match = sb;
+                break;
+            }
+        }
+        Assert.assertNotNull(match);
+        Assert.assertEquals(2, conversions.get());
+        Assert.assertSame(match, converted.get(1));
+        Assert.assertEquals(2, conversions.get());
+    }
+
+    @Test
+    public void canIterateAllPages() {
+        PagedList<StringBuilder> converted = converter.convert(twoPages());
+        StringBuilder all = new StringBuilder();
+        for (StringBuilder sb : converted) {
+            all.append(sb);
+        }
+        Assert.assertEquals("abcde", all.toString());
+        Assert.assertEquals(5, conversions.get());
+        Assert.assertFalse(converted.hasNextPage());
+    }
+
+    @Test
+    public void nullConversionsAreRemembered() {
+        PagedList<StringBuilder> converted = new PagedListConverter<String, StringBuilder>() {
+            @Override
+            public StringBuilder typeConvert(String s) {
+                conversions.incrementAndGet();
+                return null;
+            }
+        }.convert(twoPages());
+
+        Assert.assertNull(converted.get(0));
+        Assert.assertNull(converted.get(0));
+        Assert.assertEquals(1, conversions.get());
+    }
+
+    @Test
+    public void pagesShareTheConvertedItems() {
+        PagedList<StringBuilder> converted = converter.convert(twoPages());
+        StringBuilder a = converted.get(0);
+
+        Assert.assertSame(a, converted.currentPage().getItems().get(0));
+        Assert.assertSame(converted.currentPage().getItems().get(1), converted.get(1));
+        Assert.assertEquals(2, conversions.get());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void convertedListIsReadOnly() {
+        converter.convert(twoPages()).add(new StringBuilder("f"));
+    }
+}
@@ -10,6 +10,8 @@ import com.microsoft.azure.management.resources.fluentcore.arm.ResourceId;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.security.InvalidParameterException;
+
 /**
  * Test class to test ResourceId class.
  */
@@ -75,4 +77,31 @@ public class ResourceIdTests {
         Assert.assertEquals(resourceId.parent().parent().resourceType(), "applicationGateways");
         Assert.assertEquals(resourceId.parent().parent().fullResourceType(), "Microsoft.Network/applicationGateways");
     }
+
+    @Test
+    public void ResourceIdIsSharedAcrossParses() {
+        String id = "/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/resourceGroupName/providers/Microsoft.Network/applicationGateways/something/someChildType/childName";
+        ResourceId resourceId = ResourceId.parseResourceId(id);
+        ResourceId otherId = ResourceId.parseResourceId(new String(id.replace("childName", "otherChild")));
+
+        Assert.assertSame(resourceId, ResourceId.parseResourceId(new String(id)));
+        Assert.assertSame(resourceId.resourceGroupName(), otherId.resourceGroupName());
+        Assert.assertSame(resourceId.resourceType(), otherId.resourceType());
+        Assert.assertEquals(resourceId.parent().id(), otherId.parent().id());
+    }
+
+    @Test
+    public void ResourceIdForResourceGroupWorksFine() {
+        ResourceId resourceId = ResourceId.parseResourceId("/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/resourceGroupName/");
+
+        Assert.assertEquals(resourceId.name(), "resourceGroupName");
+        Assert.assertEquals(resourceId.resourceGroupName(), "resourceGroupName");
+        Assert.assertNull(resourceId.providerNamespace());
+        Assert.assertNull(resourceId.parent());
+    }
+
+    @Test(expected = InvalidParameterException.class)
+    public void ResourceIdWithOddSegmentsIsRejected() {
+        ResourceId.parseResourceId("/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups");
+    }
 }
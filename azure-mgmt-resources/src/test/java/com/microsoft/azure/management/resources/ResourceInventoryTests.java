@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.implementation.ResourceManager;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test class to test the resource inventory.
+ */
+public class ResourceInventoryTests {
+    private static final String PREFIX = "/subscriptions/sub/resourceGroups/";
+
+    private String rg1Resources;
+    private GenericResources genericResources;
+
+    private static String resource(String group, String type, String name, String location, String tags) {
+        return "{\"id\":\"" + PREFIX + group + "/providers/" + type + "/" + name + "\",\"name\":\"" + name
+                + "\",\"type\":\"" + type + "\",\"location\":\"" + location + "\",\"tags\":" + tags + "}";
+    }
+
+    @Before
+    public void setup() throws Exception {
+        rg1Resources = resource("rg1", "Microsoft.Compute/virtualMachines", "vm1", "westus", "{\"env\":\"prod\",\"team\":\"a\"}")
+                + "," + resource("rg1", "Microsoft.Storage/storageAccounts", "sa1", "westus", "{\"env\":\"dev\"}");
+        final String rg2Resources = resource("rg2", "Microsoft.Compute/virtualMachines", "vm2", "eastus", "{\"env\":\"prod\"}");
+        FakeService service = new FakeService() {
+            @Override
+            protected Response respond(Request request) {
+                String path = request.url().encodedPath().toLowerCase();
+                String items = path.endsWith("/resourcegroups/rg1/resources") ? rg1Resources : rg1Resources + "," + rg2Resources;
+                return response(request, 200, "{\"value\":[" + items + "]}");
+            }
+        };
+        genericResources = ResourceManager.authenticate(service.restClient()).withSubscription("sub").genericResources();
+    }
+
+    @Test
+    public void canQueryLocally() throws Exception {
+        ResourceInventory inventory = genericResources.buildInventoryAsync().toBlocking().single();
+
+        Assert.assertEquals(3, inventory.size());
+        Assert.assertEquals(2, inventory.resourceGroupNames().size());
+        Assert.assertEquals(2, inventory.find(null, "microsoft.compute/virtualmachines", null, null).size());
+        Assert.assertEquals(1, inventory.find("RG1", null, "westus", Collections.singletonMap("env", "prod")).size());
+        Assert.assertEquals(2, inventory.find(null, null, null, Collections.singletonMap("ENV", "prod")).size());
+        Assert.assertEquals(3, inventory.find(null, null, null, Collections.<String, String>singletonMap("env", null)).size());
+        Assert.assertEquals(0, inventory.find(null, null, "northeurope", null).size());
+
+        ResourceInventoryEntry vm = inventory.getById(PREFIX + "RG1/providers/Microsoft.Compute/virtualMachines/vm1");
+        Assert.assertEquals("vm1", vm.name());
+        Assert.assertEquals("rg1", vm.resourceGroupName());
+        Assert.assertEquals("Microsoft.Compute", vm.providerNamespace());
+        Assert.assertEquals("a", vm.tags().get("team"));
+    }
+
+    @Test
+    public void canRefreshGroup() throws Exception {
+        ResourceInventory inventory = genericResources.buildInventoryAsync().toBlocking().single();
+        rg1Resources = resource("rg1", "Microsoft.Compute/virtualMachines", "vm1", "westus", "{\"env\":\"dev\"}");
+
+        inventory.refreshGroupAsync("rg1").toBlocking().single();
+
+        Assert.assertEquals(2, inventory.size());
+        Assert.assertEquals(1, inventory.find(null, null, null, Collections.singletonMap("env", "prod")).size());
+        Assert.assertNotNull(inventory.getById(PREFIX + "rg2/providers/Microsoft.Compute/virtualMachines/vm2"));
+    }
+
+    @Test
+    public void canWriteAndLoad() throws Exception {
+        ResourceInventory inventory = genericResources.buildInventoryAsync().toBlocking().single();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        inventory.writeTo(output);
+
+        ResourceInventory loaded = genericResources.loadInventory(new ByteArrayInputStream(output.toByteArray()));
+
+        Assert.assertEquals(3, loaded.size());
+        Map<String, String> tags = new HashMap<>();
+        tags.put("env", "prod");
+        tags.put("team", "a");
+        Assert.assertEquals(1, loaded.find(null, "Microsoft.Compute/virtualMachines", "westus", tags).size());
+    }
+
+    @Test
+    public void canWriteAndLoadNullValues() throws Exception {
+        rg1Resources = resource("rg1", "Microsoft.Compute/virtualMachines", "vm1", "westus", "{\"empty\":\"\",\"none\":null}");
+        ResourceInventory inventory = genericResources.buildInventoryAsync().toBlocking().single();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        inventory.writeTo(output);
+
+        ResourceInventory loaded = genericResources.loadInventory(new ByteArrayInputStream(output.toByteArray()));
+
+        Map<String, String> tags = loaded.getById(PREFIX + "rg1/providers/Microsoft.Compute/virtualMachines/vm1").tags();
+        Assert.assertEquals("", tags.get("empty"));
+        Assert.assertTrue(tags.containsKey("none"));
+        Assert.assertNull(tags.get("none"));
+    }
+}
@@ -28,6 +28,14 @@ public class ResourceUtilsTests {
         Assert.assertEquals("providers/provider1/bars/bar1", ResourceUtils.relativePathFromResourceId("subscriptions/123/resourceGroups/foo/providers/Microsoft.Bar/providers/provider1/bars/bar1"));
     }
 
+    @Test
+    public void canExtractFromId() throws Exception {
+        Assert.assertEquals("deployment1", ResourceUtils.extractFromResourceId("subscriptions/123/resourceGroups/foo/deployments/deployment1/operations/op1", "deployments"));
+        Assert.assertEquals("bar.1-x_y", ResourceUtils.extractFromResourceId("subscriptions/123/resourceGroups/foo/providers/Microsoft.Bar/bars/bar.1-x_y", "bars"));
+        Assert.assertEquals("foo", ResourceUtils.extractFromResourceId("subscriptions/123/resourceGroups/foo", "resourceGroups"));
+        Assert.assertNull(ResourceUtils.extractFromResourceId("subscriptions/123/resourceGroups/foo", "bars"));
+    }
+
     @Test
     public void canDownloadFile() throws Exception {
         Retrofit retrofit = new Retrofit.Builder().baseUrl("http://microsoft.com").addCallAdapterFactory(RxJavaCallAdapterFactory.create()).build();
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.CloudException;
+import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
+import com.microsoft.azure.management.resources.fluentcore.utils.StreamingPageDecoder;
+import com.microsoft.azure.management.resources.implementation.ResourceGroupInner;
+import com.microsoft.azure.serializer.AzureJacksonMapperAdapter;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.Assert;
+import org.junit.Test;
+import retrofit2.Retrofit;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class to test StreamingPageDecoder class.
+ */
+public class StreamingPageDecoderTests {
+    private final StreamingPageDecoder<ResourceGroupInner, String> decoder = decoderOf(new Retrofit.Builder()
+            .baseUrl(FakeService.BASE_URL)
+            .build());
+
+    private static StreamingPageDecoder<ResourceGroupInner, String> decoderOf(Retrofit retrofit) {
+        return new StreamingPageDecoder<>(
+                retrofit,
+                new AzureJacksonMapperAdapter(),
+                "en-US",
+                "test-agent",
+                ResourceGroupInner.class,
+                new PagedListConverter<ResourceGroupInner, String>() {
+                    @Override
+                    public String typeConvert(ResourceGroupInner inner) {
+                        return inner.name() + "@" + inner.location();
+                    }
+                });
+    }
+
+    // A decoder whose requests are answered with the given status code and body, and recorded
+    private static StreamingPageDecoder<ResourceGroupInner, String> decoderOf(final int code,
+                                                                           final String body,
+                                                                           final List<Request> requests) {
+        return decoderOf(new FakeService() {
+            @Override
+            protected Response respond(Request request) {
+                requests.add(request);
+                return response(request, code, body);
+            }
+        }.retrofit());
+    }
+
+    private StreamingPageDecoder<ResourceGroupInner, String>.PageIterator decode(String json) throws Exception {
+        return decoder.decodePage(new ByteArrayInputStream(json.getBytes(Charset.forName("UTF-8"))));
+    }
+
+    @Test
+    public void canDecodeItemsAndTrailingNextLink() throws Exception {
+        StreamingPageDecoder<ResourceGroupInner, String>.PageIterator page = decode(
+                "{\"value\":[{\"name\":\"rg1\",\"location\":\"westus\",\"properties\":{\"provisioningState\":\"Succeeded\"}},"
+                + "{\"name\":\"rg2\",\"location\":\"eastus\"}],\"nextLink\":\"https://next\"}");
+
+        Assert.assertTrue(page.hasNext());
+        Assert.assertEquals("rg1@westus", page.next());
+        Assert.assertEquals("rg2@eastus", page.next());
+        Assert.assertFalse(page.hasNext());
+        Assert.assertEquals("https://next", page.nextPageLink());
+    }
+
+    @Test
+    public void canDecodeLeadingNextLinkAndUnknownFields() throws Exception {
+        StreamingPageDecoder<ResourceGroupInner, String>.PageIterator page = decode(
+                "{\"odata.nextLink\":\"https://next\",\"other\":{\"value\":[1]},\"value\":[{\"name\":\"rg1\",\"location\":\"westus\"}]}");
+
+        Assert.assertEquals("https://next", page.nextPageLink());
+        Assert.assertEquals("rg1@westus", page.next());
+        Assert.assertFalse(page.hasNext());
+    }
+
+    @Test
+    public void canDecodeEmptyLastPage() throws Exception {
+        StreamingPageDecoder<ResourceGroupInner, String>.PageIterator page = decode("{\"value\":[],\"nextLink\":null}");
+
+        Assert.assertFalse(page.hasNext());
+        Assert.assertNull(page.nextPageLink());
+    }
+
+    @Test
+    public void canEncodeThePathAndSendTheClientHeaders() throws Exception {
+        List<Request> requests = new ArrayList<>();
+        List<String> items = decoderOf(200, "{\"value\":[{\"name\":\"rg1\",\"location\":\"westus\"}]}", requests)
+                .decodeAsync("2016-09-01", "subscriptions", "sub", "resourceGroups", "my group/1")
+                .toList().toBlocking().single();
+
+        Assert.assertEquals(1, items.size());
+        Assert.assertEquals(1, requests.size());
+        Request request = requests.get(0);
+        Assert.assertEquals("/subscriptions/sub/resourceGroups/my%20group%2F1", request.url().encodedPath());
+        Assert.assertEquals("2016-09-01", request.url().queryParameter("api-version"));
+        Assert.assertEquals("en-US", request.header("accept-language"));
+        Assert.assertEquals("test-agent", request.header("User-Agent"));
+    }
+
+    @Test
+    public void canDeserializeErrors() throws Exception {
+        List<Request> requests = new ArrayList<>();
+        try {
+            decoderOf(404, "{\"error\":{\"code\":\"ResourceGroupNotFound\",\"message\":\"Not found.\"}}", requests)
+                    .decodeAsync("2016-09-01", "subscriptions", "sub", "resourceGroups", "rg")
+                    .toBlocking().single();
+            Assert.fail();
+        } catch (CloudException e) {
+            Assert.assertEquals("ResourceGroupNotFound", e.getBody().getCode());
+            Assert.assertEquals("Not found.", e.getBody().getMessage());
+            Assert.assertEquals(404, e.getResponse().code());
+        }
+    }
+}
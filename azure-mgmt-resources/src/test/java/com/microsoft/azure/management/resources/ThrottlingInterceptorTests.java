@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.RestClient;
+import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
+import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
+import com.microsoft.azure.management.resources.fluentcore.utils.ThrottlingInterceptor;
+import okhttp3.Connection;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class to test ThrottlingInterceptor class.
+ */
+public class ThrottlingInterceptorTests {
+    private static final String SUBSCRIPTION_URL = "https://management.azure.com/subscriptions/sub1/resourceGroups?api-version=2016-09-01";
+
+    @Test
+    public void canPassThroughRequestsOutsideSubscriptions() throws Exception {
+        ThrottlingInterceptor interceptor = new ThrottlingInterceptor(1, 1);
+        FakeChain chain = new FakeChain("https://management.azure.com/tenants?api-version=2016-09-01",
+                response(200, "x-ms-ratelimit-remaining-subscription-reads", "0"),
+                response(200, "x-ms-ratelimit-remaining-subscription-reads", "0"));
+
+        long start = System.nanoTime();
+        Assert.assertEquals(200, interceptor.intercept(chain).code());
+        Assert.assertEquals(200, interceptor.intercept(chain).code());
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        Assert.assertEquals(2, chain.calls);
+    }
+
+    @Test
+    public void canRetryThrottledRequests() throws Exception {
+        ThrottlingInterceptor interceptor = new ThrottlingInterceptor(1000, 1000);
+        FakeChain chain = new FakeChain(SUBSCRIPTION_URL,
+                response(429, "Retry-After", "0"),
+                response(429, "Retry-After", "0"),
+                response(200, null, null));
+
+        Assert.assertEquals(200, interceptor.intercept(chain).code());
+        Assert.assertEquals(3, chain.calls);
+    }
+
+    @Test
+    public void canPaceRequestsWhenNoneRemain() throws Exception {
+        // 36000 reads per hour refill one read every 100 milliseconds
+        ThrottlingInterceptor interceptor = new ThrottlingInterceptor(36000, 36000);
+        FakeChain chain = new FakeChain(SUBSCRIPTION_URL,
+                response(200, "x-ms-ratelimit-remaining-subscription-reads", "0"),
+                response(200, null, null));
+
+        interceptor.intercept(chain);
+        long start = System.nanoTime();
+        interceptor.intercept(chain);
+        Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(80));
+        Assert.assertEquals(2, chain.calls);
+    }
+
+    @Test
+    public void canThrottleByDefaultAndReplaceTheLimits() {
+        TestConfigurable configurable = new TestConfigurable();
+        Assert.assertEquals(1, throttlingInterceptors(configurable.build()));
+        Assert.assertTrue(ThrottlingInterceptor.isInstalled(configurable.build()));
+
+        configurable.withThrottling(100, 10).withThrottling(200, 20);
+        Assert.assertEquals(1, throttlingInterceptors(configurable.build()));
+
+        configurable.withoutThrottling();
+        Assert.assertFalse(ThrottlingInterceptor.isInstalled(configurable.build()));
+    }
+
+    private static int throttlingInterceptors(RestClient restClient) {
+        int count = 0;
+        for (Interceptor interceptor : restClient.httpClient().interceptors()) {
+            if (interceptor instanceof ThrottlingInterceptor) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Response.Builder response(int code, String header, String value) {
+        Response.Builder builder = new Response.Builder()
+                .code(code)
+                .protocol(Protocol.HTTP_1_1)
+                .body(ResponseBody.create(MediaType.parse("application/json"), "{}"));
+        if (header != null) {
+            builder.header(header, value);
+        }
+        return builder;
+    }
+
+    private interface Configurable extends AzureConfigurable<Configurable> {
+    }
+
+    /**
+     * A configurable building REST clients without credentials.
+     */
+    private static final class TestConfigurable extends AzureConfigurableImpl<Configurable> implements Configurable {
+        RestClient build() {
+            return restClientBuilder.withBaseUrl("https://management.azure.com/").build();
+        }
+    }
+
+    /**
+     * A chain replying to each request with the next of the given responses.
+     */
+    private static final class FakeChain implements Interceptor.Chain {
+        private final Request request;
+        private final List<Response.Builder> responses;
+        private int calls;
+
+        FakeChain(String url, Response.Builder... responses) {
+            this.request = new Request.Builder().url(url).build();
+            this.responses = new ArrayList<>(Arrays.asList(responses));
+        }
+
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Override
+        public Response proceed(Request request) throws IOException {
+            return responses.get(calls++).request(request).build();
+        }
+
+        @Override
+        public Connection connection() {
+            return null;
+        }
+    }
+}
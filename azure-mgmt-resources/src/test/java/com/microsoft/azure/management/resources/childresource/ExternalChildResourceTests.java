@@ -1,5 +1,6 @@
 package com.microsoft.azure.management.resources.childresource;
 
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.ExternalChildResourceCollectionImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.ExternalChildResourceImpl;
 import org.junit.Assert;
 import org.junit.Test;
@@ -176,4 +177,27 @@ public class ExternalChildResourceTests {
                 });
         monitor.await();
     }
+
+    @Test
+    public void canCommitDeletesFirst() throws InterruptedException {
+        ChickenImpl chicken = new ChickenImpl(); // Parent resource
+        chicken
+            .defineNewPullet("alice")
+                .withAge(1)
+                .attach()
+            .updatePullet("Clover")
+                .withAge(2)
+                .parent()
+            .withoutPullet("Pinky");
+
+        PulletsImpl pullets = chicken.pullets();
+        pullets.withCommitOrder(ExternalChildResourceCollectionImpl.CommitOrder.DELETES_FIRST);
+        pullets.withCommitConcurrency(1);
+        List<PulletImpl> changedPullets = pullets.commitAndGetAllAsync().toBlocking().single();
+
+        Assert.assertEquals(3, changedPullets.size());
+        Assert.assertEquals("Pinky", changedPullets.get(0).name());
+        Assert.assertEquals(3, pullets.commitLatenciesInMillis().size());
+        Assert.assertTrue(pullets.commitLatenciesInMillis().get("alice") >= 1000);
+    }
 }
@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.sql;
+
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+import java.util.List;
+
+/**
+ * The outcome of bringing the firewall rules of one of many SQL servers in line with an allow list.
+ */
+@Fluent
+public interface SqlFirewallRuleSyncResult {
+    /**
+     * @return the resource ID of the SQL server
+     */
+    String sqlServerId();
+
+    /**
+     * @return the names of the firewall rules created for the ranges of the allow list the server was missing
+     */
+    List<String> createdFirewallRules();
+
+    /**
+     * @return the names of the firewall rules deleted because their range is not in the allow list
+     */
+    List<String> deletedFirewallRules();
+
+    /**
+     * @return the number of firewall rules already matching a range of the allow list
+     */
+    int unchangedFirewallRuleCount();
+
+    /**
+     * @return true if the firewall rules of the server match the allow list, false otherwise
+     */
+    boolean isSucceeded();
+
+    /**
+     * @return the reason the server could not be brought in line, null if it succeeded
+     */
+    Throwable error();
+}
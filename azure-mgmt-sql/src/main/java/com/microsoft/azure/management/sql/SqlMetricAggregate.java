@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.sql;
+
+import com.microsoft.azure.management.apigeneration.Fluent;
+import org.joda.time.DateTime;
+
+/**
+ * The aggregate of the samples of a metric collected over a period of time.
+ */
+@Fluent
+public interface SqlMetricAggregate {
+    /**
+     * @return the start of the period
+     */
+    DateTime startTime();
+
+    /**
+     * @return the number of samples in the period
+     */
+    int sampleCount();
+
+    /**
+     * @return the smallest sample in the period
+     */
+    double minimum();
+
+    /**
+     * @return the largest sample in the period
+     */
+    double maximum();
+
+    /**
+     * @return the average of the samples in the period
+     */
+    double average();
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.sql;
+
+import com.microsoft.azure.management.apigeneration.Fluent;
+import org.joda.time.DateTime;
+import rx.Observable;
+import rx.Subscription;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the usage metrics of SQL servers and databases, and the metrics of recommended elastic
+ * pools, keeping a fixed number of the latest samples of each metric of each resource.
+ * <p>
+ * Samples are kept as primitive values rather than as metric objects, and a sample is only
+ * recorded if it is newer than the latest sample of its metric.
+ */
+@Fluent
+public interface SqlMetricCollector {
+    /**
+     * Adds a SQL server whose usage metrics are collected.
+     *
+     * @param sqlServer the SQL server
+     * @return the collector
+     */
+    SqlMetricCollector withSqlServer(SqlServer sqlServer);
+
+    /**
+     * Adds a SQL database whose usage metrics are collected.
+     *
+     * @param database the SQL database
+     * @return the collector
+     */
+    SqlMetricCollector withDatabase(SqlDatabase database);
+
+    /**
+     * Adds a recommended elastic pool whose DTU and size metrics are collected.
+     *
+     * @param recommendedElasticPool the recommended elastic pool
+     * @return the collector
+     */
+    SqlMetricCollector withRecommendedElasticPool(RecommendedElasticPool recommendedElasticPool);
+
+    /**
+     * Polls the metrics of all the resources once.
+     *
+     * @return an observable emitting the number of samples recorded
+     */
+    Observable<Integer> collectAsync();
+
+    /**
+     * Polls the metrics of all the resources periodically, starting now. A poll due while the
+     * previous one is still running is skipped, and a poll that fails is counted in
+     * {@link #failedPollCount()} without stopping the polls after it.
+     *
+     * @param period the time between polls
+     * @param unit the unit of the period
+     * @return the subscription to unsubscribe from to stop polling
+     */
+    Subscription start(long period, TimeUnit unit);
+
+    /**
+     * @return the number of polls of a resource that failed
+     */
+    long failedPollCount();
+
+    /**
+     * @return the resource IDs of the resources with samples
+     */
+    Set<String> resourceIds();
+
+    /**
+     * @param resourceId the resource ID of a resource
+     * @return the names of the metrics of the resource with samples
+     */
+    Set<String> metricNames(String resourceId);
+
+    /**
+     * Aggregates the samples of a metric of a resource in a time range into periods of equal duration.
+     * Only the periods with samples are returned, so there are never more aggregates than samples
+     * kept, however long the time range.
+     *
+     * @param resourceId the resource ID of the resource
+     * @param metricName the name of the metric
+     * @param from the start of the time range
+     * @param to the end of the time range
+     * @param period the duration of each aggregate
+     * @param unit the unit of the duration
+     * @return the aggregates of the periods with samples, in time order
+     */
+    List<SqlMetricAggregate> downsample(String resourceId, String metricName, DateTime from, DateTime to, long period, TimeUnit unit);
+
+    /**
+     * Writes all the samples as CSV, with a resourceId,metric,timestamp,value header.
+     *
+     * @param writer the writer to write the samples to
+     * @throws IOException if the samples cannot be written
+     */
+    void exportCsv(Writer writer) throws IOException;
+}
@@ -15,6 +15,9 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import rx.Observable;
+
+import java.util.Collection;
 
 /**
  *  Entry point to SQL Server management API.
@@ -29,4 +32,33 @@ public interface SqlServers extends
         SupportsDeletingById,
         SupportsDeletingByGroup,
         SupportsBatchCreation<SqlServer> {
+    /**
+     * Brings the firewall rules of SQL servers in line with an allow list.
+     * <p>
+     * The allow list is collapsed into the fewest contiguous IP address ranges, and each server
+     * ends up with exactly one firewall rule per range: missing rules are created first, and rules
+     * for other ranges are deleted once they are, or in between when the server would otherwise go
+     * over its limit on the number of rules. The rule allowing access from Azure services is left
+     * as it is, and is the rule for 0.0.0.0 in the allow list.
+     *
+     * @param sqlServers the SQL servers
+     * @param allowList the IPv4 addresses (10.0.0.1), CIDR blocks (10.0.0.0/24) and ranges (10.0.0.1-10.0.0.9) to allow
+     * @param maxServerConcurrency the maximum number of servers brought in line at the same time
+     * @param maxRuleConcurrency the maximum number of firewall rules of a server written at the same time
+     * @return an observable emitting the outcome for each server as it completes
+     */
+    Observable<SqlFirewallRuleSyncResult> syncFirewallRulesAsync(
+            Collection<? extends SqlServer> sqlServers,
+            Collection<String> allowList,
+            int maxServerConcurrency,
+            int maxRuleConcurrency);
+
+    /**
+     * Creates a collector of the metrics of SQL servers, databases and recommended elastic pools.
+     *
+     * @param samplesPerSeries the number of latest samples kept for each metric of each resource
+     * @param maxConcurrency the maximum number of resources polled at the same time
+     * @return the collector, with no resources to poll yet
+     */
+    SqlMetricCollector newMetricCollector(int samplesPerSeries, int maxConcurrency);
 }
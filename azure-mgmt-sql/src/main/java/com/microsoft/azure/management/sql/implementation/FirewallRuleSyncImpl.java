@@ -0,0 +1,246 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.sql.implementation;
+
+import com.microsoft.azure.management.sql.SqlFirewallRuleSyncResult;
+import com.microsoft.azure.management.sql.SqlServer;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brings the firewall rules of SQL servers in line with an allow list of IP addresses,
+ * CIDR blocks and address ranges.
+ * <p>
+ * The allow list is collapsed into the fewest contiguous ranges, each server gets one rule
+ * per range, and only the missing rules are created and the rules for other ranges deleted.
+ * The missing rules are created first, and the obsolete rules are only deleted once they all
+ * are, so a server never loses access it is meant to keep; when the server would go over its
+ * limit on the number of rules, just enough obsolete rules are deleted between batches of
+ * creates. The rule allowing access from Azure services, from 0.0.0.0 to 0.0.0.0, is left as
+ * it is, and stands for 0.0.0.0 in the allow list.
+ */
+final class FirewallRuleSyncImpl {
+    // The maximum number of firewall rules of a SQL server
+    static final int MAX_FIREWALL_RULES = 128;
+    private static final String AZURE_SERVICES_IP_ADDRESS = "0.0.0.0";
+    private static final String AZURE_SERVICES_RANGE = AZURE_SERVICES_IP_ADDRESS + "-" + AZURE_SERVICES_IP_ADDRESS;
+    private static final String AZURE_SERVICES_RULE_NAME = "AllowAllWindowsAzureIps";
+    private static final String RULE_NAME_PREFIX = "allow_";
+
+    private final ServersInner client;
+
+    FirewallRuleSyncImpl(ServersInner client) {
+        this.client = client;
+    }
+
+    Observable<SqlFirewallRuleSyncResult> syncAsync(Collection<? extends SqlServer> sqlServers,
+                                                    Collection<String> allowList,
+                                                    int maxServerConcurrency,
+                                                    final int maxRuleConcurrency) {
+        final IpRangeSet ranges = new IpRangeSet();
+        for (String entry : allowList) {
+            ranges.add(entry);
+        }
+        return Observable.from(new ArrayList<SqlServer>(sqlServers))
+                .flatMap(new Func1<SqlServer, Observable<SqlFirewallRuleSyncResult>>() {
+                    @Override
+                    public Observable<SqlFirewallRuleSyncResult> call(SqlServer sqlServer) {
+                        return syncServerAsync(sqlServer, ranges, maxRuleConcurrency);
+                    }
+                }, Math.max(1, maxServerConcurrency));
+    }
+
+    private Observable<SqlFirewallRuleSyncResult> syncServerAsync(final SqlServer sqlServer,
+                                                                  final IpRangeSet ranges,
+                                                                  final int maxRuleConcurrency) {
+        final SyncResultImpl result = new SyncResultImpl(sqlServer.id());
+        return client.listFirewallRulesAsync(sqlServer.resourceGroupName(), sqlServer.name())
+                .subscribeOn(Schedulers.io())
+                .flatMap(new Func1<List<ServerFirewallRuleInner>, Observable<Void>>() {
+                    @Override
+                    public Observable<Void> call(List<ServerFirewallRuleInner> rules) {
+                        // The name of the rule for each range of the allow list, by range
+                        Map<String, String> missing = new LinkedHashMap<>();
+                        for (int i = 0; i < ranges.size(); i++) {
+                            String start = ranges.startIpAddress(i);
+                            String end = ranges.endIpAddress(i);
+                            String range = start + "-" + end;
+                            missing.put(range, range.equals(AZURE_SERVICES_RANGE)
+                                    ? AZURE_SERVICES_RULE_NAME
+                                    : RULE_NAME_PREFIX + start.replace('.', '_') + "_" + end.replace('.', '_'));
+                        }
+                        int keptCount = 0;
+                        List<Observable<Void>> deletes = new ArrayList<>();
+                        for (ServerFirewallRuleInner rule : rules) {
+                            String range = rangeOf(rule);
+                            // Each range keeps a single rule, any other rule for it is deleted
+                            if (missing.remove(range) != null) {
+                                result.unchangedCount++;
+                                keptCount++;
+                            } else if (AZURE_SERVICES_RANGE.equals(range)) {
+                                keptCount++;
+                            } else {
+                                deletes.add(deleteAsync(sqlServer, rule.name(), result.deleted));
+                            }
+                        }
+                        if (keptCount + missing.size() > MAX_FIREWALL_RULES) {
+                            return Observable.error(new IllegalArgumentException("The allow list needs "
+                                    + (keptCount + missing.size()) + " firewall rules, more than the "
+                                    + MAX_FIREWALL_RULES + " a server can have"));
+                        }
+                        List<Observable<Void>> creates = new ArrayList<>();
+                        for (Map.Entry<String, String> range : missing.entrySet()) {
+                            int dash = range.getKey().indexOf('-');
+                            creates.add(createAsync(sqlServer, range.getValue(),
+                                    range.getKey().substring(0, dash), range.getKey().substring(dash + 1), result.created));
+                        }
+                        return Observable.concat(Observable.from(
+                                batches(creates, deletes, MAX_FIREWALL_RULES - rules.size(), Math.max(1, maxRuleConcurrency))));
+                    }
+                })
+                .toList()
+                .map(new Func1<List<Void>, SqlFirewallRuleSyncResult>() {
+                    @Override
+                    public SqlFirewallRuleSyncResult call(List<Void> voids) {
+                        return result;
+                    }
+                })
+                .onErrorReturn(new Func1<Throwable, SqlFirewallRuleSyncResult>() {
+                    @Override
+                    public SqlFirewallRuleSyncResult call(Throwable throwable) {
+                        result.error = throwable;
+                        return result;
+                    }
+                });
+    }
+
+    // Creates the rules in batches that fit under the limit of the server, deleting between batches just
+    // enough obsolete rules to make room for the next one, and the other obsolete rules once all are created
+    private static List<Observable<Void>> batches(List<Observable<Void>> creates,
+                                                  List<Observable<Void>> deletes,
+                                                  int freeCount,
+                                                  int maxRuleConcurrency) {
+        List<Observable<Void>> batches = new ArrayList<>();
+        int free = freeCount;
+        int createCount = 0;
+        int deleteCount = 0;
+        while (createCount < creates.size()) {
+            if (free <= 0) {
+                int count = Math.min(creates.size() - createCount - free, deletes.size() - deleteCount);
+                batches.add(Observable.merge(deletes.subList(deleteCount, deleteCount + count), maxRuleConcurrency));
+                deleteCount += count;
+                free += count;
+            }
+            int count = Math.min(free, creates.size() - createCount);
+            batches.add(Observable.merge(creates.subList(createCount, createCount + count), maxRuleConcurrency));
+            createCount += count;
+            free -= count;
+        }
+        batches.add(Observable.merge(deletes.subList(deleteCount, deletes.size()), maxRuleConcurrency));
+        return batches;
+    }
+
+    private Observable<Void> createAsync(SqlServer sqlServer,
+                                         final String ruleName,
+                                         String startIpAddress,
+                                         String endIpAddress,
+                                         final List<String> created) {
+        ServerFirewallRuleInner rule = new ServerFirewallRuleInner()
+                .withStartIpAddress(startIpAddress)
+                .withEndIpAddress(endIpAddress);
+        return client.createOrUpdateFirewallRuleAsync(sqlServer.resourceGroupName(), sqlServer.name(), ruleName, rule)
+                .subscribeOn(Schedulers.io())
+                .map(new Func1<ServerFirewallRuleInner, Void>() {
+                    @Override
+                    public Void call(ServerFirewallRuleInner serverFirewallRuleInner) {
+                        return null;
+                    }
+                })
+                .doOnCompleted(new Action0() {
+                    @Override
+                    public void call() {
+                        created.add(ruleName);
+                    }
+                });
+    }
+
+    private Observable<Void> deleteAsync(SqlServer sqlServer, final String ruleName, final List<String> deleted) {
+        return client.deleteFirewallRuleAsync(sqlServer.resourceGroupName(), sqlServer.name(), ruleName)
+                .subscribeOn(Schedulers.io())
+                .doOnCompleted(new Action0() {
+                    @Override
+                    public void call() {
+                        deleted.add(ruleName);
+                    }
+                });
+    }
+
+    // The range of a rule in the same form as the ranges of the allow list, null if it is not valid
+    private static String rangeOf(ServerFirewallRuleInner rule) {
+        IpRangeSet range = new IpRangeSet();
+        try {
+            range.add(rule.startIpAddress() + "-" + rule.endIpAddress());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+        return range.startIpAddress(0) + "-" + range.endIpAddress(0);
+    }
+
+    /**
+     * The implementation of {@link SqlFirewallRuleSyncResult}.
+     */
+    private static final class SyncResultImpl implements SqlFirewallRuleSyncResult {
+        private final String sqlServerId;
+        private final List<String> created = Collections.synchronizedList(new ArrayList<String>());
+        private final List<String> deleted = Collections.synchronizedList(new ArrayList<String>());
+        private int unchangedCount;
+        private Throwable error;
+
+        SyncResultImpl(String sqlServerId) {
+            this.sqlServerId = sqlServerId;
+        }
+
+        @Override
+        public String sqlServerId() {
+            return this.sqlServerId;
+        }
+
+        @Override
+        public List<String> createdFirewallRules() {
+            return Collections.unmodifiableList(new ArrayList<>(this.created));
+        }
+
+        @Override
+        public List<String> deletedFirewallRules() {
+            return Collections.unmodifiableList(new ArrayList<>(this.deleted));
+        }
+
+        @Override
+        public int unchangedFirewallRuleCount() {
+            return this.unchangedCount;
+        }
+
+        @Override
+        public boolean isSucceeded() {
+            return this.error == null;
+        }
+
+        @Override
+        public Throwable error() {
+            return this.error;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.sql.implementation;
+
+import java.util.Arrays;
+
+/**
+ * A set of IPv4 addresses built from single addresses, CIDR blocks and address ranges, and
+ * collapsed into the fewest contiguous ranges.
+ * <p>
+ * Each range is packed into a single long, its start in the high 32 bits and its end in the low
+ * 32 bits, so merging thousands of entries only sorts an array of primitives once.
+ */
+final class IpRangeSet {
+    private long[] ranges = new long[16];
+    private int size;
+    private boolean merged = true;
+
+    /**
+     * Adds an entry to the set.
+     *
+     * @param entry an IPv4 address (10.0.0.1), CIDR block (10.0.0.0/24) or range (10.0.0.1-10.0.0.9)
+     */
+    void add(String entry) {
+        String value = entry.trim();
+        long start;
+        long end;
+        int slash = value.indexOf('/');
+        int dash = value.indexOf('-');
+        if (slash >= 0) {
+            int prefixLength = parsePrefixLength(value.substring(slash + 1), entry);
+            long mask = prefixLength == 0 ? 0 : (0xFFFFFFFFL << (32 - prefixLength)) & 0xFFFFFFFFL;
+            start = toLong(value.substring(0, slash), entry) & mask;
+            end = start | (~mask & 0xFFFFFFFFL);
+        } else if (dash >= 0) {
+            start = toLong(value.substring(0, dash), entry);
+            end = toLong(value.substring(dash + 1), entry);
+            if (end < start) {
+                throw new IllegalArgumentException("Invalid IP address range " + entry);
+            }
+        } else {
+            start = toLong(value, entry);
+            end = start;
+        }
+        if (size == ranges.length) {
+            ranges = Arrays.copyOf(ranges, size * 2);
+        }
+        ranges[size++] = pack(start, end);
+        merged = false;
+    }
+
+    /**
+     * @return the number of contiguous ranges in the set
+     */
+    int size() {
+        merge();
+        return size;
+    }
+
+    /**
+     * @param index the index of a range, ranges being sorted by start address
+     * @return the first address of the range, in dotted notation
+     */
+    String startIpAddress(int index) {
+        merge();
+        return toIpAddress(unpack(ranges[index]) >>> 32);
+    }
+
+    /**
+     * @param index the index of a range, ranges being sorted by start address
+     * @return the last address of the range, in dotted notation
+     */
+    String endIpAddress(int index) {
+        merge();
+        return toIpAddress(unpack(ranges[index]) & 0xFFFFFFFFL);
+    }
+
+    // Sorts the ranges by start, then sweeps them once joining overlapping and adjacent ranges
+    private void merge() {
+        if (merged) {
+            return;
+        }
+        Arrays.sort(ranges, 0, size);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            long range = unpack(ranges[i]);
+            long start = range >>> 32;
+            long end = range & 0xFFFFFFFFL;
+            if (count > 0) {
+                long last = unpack(ranges[count - 1]);
+                long lastEnd = last & 0xFFFFFFFFL;
+                if (start <= lastEnd + 1) {
+                    ranges[count - 1] = pack(last >>> 32, Math.max(lastEnd, end));
+                    continue;
+                }
+            }
+            ranges[count++] = pack(start, end);
+        }
+        size = count;
+        merged = true;
+    }
+
+    // Flips the sign bit so the packed ranges sort as unsigned values
+    private static long pack(long start, long end) {
+        return ((start << 32) | end) ^ Long.MIN_VALUE;
+    }
+
+    private static long unpack(long range) {
+        return range ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Converts an IPv4 address in dotted notation to its numeric value.
+     *
+     * @param ipAddress the address
+     * @param entry the entry the address comes from, for error messages
+     * @return the value of the address
+     */
+    static long toLong(String ipAddress, String entry) {
+        long value = 0;
+        int octets = 0;
+        int octet = -1;
+        String address = ipAddress.trim();
+        for (int i = 0; i <= address.length(); i++) {
+            char c = i < address.length() ? address.charAt(i) : '.';
+            if (c == '.') {
+                if (octet < 0 || octet > 255 || ++octets > 4) {
+                    throw new IllegalArgumentException("Invalid IP address " + entry);
+                }
+                value = (value << 8) | octet;
+                octet = -1;
+            } else if (c >= '0' && c <= '9') {
+                octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+                if (octet > 255) {
+                    throw new IllegalArgumentException("Invalid IP address " + entry);
+                }
+            } else {
+                throw new IllegalArgumentException("Invalid IP address " + entry);
+            }
+        }
+        if (octets != 4) {
+            throw new IllegalArgumentException("Invalid IP address " + entry);
+        }
+        return value;
+    }
+
+    private static int parsePrefixLength(String prefixLength, String entry) {
+        try {
+            int value = Integer.parseInt(prefixLength.trim());
+            if (value >= 0 && value <= 32) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid CIDR block " + entry);
+    }
+
+    private static String toIpAddress(long value) {
+        return ((value >>> 24) & 0xFF) + "." + ((value >>> 16) & 0xFF) + "." + ((value >>> 8) & 0xFF) + "." + (value & 0xFF);
+    }
+}
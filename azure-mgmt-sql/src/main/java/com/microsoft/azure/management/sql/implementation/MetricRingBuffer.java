@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.sql.implementation;
+
+/**
+ * A fixed size time series of metric samples, kept in primitive arrays and overwriting its oldest
+ * samples once full.
+ */
+final class MetricRingBuffer {
+    private final long[] timestamps;
+    private final double[] values;
+    // The index the next sample is written at
+    private int next;
+    private int count;
+
+    MetricRingBuffer(int capacity) {
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity];
+    }
+
+    /**
+     * Adds a sample, unless it is not newer than the latest sample, as happens when polling
+     * returns a sample already recorded.
+     *
+     * @param timestamp the time of the sample, in milliseconds since the epoch
+     * @param value the value of the sample
+     * @return true if the sample was added, false otherwise
+     */
+    synchronized boolean add(long timestamp, double value) {
+        if (count > 0 && timestamp <= timestamps[(next + timestamps.length - 1) % timestamps.length]) {
+            return false;
+        }
+        timestamps[next] = timestamp;
+        values[next] = value;
+        next = (next + 1) % timestamps.length;
+        if (count < timestamps.length) {
+            count++;
+        }
+        return true;
+    }
+
+    /**
+     * Aggregates the samples in a time range into buckets of equal duration. Only the buckets
+     * with samples are returned, so they fit in arrays of {@link #capacity()} elements whatever
+     * the number of buckets in the range.
+     *
+     * @param from the start of the range, inclusive, in milliseconds since the epoch
+     * @param bucketMillis the duration of a bucket, in milliseconds
+     * @param bucketCount the number of buckets in the range
+     * @param buckets receives the index in the range of each bucket with samples, in time order
+     * @param min receives the minimum of each bucket
+     * @param max receives the maximum of each bucket
+     * @param sum receives the sum of each bucket
+     * @param counts receives the number of samples in each bucket
+     * @return the number of buckets with samples
+     */
+    synchronized int downsample(long from,
+                                long bucketMillis,
+                                long bucketCount,
+                                long[] buckets,
+                                double[] min,
+                                double[] max,
+                                double[] sum,
+                                int[] counts) {
+        int first = (next + timestamps.length - count) % timestamps.length;
+        int b = -1;
+        for (int i = 0; i < count; i++) {
+            int index = (first + i) % timestamps.length;
+            long offset = timestamps[index] - from;
+            if (offset < 0) {
+                continue;
+            }
+            long bucket = offset / bucketMillis;
+            if (bucket >= bucketCount) {
+                // Samples are in time order, none of the rest is in range
+                break;
+            }
+            double value = values[index];
+            if (b < 0 || buckets[b] != bucket) {
+                b++;
+                buckets[b] = bucket;
+                min[b] = value;
+                max[b] = value;
+                sum[b] = 0;
+                counts[b] = 0;
+            }
+            min[b] = Math.min(min[b], value);
+            max[b] = Math.max(max[b], value);
+            sum[b] += value;
+            counts[b]++;
+        }
+        return b + 1;
+    }
+
+    /**
+     * Copies the samples, oldest first.
+     *
+     * @param timestampsCopy receives the time of each sample, must hold at least {@link #capacity()} samples
+     * @param valuesCopy receives the value of each sample, must hold at least {@link #capacity()} samples
+     * @return the number of samples copied
+     */
+    synchronized int copyTo(long[] timestampsCopy, double[] valuesCopy) {
+        int first = (next + timestamps.length - count) % timestamps.length;
+        for (int i = 0; i < count; i++) {
+            int index = (first + i) % timestamps.length;
+            timestampsCopy[i] = timestamps[index];
+            valuesCopy[i] = values[index];
+        }
+        return count;
+    }
+
+    /**
+     * @return the maximum number of samples kept
+     */
+    int capacity() {
+        return timestamps.length;
+    }
+}
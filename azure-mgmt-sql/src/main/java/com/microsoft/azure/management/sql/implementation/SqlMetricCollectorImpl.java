@@ -0,0 +1,358 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.sql.implementation;
+
+import com.microsoft.azure.management.sql.RecommendedElasticPool;
+import com.microsoft.azure.management.sql.SqlDatabase;
+import com.microsoft.azure.management.sql.SqlMetricAggregate;
+import com.microsoft.azure.management.sql.SqlMetricCollector;
+import com.microsoft.azure.management.sql.SqlServer;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import rx.Observable;
+import rx.Subscription;
+import rx.functions.Action1;
+import rx.functions.Func1;
+import rx.functions.Func2;
+import rx.schedulers.Schedulers;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The implementation of {@link SqlMetricCollector}.
+ */
+class SqlMetricCollectorImpl implements SqlMetricCollector {
+    private static final String DTU_METRIC = "dtu";
+    private static final String SIZE_METRIC = "sizeGB";
+
+    private final ServersInner serversInner;
+    private final DatabasesInner databasesInner;
+    private final RecommendedElasticPoolsInner recommendedElasticPoolsInner;
+    private final int samplesPerSeries;
+    private final int maxConcurrency;
+    private final List<Target> targets = new CopyOnWriteArrayList<>();
+    // The samples of each metric, by resource ID then metric name
+    private final ConcurrentMap<String, ConcurrentMap<String, MetricRingBuffer>> series = new ConcurrentHashMap<>();
+    private final AtomicLong failedPolls = new AtomicLong();
+
+    SqlMetricCollectorImpl(ServersInner serversInner,
+                           DatabasesInner databasesInner,
+                           RecommendedElasticPoolsInner recommendedElasticPoolsInner,
+                           int samplesPerSeries,
+                           int maxConcurrency) {
+        if (samplesPerSeries < 1) {
+            throw new IllegalArgumentException("samplesPerSeries must be at least 1");
+        }
+        this.serversInner = serversInner;
+        this.databasesInner = databasesInner;
+        this.recommendedElasticPoolsInner = recommendedElasticPoolsInner;
+        this.samplesPerSeries = samplesPerSeries;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    @Override
+    public SqlMetricCollectorImpl withSqlServer(SqlServer sqlServer) {
+        targets.add(new Target(TargetKind.SERVER, sqlServer.id(), sqlServer.resourceGroupName(), sqlServer.name(), null));
+        return this;
+    }
+
+    @Override
+    public SqlMetricCollectorImpl withDatabase(SqlDatabase database) {
+        targets.add(new Target(TargetKind.DATABASE, database.id(), database.resourceGroupName(),
+                database.sqlServerName(), database.name()));
+        return this;
+    }
+
+    @Override
+    public SqlMetricCollectorImpl withRecommendedElasticPool(RecommendedElasticPool recommendedElasticPool) {
+        targets.add(new Target(TargetKind.RECOMMENDED_ELASTIC_POOL, recommendedElasticPool.id(),
+                recommendedElasticPool.resourceGroupName(), recommendedElasticPool.sqlServerName(), recommendedElasticPool.name()));
+        return this;
+    }
+
+    @Override
+    public Observable<Integer> collectAsync() {
+        return Observable.from(new ArrayList<>(targets))
+                .flatMap(new Func1<Target, Observable<Integer>>() {
+                    @Override
+                    public Observable<Integer> call(Target target) {
+                        return pollAsync(target)
+                                .subscribeOn(Schedulers.io())
+                                .onErrorResumeNext(new Func1<Throwable, Observable<Integer>>() {
+                                    @Override
+                                    public Observable<Integer> call(Throwable throwable) {
+                                        // The resource is polled again on the next pass
+                                        failedPolls.incrementAndGet();
+                                        return Observable.just(0);
+                                    }
+                                });
+                    }
+                }, maxConcurrency)
+                .reduce(0, new Func2<Integer, Integer, Integer>() {
+                    @Override
+                    public Integer call(Integer total, Integer recorded) {
+                        return total + recorded;
+                    }
+                });
+    }
+
+    private Observable<Integer> pollAsync(final Target target) {
+        final long now = System.currentTimeMillis();
+        switch (target.kind) {
+            case SERVER:
+                return serversInner.listUsagesAsync(target.resourceGroupName, target.serverName)
+                        .map(new Func1<List<ServerMetricInner>, Integer>() {
+                            @Override
+                            public Integer call(List<ServerMetricInner> metrics) {
+                                int recorded = 0;
+                                for (ServerMetricInner metric : metrics) {
+                                    recorded += record(target.id, metric.displayName(), now, metric.currentValue());
+                                }
+                                return recorded;
+                            }
+                        });
+            case DATABASE:
+                return databasesInner.listUsagesAsync(target.resourceGroupName, target.serverName, target.name)
+                        .map(new Func1<List<DatabaseMetricInner>, Integer>() {
+                            @Override
+                            public Integer call(List<DatabaseMetricInner> metrics) {
+                                int recorded = 0;
+                                for (DatabaseMetricInner metric : metrics) {
+                                    recorded += record(target.id, metric.displayName(), now, metric.currentValue());
+                                }
+                                return recorded;
+                            }
+                        });
+            default:
+                return recommendedElasticPoolsInner.listMetricsAsync(target.resourceGroupName, target.serverName, target.name)
+                        .map(new Func1<List<RecommendedElasticPoolMetricInner>, Integer>() {
+                            @Override
+                            public Integer call(List<RecommendedElasticPoolMetricInner> metrics) {
+                                int recorded = 0;
+                                for (RecommendedElasticPoolMetricInner metric : metrics) {
+                                    long timestamp = metric.dateTimeProperty() == null ? now : metric.dateTimeProperty().getMillis();
+                                    recorded += record(target.id, DTU_METRIC, timestamp, metric.dtu());
+                                    recorded += record(target.id, SIZE_METRIC, timestamp, metric.sizeGB());
+                                }
+                                return recorded;
+                            }
+                        });
+        }
+    }
+
+    private int record(String resourceId, String metricName, long timestamp, Double value) {
+        if (metricName == null || value == null) {
+            return 0;
+        }
+        ConcurrentMap<String, MetricRingBuffer> metrics = series.get(resourceId);
+        if (metrics == null) {
+            series.putIfAbsent(resourceId, new ConcurrentHashMap<String, MetricRingBuffer>());
+            metrics = series.get(resourceId);
+        }
+        MetricRingBuffer samples = metrics.get(metricName);
+        if (samples == null) {
+            metrics.putIfAbsent(metricName, new MetricRingBuffer(samplesPerSeries));
+            samples = metrics.get(metricName);
+        }
+        return samples.add(timestamp, value) ? 1 : 0;
+    }
+
+    @Override
+    public Subscription start(long period, TimeUnit unit) {
+        // Polls are requested one at a time, so ticks due while a poll is running are dropped
+        return Observable.interval(0, period, unit)
+                .onBackpressureDrop()
+                .flatMap(new Func1<Long, Observable<Integer>>() {
+                    @Override
+                    public Observable<Integer> call(Long tick) {
+                        return collectAsync()
+                                .onErrorResumeNext(new Func1<Throwable, Observable<Integer>>() {
+                                    @Override
+                                    public Observable<Integer> call(Throwable throwable) {
+                                        // Polling goes on with the next tick
+                                        failedPolls.incrementAndGet();
+                                        return Observable.empty();
+                                    }
+                                });
+                    }
+                }, 1)
+                .subscribe(new Action1<Integer>() {
+                    @Override
+                    public void call(Integer recorded) {
+                        // The samples are recorded by the polls
+                    }
+                }, new Action1<Throwable>() {
+                    @Override
+                    public void call(Throwable throwable) {
+                        failedPolls.incrementAndGet();
+                    }
+                });
+    }
+
+    @Override
+    public long failedPollCount() {
+        return failedPolls.get();
+    }
+
+    @Override
+    public Set<String> resourceIds() {
+        return Collections.unmodifiableSet(new TreeSet<>(series.keySet()));
+    }
+
+    @Override
+    public Set<String> metricNames(String resourceId) {
+        Map<String, MetricRingBuffer> metrics = series.get(resourceId);
+        if (metrics == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(new TreeSet<>(metrics.keySet()));
+    }
+
+    @Override
+    public List<SqlMetricAggregate> downsample(String resourceId,
+                                               String metricName,
+                                               DateTime from,
+                                               DateTime to,
+                                               long period,
+                                               TimeUnit unit) {
+        long bucketMillis = unit.toMillis(period);
+        if (bucketMillis < 1) {
+            throw new IllegalArgumentException("The period must be at least one millisecond");
+        }
+        List<SqlMetricAggregate> aggregates = new ArrayList<>();
+        Map<String, MetricRingBuffer> metrics = series.get(resourceId);
+        MetricRingBuffer samples = metrics == null ? null : metrics.get(metricName);
+        long start = from.getMillis();
+        long span = to.getMillis() - start;
+        if (samples == null || span <= 0) {
+            return aggregates;
+        }
+        // There are no more buckets with samples than samples, whatever the length of the range
+        long bucketCount = (span - 1) / bucketMillis + 1;
+        long[] buckets = new long[samplesPerSeries];
+        double[] min = new double[samplesPerSeries];
+        double[] max = new double[samplesPerSeries];
+        double[] sum = new double[samplesPerSeries];
+        int[] counts = new int[samplesPerSeries];
+        int count = samples.downsample(start, bucketMillis, bucketCount, buckets, min, max, sum, counts);
+        for (int i = 0; i < count; i++) {
+            aggregates.add(new AggregateImpl(new DateTime(start + buckets[i] * bucketMillis, DateTimeZone.UTC),
+                    counts[i], min[i], max[i], sum[i] / counts[i]));
+        }
+        return aggregates;
+    }
+
+    @Override
+    public void exportCsv(Writer writer) throws IOException {
+        long[] timestamps = new long[samplesPerSeries];
+        double[] values = new double[samplesPerSeries];
+        writer.write("resourceId,metric,timestamp,value\n");
+        for (String resourceId : resourceIds()) {
+            Map<String, MetricRingBuffer> metrics = series.get(resourceId);
+            for (String metricName : new TreeSet<>(metrics.keySet())) {
+                String prefix = csv(resourceId) + "," + csv(metricName) + ",";
+                int count = metrics.get(metricName).copyTo(timestamps, values);
+                for (int i = 0; i < count; i++) {
+                    writer.write(prefix);
+                    writer.write(new DateTime(timestamps[i], DateTimeZone.UTC).toString());
+                    writer.write(",");
+                    writer.write(Double.toString(values[i]));
+                    writer.write("\n");
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private static String csv(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0) {
+            return field;
+        }
+        return "\"" + field.replace("\"", "\"\"") + "\"";
+    }
+
+    private enum TargetKind {
+        SERVER,
+        DATABASE,
+        RECOMMENDED_ELASTIC_POOL
+    }
+
+    /**
+     * A resource whose metrics are collected, identified by names rather than held as a model.
+     */
+    private static final class Target {
+        private final TargetKind kind;
+        private final String id;
+        private final String resourceGroupName;
+        private final String serverName;
+        private final String name;
+
+        Target(TargetKind kind, String id, String resourceGroupName, String serverName, String name) {
+            this.kind = kind;
+            this.id = id;
+            this.resourceGroupName = resourceGroupName;
+            this.serverName = serverName;
+            this.name = name;
+        }
+    }
+
+    /**
+     * The implementation of {@link SqlMetricAggregate}.
+     */
+    private static final class AggregateImpl implements SqlMetricAggregate {
+        private final DateTime startTime;
+        private final int sampleCount;
+        private final double minimum;
+        private final double maximum;
+        private final double average;
+
+        AggregateImpl(DateTime startTime, int sampleCount, double minimum, double maximum, double average) {
+            this.startTime = startTime;
+            this.sampleCount = sampleCount;
+            this.minimum = minimum;
+            this.maximum = maximum;
+            this.average = average;
+        }
+
+        @Override
+        public DateTime startTime() {
+            return this.startTime;
+        }
+
+        @Override
+        public int sampleCount() {
+            return this.sampleCount;
+        }
+
+        @Override
+        public double minimum() {
+            return this.minimum;
+        }
+
+        @Override
+        public double maximum() {
+            return this.maximum;
+        }
+
+        @Override
+        public double average() {
+            return this.average;
+        }
+    }
+}
@@ -4,10 +4,14 @@ import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.GroupableResourcesImpl;
 import com.microsoft.azure.management.sql.ServerVersion;
+import com.microsoft.azure.management.sql.SqlFirewallRuleSyncResult;
+import com.microsoft.azure.management.sql.SqlMetricCollector;
 import com.microsoft.azure.management.sql.SqlServer;
 import com.microsoft.azure.management.sql.SqlServers;
 import rx.Observable;
 
+import java.util.Collection;
+
 /**
  * Implementation for SqlServers and its parent interfaces.
  */
@@ -32,6 +36,22 @@ class SqlServersImpl
         this.recommendedElasticPoolsInner = recommendedElasticPoolsInner;
     }
 
+    @Override
+    public Observable<SqlFirewallRuleSyncResult> syncFirewallRulesAsync(
+            Collection<? extends SqlServer> sqlServers,
+            Collection<String> allowList,
+            int maxServerConcurrency,
+            int maxRuleConcurrency) {
+        return new FirewallRuleSyncImpl(this.innerCollection)
+                .syncAsync(sqlServers, allowList, maxServerConcurrency, maxRuleConcurrency);
+    }
+
+    @Override
+    public SqlMetricCollector newMetricCollector(int samplesPerSeries, int maxConcurrency) {
+        return new SqlMetricCollectorImpl(this.innerCollection, this.databasesInner,
+                this.recommendedElasticPoolsInner, samplesPerSeries, maxConcurrency);
+    }
+
     @Override
     public Observable<Void> deleteByGroupAsync(String groupName, String name) {
         return this.innerCollection.deleteAsync(groupName, name);
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.sql.implementation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.management.resources.FakeService;
+import com.microsoft.azure.management.sql.SqlFirewallRuleSyncResult;
+import com.microsoft.azure.management.sql.SqlServer;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Buffer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.microsoft.azure.management.resources.FakeService.response;
+
+/**
+ * Test class to test bringing the firewall rules of SQL servers in line with an allow list,
+ * against a fake service.
+ */
+public class FirewallRuleSyncTests {
+    private static final String SERVER_PATH = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Sql/servers/srv";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // The range of each firewall rule of the server on the fake service, by rule name
+    private final Map<String, String> rules = new LinkedHashMap<>();
+    private final List<String> calls = new ArrayList<>();
+    private int maxRuleCount;
+    private SqlServerManager manager;
+    private SqlServer sqlServer;
+
+    @Before
+    public void setup() throws Exception {
+        FakeService service = new FakeService() {
+            @Override
+            protected Response respond(Request request) throws IOException {
+                return FirewallRuleSyncTests.this.respond(request);
+            }
+        };
+        manager = SqlServerManager.authenticate(service.restClient(), "sub");
+        sqlServer = manager.sqlServers().getByGroup("rg", "srv");
+    }
+
+    private synchronized Response respond(Request request) throws IOException {
+        String path = request.url().encodedPath();
+        if (path.equals(SERVER_PATH)) {
+            return response(request, 200, "{\"id\":\"" + SERVER_PATH + "\",\"name\":\"srv\",\"location\":\"westus\",\"properties\":{}}");
+        } else if (path.equals(SERVER_PATH + "/firewallRules")) {
+            StringBuilder value = new StringBuilder();
+            for (Map.Entry<String, String> rule : rules.entrySet()) {
+                String[] range = rule.getValue().split("-");
+                value.append(value.length() == 0 ? "" : ",").append("{\"name\":\"").append(rule.getKey())
+                        .append("\",\"properties\":{\"startIpAddress\":\"").append(range[0])
+                        .append("\",\"endIpAddress\":\"").append(range[1]).append("\"}}");
+            }
+            return response(request, 200, "{\"value\":[" + value + "]}");
+        }
+        Assert.assertTrue(path, path.startsWith(SERVER_PATH + "/firewallRules/"));
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        calls.add(request.method() + " " + name);
+        if (request.method().equals("DELETE")) {
+            rules.remove(name);
+            return response(request, 200, "");
+        }
+        Buffer body = new Buffer();
+        request.body().writeTo(body);
+        JsonNode properties = MAPPER.readTree(body.readUtf8()).get("properties");
+        rules.put(name, properties.get("startIpAddress").asText() + "-" + properties.get("endIpAddress").asText());
+        maxRuleCount = Math.max(maxRuleCount, rules.size());
+        return response(request, 200, "{\"name\":\"" + name + "\",\"properties\":" + properties + "}");
+    }
+
+    private SqlFirewallRuleSyncResult sync(List<String> allowList) {
+        return manager.sqlServers().syncFirewallRulesAsync(Collections.singletonList(sqlServer), allowList, 1, 4)
+                .toBlocking().single();
+    }
+
+    @Test
+    public void canCreateRulesBeforeDeletingRules() throws Exception {
+        rules.put("AllowAllWindowsAzureIps", "0.0.0.0-0.0.0.0");
+        rules.put("old", "10.0.0.1-10.0.0.1");
+        rules.put("office", "10.0.1.0-10.0.1.255");
+
+        SqlFirewallRuleSyncResult result = sync(Arrays.asList("0.0.0.0", "10.0.1.0/24", "10.0.2.5"));
+
+        Assert.assertTrue(result.isSucceeded());
+        Assert.assertEquals(Collections.singletonList("allow_10_0_2_5_10_0_2_5"), result.createdFirewallRules());
+        Assert.assertEquals(Collections.singletonList("old"), result.deletedFirewallRules());
+        // The rule allowing Azure services is the rule for 0.0.0.0
+        Assert.assertEquals(2, result.unchangedFirewallRuleCount());
+        Assert.assertEquals(Arrays.asList("PUT allow_10_0_2_5_10_0_2_5", "DELETE old"), calls);
+        Assert.assertEquals(3, rules.size());
+    }
+
+    @Test
+    public void canCreateRuleAllowingAzureServices() throws Exception {
+        SqlFirewallRuleSyncResult result = sync(Collections.singletonList("0.0.0.0"));
+
+        Assert.assertTrue(result.isSucceeded());
+        Assert.assertEquals(Collections.singletonList("AllowAllWindowsAzureIps"), result.createdFirewallRules());
+        Assert.assertEquals(Collections.singletonMap("AllowAllWindowsAzureIps", "0.0.0.0-0.0.0.0"), rules);
+    }
+
+    @Test
+    public void canStayUnderRuleLimit() throws Exception {
+        for (int i = 0; i < 120; i++) {
+            rules.put("old" + i, "10.1." + i + ".1-10.1." + i + ".1");
+        }
+        List<String> allowList = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            allowList.add("10.2." + i + ".1");
+        }
+
+        SqlFirewallRuleSyncResult result = sync(allowList);
+
+        Assert.assertTrue(result.isSucceeded());
+        Assert.assertEquals(20, result.createdFirewallRules().size());
+        Assert.assertEquals(120, result.deletedFirewallRules().size());
+        Assert.assertEquals(20, rules.size());
+        Assert.assertEquals(FirewallRuleSyncImpl.MAX_FIREWALL_RULES, maxRuleCount);
+        // The rules fitting under the limit are created first, then just enough rules are deleted for the others
+        for (int i = 0; i < calls.size(); i++) {
+            String method = i < 8 || (i >= 20 && i < 32) ? "PUT " : "DELETE ";
+            Assert.assertTrue(i + " " + calls.get(i), calls.get(i).startsWith(method));
+        }
+    }
+
+    @Test
+    public void canRejectAllowListsOverRuleLimit() throws Exception {
+        rules.put("old", "10.0.0.1-10.0.0.1");
+        List<String> allowList = new ArrayList<>();
+        for (int i = 0; i <= FirewallRuleSyncImpl.MAX_FIREWALL_RULES; i++) {
+            allowList.add("10.2." + i + ".1");
+        }
+
+        SqlFirewallRuleSyncResult result = sync(allowList);
+
+        Assert.assertFalse(result.isSucceeded());
+        Assert.assertTrue(result.error() instanceof IllegalArgumentException);
+        Assert.assertTrue(calls.isEmpty());
+        Assert.assertEquals(1, rules.size());
+    }
+}
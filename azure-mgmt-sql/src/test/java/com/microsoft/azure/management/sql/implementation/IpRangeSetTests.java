@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.sql.implementation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class to test collapsing allow lists into IP address ranges.
+ */
+public class IpRangeSetTests {
+    private static List<String> rangesOf(String... entries) {
+        IpRangeSet set = new IpRangeSet();
+        for (String entry : entries) {
+            set.add(entry);
+        }
+        List<String> ranges = new ArrayList<>();
+        for (int i = 0; i < set.size(); i++) {
+            ranges.add(set.startIpAddress(i) + "-" + set.endIpAddress(i));
+        }
+        return ranges;
+    }
+
+    @Test
+    public void canParseEntries() throws Exception {
+        Assert.assertEquals(Arrays.asList("10.0.0.1-10.0.0.1"), rangesOf(" 10.0.0.1 "));
+        Assert.assertEquals(Arrays.asList("10.0.0.1-10.0.0.9"), rangesOf("10.0.0.1 - 10.0.0.9"));
+        Assert.assertEquals(167772161L, IpRangeSet.toLong("10.0.0.1", "10.0.0.1"));
+        Assert.assertEquals(0xFFFFFFFFL, IpRangeSet.toLong("255.255.255.255", "255.255.255.255"));
+    }
+
+    @Test
+    public void canMaskCidrBlocks() throws Exception {
+        Assert.assertEquals(Arrays.asList("10.1.2.0-10.1.2.255"), rangesOf("10.1.2.3/24"));
+        Assert.assertEquals(Arrays.asList("10.1.2.3-10.1.2.3"), rangesOf("10.1.2.3/32"));
+        Assert.assertEquals(Arrays.asList("172.16.0.0-172.31.255.255"), rangesOf("172.20.1.1/12"));
+        Assert.assertEquals(Arrays.asList("0.0.0.0-255.255.255.255"), rangesOf("10.0.0.0/0"));
+    }
+
+    @Test
+    public void canMergeOverlappingAndAdjacentRanges() throws Exception {
+        Assert.assertEquals(Arrays.asList("10.0.0.0-10.0.1.255", "10.0.3.0-10.0.3.10"),
+                rangesOf("10.0.3.0-10.0.3.10", "10.0.1.0/24", "10.0.0.0/24", "10.0.0.5"));
+        Assert.assertEquals(Arrays.asList("10.0.0.0-10.0.0.20"),
+                rangesOf("10.0.0.0-10.0.0.10", "10.0.0.5-10.0.0.20", "10.0.0.7"));
+        Assert.assertEquals(Arrays.asList("10.0.0.1-10.0.0.1", "10.0.0.3-10.0.0.3"), rangesOf("10.0.0.3", "10.0.0.1", "10.0.0.3"));
+    }
+
+    @Test
+    public void canSortAddressesAboveTheSignBit() throws Exception {
+        // Addresses from 128.0.0.0 have the sign bit set once packed, and still sort after the others
+        Assert.assertEquals(Arrays.asList("1.0.0.0-1.0.0.0", "127.255.255.255-128.0.0.1", "200.0.0.0-200.255.255.255",
+                "255.255.255.255-255.255.255.255"),
+                rangesOf("255.255.255.255", "200.0.0.0/8", "128.0.0.0-128.0.0.1", "1.0.0.0", "127.255.255.255"));
+    }
+
+    @Test
+    public void canGrowPastItsInitialCapacity() throws Exception {
+        String[] entries = new String[100];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = "10.0." + (entries.length - i) + ".0/24";
+        }
+        Assert.assertEquals(Arrays.asList("10.0.1.0-10.0.100.255"), rangesOf(entries));
+    }
+
+    @Test
+    public void canRejectInvalidEntries() throws Exception {
+        String[] invalidEntries = {"10.0.0", "10.0.0.256", "10.0.0.1.2", "10..0.1", "10.0.0.a", "10.0.0.0/33",
+            "10.0.0.0/x", "10.0.0.9-10.0.0.1", ""};
+        for (String entry : invalidEntries) {
+            try {
+                rangesOf(entry);
+                Assert.fail(entry);
+            } catch (IllegalArgumentException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().endsWith(entry));
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.sql.implementation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test class to test keeping and aggregating metric samples.
+ */
+public class MetricRingBufferTests {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void canAddOnlyNewerSamples() throws Exception {
+        MetricRingBuffer samples = new MetricRingBuffer(4);
+
+        Assert.assertTrue(samples.add(1000, 1));
+        Assert.assertFalse(samples.add(1000, 2));
+        Assert.assertFalse(samples.add(999, 3));
+        Assert.assertTrue(samples.add(1001, 4));
+
+        long[] timestamps = new long[samples.capacity()];
+        double[] values = new double[samples.capacity()];
+        Assert.assertEquals(2, samples.copyTo(timestamps, values));
+        Assert.assertEquals(1000, timestamps[0]);
+        Assert.assertEquals(1, values[0], DELTA);
+        Assert.assertEquals(1001, timestamps[1]);
+        Assert.assertEquals(4, values[1], DELTA);
+    }
+
+    @Test
+    public void canOverwriteOldestSamplesOnceFull() throws Exception {
+        MetricRingBuffer samples = new MetricRingBuffer(3);
+        for (int i = 1; i <= 7; i++) {
+            Assert.assertTrue(samples.add(i * 1000, i));
+        }
+
+        long[] timestamps = new long[samples.capacity()];
+        double[] values = new double[samples.capacity()];
+        Assert.assertEquals(3, samples.copyTo(timestamps, values));
+        Assert.assertArrayEquals(new long[] {5000, 6000, 7000}, timestamps);
+        Assert.assertArrayEquals(new double[] {5, 6, 7}, values, DELTA);
+        // A sample older than the latest one is still rejected after wrapping around
+        Assert.assertFalse(samples.add(6500, 0));
+    }
+
+    @Test
+    public void canDownsampleIntoBucketsWithSamples() throws Exception {
+        MetricRingBuffer samples = new MetricRingBuffer(8);
+        samples.add(500, 100);
+        samples.add(1000, 1);
+        samples.add(1500, 3);
+        samples.add(1999, 2);
+        samples.add(5000, 10);
+        samples.add(9000, 20);
+        samples.add(10000, 30);
+
+        long[] buckets = new long[samples.capacity()];
+        double[] min = new double[samples.capacity()];
+        double[] max = new double[samples.capacity()];
+        double[] sum = new double[samples.capacity()];
+        int[] counts = new int[samples.capacity()];
+        // From 1000 to 10000, in buckets of one second: the sample before the range and the one at its end are left out
+        int count = samples.downsample(1000, 1000, 9, buckets, min, max, sum, counts);
+
+        Assert.assertEquals(3, count);
+        Assert.assertEquals(0, buckets[0]);
+        Assert.assertEquals(3, counts[0]);
+        Assert.assertEquals(1, min[0], DELTA);
+        Assert.assertEquals(3, max[0], DELTA);
+        Assert.assertEquals(6, sum[0], DELTA);
+        Assert.assertEquals(4, buckets[1]);
+        Assert.assertEquals(1, counts[1]);
+        Assert.assertEquals(10, sum[1], DELTA);
+        Assert.assertEquals(8, buckets[2]);
+        Assert.assertEquals(20, min[2], DELTA);
+        Assert.assertEquals(20, max[2], DELTA);
+    }
+
+    @Test
+    public void canDownsampleLongRangesIntoCapacity() throws Exception {
+        MetricRingBuffer samples = new MetricRingBuffer(3);
+        samples.add(0, 1);
+        samples.add(Long.MAX_VALUE / 2, 2);
+        samples.add(Long.MAX_VALUE - 1, 3);
+
+        long[] buckets = new long[samples.capacity()];
+        double[] min = new double[samples.capacity()];
+        double[] max = new double[samples.capacity()];
+        double[] sum = new double[samples.capacity()];
+        int[] counts = new int[samples.capacity()];
+        // One millisecond buckets over the whole range, far more buckets than an array can hold
+        int count = samples.downsample(0, 1, Long.MAX_VALUE, buckets, min, max, sum, counts);
+
+        Assert.assertEquals(3, count);
+        Assert.assertArrayEquals(new long[] {0, Long.MAX_VALUE / 2, Long.MAX_VALUE - 1}, buckets);
+        Assert.assertArrayEquals(new int[] {1, 1, 1}, counts);
+    }
+
+    @Test
+    public void canDownsampleNoSamples() throws Exception {
+        MetricRingBuffer samples = new MetricRingBuffer(2);
+        samples.add(1000, 1);
+
+        long[] buckets = new long[samples.capacity()];
+        double[] values = new double[samples.capacity()];
+        int[] counts = new int[samples.capacity()];
+        Assert.assertEquals(0, new MetricRingBuffer(2).downsample(0, 1000, 10, buckets, values, values, values, counts));
+        Assert.assertEquals(0, samples.downsample(2000, 1000, 10, buckets, values, values, values, counts));
+    }
+}
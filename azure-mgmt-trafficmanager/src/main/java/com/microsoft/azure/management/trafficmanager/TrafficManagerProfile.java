@@ -85,6 +85,12 @@ public interface TrafficManagerProfile extends
      */
     Map<String, TrafficManagerNestedProfileEndpoint> nestedProfileEndpoints();
 
+    /**
+     * @return the time each endpoint took to commit in the last create or update of this profile,
+     * in milliseconds, by endpoint name
+     */
+    Map<String, Long> endpointCommitLatenciesInMillis();
+
     /**
      * The entirety of the traffic manager profile definition.
      */
@@ -417,6 +423,28 @@ public interface TrafficManagerProfile extends
             Update withoutEndpoint(String name);
         }
 
+        /**
+         * The stage of the traffic manager profile update allowing to specify how the endpoint changes
+         * are committed.
+         */
+        interface WithEndpointCommit {
+            /**
+             * Specifies the maximum number of endpoints created, updated or removed at the same time.
+             * Default is 16.
+             *
+             * @param maxConcurrency the maximum number of endpoints committed at the same time
+             * @return the next stage of the traffic manager profile update
+             */
+            Update withEndpointCommitConcurrency(int maxConcurrency);
+
+            /**
+             * Specifies that the endpoints to remove are removed before any endpoint is created or updated.
+             *
+             * @return the next stage of the traffic manager profile update
+             */
+            Update withEndpointRemovalsFirst();
+        }
+
         /**
          * The stage of the traffic manager profile update allowing to specify the DNS TTL.
          */
@@ -464,6 +492,7 @@ public interface TrafficManagerProfile extends
             UpdateStages.WithTrafficRoutingMethod,
             UpdateStages.WithMonitoringConfiguration,
             UpdateStages.WithEndpoint,
+            UpdateStages.WithEndpointCommit,
             UpdateStages.WithTtl,
             UpdateStages.WithProfileStatus,
             Resource.UpdateWithTags<Update> {
@@ -96,4 +96,8 @@ public final class TrafficManager extends Manager<TrafficManager, TrafficManager
         }
         return this.profiles;
     }
+
+    RestClient restClient() {
+        return super.innerManagementClient.restClient();
+    }
 }
@@ -6,7 +6,9 @@
 package com.microsoft.azure.management.trafficmanager.implementation;
 
 import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.ExternalChildResourceCollectionImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.GroupableResourceImpl;
+import com.microsoft.azure.management.resources.fluentcore.utils.ThrottlingInterceptor;
 import com.microsoft.azure.management.trafficmanager.TrafficManagerAzureEndpoint;
 import com.microsoft.azure.management.trafficmanager.TrafficManagerExternalEndpoint;
 import com.microsoft.azure.management.trafficmanager.TrafficManagerNestedProfileEndpoint;
@@ -48,6 +50,7 @@ class TrafficManagerProfileImpl
         this.innerCollection = innerCollection;
         this.endpointsClient = endpointsClient;
         this.endpoints = new TrafficManagerEndpointsImpl(endpointsClient, this);
+        this.endpoints.withThrottledCommitRetries(!ThrottlingInterceptor.isInstalled(trafficManager.restClient()));
     }
 
     @Override
@@ -107,6 +110,11 @@ class TrafficManagerProfileImpl
         return this.endpoints.nestedProfileEndpointsAsMap();
     }
 
+    @Override
+    public Map<String, Long> endpointCommitLatenciesInMillis() {
+        return this.endpoints.commitLatenciesInMillis();
+    }
+
     @Override
     public TrafficManagerProfile refresh() {
         ProfileInner inner = this.innerCollection.get(this.resourceGroupName(), this.name());
@@ -160,6 +168,18 @@ class TrafficManagerProfileImpl
         return this.endpoints.defineNestedProfileTargetEndpoint(name);
     }
 
+    @Override
+    public TrafficManagerProfileImpl withEndpointCommitConcurrency(int maxConcurrency) {
+        this.endpoints.withCommitConcurrency(maxConcurrency);
+        return this;
+    }
+
+    @Override
+    public TrafficManagerProfileImpl withEndpointRemovalsFirst() {
+        this.endpoints.withCommitOrder(ExternalChildResourceCollectionImpl.CommitOrder.DELETES_FIRST);
+        return this;
+    }
+
     @Override
     public TrafficManagerEndpointImpl updateAzureTargetEndpoint(String name) {
         return this.endpoints.updateAzureEndpoint(name);
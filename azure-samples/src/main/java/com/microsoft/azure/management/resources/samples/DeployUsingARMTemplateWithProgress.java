@@ -14,6 +14,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.microsoft.azure.management.Azure;
 import com.microsoft.azure.management.resources.Deployment;
 import com.microsoft.azure.management.resources.DeploymentMode;
+import com.microsoft.azure.management.resources.DeploymentOperation;
 import com.microsoft.azure.management.resources.fluentcore.arm.Region;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceNamer;
 import okhttp3.logging.HttpLoggingInterceptor;
@@ -84,13 +85,14 @@ public final class DeployUsingARMTemplateWithProgress {
                     Deployment deployment = azure.deployments().getByGroup(rgName, deploymentName);
                     System.out.println("Current deployment status : " + deployment.provisioningState());
 
-                    while (!(deployment.provisioningState().equalsIgnoreCase("Succeeded")
-                            || deployment.provisioningState().equalsIgnoreCase("Failed")
-                            || deployment.provisioningState().equalsIgnoreCase("Cancelled"))) {
-                        Thread.sleep(10000);
-                        deployment = azure.deployments().getByGroup(rgName, deploymentName);
-                        System.out.println("Current deployment status : " + deployment.provisioningState());
+                    for (DeploymentOperation operation : deployment.deploymentOperations().watchAsync(5, 30).toBlocking().toIterable()) {
+                        System.out.println("Operation " + operation.operationId()
+                                + (operation.targetResource() != null ? " on " + operation.targetResource().resourceName() : "")
+                                + " : " + operation.provisioningState());
                     }
+
+                    deployment = azure.deployments().getByGroup(rgName, deploymentName);
+                    System.out.println("Current deployment status : " + deployment.provisioningState());
                 } catch (Exception f) {
 
                     System.out.println(f.getMessage());
@@ -48,7 +48,7 @@ import com.microsoft.azure.management.resources.Subscriptions;
 import com.microsoft.azure.management.resources.Tenants;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
-import com.microsoft.azure.management.resources.implementation.ResourceManagementClientImpl;
+import com.microsoft.azure.management.resources.fluentcore.utils.Lazy;
 import com.microsoft.azure.management.resources.implementation.ResourceManager;
 import com.microsoft.azure.management.sql.SqlServers;
 import com.microsoft.azure.management.sql.implementation.SqlServerManager;
@@ -67,18 +67,21 @@ import java.io.IOException;
  * The entry point for accessing resource management APIs in Azure.
  */
 public final class Azure {
-    private final ResourceManager resourceManager;
-    private final StorageManager storageManager;
-    private final ComputeManager computeManager;
-    private final NetworkManager networkManager;
-    private final KeyVaultManager keyVaultManager;
-    private final BatchManager batchManager;
-    private final TrafficManager trafficManager;
-    private final RedisManager redisManager;
-    private final CdnManager cdnManager;
-    private final DnsZoneManager dnsZoneManager;
-    private final AppServiceManager appServiceManager;
-    private final SqlServerManager sqlServerManager;
+    private final RestClient restClient;
+    private final String tenantId;
+    // The service managers, created on first use and shared with the managers depending on them
+    private final Lazy<ResourceManager> resourceManager;
+    private final Lazy<StorageManager> storageManager;
+    private final Lazy<ComputeManager> computeManager;
+    private final Lazy<NetworkManager> networkManager;
+    private final Lazy<KeyVaultManager> keyVaultManager;
+    private final Lazy<BatchManager> batchManager;
+    private final Lazy<TrafficManager> trafficManager;
+    private final Lazy<RedisManager> redisManager;
+    private final Lazy<CdnManager> cdnManager;
+    private final Lazy<DnsZoneManager> dnsZoneManager;
+    private final Lazy<AppServiceManager> appServiceManager;
+    private final Lazy<SqlServerManager> sqlServerManager;
     private final String subscriptionId;
 
     /**
@@ -88,10 +91,7 @@ public final class Azure {
      * @return the authenticated Azure client
      */
     public static Authenticated authenticate(AzureTokenCredentials credentials) {
-        return new AuthenticatedImpl(
-                credentials.getEnvironment().newRestClientBuilder()
-                        .withCredentials(credentials)
-                        .build(), credentials.getDomain());
+        return configure().authenticate(credentials);
     }
 
     /**
@@ -111,10 +111,7 @@ public final class Azure {
      * @throws IOException exception thrown from file access
      */
     public static Authenticated authenticate(File credentialsFile) throws IOException {
-        ApplicationTokenCredentials credentials = ApplicationTokenCredentials.fromFile(credentialsFile);
-        return new AuthenticatedImpl(credentials.getEnvironment().newRestClientBuilder()
-                .withCredentials(credentials)
-                .build(), credentials.getDomain()).withDefaultSubscription(credentials.defaultSubscriptionId());
+        return configure().authenticate(credentialsFile);
     }
 
     /**
@@ -272,22 +269,82 @@ public final class Azure {
         }
     }
 
-    private Azure(RestClient restClient, String subscriptionId, String tenantId) {
-        ResourceManagementClientImpl resourceManagementClient = new ResourceManagementClientImpl(restClient);
-        resourceManagementClient.withSubscriptionId(subscriptionId);
-        this.resourceManager = ResourceManager.authenticate(restClient).withSubscription(subscriptionId);
-        this.storageManager = StorageManager.authenticate(restClient, subscriptionId);
-        this.computeManager = ComputeManager.authenticate(restClient, subscriptionId);
-        this.networkManager = NetworkManager.authenticate(restClient, subscriptionId);
-        this.keyVaultManager = KeyVaultManager.authenticate(restClient, tenantId, subscriptionId);
-        this.batchManager = BatchManager.authenticate(restClient, subscriptionId);
-        this.trafficManager = TrafficManager.authenticate(restClient, subscriptionId);
-        this.redisManager = RedisManager.authenticate(restClient, subscriptionId);
-        this.cdnManager = CdnManager.authenticate(restClient, subscriptionId);
-        this.dnsZoneManager = DnsZoneManager.authenticate(restClient, subscriptionId);
-        this.appServiceManager = AppServiceManager.authenticate(restClient, tenantId, subscriptionId);
-        this.sqlServerManager = SqlServerManager.authenticate(restClient, subscriptionId);
+    private Azure(final RestClient restClient, final String subscriptionId, final String tenantId) {
+        this.restClient = restClient;
         this.subscriptionId = subscriptionId;
+        this.tenantId = tenantId;
+        this.resourceManager = new Lazy<ResourceManager>() {
+            @Override
+            protected ResourceManager create() {
+                return ResourceManager.authenticate(restClient).withSubscription(subscriptionId);
+            }
+        };
+        this.storageManager = new Lazy<StorageManager>() {
+            @Override
+            protected StorageManager create() {
+                return StorageManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.computeManager = new Lazy<ComputeManager>() {
+            @Override
+            protected ComputeManager create() {
+                return ComputeManager.authenticate(restClient, subscriptionId, storageManager, networkManager);
+            }
+        };
+        this.networkManager = new Lazy<NetworkManager>() {
+            @Override
+            protected NetworkManager create() {
+                return NetworkManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.keyVaultManager = new Lazy<KeyVaultManager>() {
+            @Override
+            protected KeyVaultManager create() {
+                return KeyVaultManager.authenticate(restClient, tenantId, subscriptionId);
+            }
+        };
+        this.batchManager = new Lazy<BatchManager>() {
+            @Override
+            protected BatchManager create() {
+                return BatchManager.authenticate(restClient, subscriptionId, storageManager);
+            }
+        };
+        this.trafficManager = new Lazy<TrafficManager>() {
+            @Override
+            protected TrafficManager create() {
+                return TrafficManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.redisManager = new Lazy<RedisManager>() {
+            @Override
+            protected RedisManager create() {
+                return RedisManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.cdnManager = new Lazy<CdnManager>() {
+            @Override
+            protected CdnManager create() {
+                return CdnManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.dnsZoneManager = new Lazy<DnsZoneManager>() {
+            @Override
+            protected DnsZoneManager create() {
+                return DnsZoneManager.authenticate(restClient, subscriptionId);
+            }
+        };
+        this.appServiceManager = new Lazy<AppServiceManager>() {
+            @Override
+            protected AppServiceManager create() {
+                return AppServiceManager.authenticate(restClient, tenantId, subscriptionId, keyVaultManager);
+            }
+        };
+        this.sqlServerManager = new Lazy<SqlServerManager>() {
+            @Override
+            protected SqlServerManager create() {
+                return SqlServerManager.authenticate(restClient, subscriptionId);
+            }
+        };
     }
 
     /**
@@ -301,216 +358,216 @@ public final class Azure {
      * @return entry point to managing resource groups
      */
     public ResourceGroups resourceGroups() {
-        return this.resourceManager.resourceGroups();
+        return resourceManager.get().resourceGroups();
     }
 
     /**
      * @return entry point to managing deployments
      */
     public Deployments deployments() {
-        return this.resourceManager.deployments();
+        return resourceManager.get().deployments();
     }
 
     /**
      * @return entry point to management generic resources
      */
     public GenericResources genericResources() {
-        return resourceManager.genericResources();
+        return resourceManager.get().genericResources();
     }
 
     /**
      * @return entry point to managing features
      */
     public Features features() {
-        return resourceManager.features();
+        return resourceManager.get().features();
     }
 
     /**
      * @return entry point to managing resource providers
      */
     public Providers providers() {
-        return resourceManager.providers();
+        return resourceManager.get().providers();
     }
 
     /**
      * @return entry point to managing policy definitions.
      */
     public PolicyDefinitions policyDefinitions() {
-        return resourceManager.policyDefinitions();
+        return resourceManager.get().policyDefinitions();
     }
 
     /**
      * @return entry point to managing policy assignments.
      */
     public PolicyAssignments policyAssignments() {
-        return resourceManager.policyAssignments();
+        return resourceManager.get().policyAssignments();
     }
 
     /**
      * @return entry point to managing storage accounts
      */
     public StorageAccounts storageAccounts() {
-        return storageManager.storageAccounts();
+        return storageManager.get().storageAccounts();
     }
 
     /**
      * @return entry point to managing storage account usages
      */
     public Usages storageUsages() {
-        return storageManager.usages();
+        return storageManager.get().usages();
     }
 
     /**
      * @return entry point to managing availability sets
      */
     public AvailabilitySets availabilitySets() {
-        return computeManager.availabilitySets();
+        return computeManager.get().availabilitySets();
     }
 
     /**
      * @return entry point to managing virtual networks
      */
     public Networks networks() {
-        return networkManager.networks();
+        return networkManager.get().networks();
     }
 
     /**
      * @return entry point to managing route tables
      */
     public RouteTables routeTables() {
-        return networkManager.routeTables();
+        return networkManager.get().routeTables();
     }
 
     /**
      * @return entry point to managing load balancers
      */
     public LoadBalancers loadBalancers() {
-        return networkManager.loadBalancers();
+        return networkManager.get().loadBalancers();
     }
 
     /**
      * @return entry point to managing application gateways
      */
     public ApplicationGateways applicationGateways() {
-        return networkManager.applicationGateways();
+        return networkManager.get().applicationGateways();
     }
 
     /**
      * @return entry point to managing network security groups
      */
     public NetworkSecurityGroups networkSecurityGroups() {
-        return networkManager.networkSecurityGroups();
+        return networkManager.get().networkSecurityGroups();
     }
 
     /**
      * @return entry point to managing network resource usages
      */
     public NetworkUsages networkUsages() {
-        return networkManager.usages();
+        return networkManager.get().usages();
     }
 
     /**
      * @return entry point to managing virtual machines
      */
     public VirtualMachines virtualMachines() {
-        return computeManager.virtualMachines();
+        return computeManager.get().virtualMachines();
     }
 
     /**
      * @return entry point to managing virtual machine scale sets.
      */
     public VirtualMachineScaleSets virtualMachineScaleSets() {
-        return computeManager.virtualMachineScaleSets();
+        return computeManager.get().virtualMachineScaleSets();
     }
 
     /**
      * @return entry point to managing virtual machine images
      */
     public VirtualMachineImages virtualMachineImages() {
-        return computeManager.virtualMachineImages();
+        return computeManager.get().virtualMachineImages();
     }
 
     /**
      * @return entry point to managing public IP addresses
      */
     public PublicIpAddresses publicIpAddresses() {
-        return this.networkManager.publicIpAddresses();
+        return networkManager.get().publicIpAddresses();
     }
 
     /**
      * @return entry point to managing network interfaces
      */
     public NetworkInterfaces networkInterfaces() {
-        return this.networkManager.networkInterfaces();
+        return networkManager.get().networkInterfaces();
     }
 
     /**
      * @return entry point to managing compute resource usages
      */
     public ComputeUsages computeUsages() {
-        return computeManager.usages();
+        return computeManager.get().usages();
     }
 
     /**
      * @return entry point to managing key vaults
      */
     public Vaults vaults() {
-        return this.keyVaultManager.vaults();
+        return keyVaultManager.get().vaults();
     }
 
     /**
      * @return entry point to managing batch accounts.
      */
     public BatchAccounts batchAccounts() {
-        return batchManager.batchAccounts();
+        return batchManager.get().batchAccounts();
     }
 
     /**
      * @return entry point to managing traffic manager profiles.
      */
     public TrafficManagerProfiles trafficManagerProfiles() {
-        return trafficManager.profiles();
+        return trafficManager.get().profiles();
     }
 
     /**
      * @return entry point to managing Redis Caches.
      */
     public RedisCaches redisCaches() {
-        return redisManager.redisCaches();
+        return redisManager.get().redisCaches();
     }
 
     /**
      * @return entry point to managing cdn manager profiles.
      */
     public CdnProfiles cdnProfiles() {
-        return cdnManager.profiles();
+        return cdnManager.get().profiles();
     }
 
     /**
      * @return entry point to managing Dns zones.
      */
     public DnsZones dnsZones() {
-        return dnsZoneManager.zones();
+        return dnsZoneManager.get().zones();
     }
 
     /**
      * @return entry point to managing web apps.
      */
     public WebApps webApps() {
-        return appServiceManager.webApps();
+        return appServiceManager.get().webApps();
     }
 
     /**
      * @return entry point to managing app services.
      */
     public AppServiceManager appServices() {
-        return appServiceManager;
+        return appServiceManager.get();
     }
 
     /**
      * @return entry point to managing Sql server.
      */
     public SqlServers sqlServers() {
-        return sqlServerManager.sqlServers();
+        return sqlServerManager.get().sqlServers();
     }
 }